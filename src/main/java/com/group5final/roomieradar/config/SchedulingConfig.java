@@ -0,0 +1,40 @@
+package com.group5final.roomieradar.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Runs the {@code @Scheduled} jobs: outbox dispatch, reminders, recurring bills and rebuilds.
+ * <p>
+ * Set {@code roomieradar.scheduling.enabled=false} to turn them off, as the tests do so that no job
+ * races the schema being dropped and recreated between test contexts.
+ * </p>
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "roomieradar.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+
+    /**
+     * The scheduler of the jobs, on platform threads.
+     * <p>
+     * With virtual threads enabled Spring Boot would schedule on a {@code SimpleAsyncTaskScheduler},
+     * which starts every run on a new thread, so a run that is still busy when its next one is due
+     * overlaps itself. This scheduler plans a job's next run only once the previous one finished.
+     * The pool only lets different jobs run side by side, so a long nightly rebuild does not hold
+     * up the outbox dispatcher.
+     * </p>
+     */
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${roomieradar.scheduling.pool-size:2}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("scheduled-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        return scheduler;
+    }
+}
@@ -0,0 +1,56 @@
+package com.group5final.roomieradar.controllers;
+
+import com.group5final.roomieradar.dto.SpendingAnalyticsDTO;
+import com.group5final.roomieradar.services.CurrentUserService;
+import com.group5final.roomieradar.services.SpendingRollupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.YearMonth;
+
+/**
+ * Controller for the household spending analytics page and its chart data.
+ * <p>
+ * All figures come from the pre-aggregated spending rollup, see {@link SpendingRollupService}.
+ * </p>
+ */
+@Controller
+@RequestMapping("/analytics")
+public class AnalyticsController {
+
+    static final int DEFAULT_MONTHS = 12;
+    static final int MAX_MONTHS = 60;
+
+    @Autowired
+    private SpendingRollupService spendingRollupService;
+
+    @Autowired
+    private CurrentUserService currentUserService;
+
+    @GetMapping
+    public String analytics() {
+        if (!currentUserService.hasHousehold()) {
+            return "redirect:/household?requiresHousehold=true";
+        }
+        return "analytics";
+    }
+
+    /**
+     * Returns the household's spending per month, by split status and by member, for the
+     * given number of months up to and including the current one.
+     */
+    @GetMapping("/data")
+    @ResponseBody
+    public SpendingAnalyticsDTO data(@RequestParam(value = "months", defaultValue = "" + DEFAULT_MONTHS) int months) {
+        Long householdId = currentUserService.getCurrentHouseholdId()
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.FORBIDDEN, "User must be in a household"));
+        return spendingRollupService.getMonthlySpending(householdId, YearMonth.now(),
+            Math.max(1, Math.min(months, MAX_MONTHS)));
+    }
+}
@@ -0,0 +1,74 @@
+package com.group5final.roomieradar.controllers;
+
+import com.group5final.roomieradar.dto.BillDTO;
+import com.group5final.roomieradar.dto.BillSplitDTO;
+import com.group5final.roomieradar.entities.User;
+import com.group5final.roomieradar.repositories.BillRepository;
+import com.group5final.roomieradar.repositories.BillSplitRepository;
+import com.group5final.roomieradar.services.CurrentUserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Read-only JSON API for the bills and splits of the current user's household.
+ * <p>
+ * Every response is built from DTOs selected directly by JPQL, so no entity, lazy association
+ * or password hash ever reaches the serializer.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/v1/bills")
+public class BillApiController {
+
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 200;
+
+    @Autowired
+    private BillRepository billRepository;
+
+    @Autowired
+    private BillSplitRepository billSplitRepository;
+
+    @Autowired
+    private CurrentUserService currentUserService;
+
+    /**
+     * Lists the bills the current user created or shares, newest first and at most
+     * {@value #MAX_LIMIT} at a time. Pass the last id of a page as {@code before} to get the
+     * next one.
+     */
+    @GetMapping
+    public List<BillDTO> bills(@RequestParam(required = false) Long before,
+                               @RequestParam(defaultValue = "" + DEFAULT_LIMIT) int limit) {
+        User user = currentUserService.getCurrentUser()
+            .filter(u -> u.getHousehold() != null)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.FORBIDDEN, "User must be in a household"));
+        return billRepository.findViewsForUser(user.getHousehold().getId(), user.getId(),
+                before != null ? before : Long.MAX_VALUE, Limit.of(Math.max(1, Math.min(limit, MAX_LIMIT))));
+    }
+
+    @GetMapping("/{id}")
+    public BillDTO bill(@PathVariable Long id) {
+        return billRepository.findViewById(id, householdId())
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Bill not found"));
+    }
+
+    @GetMapping("/{id}/splits")
+    public List<BillSplitDTO> splits(@PathVariable Long id) {
+        return billSplitRepository.findViewsByBillId(id, householdId());
+    }
+
+    private Long householdId() {
+        return currentUserService.getCurrentHouseholdId()
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.FORBIDDEN, "User must be in a household"));
+    }
+}
@@ -1,21 +1,43 @@
 package com.group5final.roomieradar.controllers;
 
+import com.group5final.roomieradar.dto.BalanceDTO;
+import com.group5final.roomieradar.dto.BillImportError;
+import com.group5final.roomieradar.dto.BillImportResult;
+import com.group5final.roomieradar.dto.BillPage;
+import com.group5final.roomieradar.dto.BillPageDTO;
+import com.group5final.roomieradar.dto.BillSearchCriteria;
+import com.group5final.roomieradar.dto.BillSplitDTO;
+import com.group5final.roomieradar.dto.RecurringBillDTO;
 import com.group5final.roomieradar.entities.Bill;
-import com.group5final.roomieradar.entities.BillSplit;
 import com.group5final.roomieradar.entities.User;
+import com.group5final.roomieradar.enums.RepeatUnit;
+import com.group5final.roomieradar.enums.SplitMode;
+import com.group5final.roomieradar.enums.SplitStatus;
 
 import com.group5final.roomieradar.repositories.UserRepository;
+import com.group5final.roomieradar.services.BalanceLedgerService;
+import com.group5final.roomieradar.services.BillExportService;
+import com.group5final.roomieradar.services.BillImportService;
 import com.group5final.roomieradar.services.BillService;
 import com.group5final.roomieradar.services.CurrentUserService;
+import com.group5final.roomieradar.services.RecurringBillService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -35,11 +57,23 @@ public class BillController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private BalanceLedgerService balanceLedgerService;
+
+    @Autowired
+    private RecurringBillService recurringBillService;
+
+    @Autowired
+    private BillExportService billExportService;
+
+    @Autowired
+    private BillImportService billImportService;
+
 
 
     @GetMapping
     @Transactional(readOnly = true)
-    public String bills(Model model) {
+    public String bills(@RequestParam(value = "after", required = false) Long after, Model model) {
         User currentUser = currentUserService.getCurrentUser()
             .orElseThrow(() -> new IllegalStateException("User not authenticated"));
 
@@ -51,7 +85,7 @@ public class BillController {
         }
 
         Long householdId = currentUser.getHousehold().getId();
-        List<Bill> bills = billService.getBillsByUser(currentUser.getId());
+        BillPage page = billService.getBillPage(currentUser, after, BillService.DEFAULT_PAGE_SIZE);
         List<User> householdUsers = userRepository.findByHouseholdId(householdId);
         
         List<com.group5final.roomieradar.dto.UserDTO> userDTOs = householdUsers.stream()
@@ -59,13 +93,79 @@ public class BillController {
             .collect(java.util.stream.Collectors.toList());
 
         model.addAttribute("noHousehold", false);
-        model.addAttribute("bills", bills);
+        model.addAttribute("bills", page.getBills());
+        model.addAttribute("nextCursor", page.getNextCursor());
+        model.addAttribute("after", after);
         model.addAttribute("householdUsers", userDTOs);
         model.addAttribute("currentUserId", currentUser.getId());
 
         return "bills";
     }
 
+    @GetMapping("/page")
+    @ResponseBody
+    public BillPageDTO billsPage(@RequestParam(value = "after", required = false) Long after,
+                                 @RequestParam(value = "size", defaultValue = "20") int size) {
+        User currentUser = currentUserService.getCurrentUser()
+            .orElseThrow(() -> new IllegalStateException("User not authenticated"));
+        if (currentUser.getHousehold() == null) {
+            return new BillPageDTO(List.of(), null);
+        }
+        int pageSize = Math.max(1, Math.min(size, 100));
+        return BillPageDTO.from(billService.getBillPage(currentUser, after, pageSize));
+    }
+
+    /**
+     * Searches the household's bills by name and description, optionally filtered by split
+     * status, due date range (inclusive days) and member. Pages are keyset paged by passing the
+     * returned cursor as {@code before}.
+     */
+    @GetMapping("/search")
+    @ResponseBody
+    public BillPageDTO searchBills(@RequestParam(value = "q", required = false) String query,
+                                   @RequestParam(value = "status", required = false) SplitStatus status,
+                                   @RequestParam(value = "from", required = false)
+                                   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                   @RequestParam(value = "to", required = false)
+                                   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                   @RequestParam(value = "member", required = false) Long memberId,
+                                   @RequestParam(value = "before", required = false) Long before,
+                                   @RequestParam(value = "size", defaultValue = "20") int size) {
+        User currentUser = currentUserService.getCurrentUser()
+            .orElseThrow(() -> new IllegalStateException("User not authenticated"));
+        if (currentUser.getHousehold() == null) {
+            return new BillPageDTO(List.of(), null);
+        }
+        BillSearchCriteria criteria = new BillSearchCriteria(query, status,
+            from != null ? from.atStartOfDay() : null,
+            to != null ? to.plusDays(1).atStartOfDay() : null,
+            memberId);
+        int pageSize = Math.max(1, Math.min(size, 100));
+        return BillPageDTO.from(billService.searchBills(currentUser, criteria, before, pageSize));
+    }
+
+    @GetMapping("/balances")
+    @ResponseBody
+    public List<BalanceDTO> balances() {
+        User currentUser = currentUserService.getCurrentUser()
+            .orElseThrow(() -> new IllegalStateException("User not authenticated"));
+        if (currentUser.getHousehold() == null) {
+            return List.of();
+        }
+        return balanceLedgerService.getNetBalances(currentUser.getHousehold().getId());
+    }
+
+    @GetMapping("/settle-up")
+    @ResponseBody
+    public List<BalanceDTO> settleUp() {
+        User currentUser = currentUserService.getCurrentUser()
+            .orElseThrow(() -> new IllegalStateException("User not authenticated"));
+        if (currentUser.getHousehold() == null) {
+            return List.of();
+        }
+        return balanceLedgerService.getSettlementPlan(currentUser.getHousehold().getId());
+    }
+
     @PostMapping("/add")
     @ResponseBody
     public String addBill(
@@ -74,7 +174,9 @@ public class BillController {
             @RequestParam(required = false) String description,
             @RequestParam(required = false) String dueDate,
             @RequestParam(required = false) List<Long> userIds,
-            @RequestParam(defaultValue = "false") boolean splitEqually) {
+            @RequestParam(defaultValue = "false") boolean splitEqually,
+            @RequestParam(defaultValue = "EQUAL") SplitMode splitMode,
+            @RequestParam(required = false) List<BigDecimal> splitValues) {
 
         try {
             LocalDateTime dueDateParsed = null;
@@ -82,7 +184,7 @@ public class BillController {
                 dueDateParsed = LocalDateTime.parse(dueDate, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
             }
 
-            billService.createBill(name, amount, description, dueDateParsed, userIds, splitEqually);
+            billService.createBill(name, amount, description, dueDateParsed, userIds, splitEqually, splitMode, splitValues);
             return "success";
         } catch (Exception e) {
             logger.error("Error adding bill", e);
@@ -92,8 +194,10 @@ public class BillController {
 
     @GetMapping("/{id}/splits")
     @ResponseBody
-    public List<BillSplit> getBillSplits(@PathVariable Long id) {
-        return billService.getBillSplitsByBill(id);
+    public List<BillSplitDTO> getBillSplits(@PathVariable Long id) {
+        return currentUserService.getCurrentHouseholdId()
+            .map(householdId -> billService.getBillSplitViews(id, householdId))
+            .orElse(List.of());
     }
 
     @PostMapping("/settle/{splitId}")
@@ -109,6 +213,32 @@ public class BillController {
         }
     }
 
+    @PostMapping("/settle")
+    @ResponseBody
+    public String settleSplits(@RequestParam List<Long> splitIds) {
+        try {
+            User currentUser = currentUserService.getCurrentUser()
+                .orElseThrow(() -> new IllegalStateException("User not authenticated"));
+            billService.settleSplits(splitIds, currentUser.getId());
+            return "success";
+        } catch (Exception e) {
+            return "error: " + e.getMessage();
+        }
+    }
+
+    @PostMapping("/approve")
+    @ResponseBody
+    public String approveSplits(@RequestParam List<Long> splitIds) {
+        try {
+            User currentUser = currentUserService.getCurrentUser()
+                .orElseThrow(() -> new IllegalStateException("User not authenticated"));
+            billService.approveSplits(splitIds, currentUser.getId());
+            return "success";
+        } catch (Exception e) {
+            return "error: " + e.getMessage();
+        }
+    }
+
     @PostMapping("/approve/{splitId}")
     @ResponseBody
     public String approveSplit(@PathVariable Long splitId) {
@@ -122,6 +252,103 @@ public class BillController {
         }
     }
 
+    @GetMapping("/recurring")
+    @ResponseBody
+    public List<RecurringBillDTO> recurringBills() {
+        User currentUser = currentUserService.getCurrentUser()
+            .orElseThrow(() -> new IllegalStateException("User not authenticated"));
+        if (currentUser.getHousehold() == null) {
+            return List.of();
+        }
+        return recurringBillService.getRecurringBills(currentUser.getHousehold().getId()).stream()
+            .map(RecurringBillDTO::from)
+            .toList();
+    }
+
+    @PostMapping("/recurring")
+    @ResponseBody
+    public String addRecurringBill(
+            @RequestParam String name,
+            @RequestParam BigDecimal amount,
+            @RequestParam(required = false) String description,
+            @RequestParam String firstDueDate,
+            @RequestParam(defaultValue = "MONTHS") RepeatUnit repeatUnit,
+            @RequestParam(defaultValue = "1") int repeatInterval,
+            @RequestParam(required = false) String repeatUntil,
+            @RequestParam(required = false) List<Long> userIds,
+            @RequestParam(defaultValue = "EQUAL") SplitMode splitMode,
+            @RequestParam(required = false) List<BigDecimal> splitValues) {
+        try {
+            LocalDateTime firstDue = LocalDateTime.parse(firstDueDate, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+            LocalDate until = repeatUntil != null && !repeatUntil.isEmpty() ? LocalDate.parse(repeatUntil) : null;
+            recurringBillService.createRecurringBill(name, amount, description, firstDue, repeatUnit, repeatInterval,
+                    until, userIds, splitMode, splitValues);
+            return "success";
+        } catch (Exception e) {
+            logger.error("Error adding recurring bill", e);
+            return "error: " + e.getMessage();
+        }
+    }
+
+    @DeleteMapping("/recurring/{id}")
+    @ResponseBody
+    public String deleteRecurringBill(@PathVariable Long id) {
+        try {
+            User currentUser = currentUserService.getCurrentUser()
+                .orElseThrow(() -> new IllegalStateException("User not authenticated"));
+            recurringBillService.deleteRecurringBill(id, currentUser);
+            return "success";
+        } catch (Exception e) {
+            return "error: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Streams the household's bills and splits as a CSV or JSON download.
+     */
+    @GetMapping("/export")
+    public void exportBills(@RequestParam(defaultValue = "csv") String format, HttpServletResponse response)
+            throws IOException {
+        User currentUser = currentUserService.getCurrentUser()
+            .orElseThrow(() -> new IllegalStateException("User not authenticated"));
+        if (currentUser.getHousehold() == null) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "User must be in a household to export bills");
+            return;
+        }
+        Long householdId = currentUser.getHousehold().getId();
+        switch (format.toLowerCase()) {
+            case "csv" -> {
+                response.setContentType("text/csv;charset=UTF-8");
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bills.csv\"");
+                billExportService.exportCsv(householdId, response.getOutputStream());
+            }
+            case "json" -> {
+                response.setContentType("application/json;charset=UTF-8");
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bills.json\"");
+                billExportService.exportJson(householdId, response.getOutputStream());
+            }
+            default -> response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Unsupported export format: " + format);
+        }
+    }
+
+    /**
+     * Imports bills from an uploaded CSV file, reporting the rows that were rejected.
+     */
+    @PostMapping("/import")
+    @ResponseBody
+    public ResponseEntity<BillImportResult> importBills(@RequestParam("file") MultipartFile file) {
+        try (InputStream in = file.getInputStream()) {
+            User currentUser = currentUserService.getCurrentUser()
+                .orElseThrow(() -> new IllegalStateException("User not authenticated"));
+            return ResponseEntity.ok(billImportService.importCsv(in, currentUser));
+        } catch (Exception e) {
+            logger.error("Error importing bills", e);
+            BillImportResult result = new BillImportResult();
+            result.getErrors().add(new BillImportError(0, e.getMessage()));
+            return ResponseEntity.badRequest().body(result);
+        }
+    }
+
     @DeleteMapping("/{id}")
     @ResponseBody
     public String deleteBill(@PathVariable Long id) {
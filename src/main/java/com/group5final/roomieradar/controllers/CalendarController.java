@@ -2,13 +2,16 @@
 package com.group5final.roomieradar.controllers;
 
 import com.group5final.roomieradar.dto.CalendarItemInstance;
+import com.group5final.roomieradar.dto.ScheduleConflict;
 import com.group5final.roomieradar.entities.CalendarItem;
 import com.group5final.roomieradar.entities.Event;
 import com.group5final.roomieradar.entities.Household;
 import com.group5final.roomieradar.entities.User;
 import com.group5final.roomieradar.repositories.CalendarItemRepository;
 import com.group5final.roomieradar.repositories.EventRepository;
+import com.group5final.roomieradar.services.CalendarExpander;
 import com.group5final.roomieradar.services.CurrentUserService;
+import com.group5final.roomieradar.services.ScheduleConflictService;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -19,6 +22,8 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import jakarta.validation.Valid;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
 import java.util.*;
 
 @Controller
@@ -28,13 +33,16 @@ public class CalendarController {
     private final EventRepository eventRepository;
     private final CalendarItemRepository calendarItemRepository;
     private final CurrentUserService currentUserService;
+    private final ScheduleConflictService scheduleConflictService;
 
     public CalendarController(EventRepository eventRepository,
                               CalendarItemRepository calendarItemRepository,
-                              CurrentUserService currentUserService) {
+                              CurrentUserService currentUserService,
+                              ScheduleConflictService scheduleConflictService) {
         this.eventRepository = eventRepository;
         this.calendarItemRepository = calendarItemRepository;
         this.currentUserService = currentUserService;
+        this.scheduleConflictService = scheduleConflictService;
     }
 
     @GetMapping
@@ -51,31 +59,24 @@ public class CalendarController {
             return "calendar";
         }
 
+        // Only load and expand what overlaps the visible month
+        YearMonth month = YearMonth.from(date != null ? date : LocalDate.now());
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.atEndOfMonth();
+
         Household household = cur.get().getHousehold();
-        List<Event> events = eventRepository.findByHouseholdOrderByEventDateAsc(household);
-        List<CalendarItem> calendarItems = calendarItemRepository.findByHousehold(household);
-
-        Map<String, List<CalendarItemInstance>> instancesByDate = new HashMap<>();
-        for (CalendarItem ci : calendarItems) {
-            if (ci.getDateStart() == null) continue;
-            LocalDate start = ci.getDateStart().toLocalDate();
-            LocalDate end = ci.getDateEnd() != null ? ci.getDateEnd().toLocalDate() : start;
-            if (end.isBefore(start)) end = start;
-
-            for (LocalDate d = start; !d.isAfter(end); d = d.plusDays(1)) {
-                boolean startsOnDate = d.equals(start);
-                boolean endsOnDate = d.equals(end);
-                CalendarItemInstance inst = new CalendarItemInstance(ci, d, startsOnDate, endsOnDate);
-                String key = d.toString();
-                instancesByDate.computeIfAbsent(key, k -> new ArrayList<>()).add(inst);
-            }
-        }
+        List<Event> events = eventRepository.findByHouseholdAndEventDateBetweenOrderByEventDateAsc(
+                household, from.atStartOfDay(), to.atTime(LocalTime.MAX));
+        List<CalendarItem> calendarItems = calendarItemRepository.findOverlapping(
+                household, from.atStartOfDay(), to.plusDays(1).atStartOfDay());
 
+        Map<String, List<CalendarItemInstance>> instancesByDate = CalendarExpander.expand(calendarItems, from, to);
 
         model.addAttribute("events", events);
         model.addAttribute("calendarItems", calendarItems);
         model.addAttribute("calendarItemInstances", instancesByDate);
         model.addAttribute("focusedDate", date != null ? date.toString() : null);
+        model.addAttribute("viewMonth", month.toString());
         model.addAttribute("noHousehold", false);
 
         return "calendar";
@@ -122,7 +123,9 @@ public class CalendarController {
         User currentUser = cur.get();
         calendar.setHousehold(currentUser.getHousehold());
         calendar.setCreator(currentUser);
+        addConflicts(ra, scheduleConflictService.findCalendarItemConflicts(currentUser.getHousehold().getId(), calendar, LocalDate.now()));
         calendarItemRepository.save(calendar);
+        scheduleConflictService.invalidate(currentUser.getHousehold().getId());
         ra.addFlashAttribute("message", "Calendar item created");
         return "redirect:/calendar";
     }
@@ -148,7 +151,14 @@ public class CalendarController {
         existing.setDateStart(form.getDateStart());
         existing.setDateEnd(form.getDateEnd());
         existing.setRepeatDuration(form.getRepeatDuration());
+        existing.setRepeatUnit(form.getRepeatUnit());
+        existing.setRepeatUntil(form.getRepeatUntil());
+        existing.getRepeatExceptions().clear();
+        existing.getRepeatExceptions().addAll(form.getRepeatExceptions());
+        Long householdId = existing.getHousehold().getId();
+        addConflicts(ra, scheduleConflictService.findCalendarItemConflicts(householdId, existing, LocalDate.now()));
         calendarItemRepository.save(existing);
+        scheduleConflictService.invalidate(householdId);
 
         ra.addFlashAttribute("message", "Calendar item updated");
         return "redirect:/calendar";
@@ -156,12 +166,21 @@ public class CalendarController {
 
     @PostMapping(path = "/{id}", params = "_method=delete")
     public String deleteCalendarItem(@PathVariable("id") Long id, RedirectAttributes ra) {
-        if (!calendarItemRepository.existsById(id)) {
+        Optional<Long> householdId = calendarItemRepository.findHouseholdIdById(id);
+        if (householdId.isEmpty()) {
             ra.addFlashAttribute("error", "Calendar item not found");
             return "redirect:/calendar";
         }
         calendarItemRepository.deleteById(id);
+        scheduleConflictService.invalidate(householdId.get());
         ra.addFlashAttribute("message", "Calendar item deleted");
         return "redirect:/calendar";
     }
+
+    // The creator is warned about clashes, but the item is saved regardless
+    private static void addConflicts(RedirectAttributes ra, List<ScheduleConflict> conflicts) {
+        if (!conflicts.isEmpty()) {
+            ra.addFlashAttribute("conflicts", conflicts);
+        }
+    }
 }
@@ -0,0 +1,35 @@
+package com.group5final.roomieradar.controllers;
+
+import com.group5final.roomieradar.dto.CalendarItemDTO;
+import com.group5final.roomieradar.repositories.CalendarItemRepository;
+import com.group5final.roomieradar.services.CurrentUserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Read-only JSON API for the calendar items of the current user's household, built from
+ * JPQL-selected DTOs. Items are returned as stored; repeating items are not expanded.
+ */
+@RestController
+@RequestMapping("/api/v1/calendar-items")
+public class CalendarItemApiController {
+
+    @Autowired
+    private CalendarItemRepository calendarItemRepository;
+
+    @Autowired
+    private CurrentUserService currentUserService;
+
+    @GetMapping
+    public List<CalendarItemDTO> calendarItems() {
+        Long householdId = currentUserService.getCurrentHouseholdId()
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.FORBIDDEN, "User must be in a household"));
+        return calendarItemRepository.findViewsByHouseholdId(householdId);
+    }
+}
@@ -0,0 +1,34 @@
+package com.group5final.roomieradar.controllers;
+
+import com.group5final.roomieradar.dto.ChoreDTO;
+import com.group5final.roomieradar.repositories.ChoreRepository;
+import com.group5final.roomieradar.services.CurrentUserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Read-only JSON API for the chores of the current user's household, built from JPQL-selected DTOs.
+ */
+@RestController
+@RequestMapping("/api/v1/chores")
+public class ChoreApiController {
+
+    @Autowired
+    private ChoreRepository choreRepository;
+
+    @Autowired
+    private CurrentUserService currentUserService;
+
+    @GetMapping
+    public List<ChoreDTO> chores() {
+        Long householdId = currentUserService.getCurrentHouseholdId()
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.FORBIDDEN, "User must be in a household"));
+        return choreRepository.findViewsByHouseholdId(householdId);
+    }
+}
@@ -5,6 +5,7 @@ import com.group5final.roomieradar.entities.Household;
 import com.group5final.roomieradar.entities.User;
 import com.group5final.roomieradar.repositories.ChoreRepository;
 import com.group5final.roomieradar.repositories.UserRepository;
+import com.group5final.roomieradar.services.ChoreService;
 import com.group5final.roomieradar.services.CurrentUserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -25,6 +26,9 @@ public class ChoreController {
     @Autowired
     private ChoreRepository choreRepository;
 
+    @Autowired
+    private ChoreService choreService;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -100,7 +104,7 @@ public class ChoreController {
         chore.setDueDate(dueDate.atStartOfDay().toInstant(ZoneOffset.UTC));
         chore.setDescription(description);
 
-        choreRepository.save(chore);
+        choreService.createChore(chore);
 
         return "redirect:/chores?msg=Chore added successfully!";
     }
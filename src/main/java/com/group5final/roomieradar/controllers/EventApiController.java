@@ -0,0 +1,159 @@
+package com.group5final.roomieradar.controllers;
+
+import com.group5final.roomieradar.dto.EventDTO;
+import com.group5final.roomieradar.dto.RsvpSummaryDTO;
+import com.group5final.roomieradar.dto.UserDTO;
+import com.group5final.roomieradar.entities.User;
+import com.group5final.roomieradar.enums.RsvpStatus;
+import com.group5final.roomieradar.repositories.EventRepository;
+import com.group5final.roomieradar.services.CurrentUserService;
+import com.group5final.roomieradar.services.EventRsvpService;
+import com.group5final.roomieradar.services.EventService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JSON API for the events of the current user's household. Views are built from JPQL-selected DTOs;
+ * attendees can be added and removed one at a time, and members can RSVP.
+ */
+@RestController
+@RequestMapping("/api/v1/events")
+public class EventApiController {
+
+    static final int DEFAULT_LIMIT = 20;
+    static final int MAX_LIMIT = 200;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRsvpService eventRsvpService;
+
+    @Autowired
+    private CurrentUserService currentUserService;
+
+    /**
+     * Lists events by date, optionally only those in {@code [from, to)}.
+     */
+    @GetMapping
+    public List<EventDTO> events(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        Long householdId = householdId();
+        if (from == null && to == null) {
+            return eventRepository.findViewsByHouseholdId(householdId);
+        }
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Both from and to are required, with from before to");
+        }
+        return eventRepository.findViewsByHouseholdIdBetween(householdId, from, to);
+    }
+
+    /**
+     * Lists the next events from now on, soonest first.
+     */
+    @GetMapping("/upcoming")
+    public List<EventDTO> upcoming(@RequestParam(defaultValue = "" + DEFAULT_LIMIT) int limit) {
+        return eventRepository.findUpcomingViews(householdId(), LocalDateTime.now(), limit(limit));
+    }
+
+    /**
+     * Lists past events, latest first.
+     */
+    @GetMapping("/past")
+    public List<EventDTO> past(@RequestParam(defaultValue = "" + DEFAULT_LIMIT) int limit) {
+        return eventRepository.findPastViews(householdId(), LocalDateTime.now(), limit(limit));
+    }
+
+    @GetMapping("/{id}/attendees")
+    public List<UserDTO> attendees(@PathVariable Long id) {
+        return eventRepository.findAttendeeViews(id, householdId());
+    }
+
+    /**
+     * Adds a household member to the event's attendees; adding an attendee again does nothing.
+     */
+    @PutMapping("/{id}/attendees/{userId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void addAttendee(@PathVariable Long id, @PathVariable Long userId) {
+        Long householdId = householdId();
+        try {
+            eventService.addAttendee(id, userId, householdId);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    /**
+     * Removes a user from the event's attendees; removing a non-attendee does nothing.
+     */
+    @DeleteMapping("/{id}/attendees/{userId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void removeAttendee(@PathVariable Long id, @PathVariable Long userId) {
+        Long householdId = householdId();
+        try {
+            eventService.removeAttendee(id, userId, householdId);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}/rsvp")
+    public RsvpSummaryDTO rsvpSummary(@PathVariable Long id) {
+        User user = householdMember();
+        try {
+            return eventRsvpService.getSummary(id, user.getId(), user.getHousehold().getId());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    /**
+     * Records the current user's response and returns the updated summary; 409 when the user
+     * wants to go but every seat is taken.
+     */
+    @PutMapping("/{id}/rsvp")
+    public RsvpSummaryDTO rsvp(@PathVariable Long id, @RequestParam RsvpStatus status) {
+        User user = householdMember();
+        try {
+            eventRsvpService.respond(id, user.getId(), user.getHousehold().getId(), status);
+            return eventRsvpService.getSummary(id, user.getId(), user.getHousehold().getId());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    private User householdMember() {
+        return currentUserService.getCurrentUser()
+            .filter(user -> user.getHousehold() != null)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.FORBIDDEN, "User must be in a household"));
+    }
+
+    private static Limit limit(int limit) {
+        return Limit.of(Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+
+    private Long householdId() {
+        return currentUserService.getCurrentHouseholdId()
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.FORBIDDEN, "User must be in a household"));
+    }
+}
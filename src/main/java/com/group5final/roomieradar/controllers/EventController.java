@@ -1,16 +1,21 @@
 package com.group5final.roomieradar.controllers;
 
+import com.group5final.roomieradar.dto.ScheduleConflict;
 import com.group5final.roomieradar.entities.Event;
 import com.group5final.roomieradar.entities.User;
+import com.group5final.roomieradar.enums.RsvpStatus;
 import com.group5final.roomieradar.repositories.EventRepository;
 import com.group5final.roomieradar.services.CurrentUserService;
+import com.group5final.roomieradar.services.EventRsvpService;
 import com.group5final.roomieradar.services.EventService;
+import com.group5final.roomieradar.services.ScheduleConflictService;
 import jakarta.persistence.Id;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -26,27 +31,37 @@ import java.util.Optional;
 @RequestMapping("/events")
 public class EventController {
 
+    static final int UPCOMING_EVENTS_LIMIT = 50;
+    static final int PAST_EVENTS_LIMIT = 10;
+
     private final EventService eventService;
+    private final EventRsvpService eventRsvpService;
     private final CurrentUserService currentUserService;
+    private final ScheduleConflictService scheduleConflictService;
     private final com.group5final.roomieradar.repositories.UserRepository userRepository;
 
     /**
      * Constructs the EventController with required services and repositories.
      *
      * @param eventService service for event operations
+     * @param eventRsvpService service for responses to events
      * @param currentUserService service for current user information
+     * @param scheduleConflictService service finding attendees who are booked elsewhere
      * @param userRepository repository for user data
      */
-    public EventController(EventService eventService, CurrentUserService currentUserService, com.group5final.roomieradar.repositories.UserRepository userRepository) {
+    public EventController(EventService eventService, EventRsvpService eventRsvpService, CurrentUserService currentUserService, ScheduleConflictService scheduleConflictService, com.group5final.roomieradar.repositories.UserRepository userRepository) {
         this.eventService = eventService;
+        this.eventRsvpService = eventRsvpService;
         this.currentUserService = currentUserService;
+        this.scheduleConflictService = scheduleConflictService;
         this.userRepository = userRepository;
     }
 
     /**
      * Handles GET requests to list events ("/events").
      * <p>
-     * Redirects if no household; otherwise, adds events to the model.
+     * Redirects if no household; otherwise, adds the next upcoming events and the most recent
+     * past ones to the model, so the page does not grow with the household's history.
      * </p>
      *
      * @param model the model to add attributes to
@@ -57,7 +72,9 @@ public class EventController {
         if (!currentUserService.hasHousehold()) {
             return "redirect:/household?requiresHousehold=true";
         }
-        model.addAttribute("events", eventService.getEventsForCurrentUserHousehold());
+        LocalDateTime now = LocalDateTime.now();
+        model.addAttribute("events", eventService.getUpcomingEventsForCurrentUserHousehold(now, UPCOMING_EVENTS_LIMIT));
+        model.addAttribute("pastEvents", eventService.getPastEventsForCurrentUserHousehold(now, PAST_EVENTS_LIMIT));
         model.addAttribute("noHousehold", false);
         return "events";
     }
@@ -65,7 +82,8 @@ public class EventController {
     /**
      * Handles GET requests to view event details ("/events/{id}").
      * <p>
-     * Redirects if no household or event not found; otherwise, adds event to the model.
+     * Redirects if no household or event not found; otherwise, adds the event and, for events of
+     * the user's household, the RSVP summary to the model.
      * </p>
      *
      * @param id the ID of the event
@@ -85,6 +103,10 @@ public class EventController {
 
         model.addAttribute("event", event.get());
         model.addAttribute("noHousehold", false);
+        currentUserService.getCurrentUser()
+                .filter(user -> event.get().getHousehold().getId().equals(user.getHousehold().getId()))
+                .ifPresent(user -> model.addAttribute("rsvp",
+                        eventRsvpService.getSummary(id, user.getId(), user.getHousehold().getId())));
         return "event-details";
     }
 
@@ -116,35 +138,49 @@ public class EventController {
     /**
      * Handles POST requests to update an event ("/events/edit/{id}").
      * <p>
-     * Updates event details and attendees if the event exists.
+     * Updates event details and attendees if the event exists. Only attendees who were
+     * added or removed are written. Attendees who are booked elsewhere at the new time are
+     * reported as a warning. A capacity below one, or below the users already going, is
+     * rejected back to the form.
      * </p>
      *
      * @param id the ID of the event
      * @param name the updated name
      * @param description the updated description
      * @param eventDate the updated event date
+     * @param capacity optional number of seats; empty for unlimited
      * @param attendeeIds optional list of attendee IDs
-     * @return redirect to event details
+     * @param ra redirect attributes for the conflict warning or error
+     * @return redirect to event details, or back to the form if the capacity is rejected
      */
     @PostMapping("/edit/{id}")
     public String updateEvent(@PathVariable Long id,
                               @RequestParam String name,
                               @RequestParam String description,
                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime eventDate,
-                              @RequestParam(required = false) java.util.List<Long> attendeeIds) {
+                              @RequestParam(required = false) Integer capacity,
+                              @RequestParam(required = false) java.util.List<Long> attendeeIds,
+                              RedirectAttributes ra) {
+        if (capacity != null && capacity < 1) {
+            ra.addFlashAttribute("error", "An event needs at least one seat.");
+            return "redirect:/events/edit/" + id;
+        }
         Optional<Event> eventOpt = eventService.getEventById(id);
         if (eventOpt.isPresent()) {
             Event event = eventOpt.get();
+            java.util.List<ScheduleConflict> conflicts = scheduleConflictService.findEventConflicts(
+                    event.getHousehold().getId(), id, eventDate, attendeeIds);
             event.setName(name);
             event.setDescription(description);
             event.setEventDate(eventDate);
-            if (attendeeIds != null) {
-                java.util.List<User> attendees = (java.util.List<User>) userRepository.findAllById(attendeeIds);
-                event.setAttendees(new java.util.HashSet<>(attendees));
-            } else {
-                event.getAttendees().clear();
+            event.setCapacity(capacity);
+            try {
+                eventService.saveEvent(event, attendeeIds);
+            } catch (IllegalStateException e) {
+                ra.addFlashAttribute("error", "More people are already going than " + capacity + " seats.");
+                return "redirect:/events/edit/" + id;
             }
-            eventService.saveEvent(event);
+            addConflicts(ra, conflicts);
         }
         return "redirect:/events/" + id;
     }
@@ -172,20 +208,26 @@ public class EventController {
     /**
      * Handles POST requests to add a new event ("/events/add").
      * <p>
-     * Creates and saves a new event with the provided details and attendees.
+     * Creates and saves a new event with the provided details and attendees. Attendees who are
+     * booked elsewhere at that time are reported as a warning. A capacity below one is rejected
+     * back to the form.
      * </p>
      *
      * @param name the name of the event
      * @param description the description
      * @param eventDate the event date
+     * @param capacity optional number of seats; empty for unlimited
      * @param attendeeIds optional list of attendee IDs
-     * @return redirect to events list or login if not authenticated
+     * @param ra redirect attributes for the conflict warning or error
+     * @return redirect to events list, back to the form, or login if not authenticated
      */
     @PostMapping("/add")
     public String addEvent(@RequestParam String name,
                            @RequestParam String description,
                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime eventDate,
-                           @RequestParam(required = false) java.util.List<Long> attendeeIds) {
+                           @RequestParam(required = false) Integer capacity,
+                           @RequestParam(required = false) java.util.List<Long> attendeeIds,
+                           RedirectAttributes ra) {
         if (!currentUserService.hasHousehold()) {
             return "redirect:/household?requiresHousehold=true";
         }
@@ -194,6 +236,10 @@ public class EventController {
         if (currentUserOpt.isEmpty()) {
             return "redirect:/login";
         }
+        if (capacity != null && capacity < 1) {
+            ra.addFlashAttribute("error", "An event needs at least one seat.");
+            return "redirect:/events/add";
+        }
 
         User currentUser = currentUserOpt.get();  // Unwrap the Optional here
         Event event = new Event();
@@ -202,14 +248,51 @@ public class EventController {
         event.setEventDate(eventDate);
         event.setUserid(currentUser);
         event.setHousehold(currentUser.getHousehold());
-        if (attendeeIds != null) {
-            java.util.List<User> attendees = (java.util.List<User>) userRepository.findAllById(attendeeIds);
-            event.setAttendees(new java.util.HashSet<>(attendees));
-        }
-        eventService.saveEvent(event);
+        event.setCapacity(capacity);
+        java.util.List<ScheduleConflict> conflicts = scheduleConflictService.findEventConflicts(
+                currentUser.getHousehold().getId(), null, eventDate, attendeeIds);
+        eventService.saveEvent(event, attendeeIds);
+        addConflicts(ra, conflicts);
         return "redirect:/events";
     }
 
+    private static void addConflicts(RedirectAttributes ra, java.util.List<ScheduleConflict> conflicts) {
+        if (!conflicts.isEmpty()) {
+            ra.addFlashAttribute("conflicts", conflicts);
+        }
+    }
+
+    /**
+     * Handles POST requests to respond to an event ("/events/{id}/rsvp").
+     * <p>
+     * Records the current user's RSVP; when the user wants to go but the event is full,
+     * redirects back with a notice instead.
+     * </p>
+     *
+     * @param id the ID of the event
+     * @param status the response
+     * @return redirect to event details, or login if not authenticated
+     */
+    @PostMapping("/{id}/rsvp")
+    public String rsvp(@PathVariable Long id, @RequestParam RsvpStatus status) {
+        Optional<User> currentUserOpt = currentUserService.getCurrentUser();
+        if (currentUserOpt.isEmpty()) {
+            return "redirect:/login";
+        }
+        User currentUser = currentUserOpt.get();
+        if (currentUser.getHousehold() == null) {
+            return "redirect:/household?requiresHousehold=true";
+        }
+        try {
+            eventRsvpService.respond(id, currentUser.getId(), currentUser.getHousehold().getId(), status);
+        } catch (IllegalArgumentException e) {
+            return "redirect:/events";
+        } catch (IllegalStateException e) {
+            return "redirect:/events/" + id + "?full=true";
+        }
+        return "redirect:/events/" + id;
+    }
+
     /**
      * Handles GET requests to delete an event ("/events/delete/{id}").
      * <p>
@@ -0,0 +1,35 @@
+package com.group5final.roomieradar.controllers;
+
+import com.group5final.roomieradar.services.CurrentUserService;
+import com.group5final.roomieradar.services.HouseholdEventHub;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-sent event stream of the changes to the current user's household.
+ * <p>
+ * Each event is named after its {@link com.group5final.roomieradar.enums.DomainEventType} and
+ * carries the {@link com.group5final.roomieradar.dto.DomainEvent} as JSON.
+ * </p>
+ */
+@RestController
+public class LiveUpdateController {
+
+    @Autowired
+    private HouseholdEventHub householdEventHub;
+
+    @Autowired
+    private CurrentUserService currentUserService;
+
+    @GetMapping(value = "/api/v1/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        Long householdId = currentUserService.getCurrentHouseholdId()
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.FORBIDDEN, "User must be in a household"));
+        return householdEventHub.subscribe(householdId);
+    }
+}
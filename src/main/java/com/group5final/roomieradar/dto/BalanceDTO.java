@@ -0,0 +1,21 @@
+package com.group5final.roomieradar.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Net amount one household member owes another after offsetting debts in both directions.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BalanceDTO {
+    private Long fromUserId;
+    private String fromUsername;
+    private Long toUserId;
+    private String toUsername;
+    private BigDecimal amount;
+}
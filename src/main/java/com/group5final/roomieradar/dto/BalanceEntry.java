@@ -0,0 +1,20 @@
+package com.group5final.roomieradar.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Outstanding amounts one member owes another, as aggregated from bill splits.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BalanceEntry {
+    private Long debtorId;
+    private Long creditorId;
+    private BigDecimal unpaidAmount;
+    private BigDecimal pendingAmount;
+}
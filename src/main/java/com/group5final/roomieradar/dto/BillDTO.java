@@ -0,0 +1,24 @@
+package com.group5final.roomieradar.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A bill as exposed by the REST API, selected directly by JPQL without loading the entity.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BillDTO {
+    private Long id;
+    private String name;
+    private BigDecimal amount;
+    private String description;
+    private LocalDateTime dueDate;
+    private Long createdById;
+    private String createdByUsername;
+}
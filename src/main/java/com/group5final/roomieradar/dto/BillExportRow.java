@@ -0,0 +1,29 @@
+package com.group5final.roomieradar.dto;
+
+import com.group5final.roomieradar.enums.SplitStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One exported bill split, flattened with its bill. Bills without splits produce a single row
+ * whose split columns are null.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BillExportRow {
+    private Long billId;
+    private String billName;
+    private BigDecimal billAmount;
+    private String description;
+    private LocalDateTime dueDate;
+    private String createdBy;
+    private Long splitId;
+    private String splitUser;
+    private BigDecimal splitAmount;
+    private SplitStatus status;
+}
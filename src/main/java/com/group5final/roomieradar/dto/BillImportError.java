@@ -0,0 +1,17 @@
+package com.group5final.roomieradar.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A row of an imported bill file that was not imported, and why.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BillImportError {
+    // Line of the file the row starts on, counting the header as line 1
+    private long line;
+    private String message;
+}
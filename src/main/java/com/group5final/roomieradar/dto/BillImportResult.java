@@ -0,0 +1,22 @@
+package com.group5final.roomieradar.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk bill import. Valid rows are imported even when other rows are rejected.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BillImportResult {
+    private long rowsRead;
+    private long billsImported;
+    private long rowsRejected;
+    // The first rejected rows, in file order; see rowsRejected for the total
+    private List<BillImportError> errors = new ArrayList<>();
+}
@@ -0,0 +1,21 @@
+package com.group5final.roomieradar.dto;
+
+import com.group5final.roomieradar.entities.Bill;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One keyset page of bills, ordered by due date (latest first, undated last) and id.
+ * <p>
+ * {@code nextCursor} is the id of the last bill on the page and is passed back as
+ * {@code after} to fetch the following page; it is null on the last page.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+public class BillPage {
+    private final List<Bill> bills;
+    private final Long nextCursor;
+}
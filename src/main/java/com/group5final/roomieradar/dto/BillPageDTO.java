@@ -0,0 +1,19 @@
+package com.group5final.roomieradar.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BillPageDTO {
+    private List<BillSummaryDTO> bills;
+    private Long nextCursor;
+
+    public static BillPageDTO from(BillPage page) {
+        return new BillPageDTO(page.getBills().stream().map(BillSummaryDTO::from).toList(), page.getNextCursor());
+    }
+}
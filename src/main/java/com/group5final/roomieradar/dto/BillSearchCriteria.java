@@ -0,0 +1,26 @@
+package com.group5final.roomieradar.dto;
+
+import com.group5final.roomieradar.enums.SplitStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters of a bill search. Every field is optional; absent fields do not restrict the result.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BillSearchCriteria {
+    // Free text matched against the bill name and description
+    private String query;
+    // Only bills with a split in this status, or the member's split if a member is given
+    private SplitStatus status;
+    // Due date range, inclusive start and exclusive end
+    private LocalDateTime dueFrom;
+    private LocalDateTime dueTo;
+    // Only bills split with this user
+    private Long memberId;
+}
@@ -0,0 +1,25 @@
+package com.group5final.roomieradar.dto;
+
+import com.group5final.roomieradar.entities.BillSplit;
+import com.group5final.roomieradar.enums.SplitStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BillSplitDTO {
+    private Long id;
+    private Long userId;
+    private String username;
+    private BigDecimal splitAmount;
+    private SplitStatus status;
+
+    public static BillSplitDTO from(BillSplit split) {
+        return new BillSplitDTO(split.getId(), split.getUser().getId(), split.getUser().getUsername(),
+                split.getSplitAmount(), split.getStatus());
+    }
+}
@@ -0,0 +1,29 @@
+package com.group5final.roomieradar.dto;
+
+import com.group5final.roomieradar.entities.Bill;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BillSummaryDTO {
+    private Long id;
+    private String name;
+    private BigDecimal amount;
+    private String description;
+    private LocalDateTime dueDate;
+    private Long createdById;
+    private List<BillSplitDTO> splits;
+
+    public static BillSummaryDTO from(Bill bill) {
+        return new BillSummaryDTO(bill.getId(), bill.getName(), bill.getAmount(), bill.getDescription(),
+                bill.getDueDate(), bill.getCreatedBy() != null ? bill.getCreatedBy().getId() : null,
+                bill.getSplits().stream().map(BillSplitDTO::from).toList());
+    }
+}
@@ -0,0 +1,29 @@
+package com.group5final.roomieradar.dto;
+
+import com.group5final.roomieradar.enums.RepeatUnit;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A calendar item as exposed by the REST API, selected directly by JPQL without loading the entity.
+ * Skipped occurrences are not included.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CalendarItemDTO {
+    private Long id;
+    private String name;
+    private String description;
+    private LocalDateTime dateStart;
+    private LocalDateTime dateEnd;
+    private Integer repeatDuration;
+    private RepeatUnit repeatUnit;
+    private LocalDate repeatUntil;
+    private Long creatorId;
+    private String creatorUsername;
+}
@@ -0,0 +1,22 @@
+package com.group5final.roomieradar.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A chore as exposed by the REST API, selected directly by JPQL without loading the entity.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChoreDTO {
+    private Long id;
+    private String name;
+    private String description;
+    private Instant dueDate;
+    private Long assigneeId;
+    private String assigneeUsername;
+}
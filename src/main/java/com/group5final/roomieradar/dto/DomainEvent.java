@@ -0,0 +1,32 @@
+package com.group5final.roomieradar.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.group5final.roomieradar.enums.DomainEventType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A change to a household's bills, events or chores, as delivered to
+ * {@link com.group5final.roomieradar.services.DomainEventHandler}s.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DomainEvent {
+    private Long id;
+    private DomainEventType type;
+    private Long householdId;
+    /**
+     * The bill, event or chore that changed.
+     */
+    private Long aggregateId;
+    /**
+     * Details of the change as a JSON object, embedded as such when the event is serialized.
+     */
+    @JsonRawValue
+    private String payload;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,21 @@
+package com.group5final.roomieradar.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One attendee of an event, with the event's name and date.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventAttendeeRow {
+    private Long eventId;
+    private String eventName;
+    private LocalDateTime eventDate;
+    private Long userId;
+    private String username;
+}
@@ -0,0 +1,23 @@
+package com.group5final.roomieradar.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An event as exposed by the REST API, selected directly by JPQL without loading the entity.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventDTO {
+    private Long id;
+    private String name;
+    private LocalDateTime eventDate;
+    private String description;
+    private Long createdById;
+    private String createdByUsername;
+    private Integer attendeeCount;
+}
@@ -0,0 +1,18 @@
+package com.group5final.roomieradar.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MemberSpendingDTO {
+    private Long userId;
+    private String username;
+    // The member's share of the bills due in each month, aligned with SpendingAnalyticsDTO.months
+    private List<BigDecimal> totals;
+}
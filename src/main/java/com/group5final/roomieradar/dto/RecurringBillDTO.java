@@ -0,0 +1,38 @@
+package com.group5final.roomieradar.dto;
+
+import com.group5final.roomieradar.entities.RecurringBill;
+import com.group5final.roomieradar.enums.RepeatUnit;
+import com.group5final.roomieradar.enums.SplitMode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Recurring bill template as returned by the JSON endpoints.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RecurringBillDTO {
+    private Long id;
+    private String name;
+    private BigDecimal amount;
+    private String description;
+    private RepeatUnit repeatUnit;
+    private int repeatInterval;
+    private LocalDate repeatUntil;
+    private LocalDateTime nextDueDate;
+    private SplitMode splitMode;
+    private boolean active;
+
+    public static RecurringBillDTO from(RecurringBill recurringBill) {
+        return new RecurringBillDTO(recurringBill.getId(), recurringBill.getName(), recurringBill.getAmount(),
+                recurringBill.getDescription(), recurringBill.getRepeatUnit(), recurringBill.getRepeatInterval(),
+                recurringBill.getRepeatUntil(), recurringBill.getNextDueDate(), recurringBill.getSplitMode(),
+                recurringBill.isActive());
+    }
+}
@@ -0,0 +1,22 @@
+package com.group5final.roomieradar.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * An unpaid split of a bill that is due soon or overdue, as selected by the reminder scan.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReminderCandidate {
+    private Long splitId;
+    private Long userId;
+    private String billName;
+    private LocalDateTime dueDate;
+    private BigDecimal splitAmount;
+}
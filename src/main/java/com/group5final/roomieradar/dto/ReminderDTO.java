@@ -0,0 +1,16 @@
+package com.group5final.roomieradar.dto;
+
+import com.group5final.roomieradar.enums.ReminderKind;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReminderDTO {
+    private Long id;
+    private Long userId;
+    private ReminderKind kind;
+    private String message;
+}
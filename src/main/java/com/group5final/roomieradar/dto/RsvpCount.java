@@ -0,0 +1,17 @@
+package com.group5final.roomieradar.dto;
+
+import com.group5final.roomieradar.enums.RsvpStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of an event's RSVPs with one status.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RsvpCount {
+    private RsvpStatus status;
+    private long count;
+}
@@ -0,0 +1,26 @@
+package com.group5final.roomieradar.dto;
+
+import com.group5final.roomieradar.enums.RsvpStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * RSVP counts of an event, its seat limit and the current user's own response.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RsvpSummaryDTO {
+    private long going;
+    private long maybe;
+    private long declined;
+    // Null when the event has no seat limit
+    private Integer capacity;
+    // Null when the current user has not responded
+    private RsvpStatus myStatus;
+
+    public boolean isFull() {
+        return capacity != null && going >= capacity;
+    }
+}
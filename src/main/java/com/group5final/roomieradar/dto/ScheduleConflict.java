@@ -0,0 +1,25 @@
+package com.group5final.roomieradar.dto;
+
+import com.group5final.roomieradar.enums.ScheduleItemType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * An event or calendar item occurrence that overlaps a time range for some of the same people.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ScheduleConflict {
+    private ScheduleItemType type;
+    private Long id;
+    private String name;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    // The people booked on both, by username
+    private List<String> usernames;
+}
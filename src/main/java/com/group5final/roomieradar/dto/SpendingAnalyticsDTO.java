@@ -0,0 +1,24 @@
+package com.group5final.roomieradar.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Monthly spending of a household, oldest month first. Every list has one entry per month.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SpendingAnalyticsDTO {
+    // Months as yyyy-MM
+    private List<String> months;
+    // Household totals per month by split status
+    private List<BigDecimal> unpaid;
+    private List<BigDecimal> pending;
+    private List<BigDecimal> paid;
+    private List<MemberSpendingDTO> members;
+}
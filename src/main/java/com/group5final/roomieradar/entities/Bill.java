@@ -16,7 +16,9 @@ import java.util.Set;
 @Entity
 @Table(name = "bill", schema = "roomieRadarData", indexes = {
     @Index(name = "idx_bill_household_id", columnList = "householdId"),
-    @Index(name = "idx_bill_created_by_id", columnList = "createdById")
+    @Index(name = "idx_bill_created_by_id", columnList = "createdById"),
+    @Index(name = "idx_bill_household_due_id", columnList = "householdId, dueDate, id"),
+    @Index(name = "idx_bill_due_id", columnList = "dueDate, id")
 })
 public class Bill {
     @Id
@@ -48,4 +50,11 @@ public class Bill {
     @JoinColumn(name = "createdById")
     private User createdBy;
 
+    /**
+     * Optimistic lock version of the bill.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
 }
\ No newline at end of file
@@ -11,7 +11,9 @@ import java.math.BigDecimal;
 @Getter
 @Setter
 @Entity
-@Table(name = "bill_split", schema = "roomieRadarData")
+@Table(name = "bill_split", schema = "roomieRadarData", indexes = {
+    @Index(name = "idx_bill_split_bill_status", columnList = "billId, status")
+})
 public class BillSplit {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -34,5 +36,12 @@ public class BillSplit {
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private com.group5final.roomieradar.enums.SplitStatus status = com.group5final.roomieradar.enums.SplitStatus.UNPAID;
+
+    /**
+     * Optimistic lock version; bumped by every update so concurrent transitions cannot overwrite each other.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
 
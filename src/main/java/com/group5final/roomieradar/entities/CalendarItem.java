@@ -3,13 +3,20 @@ package com.group5final.roomieradar.entities;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.springframework.format.annotation.DateTimeFormat;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 @Getter
 @Setter
 @Entity
-@Table(name = "calendarItem", schema = "roomieRadarData")
+@Table(name = "calendarItem", schema = "roomieRadarData", indexes = {
+    @Index(name = "idx_calendar_item_household_start", columnList = "householdId, dateStart")
+})
 public class CalendarItem {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -28,9 +35,29 @@ public class CalendarItem {
     @Column(name = "dateEnd")
     private LocalDateTime dateEnd;
 
+    // Interval between occurrences in repeatUnit; null or 0 means the item does not repeat
     @Column(name = "repeatDuration")
     private Integer repeatDuration;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "repeatUnit", nullable = false)
+    private com.group5final.roomieradar.enums.RepeatUnit repeatUnit = com.group5final.roomieradar.enums.RepeatUnit.DAYS;
+
+    // Last day an occurrence may start on; null repeats forever
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    @Column(name = "repeatUntil")
+    private LocalDate repeatUntil;
+
+    // Occurrence start days that were skipped
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    @ElementCollection
+    @CollectionTable(name = "calendarItem_exception", schema = "roomieRadarData",
+            joinColumns = @JoinColumn(name = "calendarItemId"))
+    @Column(name = "exceptionDate", nullable = false)
+    @OrderBy
+    @BatchSize(size = 50)
+    private Set<LocalDate> repeatExceptions = new LinkedHashSet<>();
+
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "creator", nullable = false)
     private User creator;
@@ -0,0 +1,69 @@
+package com.group5final.roomieradar.entities;
+
+import com.group5final.roomieradar.enums.DomainEventType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A domain event waiting to be handed to the in-process handlers, or already handed over.
+ * <p>
+ * Rows are written by {@link com.group5final.roomieradar.services.DomainEventPublisher} in the
+ * transaction of the change they describe, so an event exists exactly when its change was
+ * committed. There are no foreign keys: events outlive the bills, events and chores they describe.
+ * </p>
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "domain_event_outbox", schema = "roomieRadarData",
+    indexes = @Index(name = "idx_domain_event_outbox_pending", columnList = "publishedAt, id"))
+public class DomainEventOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 40)
+    private DomainEventType type;
+
+    @Column(name = "householdId", nullable = false)
+    private Long householdId;
+
+    @Column(name = "aggregateId", nullable = false)
+    private Long aggregateId;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "occurredAt", nullable = false)
+    private LocalDateTime occurredAt;
+
+    /**
+     * When the event was handed to the handlers; null while it is pending.
+     */
+    @Column(name = "publishedAt")
+    private LocalDateTime publishedAt;
+
+    /**
+     * Number of failed dispatch attempts.
+     */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "lastError", length = 500)
+    private String lastError;
+
+    /**
+     * The dispatcher run handing the event over; null while no run holds it.
+     */
+    @Column(name = "claimedBy", length = 36)
+    private String claimedBy;
+
+    @Column(name = "claimedAt")
+    private LocalDateTime claimedAt;
+}
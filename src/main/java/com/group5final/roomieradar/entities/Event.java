@@ -10,7 +10,8 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Entity
-@Table(name = "event", schema = "roomieRadarData")
+@Table(name = "event", schema = "roomieRadarData", indexes =
+    @Index(name = "idx_event_household_date_id", columnList = "householdId, eventDate, id"))
 public class Event {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -42,4 +43,24 @@ public class Event {
     )
     private java.util.Set<User> attendees = new java.util.HashSet<>();
 
+    /**
+     * Maximum number of users going; null means unlimited.
+     * <p>
+     * Saving the entity only writes it for a new event. Later changes go through
+     * {@code EventRepository#changeCapacity}, which refuses fewer seats than users already going.
+     * </p>
+     */
+    @Column(name = "capacity", updatable = false)
+    private Integer capacity;
+
+    /**
+     * Number of users whose RSVP is {@code GOING}.
+     * <p>
+     * Only changed by conditional updates on the row, never by saving the entity, so a stale
+     * copy cannot overwrite concurrent RSVPs.
+     * </p>
+     */
+    @Column(name = "goingCount", nullable = false, updatable = false)
+    private int goingCount;
+
 }
\ No newline at end of file
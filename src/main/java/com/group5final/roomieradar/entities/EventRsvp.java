@@ -0,0 +1,52 @@
+package com.group5final.roomieradar.entities;
+
+import com.group5final.roomieradar.enums.RsvpStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * A household member's response to an event.
+ * <p>
+ * One row per (event, user) pair. Rows are written with conditional statements rather than by
+ * saving the entity, so that concurrent responses of the same user cannot both be applied.
+ * </p>
+ */
+@Getter
+@Setter
+@Entity
+@IdClass(EventRsvp.EventRsvpId.class)
+@Table(name = "event_rsvp", schema = "roomieRadarData")
+public class EventRsvp {
+
+    @Id
+    @Column(name = "eventId", nullable = false)
+    private Long eventId;
+
+    @Id
+    @Column(name = "userId", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 10)
+    private RsvpStatus status;
+
+    @Column(name = "respondedAt", nullable = false)
+    private LocalDateTime respondedAt;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class EventRsvpId implements Serializable {
+        private Long eventId;
+        private Long userId;
+    }
+}
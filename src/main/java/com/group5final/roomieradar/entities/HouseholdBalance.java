@@ -0,0 +1,62 @@
+package com.group5final.roomieradar.entities;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Materialized amount one household member owes another.
+ * <p>
+ * One row per (debtor, creditor) pair, where the creditor created bills the debtor has
+ * outstanding splits on. Amounts are kept up to date incrementally by bill operations and
+ * can be recomputed from the bill splits at any time.
+ * </p>
+ */
+@Getter
+@Setter
+@Entity
+@IdClass(HouseholdBalance.HouseholdBalanceId.class)
+@Table(name = "household_balance", schema = "roomieRadarData")
+public class HouseholdBalance {
+
+    @Id
+    @Column(name = "householdId", nullable = false)
+    private Long householdId;
+
+    @Id
+    @Column(name = "debtorId", nullable = false)
+    private Long debtorId;
+
+    @Id
+    @Column(name = "creditorId", nullable = false)
+    private Long creditorId;
+
+    /**
+     * Sum of the debtor's unpaid splits on the creditor's bills.
+     */
+    @Column(name = "unpaidAmount", nullable = false, precision = 12, scale = 2)
+    private BigDecimal unpaidAmount = BigDecimal.ZERO;
+
+    /**
+     * Sum of the debtor's splits on the creditor's bills that are waiting for approval.
+     */
+    @Column(name = "pendingAmount", nullable = false, precision = 12, scale = 2)
+    private BigDecimal pendingAmount = BigDecimal.ZERO;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class HouseholdBalanceId implements Serializable {
+        private Long householdId;
+        private Long debtorId;
+        private Long creditorId;
+    }
+}
@@ -0,0 +1,118 @@
+package com.group5final.roomieradar.entities;
+
+import com.group5final.roomieradar.enums.RepeatUnit;
+import com.group5final.roomieradar.enums.SplitMode;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Template for a bill that is due on a fixed schedule, such as rent or utilities.
+ * <p>
+ * The generator materializes a {@link Bill} with its splits for every occurrence that falls
+ * due and advances {@link #nextDueDate} in the same transaction, so an occurrence is never
+ * created twice. Occurrences are computed from {@link #firstDueDate} and
+ * {@link #generatedCount}, so monthly bills on the 31st do not drift.
+ * </p>
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "recurring_bill", schema = "roomieRadarData", indexes = {
+    @Index(name = "idx_recurring_bill_active_id_due", columnList = "active, id, nextDueDate")
+})
+public class RecurringBill {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    @Column(name = "amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "description", length = 500)
+    private String description;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JoinColumn(name = "householdId", nullable = false)
+    private Household household;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JoinColumn(name = "createdById", nullable = false)
+    private User createdBy;
+
+    @Column(name = "firstDueDate", nullable = false)
+    private LocalDateTime firstDueDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "repeatUnit", nullable = false)
+    private RepeatUnit repeatUnit = RepeatUnit.MONTHS;
+
+    @Column(name = "repeatInterval", nullable = false)
+    private int repeatInterval = 1;
+
+    // Last day a bill may be due on; null repeats forever
+    @Column(name = "repeatUntil")
+    private LocalDate repeatUntil;
+
+    // Number of bills generated so far, which also indexes the next occurrence
+    @Column(name = "generatedCount", nullable = false)
+    private int generatedCount;
+
+    @Column(name = "nextDueDate", nullable = false)
+    private LocalDateTime nextDueDate;
+
+    @Column(name = "active", nullable = false)
+    private boolean active = true;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "splitMode", nullable = false)
+    private SplitMode splitMode = SplitMode.EQUAL;
+
+    // Members sharing each bill; empty splits equally among the whole household
+    @ElementCollection
+    @CollectionTable(name = "recurring_bill_share", schema = "roomieRadarData",
+            joinColumns = @JoinColumn(name = "recurringBillId"))
+    @OrderColumn(name = "position")
+    private List<RecurringBillShare> shares = new ArrayList<>();
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    /**
+     * Returns the due date of the occurrence with the given index, counted from the first one.
+     */
+    public LocalDateTime occurrence(int index) {
+        long steps = (long) index * repeatInterval;
+        return switch (repeatUnit) {
+            case DAYS -> firstDueDate.plusDays(steps);
+            case WEEKS -> firstDueDate.plusWeeks(steps);
+            case MONTHS -> firstDueDate.plusMonths(steps);
+        };
+    }
+
+    /**
+     * Moves on to the next occurrence, deactivating the template once it passes {@link #repeatUntil}.
+     */
+    public void advance() {
+        generatedCount++;
+        nextDueDate = occurrence(generatedCount);
+        if (repeatUntil != null && nextDueDate.toLocalDate().isAfter(repeatUntil)) {
+            active = false;
+        }
+    }
+}
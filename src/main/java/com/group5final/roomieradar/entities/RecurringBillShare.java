@@ -0,0 +1,29 @@
+package com.group5final.roomieradar.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * A member taking part in a {@link RecurringBill}, with their percentage, share weight or
+ * fixed amount depending on the template's split mode.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class RecurringBillShare {
+
+    @Column(name = "userId", nullable = false)
+    private Long userId;
+
+    // Unused for equal splits
+    @Column(name = "splitValue", precision = 10, scale = 2)
+    private BigDecimal splitValue;
+}
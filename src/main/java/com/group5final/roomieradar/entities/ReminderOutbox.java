@@ -0,0 +1,73 @@
+package com.group5final.roomieradar.entities;
+
+import com.group5final.roomieradar.enums.ReminderKind;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A bill reminder waiting to be delivered, or already delivered.
+ * <p>
+ * Rows are written by the reminder scan and delivered by the dispatcher through a
+ * {@link com.group5final.roomieradar.services.ReminderSender}. There is at most one reminder
+ * of each kind per split, so scanning the same splits again enqueues nothing new.
+ * </p>
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "reminder_outbox", schema = "roomieRadarData",
+    uniqueConstraints = @UniqueConstraint(name = "reminder_outbox_split_kind_uk", columnNames = {"splitId", "kind"}),
+    indexes = @Index(name = "idx_reminder_outbox_pending", columnList = "sentAt, id"))
+public class ReminderOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "splitId", nullable = false)
+    private Long splitId;
+
+    /**
+     * The member the reminder is for.
+     */
+    @Column(name = "userId", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "kind", nullable = false, length = 20)
+    private ReminderKind kind;
+
+    @Column(name = "message", nullable = false, length = 500)
+    private String message;
+
+    @Column(name = "createdAt", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * When the reminder was delivered; null while it is pending.
+     */
+    @Column(name = "sentAt")
+    private LocalDateTime sentAt;
+
+    /**
+     * Number of failed delivery attempts.
+     */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "lastError", length = 500)
+    private String lastError;
+
+    /**
+     * The dispatcher run sending the reminder; null while no run holds it.
+     */
+    @Column(name = "claimedBy", length = 36)
+    private String claimedBy;
+
+    @Column(name = "claimedAt")
+    private LocalDateTime claimedAt;
+}
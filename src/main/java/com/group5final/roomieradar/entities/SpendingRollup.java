@@ -0,0 +1,63 @@
+package com.group5final.roomieradar.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Pre-aggregated monthly spending of one household member.
+ * <p>
+ * One row per (month, member), summing the member's splits on bills due in that month by
+ * split status. Bills without a due date belong to no month and are not counted. Amounts are
+ * kept up to date incrementally by bill operations and can be recomputed from the bill splits
+ * at any time.
+ * </p>
+ */
+@Getter
+@Setter
+@Entity
+@IdClass(SpendingRollup.SpendingRollupId.class)
+@Table(name = "spending_rollup", schema = "roomieRadarData")
+public class SpendingRollup {
+
+    @Id
+    @Column(name = "householdId", nullable = false)
+    private Long householdId;
+
+    /**
+     * Month the bills are due in, as {@code yyyyMM}.
+     */
+    @Id
+    @Column(name = "period", nullable = false)
+    private Integer period;
+
+    @Id
+    @Column(name = "userId", nullable = false)
+    private Long userId;
+
+    @Column(name = "unpaidAmount", nullable = false, precision = 12, scale = 2)
+    private BigDecimal unpaidAmount = BigDecimal.ZERO;
+
+    @Column(name = "pendingAmount", nullable = false, precision = 12, scale = 2)
+    private BigDecimal pendingAmount = BigDecimal.ZERO;
+
+    @Column(name = "paidAmount", nullable = false, precision = 12, scale = 2)
+    private BigDecimal paidAmount = BigDecimal.ZERO;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class SpendingRollupId implements Serializable {
+        private Long householdId;
+        private Integer period;
+        private Long userId;
+    }
+}
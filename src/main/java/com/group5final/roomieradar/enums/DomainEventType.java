@@ -0,0 +1,14 @@
+package com.group5final.roomieradar.enums;
+
+public enum DomainEventType {
+    BILL_CREATED,
+    BILLS_IMPORTED,
+    BILL_DELETED,
+    SPLITS_SETTLED,
+    SPLITS_APPROVED,
+    EVENT_SAVED,
+    EVENT_DELETED,
+    EVENT_ATTENDEES_CHANGED,
+    EVENT_RSVP_CHANGED,
+    CHORE_CREATED
+}
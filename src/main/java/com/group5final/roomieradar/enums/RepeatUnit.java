@@ -0,0 +1,7 @@
+package com.group5final.roomieradar.enums;
+
+public enum RepeatUnit {
+    DAYS,
+    WEEKS,
+    MONTHS
+}
@@ -0,0 +1,7 @@
+package com.group5final.roomieradar.enums;
+
+public enum RsvpStatus {
+    GOING,
+    MAYBE,
+    DECLINED
+}
@@ -0,0 +1,6 @@
+package com.group5final.roomieradar.enums;
+
+public enum ScheduleItemType {
+    EVENT,
+    CALENDAR_ITEM
+}
@@ -0,0 +1,8 @@
+package com.group5final.roomieradar.enums;
+
+public enum SplitMode {
+    EQUAL,
+    PERCENTAGE,
+    SHARES,
+    FIXED
+}
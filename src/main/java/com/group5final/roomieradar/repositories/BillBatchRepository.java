@@ -0,0 +1,27 @@
+package com.group5final.roomieradar.repositories;
+
+import com.group5final.roomieradar.entities.Bill;
+
+import java.util.List;
+
+/**
+ * Custom repository fragment for writing {@link Bill} rows in bulk.
+ * <p>
+ * Like {@link BillSplitBatchRepository}, this works around identity ids preventing Hibernate
+ * from batching inserts when many bills are created at once.
+ * </p>
+ */
+public interface BillBatchRepository {
+
+    /**
+     * Inserts all given bills in one JDBC batch and writes the generated ids back to them,
+     * so their splits can be inserted afterwards.
+     * <p>
+     * The bills must reference an already persisted household and creator. They are not
+     * attached to the persistence context.
+     * </p>
+     *
+     * @param bills the bills to insert
+     */
+    void insertAll(List<Bill> bills);
+}
@@ -0,0 +1,70 @@
+package com.group5final.roomieradar.repositories;
+
+import com.group5final.roomieradar.entities.Bill;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * {@link JdbcTemplate} backed implementation of {@link BillBatchRepository}.
+ */
+class BillBatchRepositoryImpl implements BillBatchRepository {
+
+    static final String INSERT_SQL =
+            "INSERT INTO bill (amount, name, description, dueDate, householdId, createdById, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    BillBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(List<Bill> bills) {
+        if (bills.isEmpty()) {
+            return;
+        }
+        // JdbcTemplate.batchUpdate does not expose generated keys, so the batch is run by hand
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Bill bill : bills) {
+                    ps.setBigDecimal(1, bill.getAmount());
+                    ps.setString(2, bill.getName());
+                    ps.setString(3, bill.getDescription());
+                    if (bill.getDueDate() != null) {
+                        ps.setTimestamp(4, Timestamp.valueOf(bill.getDueDate()));
+                    } else {
+                        ps.setNull(4, Types.TIMESTAMP);
+                    }
+                    ps.setLong(5, bill.getHousehold().getId());
+                    if (bill.getCreatedBy() != null) {
+                        ps.setLong(6, bill.getCreatedBy().getId());
+                    } else {
+                        ps.setNull(6, Types.BIGINT);
+                    }
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (Bill bill : bills) {
+                        if (!keys.next()) {
+                            throw new DataRetrievalFailureException("Missing generated id for inserted bill");
+                        }
+                        bill.setId(keys.getLong(1));
+                        bill.setVersion(0L);
+                    }
+                }
+            }
+            return null;
+        });
+    }
+}
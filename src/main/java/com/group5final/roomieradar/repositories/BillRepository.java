@@ -1,14 +1,106 @@
 package com.group5final.roomieradar.repositories;
 
+import com.group5final.roomieradar.dto.BillDTO;
+import com.group5final.roomieradar.dto.BillExportRow;
 import com.group5final.roomieradar.entities.Bill;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface BillRepository extends CrudRepository<Bill, Long> {
+public interface BillRepository extends CrudRepository<Bill, Long>, BillBatchRepository, BillSearchRepository {
 
-    @Query("SELECT DISTINCT b FROM Bill b LEFT JOIN b.splits s WHERE s.user.id = :userId OR b.createdBy.id = :userId")
+    /**
+     * Finds the bills a user created or has a split in, with splits, split users and creator
+     * fetched in the same query so rendering them triggers no further lazy loading.
+     */
+    @Query("SELECT DISTINCT b FROM Bill b " +
+           "LEFT JOIN FETCH b.splits s LEFT JOIN FETCH s.user LEFT JOIN FETCH b.createdBy " +
+           "WHERE b.createdBy.id = :userId " +
+           "OR b.id IN (SELECT us.bill.id FROM BillSplit us WHERE us.user.id = :userId)")
     List<Bill> findBillsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Loads the given bills with splits, split users and creator in one query.
+     * The result is in no particular order.
+     */
+    @Query("SELECT DISTINCT b FROM Bill b " +
+           "LEFT JOIN FETCH b.splits s LEFT JOIN FETCH s.user LEFT JOIN FETCH b.createdBy " +
+           "WHERE b.id IN :ids")
+    List<Bill> findWithSplitsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Keyset pages of a user's bill ids in a household, ordered by dueDate DESC (nulls last), id DESC.
+    // Backed by idx_bill_household_due_id; split membership is resolved through a subquery.
+
+    // The cursor bill of a page, only if it is one the same user's pages can contain
+    @Query("SELECT b FROM Bill b WHERE b.id = :id AND b.household.id = :householdId " +
+           "AND (b.createdBy.id = :userId OR b.id IN (SELECT us.bill.id FROM BillSplit us WHERE us.user.id = :userId))")
+    Optional<Bill> findPageCursor(@Param("householdId") Long householdId, @Param("userId") Long userId,
+                                  @Param("id") Long id);
+
+    @Query("SELECT b.id FROM Bill b WHERE b.household.id = :householdId " +
+           "AND (b.createdBy.id = :userId OR b.id IN (SELECT us.bill.id FROM BillSplit us WHERE us.user.id = :userId)) " +
+           "ORDER BY b.dueDate DESC, b.id DESC")
+    List<Long> findPageIds(@Param("householdId") Long householdId, @Param("userId") Long userId, Limit limit);
+
+    @Query("SELECT b.id FROM Bill b WHERE b.household.id = :householdId " +
+           "AND (b.createdBy.id = :userId OR b.id IN (SELECT us.bill.id FROM BillSplit us WHERE us.user.id = :userId)) " +
+           "AND (b.dueDate < :dueDate OR (b.dueDate = :dueDate AND b.id < :id) OR b.dueDate IS NULL) " +
+           "ORDER BY b.dueDate DESC, b.id DESC")
+    List<Long> findPageIdsAfter(@Param("householdId") Long householdId, @Param("userId") Long userId,
+                                @Param("dueDate") LocalDateTime dueDate, @Param("id") Long id, Limit limit);
+
+    @Query("SELECT b.id FROM Bill b WHERE b.household.id = :householdId " +
+           "AND (b.createdBy.id = :userId OR b.id IN (SELECT us.bill.id FROM BillSplit us WHERE us.user.id = :userId)) " +
+           "AND b.dueDate IS NULL AND b.id < :id " +
+           "ORDER BY b.id DESC")
+    List<Long> findUndatedPageIdsAfter(@Param("householdId") Long householdId, @Param("userId") Long userId,
+                                       @Param("id") Long id, Limit limit);
+
+    /**
+     * Streams every bill of a household with its splits as flat rows, ordered by bill and split id.
+     * <p>
+     * Rows are read through a cursor in fetch-size chunks and are not managed entities, so the
+     * persistence context stays empty however large the export is. Must be consumed inside a
+     * transaction and closed afterwards.
+     * </p>
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.group5final.roomieradar.dto.BillExportRow(b.id, b.name, b.amount, b.description, " +
+           "b.dueDate, c.username, s.id, u.username, s.splitAmount, s.status) " +
+           "FROM Bill b LEFT JOIN b.createdBy c LEFT JOIN b.splits s LEFT JOIN s.user u " +
+           "WHERE b.household.id = :householdId " +
+           "ORDER BY b.id, s.id")
+    Stream<BillExportRow> streamExportRows(@Param("householdId") Long householdId);
+
+    // REST API views, newest first; keyset paged by id
+
+    // Only bills the user created or has a split in, like the bills page and search
+    @Query("SELECT new com.group5final.roomieradar.dto.BillDTO(b.id, b.name, b.amount, b.description, b.dueDate, " +
+           "c.id, c.username) FROM Bill b LEFT JOIN b.createdBy c " +
+           "WHERE b.household.id = :householdId AND b.id < :beforeId " +
+           "AND (c.id = :userId OR b.id IN (SELECT us.bill.id FROM BillSplit us WHERE us.user.id = :userId)) " +
+           "ORDER BY b.id DESC")
+    List<BillDTO> findViewsForUser(@Param("householdId") Long householdId, @Param("userId") Long userId,
+                                   @Param("beforeId") Long beforeId, Limit limit);
+
+    @Query("SELECT new com.group5final.roomieradar.dto.BillDTO(b.id, b.name, b.amount, b.description, b.dueDate, " +
+           "c.id, c.username) FROM Bill b LEFT JOIN b.createdBy c " +
+           "WHERE b.id = :id AND b.household.id = :householdId")
+    Optional<BillDTO> findViewById(@Param("id") Long id, @Param("householdId") Long householdId);
+
+    @Query("SELECT b.household.id FROM Bill b WHERE b.id = :id")
+    Optional<Long> findHouseholdIdById(@Param("id") Long id);
 }
@@ -0,0 +1,32 @@
+package com.group5final.roomieradar.repositories;
+
+import com.group5final.roomieradar.dto.BillSearchCriteria;
+
+import java.util.List;
+
+/**
+ * Custom repository fragment for searching bills by text and filters.
+ * <p>
+ * Text is matched through the {@code ft_bill_name_description} FULLTEXT index, so the cost of
+ * a search depends on the number of matching bills rather than on the size of the household.
+ * </p>
+ */
+public interface BillSearchRepository {
+
+    /**
+     * Finds the ids of a household's bills matching the criteria, newest first. Like the bill
+     * list, only bills the user created or has a split on are found.
+     * <p>
+     * Every word of the query must occur in the name or description, either as a whole word or
+     * as the start of one. Punctuation and search operators in the query are ignored.
+     * </p>
+     *
+     * @param householdId the household to search
+     * @param userId the searching user
+     * @param criteria the filters; absent ones do not restrict the result
+     * @param beforeId only bills with a smaller id, for keyset paging; null for the first page
+     * @param limit maximum number of ids to return
+     * @return the matching bill ids in descending order
+     */
+    List<Long> searchIds(Long householdId, Long userId, BillSearchCriteria criteria, Long beforeId, int limit);
+}
@@ -0,0 +1,101 @@
+package com.group5final.roomieradar.repositories;
+
+import com.group5final.roomieradar.dto.BillSearchCriteria;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * {@link JdbcTemplate} backed implementation of {@link BillSearchRepository}.
+ * <p>
+ * Only the filters that are present are added to the statement, so MySQL plans each search
+ * for the conditions it actually has instead of a catch-all {@code :x IS NULL OR ...} query.
+ * </p>
+ */
+class BillSearchRepositoryImpl implements BillSearchRepository {
+
+    // More required words than this rarely narrows a search further but makes it slower
+    static final int MAX_TERMS = 8;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    BillSearchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Long> searchIds(Long householdId, Long userId, BillSearchCriteria criteria, Long beforeId, int limit) {
+        // The same bills BillRepository#findPageIds lists: created by the user or split with them
+        StringBuilder sql = new StringBuilder("SELECT b.id FROM bill b WHERE b.householdId = ? " +
+            "AND (b.createdById = ? OR EXISTS (SELECT 1 FROM bill_split us WHERE us.billId = b.id AND us.userId = ?))");
+        List<Object> args = new ArrayList<>();
+        args.add(householdId);
+        args.add(userId);
+        args.add(userId);
+
+        if (criteria.getQuery() != null && !criteria.getQuery().isBlank()) {
+            String match = toBooleanQuery(criteria.getQuery());
+            if (match == null) {
+                return List.of();
+            }
+            sql.append(" AND MATCH (b.name, b.description) AGAINST (? IN BOOLEAN MODE)");
+            args.add(match);
+        }
+        if (beforeId != null) {
+            sql.append(" AND b.id < ?");
+            args.add(beforeId);
+        }
+        if (criteria.getDueFrom() != null) {
+            sql.append(" AND b.dueDate >= ?");
+            args.add(Timestamp.valueOf(criteria.getDueFrom()));
+        }
+        if (criteria.getDueTo() != null) {
+            sql.append(" AND b.dueDate < ?");
+            args.add(Timestamp.valueOf(criteria.getDueTo()));
+        }
+        if (criteria.getMemberId() != null || criteria.getStatus() != null) {
+            sql.append(" AND EXISTS (SELECT 1 FROM bill_split s WHERE s.billId = b.id");
+            if (criteria.getMemberId() != null) {
+                sql.append(" AND s.userId = ?");
+                args.add(criteria.getMemberId());
+            }
+            if (criteria.getStatus() != null) {
+                sql.append(" AND s.status = ?");
+                args.add(criteria.getStatus().name());
+            }
+            sql.append(")");
+        }
+        sql.append(" ORDER BY b.id DESC LIMIT ?");
+        args.add(limit);
+
+        return jdbcTemplate.queryForList(sql.toString(), Long.class, args.toArray());
+    }
+
+    /**
+     * Turns free text into a boolean-mode query requiring every word as a prefix, e.g.
+     * {@code "Rent, march"} becomes {@code "+rent* +march*"}.
+     *
+     * @return the query, or null if the text has no words
+     */
+    static String toBooleanQuery(String text) {
+        StringBuilder query = new StringBuilder();
+        int terms = 0;
+        // Anything but letters and digits would be read as an operator, so it separates words
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (terms++ == MAX_TERMS) {
+                break;
+            }
+            if (!query.isEmpty()) {
+                query.append(' ');
+            }
+            query.append('+').append(word).append('*');
+        }
+        return query.isEmpty() ? null : query.toString();
+    }
+}
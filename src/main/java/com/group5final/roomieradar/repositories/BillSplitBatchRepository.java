@@ -0,0 +1,26 @@
+package com.group5final.roomieradar.repositories;
+
+import com.group5final.roomieradar.entities.BillSplit;
+
+import java.util.List;
+
+/**
+ * Custom repository fragment for writing {@link BillSplit} rows in bulk.
+ * <p>
+ * {@link BillSplit} uses identity ids, which prevents Hibernate from batching inserts,
+ * so splits created together are written with a single JDBC batch instead.
+ * </p>
+ */
+public interface BillSplitBatchRepository {
+
+    /**
+     * Inserts all given splits in one JDBC batch.
+     * <p>
+     * The splits must reference an already persisted bill and user. Generated ids are
+     * not written back to the passed objects.
+     * </p>
+     *
+     * @param splits the splits to insert
+     */
+    void insertAll(List<BillSplit> splits);
+}
@@ -0,0 +1,34 @@
+package com.group5final.roomieradar.repositories;
+
+import com.group5final.roomieradar.entities.BillSplit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * {@link JdbcTemplate} backed implementation of {@link BillSplitBatchRepository}.
+ */
+class BillSplitBatchRepositoryImpl implements BillSplitBatchRepository {
+
+    static final String INSERT_SQL =
+            "INSERT INTO bill_split (billId, userId, splitAmount, status, version) VALUES (?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    BillSplitBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(List<BillSplit> splits) {
+        if (splits.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, splits, splits.size(), (ps, split) -> {
+            ps.setLong(1, split.getBill().getId());
+            ps.setLong(2, split.getUser().getId());
+            ps.setBigDecimal(3, split.getSplitAmount());
+            ps.setString(4, split.getStatus().name());
+        });
+    }
+}
@@ -1,12 +1,81 @@
 package com.group5final.roomieradar.repositories;
 
+import com.group5final.roomieradar.dto.BalanceEntry;
+import com.group5final.roomieradar.dto.BillSplitDTO;
+import com.group5final.roomieradar.dto.ReminderCandidate;
 import com.group5final.roomieradar.entities.BillSplit;
+import com.group5final.roomieradar.enums.SplitStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface BillSplitRepository extends CrudRepository<BillSplit, Long> {
+public interface BillSplitRepository extends CrudRepository<BillSplit, Long>, BillSplitBatchRepository {
     List<BillSplit> findByBillId(Long billId);
     List<BillSplit> findByUserId(Long userId);
+
+    // Splits of a bill in the given household, selected without loading the entities
+    @Query("SELECT new com.group5final.roomieradar.dto.BillSplitDTO(s.id, u.id, u.username, s.splitAmount, s.status) " +
+           "FROM BillSplit s JOIN s.user u JOIN s.bill b " +
+           "WHERE b.id = :billId AND b.household.id = :householdId ORDER BY s.id")
+    List<BillSplitDTO> findViewsByBillId(@Param("billId") Long billId, @Param("householdId") Long householdId);
+
+    /**
+     * Returns the next keyset page of unpaid splits on bills due in {@code [from, to)}, ordered
+     * by due date and split id and starting after ({@code afterDue}, {@code afterId}).
+     * <p>
+     * Bills are range-scanned on {@code idx_bill_due_id} and their unpaid splits found through
+     * {@code idx_bill_split_bill_status}, so the cost depends on the size of the window and
+     * not on the number of splits. A creator's own share of a bill is skipped.
+     * </p>
+     */
+    @Query("SELECT new com.group5final.roomieradar.dto.ReminderCandidate(s.id, s.user.id, b.name, b.dueDate, s.splitAmount) " +
+           "FROM BillSplit s JOIN s.bill b " +
+           "WHERE b.dueDate >= :from AND b.dueDate < :to " +
+           "AND (b.dueDate > :afterDue OR (b.dueDate = :afterDue AND s.id > :afterId)) " +
+           "AND s.status = com.group5final.roomieradar.enums.SplitStatus.UNPAID " +
+           "AND (b.createdBy IS NULL OR b.createdBy.id <> s.user.id) " +
+           "ORDER BY b.dueDate, s.id")
+    List<ReminderCandidate> findReminderCandidates(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                                   @Param("afterDue") LocalDateTime afterDue,
+                                                   @Param("afterId") Long afterId, Limit limit);
+
+    // A split with its bill, which status transitions need after the persistence context is cleared
+    @Query("SELECT s FROM BillSplit s JOIN FETCH s.bill WHERE s.id = :id")
+    Optional<BillSplit> findWithBillById(@Param("id") Long id);
+
+    // Splits among the given ids that the user owes, with their bill
+    @Query("SELECT s FROM BillSplit s JOIN FETCH s.bill WHERE s.id IN :ids AND s.user.id = :userId")
+    List<BillSplit> findOwedByUser(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    // Splits among the given ids that belong to bills created by the user, with their bill
+    @Query("SELECT s FROM BillSplit s JOIN FETCH s.bill b WHERE s.id IN :ids AND b.createdBy.id = :creatorId")
+    List<BillSplit> findOnBillsCreatedBy(@Param("ids") Collection<Long> ids, @Param("creatorId") Long creatorId);
+
+    /**
+     * Moves the given splits from one status to another in a single statement and bumps their version.
+     * Splits no longer in {@code from} are left untouched, so concurrent transitions are not applied twice.
+     *
+     * @return the number of splits that changed status
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE BillSplit s SET s.status = :to, s.version = s.version + 1 WHERE s.id IN :ids AND s.status = :from")
+    int transitionStatus(@Param("ids") Collection<Long> ids, @Param("from") SplitStatus from, @Param("to") SplitStatus to);
+
+    // Outstanding amounts per (debtor, creditor) pair computed straight from the splits
+    @Query("SELECT new com.group5final.roomieradar.dto.BalanceEntry(s.user.id, b.createdBy.id, " +
+           "SUM(CASE WHEN s.status = com.group5final.roomieradar.enums.SplitStatus.UNPAID THEN s.splitAmount ELSE 0 END), " +
+           "SUM(CASE WHEN s.status = com.group5final.roomieradar.enums.SplitStatus.PENDING_APPROVAL THEN s.splitAmount ELSE 0 END)) " +
+           "FROM BillSplit s JOIN s.bill b " +
+           "WHERE b.household.id = :householdId AND b.createdBy IS NOT NULL AND s.user.id <> b.createdBy.id " +
+           "AND s.status <> com.group5final.roomieradar.enums.SplitStatus.PAID " +
+           "GROUP BY s.user.id, b.createdBy.id")
+    List<BalanceEntry> aggregateOutstanding(@Param("householdId") Long householdId);
 }
 
@@ -1,11 +1,48 @@
 package com.group5final.roomieradar.repositories;
 
+import com.group5final.roomieradar.dto.CalendarItemDTO;
 import com.group5final.roomieradar.entities.CalendarItem;
 import com.group5final.roomieradar.entities.Household;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface CalendarItemRepository extends CrudRepository<CalendarItem, Long> {
     List<CalendarItem> findByHousehold(Household household);
+
+    /**
+     * Finds items with at least one occurrence overlapping the window {@code [from, to)}:
+     * either their own span overlaps it, or they repeat and their series is still running at {@code from}.
+     */
+    default List<CalendarItem> findOverlapping(Household household, LocalDateTime from, LocalDateTime to) {
+        return findOverlapping(household, from, to, from.toLocalDate());
+    }
+
+    @Query("SELECT c FROM CalendarItem c WHERE c.household = :household AND c.dateStart < :to " +
+           "AND (COALESCE(c.dateEnd, c.dateStart) >= :from " +
+           "OR (c.repeatDuration > 0 AND (c.repeatUntil IS NULL OR c.repeatUntil >= :fromDay))) " +
+           "ORDER BY c.dateStart")
+    List<CalendarItem> findOverlapping(@Param("household") Household household,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to,
+                                       @Param("fromDay") LocalDate fromDay);
+
+    // Every item of the household with what the schedule conflict index needs, in one query
+    @EntityGraph(attributePaths = {"creator", "repeatExceptions"})
+    List<CalendarItem> findWithCreatorByHouseholdId(Long householdId);
+
+    @Query("SELECT c.household.id FROM CalendarItem c WHERE c.id = :id")
+    Optional<Long> findHouseholdIdById(@Param("id") Long id);
+
+    // REST API view of a household's items, selected without loading the entities
+    @Query("SELECT new com.group5final.roomieradar.dto.CalendarItemDTO(c.id, c.name, c.description, c.dateStart, " +
+           "c.dateEnd, c.repeatDuration, c.repeatUnit, c.repeatUntil, u.id, u.username) " +
+           "FROM CalendarItem c JOIN c.creator u WHERE c.household.id = :householdId ORDER BY c.dateStart")
+    List<CalendarItemDTO> findViewsByHouseholdId(@Param("householdId") Long householdId);
 }
@@ -1,7 +1,12 @@
 package com.group5final.roomieradar.repositories;
 
+import com.group5final.roomieradar.dto.ChoreDTO;
 import com.group5final.roomieradar.entities.Chore;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 /**
  * Repository interface for managing {@link Chore} entities.
@@ -19,4 +24,15 @@ public interface ChoreRepository extends CrudRepository<Chore, Long> {
      * @return an iterable collection of {@link Chore} entities matching the household ID
      */
     Iterable<Chore> findByHouseholdId(Long householdId);
+
+    /**
+     * Lists the chores of a household with their assignee, ordered by due date, without loading
+     * any entities.
+     *
+     * @param householdId the ID of the household
+     * @return the chores as {@link ChoreDTO} views
+     */
+    @Query("SELECT new com.group5final.roomieradar.dto.ChoreDTO(c.id, c.name, c.description, c.dueDate, " +
+           "u.id, u.username) FROM Chore c JOIN c.user u WHERE c.household.id = :householdId ORDER BY c.dueDate")
+    List<ChoreDTO> findViewsByHouseholdId(@Param("householdId") Long householdId);
 }
@@ -0,0 +1,50 @@
+package com.group5final.roomieradar.repositories;
+
+import com.group5final.roomieradar.entities.DomainEventOutbox;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for the {@link DomainEventOutbox} table.
+ */
+public interface DomainEventOutboxRepository extends CrudRepository<DomainEventOutbox, Long> {
+
+    // Keyset page of unpublished events in commit order that no live run holds, backed by idx_domain_event_outbox_pending
+    @Query("SELECT e.id FROM DomainEventOutbox e WHERE e.publishedAt IS NULL AND e.id > :afterId " +
+           "AND e.attempts < :maxAttempts AND (e.claimedAt IS NULL OR e.claimedAt < :staleBefore) ORDER BY e.id")
+    List<Long> findClaimableIdsAfter(@Param("afterId") Long afterId, @Param("maxAttempts") int maxAttempts,
+                                     @Param("staleBefore") LocalDateTime staleBefore, Limit limit);
+
+    // Only rows still unclaimed when the update runs are taken, so two runs never hold the same event
+    @Modifying
+    @Query("UPDATE DomainEventOutbox e SET e.claimedBy = :claimedBy, e.claimedAt = :claimedAt " +
+           "WHERE e.id IN :ids AND e.publishedAt IS NULL AND (e.claimedAt IS NULL OR e.claimedAt < :staleBefore)")
+    int claim(@Param("ids") Collection<Long> ids, @Param("claimedBy") String claimedBy,
+              @Param("claimedAt") LocalDateTime claimedAt, @Param("staleBefore") LocalDateTime staleBefore);
+
+    @Query("SELECT e FROM DomainEventOutbox e WHERE e.id IN :ids AND e.claimedBy = :claimedBy ORDER BY e.id")
+    List<DomainEventOutbox> findClaimed(@Param("ids") Collection<Long> ids, @Param("claimedBy") String claimedBy);
+
+    @Modifying
+    @Query("UPDATE DomainEventOutbox e SET e.publishedAt = :publishedAt " +
+           "WHERE e.id IN :ids AND e.publishedAt IS NULL AND e.claimedBy = :claimedBy")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("claimedBy") String claimedBy,
+                      @Param("publishedAt") LocalDateTime publishedAt);
+
+    // Releases the claim, so a later run retries the event
+    @Modifying
+    @Query("UPDATE DomainEventOutbox e SET e.attempts = e.attempts + 1, e.lastError = :error, " +
+           "e.claimedBy = NULL, e.claimedAt = NULL WHERE e.id = :id AND e.claimedBy = :claimedBy")
+    int recordFailure(@Param("id") Long id, @Param("claimedBy") String claimedBy, @Param("error") String error);
+
+    @Modifying
+    @Query("DELETE FROM DomainEventOutbox e WHERE e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,18 @@
+package com.group5final.roomieradar.repositories;
+
+import java.util.Collection;
+
+/**
+ * Custom repository fragment for adding event attendees without loading the attendee collection.
+ */
+public interface EventBatchRepository {
+
+    /**
+     * Adds the users to the event's attendees in one JDBC batch, skipping users who already
+     * attend. The event's attendee collection in the persistence context is not updated.
+     *
+     * @param eventId the event
+     * @param userIds the users to add
+     */
+    void addAttendees(Long eventId, Collection<Long> userIds);
+}
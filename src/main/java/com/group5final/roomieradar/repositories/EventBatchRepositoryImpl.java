@@ -0,0 +1,31 @@
+package com.group5final.roomieradar.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collection;
+
+/**
+ * {@link JdbcTemplate} backed implementation of {@link EventBatchRepository}.
+ */
+class EventBatchRepositoryImpl implements EventBatchRepository {
+
+    // The (event_id, user_id) primary key makes adding an existing attendee a no-op
+    static final String INSERT_ATTENDEE_SQL = "INSERT IGNORE INTO event_attendees (event_id, user_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    EventBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void addAttendees(Long eventId, Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_ATTENDEE_SQL, userIds, userIds.size(), (ps, userId) -> {
+            ps.setLong(1, eventId);
+            ps.setLong(2, userId);
+        });
+    }
+}
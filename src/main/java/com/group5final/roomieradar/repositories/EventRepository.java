@@ -1,11 +1,107 @@
 package com.group5final.roomieradar.repositories;
 
+import com.group5final.roomieradar.dto.EventAttendeeRow;
+import com.group5final.roomieradar.dto.EventDTO;
+import com.group5final.roomieradar.dto.UserDTO;
 import com.group5final.roomieradar.entities.Event;
 import com.group5final.roomieradar.entities.Household;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+
+
+public interface EventRepository extends CrudRepository<Event, Long>, EventBatchRepository {
+    // Pages show each event's creator and attendees, so they are fetched with the events in one query
+    @EntityGraph(attributePaths = {"userid", "attendees"})
+    List<Event> findByHouseholdAndEventDateBetweenOrderByEventDateAsc(Household household, LocalDateTime from, LocalDateTime to);
+
+    @EntityGraph(attributePaths = {"userid", "attendees"})
+    Optional<Event> findWithPeopleById(Long id);
+
+    // Bounded range scans on (householdId, eventDate, id), so their cost does not grow with the
+    // household's history. Attendees are not fetched: a collection fetch would make the limit
+    // apply in memory.
+
+    @EntityGraph(attributePaths = "userid")
+    @Query("SELECT e FROM Event e WHERE e.household = :household AND e.eventDate >= :from ORDER BY e.eventDate, e.id")
+    List<Event> findUpcoming(@Param("household") Household household, @Param("from") LocalDateTime from, Limit limit);
+
+    @EntityGraph(attributePaths = "userid")
+    @Query("SELECT e FROM Event e WHERE e.household = :household AND e.eventDate < :before " +
+           "ORDER BY e.eventDate DESC, e.id DESC")
+    List<Event> findPast(@Param("household") Household household, @Param("before") LocalDateTime before, Limit limit);
+
+    // REST API views, selected without loading the entities
+
+    @Query("SELECT new com.group5final.roomieradar.dto.EventDTO(e.id, e.name, e.eventDate, e.description, " +
+           "u.id, u.username, SIZE(e.attendees)) FROM Event e JOIN e.userid u " +
+           "WHERE e.household.id = :householdId ORDER BY e.eventDate")
+    List<EventDTO> findViewsByHouseholdId(@Param("householdId") Long householdId);
+
+    @Query("SELECT new com.group5final.roomieradar.dto.EventDTO(e.id, e.name, e.eventDate, e.description, " +
+           "u.id, u.username, SIZE(e.attendees)) FROM Event e JOIN e.userid u " +
+           "WHERE e.household.id = :householdId AND e.eventDate >= :from AND e.eventDate < :to ORDER BY e.eventDate")
+    List<EventDTO> findViewsByHouseholdIdBetween(@Param("householdId") Long householdId,
+                                                 @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT new com.group5final.roomieradar.dto.EventDTO(e.id, e.name, e.eventDate, e.description, " +
+           "u.id, u.username, SIZE(e.attendees)) FROM Event e JOIN e.userid u " +
+           "WHERE e.household.id = :householdId AND e.eventDate >= :from ORDER BY e.eventDate, e.id")
+    List<EventDTO> findUpcomingViews(@Param("householdId") Long householdId, @Param("from") LocalDateTime from,
+                                     Limit limit);
+
+    @Query("SELECT new com.group5final.roomieradar.dto.EventDTO(e.id, e.name, e.eventDate, e.description, " +
+           "u.id, u.username, SIZE(e.attendees)) FROM Event e JOIN e.userid u " +
+           "WHERE e.household.id = :householdId AND e.eventDate < :before ORDER BY e.eventDate DESC, e.id DESC")
+    List<EventDTO> findPastViews(@Param("householdId") Long householdId, @Param("before") LocalDateTime before,
+                                 Limit limit);
+
+    @Query("SELECT new com.group5final.roomieradar.dto.UserDTO(a.id, a.username) FROM Event e JOIN e.attendees a " +
+           "WHERE e.id = :eventId AND e.household.id = :householdId ORDER BY a.username")
+    List<UserDTO> findAttendeeViews(@Param("eventId") Long eventId, @Param("householdId") Long householdId);
+
+    // Every attendance in the household, for the schedule conflict index
+    @Query("SELECT new com.group5final.roomieradar.dto.EventAttendeeRow(e.id, e.name, e.eventDate, a.id, a.username) " +
+           "FROM Event e JOIN e.attendees a WHERE e.household.id = :householdId")
+    List<EventAttendeeRow> findAttendeeRowsByHouseholdId(@Param("householdId") Long householdId);
+
+    @Query("SELECT e.household.id FROM Event e WHERE e.id = :id")
+    Optional<Long> findHouseholdIdById(@Param("id") Long id);
+
+    // Attendee changes are applied as differences, so only the ids are needed
+
+    @Query("SELECT a.id FROM Event e JOIN e.attendees a WHERE e.id = :eventId")
+    List<Long> findAttendeeIds(@Param("eventId") Long eventId);
+
+    @Query("SELECT COUNT(a) > 0 FROM Event e JOIN e.attendees a WHERE e.id = :eventId AND a.id = :userId")
+    boolean isAttendee(@Param("eventId") Long eventId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "DELETE FROM event_attendees WHERE event_id = :eventId AND user_id IN :userIds")
+    int removeAttendees(@Param("eventId") Long eventId, @Param("userIds") Collection<Long> userIds);
+
+    // Seat counter, changed atomically so that concurrent RSVPs never exceed the capacity
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Event e SET e.goingCount = e.goingCount + 1 " +
+           "WHERE e.id = :id AND (e.capacity IS NULL OR e.goingCount < e.capacity)")
+    int claimSeat(@Param("id") Long id);
 
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Event e SET e.goingCount = e.goingCount - 1 WHERE e.id = :id AND e.goingCount > 0")
+    int releaseSeat(@Param("id") Long id);
 
-public interface EventRepository extends CrudRepository<Event, Long> {
-    List<Event> findByHouseholdOrderByEventDateAsc(Household household);
+    // Conditional like claimSeat, so a seat taken concurrently is counted before the check
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Event e SET e.capacity = :capacity " +
+           "WHERE e.id = :id AND (:capacity IS NULL OR e.goingCount <= :capacity)")
+    int changeCapacity(@Param("id") Long id, @Param("capacity") Integer capacity);
 }
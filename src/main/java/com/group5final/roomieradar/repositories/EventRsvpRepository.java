@@ -0,0 +1,37 @@
+package com.group5final.roomieradar.repositories;
+
+import com.group5final.roomieradar.dto.RsvpCount;
+import com.group5final.roomieradar.entities.EventRsvp;
+import com.group5final.roomieradar.enums.RsvpStatus;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface EventRsvpRepository extends CrudRepository<EventRsvp, EventRsvp.EventRsvpId> {
+
+    @Query("SELECT r.status FROM EventRsvp r WHERE r.eventId = :eventId AND r.userId = :userId")
+    Optional<RsvpStatus> findStatus(@Param("eventId") Long eventId, @Param("userId") Long userId);
+
+    @Query("SELECT new com.group5final.roomieradar.dto.RsvpCount(r.status, COUNT(r)) FROM EventRsvp r " +
+           "WHERE r.eventId = :eventId GROUP BY r.status")
+    List<RsvpCount> countByStatus(@Param("eventId") Long eventId);
+
+    // First response of a user; returns 0 if a concurrent request responded first
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT IGNORE INTO event_rsvp (eventId, userId, status, respondedAt) " +
+                                       "VALUES (:eventId, :userId, :status, :respondedAt)")
+    int insertIfAbsent(@Param("eventId") Long eventId, @Param("userId") Long userId,
+                       @Param("status") String status, @Param("respondedAt") LocalDateTime respondedAt);
+
+    // Returns 0 if the response is no longer the expected one
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE EventRsvp r SET r.status = :to, r.respondedAt = :respondedAt " +
+           "WHERE r.eventId = :eventId AND r.userId = :userId AND r.status = :from")
+    int changeStatus(@Param("eventId") Long eventId, @Param("userId") Long userId, @Param("from") RsvpStatus from,
+                     @Param("to") RsvpStatus to, @Param("respondedAt") LocalDateTime respondedAt);
+}
@@ -0,0 +1,29 @@
+package com.group5final.roomieradar.repositories;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Custom repository fragment for applying incremental changes to the household balance ledger.
+ */
+public interface HouseholdBalanceBatchRepository {
+
+    /**
+     * A change to the amounts one member owes another.
+     *
+     * @param householdId the household
+     * @param debtorId the member who owes
+     * @param creditorId the member who is owed
+     * @param unpaid change of the unpaid amount
+     * @param pending change of the amount pending approval
+     */
+    record Delta(Long householdId, Long debtorId, Long creditorId, BigDecimal unpaid, BigDecimal pending) {
+    }
+
+    /**
+     * Adds the given deltas to the ledger in one JDBC batch, creating missing rows.
+     *
+     * @param deltas the deltas to apply
+     */
+    void applyDeltas(List<Delta> deltas);
+}
@@ -0,0 +1,37 @@
+package com.group5final.roomieradar.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * {@link JdbcTemplate} backed implementation of {@link HouseholdBalanceBatchRepository}.
+ */
+class HouseholdBalanceBatchRepositoryImpl implements HouseholdBalanceBatchRepository {
+
+    static final String UPSERT_SQL =
+            "INSERT INTO household_balance (householdId, debtorId, creditorId, unpaidAmount, pendingAmount) " +
+            "VALUES (?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE unpaidAmount = unpaidAmount + VALUES(unpaidAmount), " +
+            "pendingAmount = pendingAmount + VALUES(pendingAmount)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    HouseholdBalanceBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void applyDeltas(List<Delta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, deltas, deltas.size(), (ps, delta) -> {
+            ps.setLong(1, delta.householdId());
+            ps.setLong(2, delta.debtorId());
+            ps.setLong(3, delta.creditorId());
+            ps.setBigDecimal(4, delta.unpaid());
+            ps.setBigDecimal(5, delta.pending());
+        });
+    }
+}
@@ -0,0 +1,48 @@
+package com.group5final.roomieradar.repositories;
+
+import com.group5final.roomieradar.entities.HouseholdBalance;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Repository interface for the materialized {@link HouseholdBalance} ledger.
+ */
+public interface HouseholdBalanceRepository extends CrudRepository<HouseholdBalance, HouseholdBalance.HouseholdBalanceId>,
+        HouseholdBalanceBatchRepository {
+
+    List<HouseholdBalance> findByHouseholdId(Long householdId);
+
+    /**
+     * Locks the ledger rows of a household for the rest of the transaction. The lock covers the
+     * household's key range, so concurrent upserts wait for it, including ones adding a new pair.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT hb FROM HouseholdBalance hb WHERE hb.householdId = :householdId")
+    List<HouseholdBalance> lockByHouseholdId(@Param("householdId") Long householdId);
+
+    @Modifying
+    @Query("DELETE FROM HouseholdBalance hb WHERE hb.householdId = :householdId")
+    void deleteByHouseholdId(@Param("householdId") Long householdId);
+
+    /**
+     * Recomputes the ledger rows of a household from its outstanding bill splits.
+     * Existing rows must be deleted first.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value =
+            "INSERT INTO household_balance (householdId, debtorId, creditorId, unpaidAmount, pendingAmount) " +
+            "SELECT b.householdId, s.userId, b.createdById, " +
+            "SUM(CASE WHEN s.status = 'UNPAID' THEN s.splitAmount ELSE 0 END), " +
+            "SUM(CASE WHEN s.status = 'PENDING_APPROVAL' THEN s.splitAmount ELSE 0 END) " +
+            "FROM bill_split s JOIN bill b ON b.id = s.billId " +
+            "WHERE b.householdId = :householdId AND b.createdById IS NOT NULL " +
+            "AND s.userId <> b.createdById AND s.status <> 'PAID' " +
+            "GROUP BY b.householdId, s.userId, b.createdById")
+    int rebuildFromSplits(@Param("householdId") Long householdId);
+}
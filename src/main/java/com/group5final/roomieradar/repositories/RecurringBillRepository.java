@@ -0,0 +1,33 @@
+package com.group5final.roomieradar.repositories;
+
+import com.group5final.roomieradar.entities.RecurringBill;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for {@link RecurringBill} templates.
+ */
+public interface RecurringBillRepository extends CrudRepository<RecurringBill, Long> {
+
+    List<RecurringBill> findByHouseholdIdOrderByNextDueDateAsc(Long householdId);
+
+    // Keyset scan over due templates, so a run never holds more than one chunk in memory.
+    // Each chunk resumes in idx_recurring_bill_active_id_due at afterId and reads nextDueDate from
+    // the index, so a run scans the active templates once. Keying on id rather than nextDueDate
+    // also keeps a template advanced by this run from being met again, which would bypass
+    // RecurringBillService.MAX_OCCURRENCES_PER_RUN.
+    @Query("SELECT r.id FROM RecurringBill r WHERE r.active = true AND r.nextDueDate <= :horizon " +
+           "AND r.id > :afterId ORDER BY r.id")
+    List<Long> findDueIdsAfter(@Param("horizon") LocalDateTime horizon, @Param("afterId") Long afterId, Limit limit);
+
+    // Everything the generator touches, loaded for a whole chunk at once
+    @Query("SELECT DISTINCT r FROM RecurringBill r JOIN FETCH r.household JOIN FETCH r.createdBy " +
+           "LEFT JOIN FETCH r.shares WHERE r.id IN :ids")
+    List<RecurringBill> findForGenerationByIdIn(@Param("ids") Collection<Long> ids);
+}
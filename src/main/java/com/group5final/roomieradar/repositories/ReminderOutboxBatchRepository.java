@@ -0,0 +1,20 @@
+package com.group5final.roomieradar.repositories;
+
+import com.group5final.roomieradar.entities.ReminderOutbox;
+
+import java.util.List;
+
+/**
+ * Custom repository fragment for enqueueing reminders in bulk.
+ */
+public interface ReminderOutboxBatchRepository {
+
+    /**
+     * Inserts the given reminders in one JDBC batch, skipping every reminder whose split
+     * already has one of the same kind. The reminders are not attached to the persistence
+     * context and their ids are not set.
+     *
+     * @param reminders the reminders to enqueue
+     */
+    void enqueueAll(List<ReminderOutbox> reminders);
+}
@@ -0,0 +1,38 @@
+package com.group5final.roomieradar.repositories;
+
+import com.group5final.roomieradar.entities.ReminderOutbox;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * {@link JdbcTemplate} backed implementation of {@link ReminderOutboxBatchRepository}.
+ */
+class ReminderOutboxBatchRepositoryImpl implements ReminderOutboxBatchRepository {
+
+    // The (splitId, kind) unique key turns repeated scans of the same splits into no-ops
+    static final String INSERT_SQL =
+            "INSERT IGNORE INTO reminder_outbox (splitId, userId, kind, message, createdAt, attempts) " +
+            "VALUES (?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    ReminderOutboxBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void enqueueAll(List<ReminderOutbox> reminders) {
+        if (reminders.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, reminders, reminders.size(), (ps, reminder) -> {
+            ps.setLong(1, reminder.getSplitId());
+            ps.setLong(2, reminder.getUserId());
+            ps.setString(3, reminder.getKind().name());
+            ps.setString(4, reminder.getMessage());
+            ps.setTimestamp(5, Timestamp.valueOf(reminder.getCreatedAt()));
+        });
+    }
+}
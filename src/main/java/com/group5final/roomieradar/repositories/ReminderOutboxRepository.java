@@ -0,0 +1,46 @@
+package com.group5final.roomieradar.repositories;
+
+import com.group5final.roomieradar.entities.ReminderOutbox;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for the {@link ReminderOutbox} table.
+ */
+public interface ReminderOutboxRepository extends CrudRepository<ReminderOutbox, Long>, ReminderOutboxBatchRepository {
+
+    // Keyset page of undelivered reminders that no live run holds, backed by idx_reminder_outbox_pending
+    @Query("SELECT r.id FROM ReminderOutbox r WHERE r.sentAt IS NULL AND r.id > :afterId " +
+           "AND r.attempts < :maxAttempts AND (r.claimedAt IS NULL OR r.claimedAt < :staleBefore) ORDER BY r.id")
+    List<Long> findClaimableIdsAfter(@Param("afterId") Long afterId, @Param("maxAttempts") int maxAttempts,
+                                     @Param("staleBefore") LocalDateTime staleBefore, Limit limit);
+
+    // Only rows still unclaimed when the update runs are taken, so two runs never hold the same reminder
+    @Modifying
+    @Query("UPDATE ReminderOutbox r SET r.claimedBy = :claimedBy, r.claimedAt = :claimedAt " +
+           "WHERE r.id IN :ids AND r.sentAt IS NULL AND (r.claimedAt IS NULL OR r.claimedAt < :staleBefore)")
+    int claim(@Param("ids") Collection<Long> ids, @Param("claimedBy") String claimedBy,
+              @Param("claimedAt") LocalDateTime claimedAt, @Param("staleBefore") LocalDateTime staleBefore);
+
+    @Query("SELECT r FROM ReminderOutbox r WHERE r.id IN :ids AND r.claimedBy = :claimedBy ORDER BY r.id")
+    List<ReminderOutbox> findClaimed(@Param("ids") Collection<Long> ids, @Param("claimedBy") String claimedBy);
+
+    @Modifying
+    @Query("UPDATE ReminderOutbox r SET r.sentAt = :sentAt " +
+           "WHERE r.id IN :ids AND r.sentAt IS NULL AND r.claimedBy = :claimedBy")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("claimedBy") String claimedBy,
+                 @Param("sentAt") LocalDateTime sentAt);
+
+    // Releases the claim, so a later run retries the reminder
+    @Modifying
+    @Query("UPDATE ReminderOutbox r SET r.attempts = r.attempts + 1, r.lastError = :error, " +
+           "r.claimedBy = NULL, r.claimedAt = NULL WHERE r.id = :id AND r.claimedBy = :claimedBy")
+    int recordFailure(@Param("id") Long id, @Param("claimedBy") String claimedBy, @Param("error") String error);
+}
@@ -0,0 +1,30 @@
+package com.group5final.roomieradar.repositories;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Custom repository fragment for applying incremental changes to the monthly spending rollup.
+ */
+public interface SpendingRollupBatchRepository {
+
+    /**
+     * A change to the amounts of one member in one month.
+     *
+     * @param householdId the household
+     * @param period the month as {@code yyyyMM}
+     * @param userId the member
+     * @param unpaid change of the unpaid amount
+     * @param pending change of the amount pending approval
+     * @param paid change of the paid amount
+     */
+    record Delta(Long householdId, int period, Long userId, BigDecimal unpaid, BigDecimal pending, BigDecimal paid) {
+    }
+
+    /**
+     * Adds the given deltas to the rollup in one JDBC batch, creating missing rows.
+     *
+     * @param deltas the deltas to apply
+     */
+    void applyDeltas(List<Delta> deltas);
+}
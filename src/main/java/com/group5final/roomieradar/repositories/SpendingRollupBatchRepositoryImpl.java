@@ -0,0 +1,38 @@
+package com.group5final.roomieradar.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * {@link JdbcTemplate} backed implementation of {@link SpendingRollupBatchRepository}.
+ */
+class SpendingRollupBatchRepositoryImpl implements SpendingRollupBatchRepository {
+
+    static final String UPSERT_SQL =
+            "INSERT INTO spending_rollup (householdId, period, userId, unpaidAmount, pendingAmount, paidAmount) " +
+            "VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE unpaidAmount = unpaidAmount + VALUES(unpaidAmount), " +
+            "pendingAmount = pendingAmount + VALUES(pendingAmount), paidAmount = paidAmount + VALUES(paidAmount)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    SpendingRollupBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void applyDeltas(List<Delta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, deltas, deltas.size(), (ps, delta) -> {
+            ps.setLong(1, delta.householdId());
+            ps.setInt(2, delta.period());
+            ps.setLong(3, delta.userId());
+            ps.setBigDecimal(4, delta.unpaid());
+            ps.setBigDecimal(5, delta.pending());
+            ps.setBigDecimal(6, delta.paid());
+        });
+    }
+}
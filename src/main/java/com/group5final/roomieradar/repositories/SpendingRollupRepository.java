@@ -0,0 +1,43 @@
+package com.group5final.roomieradar.repositories;
+
+import com.group5final.roomieradar.entities.SpendingRollup;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Repository interface for the materialized {@link SpendingRollup} table.
+ */
+public interface SpendingRollupRepository extends CrudRepository<SpendingRollup, SpendingRollup.SpendingRollupId>,
+        SpendingRollupBatchRepository {
+
+    // Served by the primary key (householdId, period, userId)
+    @Query("SELECT r FROM SpendingRollup r WHERE r.householdId = :householdId " +
+           "AND r.period BETWEEN :fromPeriod AND :toPeriod ORDER BY r.period, r.userId")
+    List<SpendingRollup> findByHouseholdIdAndPeriodBetween(@Param("householdId") Long householdId,
+                                                           @Param("fromPeriod") int fromPeriod,
+                                                           @Param("toPeriod") int toPeriod);
+
+    @Modifying
+    @Query("DELETE FROM SpendingRollup r WHERE r.householdId = :householdId")
+    void deleteByHouseholdId(@Param("householdId") Long householdId);
+
+    /**
+     * Recomputes the rollup rows of a household from the splits of its dated bills.
+     * Existing rows must be deleted first.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value =
+            "INSERT INTO spending_rollup (householdId, period, userId, unpaidAmount, pendingAmount, paidAmount) " +
+            "SELECT b.householdId, YEAR(b.dueDate) * 100 + MONTH(b.dueDate), s.userId, " +
+            "SUM(CASE WHEN s.status = 'UNPAID' THEN s.splitAmount ELSE 0 END), " +
+            "SUM(CASE WHEN s.status = 'PENDING_APPROVAL' THEN s.splitAmount ELSE 0 END), " +
+            "SUM(CASE WHEN s.status = 'PAID' THEN s.splitAmount ELSE 0 END) " +
+            "FROM bill_split s JOIN bill b ON b.id = s.billId " +
+            "WHERE b.householdId = :householdId AND b.dueDate IS NOT NULL " +
+            "GROUP BY b.householdId, YEAR(b.dueDate) * 100 + MONTH(b.dueDate), s.userId")
+    int rebuildFromSplits(@Param("householdId") Long householdId);
+}
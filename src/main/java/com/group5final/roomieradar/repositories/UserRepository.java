@@ -1,14 +1,25 @@
 package com.group5final.roomieradar.repositories;
 
 import com.group5final.roomieradar.entities.User;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends CrudRepository<User, Long> {
+    // Household is fetched eagerly since nearly every caller checks membership right away
+    @EntityGraph(attributePaths = "household")
     Optional<User> findByUsername(String username);
     // New helper: fetch all users assigned to a household
     List<User> findByHousehold_Id(Long householdId);
     List<User> findByHouseholdId(Long householdId);
+    List<User> findByHouseholdIdIn(Collection<Long> householdIds);
+
+    // The given users that belong to the household
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids AND u.household.id = :householdId")
+    List<Long> findIdsInHousehold(@Param("ids") Collection<Long> ids, @Param("householdId") Long householdId);
 }
@@ -0,0 +1,51 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.entities.Household;
+import com.group5final.roomieradar.repositories.HouseholdRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Periodically checks every household ledger against the bill splits and rebuilds the
+ * ones that drifted.
+ */
+@Component
+public class BalanceLedgerRebuildJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceLedgerRebuildJob.class);
+
+    @Autowired
+    private BalanceLedgerService balanceLedgerService;
+
+    @Autowired
+    private HouseholdRepository householdRepository;
+
+    /**
+     * Verifies all household ledgers and rebuilds inconsistent ones. A household that fails,
+     * for example on a lock timeout, is logged and skipped so the others are still checked.
+     *
+     * @return the number of households that were rebuilt
+     */
+    @Scheduled(cron = "${roomieradar.ledger.verify-cron:0 30 3 * * *}")
+    public int verifyAndRepair() {
+        int rebuilt = 0;
+        for (Household household : householdRepository.findAll()) {
+            try {
+                List<String> discrepancies = balanceLedgerService.repair(household.getId());
+                if (!discrepancies.isEmpty()) {
+                    logger.warn("Balance ledger of household {} was inconsistent and has been rebuilt: {}",
+                            household.getId(), discrepancies);
+                    rebuilt++;
+                }
+            } catch (RuntimeException e) {
+                logger.error("Could not verify the balance ledger of household {}", household.getId(), e);
+            }
+        }
+        return rebuilt;
+    }
+}
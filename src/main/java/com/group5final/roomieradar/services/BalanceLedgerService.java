@@ -0,0 +1,274 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.dto.BalanceDTO;
+import com.group5final.roomieradar.dto.BalanceEntry;
+import com.group5final.roomieradar.entities.Bill;
+import com.group5final.roomieradar.entities.BillSplit;
+import com.group5final.roomieradar.entities.HouseholdBalance;
+import com.group5final.roomieradar.entities.User;
+import com.group5final.roomieradar.enums.SplitStatus;
+import com.group5final.roomieradar.repositories.BillSplitRepository;
+import com.group5final.roomieradar.repositories.HouseholdBalanceBatchRepository.Delta;
+import com.group5final.roomieradar.repositories.HouseholdBalanceRepository;
+import com.group5final.roomieradar.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the per-household "who owes whom" ledger.
+ * <p>
+ * Bill operations report their split changes here and the ledger is adjusted with a single
+ * batched upsert, so reading balances costs O(members²) rows instead of walking every split.
+ * A split is tracked while it is not paid and belongs to someone other than the bill creator.
+ * </p>
+ */
+@Service
+public class BalanceLedgerService {
+
+    @Autowired
+    private HouseholdBalanceRepository householdBalanceRepository;
+
+    @Autowired
+    private BillSplitRepository billSplitRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    /**
+     * Adds newly created splits of any number of bills as unpaid debts to their creators,
+     * in a single batch.
+     *
+     * @param splits the created splits, each referencing its bill
+     */
+    public void recordSplitsCreated(List<BillSplit> splits) {
+        List<Delta> deltas = new ArrayList<>();
+        for (BillSplit split : splits) {
+            Bill bill = split.getBill();
+            if (tracked(bill, split)) {
+                deltas.add(delta(bill, split, split.getSplitAmount(), BigDecimal.ZERO));
+            }
+        }
+        apply(deltas);
+    }
+
+    /**
+     * Applies a status change of several splits at once.
+     *
+     * @param splits the splits that changed status
+     * @param from the status they had
+     * @param to the status they have now
+     */
+    public void recordTransition(List<BillSplit> splits, SplitStatus from, SplitStatus to) {
+        List<Delta> deltas = new ArrayList<>();
+        for (BillSplit split : splits) {
+            Bill bill = split.getBill();
+            if (tracked(bill, split)) {
+                BigDecimal amount = split.getSplitAmount();
+                deltas.add(delta(bill, split,
+                        amountFor(SplitStatus.UNPAID, to, amount).subtract(amountFor(SplitStatus.UNPAID, from, amount)),
+                        amountFor(SplitStatus.PENDING_APPROVAL, to, amount).subtract(amountFor(SplitStatus.PENDING_APPROVAL, from, amount))));
+            }
+        }
+        apply(deltas);
+    }
+
+    /**
+     * Removes the outstanding splits of a bill that is about to be deleted.
+     *
+     * @param splits the splits of the deleted bill
+     */
+    public void recordBillDeleted(List<BillSplit> splits) {
+        List<Delta> deltas = new ArrayList<>();
+        for (BillSplit split : splits) {
+            Bill bill = split.getBill();
+            if (tracked(bill, split)) {
+                BigDecimal amount = split.getSplitAmount();
+                deltas.add(delta(bill, split,
+                        amountFor(SplitStatus.UNPAID, split.getStatus(), amount).negate(),
+                        amountFor(SplitStatus.PENDING_APPROVAL, split.getStatus(), amount).negate()));
+            }
+        }
+        apply(deltas);
+    }
+
+    /**
+     * Returns the net debts between household members, reading only the ledger.
+     *
+     * @param householdId the household
+     * @return one entry per pair of members with a non-zero net debt, largest first
+     */
+    @Transactional(readOnly = true)
+    public List<BalanceDTO> getNetBalances(Long householdId) {
+        Map<Long, Map<Long, BigDecimal>> owed = new HashMap<>();
+        for (HouseholdBalance row : householdBalanceRepository.findByHouseholdId(householdId)) {
+            owed.computeIfAbsent(row.getDebtorId(), k -> new HashMap<>())
+                .merge(row.getCreditorId(), row.getUnpaidAmount().add(row.getPendingAmount()), BigDecimal::add);
+        }
+
+        Map<Long, String> usernames = userRepository.findByHouseholdId(householdId).stream()
+            .collect(Collectors.toMap(User::getId, User::getUsername));
+
+        List<BalanceDTO> balances = new ArrayList<>();
+        owed.forEach((debtorId, creditors) -> creditors.forEach((creditorId, amount) -> {
+            BigDecimal reverse = owed.getOrDefault(creditorId, Map.of()).getOrDefault(debtorId, BigDecimal.ZERO);
+            BigDecimal net = amount.subtract(reverse);
+            if (net.signum() > 0) {
+                balances.add(new BalanceDTO(debtorId, usernames.get(debtorId), creditorId, usernames.get(creditorId), net));
+            }
+        }));
+        balances.sort((a, b) -> b.getAmount().compareTo(a.getAmount()));
+        return balances;
+    }
+
+    /**
+     * Plans the fewest practical payments that settle every outstanding debt in a household.
+     * <p>
+     * Works from the ledger rather than the splits, so the cost depends on the number of
+     * members and not on how many bills are open. See {@link SettlementPlanner}.
+     * </p>
+     *
+     * @param householdId the household
+     * @return the payments to make, each from a debtor to a creditor
+     */
+    @Transactional(readOnly = true)
+    public List<BalanceDTO> getSettlementPlan(Long householdId) {
+        Map<Long, Long> netCents = new HashMap<>();
+        for (HouseholdBalance row : householdBalanceRepository.findByHouseholdId(householdId)) {
+            long cents = toCents(row.getUnpaidAmount().add(row.getPendingAmount()));
+            if (cents != 0) {
+                netCents.merge(row.getDebtorId(), -cents, Long::sum);
+                netCents.merge(row.getCreditorId(), cents, Long::sum);
+            }
+        }
+        if (netCents.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, String> usernames = userRepository.findByHouseholdId(householdId).stream()
+            .collect(Collectors.toMap(User::getId, User::getUsername));
+        return SettlementPlanner.plan(netCents).stream()
+            .map(t -> new BalanceDTO(t.fromUserId(), usernames.get(t.fromUserId()),
+                    t.toUserId(), usernames.get(t.toUserId()), BigDecimal.valueOf(t.cents(), 2)))
+            .toList();
+    }
+
+    /**
+     * Recomputes the ledger of a household from scratch.
+     * <p>
+     * The household's ledger rows are locked first, so split changes recorded concurrently wait
+     * for the rebuild instead of deadlocking with it or landing on top of it.
+     * </p>
+     *
+     * @param householdId the household
+     */
+    @Transactional
+    public void rebuild(Long householdId) {
+        householdBalanceRepository.lockByHouseholdId(householdId);
+        recompute(householdId);
+    }
+
+    /**
+     * Rebuilds the ledger of a household if it no longer matches the bill splits.
+     * <p>
+     * The ledger rows are locked before they are compared, and the comparison and the rebuild
+     * run in the same transaction. A split recorded between a separate check and the rebuild
+     * could otherwise be counted twice.
+     * </p>
+     *
+     * @param householdId the household
+     * @return the discrepancies that were repaired; empty if the ledger was consistent
+     */
+    @Transactional
+    public List<String> repair(Long householdId) {
+        householdBalanceRepository.lockByHouseholdId(householdId);
+        List<String> discrepancies = findDiscrepancies(householdId);
+        if (!discrepancies.isEmpty()) {
+            recompute(householdId);
+        }
+        return discrepancies;
+    }
+
+    /**
+     * Compares the ledger of a household with the amounts aggregated from its bill splits.
+     *
+     * @param householdId the household
+     * @return a description of every pair whose ledger amounts differ; empty if consistent
+     */
+    @Transactional(readOnly = true)
+    public List<String> findDiscrepancies(Long householdId) {
+        Map<List<Long>, BalanceEntry> expected = billSplitRepository.aggregateOutstanding(householdId).stream()
+            .collect(Collectors.toMap(e -> List.of(e.getDebtorId(), e.getCreditorId()), Function.identity()));
+        Map<List<Long>, HouseholdBalance> actual = householdBalanceRepository.findByHouseholdId(householdId).stream()
+            .collect(Collectors.toMap(b -> List.of(b.getDebtorId(), b.getCreditorId()), Function.identity()));
+
+        List<String> discrepancies = new ArrayList<>();
+        for (List<Long> pair : union(expected.keySet(), actual.keySet())) {
+            BalanceEntry e = expected.get(pair);
+            HouseholdBalance a = actual.get(pair);
+            BigDecimal expectedUnpaid = e != null ? e.getUnpaidAmount() : BigDecimal.ZERO;
+            BigDecimal expectedPending = e != null ? e.getPendingAmount() : BigDecimal.ZERO;
+            BigDecimal actualUnpaid = a != null ? a.getUnpaidAmount() : BigDecimal.ZERO;
+            BigDecimal actualPending = a != null ? a.getPendingAmount() : BigDecimal.ZERO;
+            if (expectedUnpaid.compareTo(actualUnpaid) != 0 || expectedPending.compareTo(actualPending) != 0) {
+                discrepancies.add(String.format("debtor %d -> creditor %d: expected unpaid %s/pending %s, ledger has %s/%s",
+                        pair.get(0), pair.get(1), expectedUnpaid, expectedPending, actualUnpaid, actualPending));
+            }
+        }
+        return discrepancies;
+    }
+
+    private void recompute(Long householdId) {
+        householdBalanceRepository.deleteByHouseholdId(householdId);
+        householdBalanceRepository.rebuildFromSplits(householdId);
+    }
+
+    private void apply(List<Delta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        // Merge deltas for the same pair so each ledger row is touched once
+        Map<List<Long>, Delta> merged = new LinkedHashMap<>();
+        for (Delta d : deltas) {
+            merged.merge(List.of(d.householdId(), d.debtorId(), d.creditorId()), d, (x, y) ->
+                    new Delta(x.householdId(), x.debtorId(), x.creditorId(),
+                            x.unpaid().add(y.unpaid()), x.pending().add(y.pending())));
+        }
+        householdBalanceRepository.applyDeltas(new ArrayList<>(merged.values()));
+    }
+
+    private static boolean tracked(Bill bill, BillSplit split) {
+        return bill.getCreatedBy() != null
+            && !Objects.equals(bill.getCreatedBy().getId(), split.getUser().getId());
+    }
+
+    private static Delta delta(Bill bill, BillSplit split, BigDecimal unpaid, BigDecimal pending) {
+        return new Delta(bill.getHousehold().getId(), split.getUser().getId(), bill.getCreatedBy().getId(), unpaid, pending);
+    }
+
+    private static BigDecimal amountFor(SplitStatus bucket, SplitStatus status, BigDecimal amount) {
+        return bucket == status ? amount : BigDecimal.ZERO;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static <T> List<T> union(Set<T> a, Set<T> b) {
+        List<T> all = new ArrayList<>(a);
+        b.stream().filter(x -> !a.contains(x)).forEach(all::add);
+        return all;
+    }
+}
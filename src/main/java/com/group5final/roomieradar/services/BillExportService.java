@@ -0,0 +1,153 @@
+package com.group5final.roomieradar.services;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.group5final.roomieradar.dto.BillExportRow;
+import com.group5final.roomieradar.repositories.BillRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Writes a household's bills and splits as CSV or JSON.
+ * <p>
+ * Rows come from a database cursor and are written to the output as they arrive, so memory use
+ * does not depend on the size of the export. The output is flushed but not closed.
+ * </p>
+ */
+@Service
+public class BillExportService {
+
+    static final String CSV_HEADER =
+        "bill_id,bill_name,bill_amount,description,due_date,created_by,split_id,split_user,split_amount,status";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    @Autowired
+    private BillRepository billRepository;
+
+    /**
+     * Writes one line per split, bills without splits getting one line with empty split columns.
+     *
+     * @return the number of rows written, excluding the header
+     */
+    @Transactional(readOnly = true)
+    public long exportCsv(Long householdId, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        long rows = 0;
+        try (Stream<BillExportRow> stream = billRepository.streamExportRows(householdId)) {
+            Iterator<BillExportRow> it = stream.iterator();
+            while (it.hasNext()) {
+                BillExportRow row = it.next();
+                writer.write(String.valueOf(row.getBillId()));
+                writer.write(',');
+                writeCsvField(writer, row.getBillName());
+                writer.write(',');
+                writeCsvField(writer, row.getBillAmount());
+                writer.write(',');
+                writeCsvField(writer, row.getDescription());
+                writer.write(',');
+                writeCsvField(writer, row.getDueDate());
+                writer.write(',');
+                writeCsvField(writer, row.getCreatedBy());
+                writer.write(',');
+                writeCsvField(writer, row.getSplitId());
+                writer.write(',');
+                writeCsvField(writer, row.getSplitUser());
+                writer.write(',');
+                writeCsvField(writer, row.getSplitAmount());
+                writer.write(',');
+                writeCsvField(writer, row.getStatus());
+                writer.write('\n');
+                rows++;
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+
+    /**
+     * Writes an array of bills, each with its splits nested. Rows arrive ordered by bill, so a
+     * bill is closed as soon as the next one starts.
+     *
+     * @return the number of bills written
+     */
+    @Transactional(readOnly = true)
+    public long exportJson(Long householdId, OutputStream out) throws IOException {
+        long bills = 0;
+        JsonGenerator json = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        json.writeStartArray();
+        try (Stream<BillExportRow> stream = billRepository.streamExportRows(householdId)) {
+            Iterator<BillExportRow> it = stream.iterator();
+            Long currentBillId = null;
+            while (it.hasNext()) {
+                BillExportRow row = it.next();
+                if (!Objects.equals(row.getBillId(), currentBillId)) {
+                    if (currentBillId != null) {
+                        json.writeEndArray();
+                        json.writeEndObject();
+                    }
+                    currentBillId = row.getBillId();
+                    bills++;
+                    json.writeStartObject();
+                    json.writeNumberField("id", row.getBillId());
+                    json.writeStringField("name", row.getBillName());
+                    json.writeNumberField("amount", row.getBillAmount());
+                    json.writeStringField("description", row.getDescription());
+                    json.writeStringField("dueDate", row.getDueDate() != null ? row.getDueDate().toString() : null);
+                    json.writeStringField("createdBy", row.getCreatedBy());
+                    json.writeArrayFieldStart("splits");
+                }
+                if (row.getSplitId() != null) {
+                    json.writeStartObject();
+                    json.writeNumberField("id", row.getSplitId());
+                    json.writeStringField("user", row.getSplitUser());
+                    json.writeNumberField("amount", row.getSplitAmount());
+                    json.writeStringField("status", row.getStatus() != null ? row.getStatus().name() : null);
+                    json.writeEndObject();
+                }
+            }
+            if (currentBillId != null) {
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+        }
+        json.writeEndArray();
+        json.close();
+        return bills;
+    }
+
+    // Quotes fields containing separators, quotes or line breaks; null becomes an empty field
+    private static void writeCsvField(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,338 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.dto.BillImportError;
+import com.group5final.roomieradar.dto.BillImportResult;
+import com.group5final.roomieradar.entities.Bill;
+import com.group5final.roomieradar.entities.BillSplit;
+import com.group5final.roomieradar.entities.User;
+import com.group5final.roomieradar.enums.DomainEventType;
+import com.group5final.roomieradar.enums.SplitMode;
+import com.group5final.roomieradar.repositories.BillRepository;
+import com.group5final.roomieradar.repositories.BillSplitRepository;
+import com.group5final.roomieradar.repositories.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Imports bills from a CSV file, e.g. when a household moves over from a spreadsheet.
+ * <p>
+ * The file is read record by record and processed in chunks: the rows of a chunk are validated
+ * in parallel, then the valid ones are written with JDBC batches in one transaction per chunk.
+ * Splits are computed by {@link BillService#splitBill}, so imported bills are split exactly like
+ * bills entered by hand. Invalid rows are skipped and reported with their line number.
+ * </p>
+ * <p>
+ * Columns are matched by header name: {@code name} and {@code amount} are required,
+ * {@code due_date} (ISO date or date-time), {@code description}, {@code members}
+ * (semicolon-separated usernames, empty for the whole household), {@code split_mode} and
+ * {@code split_values} (semicolon-separated, one per member) are optional.
+ * </p>
+ */
+@Service
+public class BillImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BillImportService.class);
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final Set<String> COLUMNS =
+        Set.of("name", "amount", "due_date", "description", "members", "split_mode", "split_values");
+
+    // Largest amount a DECIMAL(10, 2) column holds
+    private static final BigDecimal MAX_AMOUNT = new BigDecimal("99999999.99");
+
+    @Autowired
+    private BillRepository billRepository;
+
+    @Autowired
+    private BillSplitRepository billSplitRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BillService billService;
+
+    @Autowired
+    private BalanceLedgerService balanceLedgerService;
+
+    @Autowired
+    private SpendingRollupService spendingRollupService;
+
+    @Autowired
+    private DomainEventPublisher domainEventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${roomieradar.bill-import.chunk-size:2000}")
+    private int chunkSize = 2000;
+
+    /**
+     * Imports the bills of a CSV file into the importer's household, created by the importer.
+     *
+     * @param in the UTF-8 encoded file; not closed
+     * @param importer the user importing the bills
+     * @throws IllegalStateException if the importer has no household
+     * @throws IllegalArgumentException if the header is missing or invalid, or a quoted field is not closed
+     */
+    public BillImportResult importCsv(InputStream in, User importer) throws IOException {
+        if (importer.getHousehold() == null) {
+            throw new IllegalStateException("User must be in a household to import bills");
+        }
+        CsvRecordReader reader = new CsvRecordReader(
+            new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        Map<String, Integer> columns = readHeader(reader.next());
+        ImportContext context = new ImportContext(importer, columns,
+            userRepository.findByHouseholdId(importer.getHousehold().getId()));
+
+        BillImportResult result = new BillImportResult();
+        List<RawRow> chunk = new ArrayList<>(chunkSize);
+        List<String> fields;
+        while ((fields = reader.next()) != null) {
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            chunk.add(new RawRow(reader.recordLine(), fields));
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, context, result);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, context, result);
+        }
+        return result;
+    }
+
+    private void importChunk(List<RawRow> chunk, ImportContext context, BillImportResult result) {
+        // Validation only reads the immutable context, so rows can be checked independently
+        List<ParsedRow> parsed = chunk.parallelStream().map(row -> parse(row, context)).toList();
+
+        List<Bill> bills = new ArrayList<>();
+        List<BillSplit> splits = new ArrayList<>();
+        for (ParsedRow row : parsed) {
+            if (row.error() != null) {
+                reject(result, row.line(), row.error());
+            } else {
+                bills.add(row.bill());
+                splits.addAll(row.splits());
+            }
+        }
+        result.setRowsRead(result.getRowsRead() + chunk.size());
+        if (bills.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                billRepository.insertAll(bills);
+                billSplitRepository.insertAll(splits);
+                balanceLedgerService.recordSplitsCreated(splits);
+                spendingRollupService.recordSplitsCreated(splits);
+                // One event per chunk rather than per bill, so large imports do not flood the outbox
+                domainEventPublisher.publish(DomainEventType.BILLS_IMPORTED, context.importer().getHousehold().getId(),
+                    bills.get(0).getId(), Map.of("billCount", bills.size(), "importedBy", context.importer().getId()));
+            });
+            result.setBillsImported(result.getBillsImported() + bills.size());
+        } catch (DataAccessException e) {
+            logger.error("Failed to save imported bills on lines {}-{}", chunk.get(0).line(),
+                chunk.get(chunk.size() - 1).line(), e);
+            for (ParsedRow row : parsed) {
+                if (row.error() == null) {
+                    reject(result, row.line(), "Not saved: " + e.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    private ParsedRow parse(RawRow row, ImportContext context) {
+        try {
+            String name = field(row, context, "name");
+            if (name == null) {
+                throw new IllegalArgumentException("Name is required");
+            }
+            if (name.length() > 255) {
+                throw new IllegalArgumentException("Name must be at most 255 characters");
+            }
+            String description = field(row, context, "description");
+            if (description != null && description.length() > 500) {
+                throw new IllegalArgumentException("Description must be at most 500 characters");
+            }
+            BigDecimal amount = parseAmount(field(row, context, "amount"));
+            LocalDateTime dueDate = parseDueDate(field(row, context, "due_date"));
+            String mode = field(row, context, "split_mode");
+            SplitMode splitMode = mode == null ? SplitMode.EQUAL : parseSplitMode(mode);
+
+            List<User> members;
+            String usernames = field(row, context, "members");
+            if (usernames == null) {
+                if (splitMode != SplitMode.EQUAL) {
+                    throw new IllegalArgumentException("Splitting among all household members is always equal");
+                }
+                members = context.householdMembers();
+            } else {
+                members = new ArrayList<>();
+                Set<String> seen = new HashSet<>();
+                for (String username : usernames.split(";")) {
+                    String key = username.trim().toLowerCase(Locale.ROOT);
+                    User member = context.membersByUsername().get(key);
+                    if (member == null) {
+                        throw new IllegalArgumentException("Not a household member: " + username.trim());
+                    }
+                    if (!seen.add(key)) {
+                        throw new IllegalArgumentException("Member listed twice: " + username.trim());
+                    }
+                    members.add(member);
+                }
+            }
+            if (members.isEmpty()) {
+                throw new IllegalArgumentException("No users found to split the bill");
+            }
+
+            List<BigDecimal> splitValues = null;
+            String values = field(row, context, "split_values");
+            if (values != null) {
+                splitValues = new ArrayList<>();
+                for (String value : values.split(";")) {
+                    splitValues.add(parseDecimal(value.trim(), "split value"));
+                }
+            }
+
+            Bill bill = new Bill();
+            bill.setName(name);
+            bill.setAmount(amount);
+            bill.setDescription(description);
+            bill.setDueDate(dueDate);
+            bill.setHousehold(context.importer().getHousehold());
+            bill.setCreatedBy(context.importer());
+            return new ParsedRow(row.line(), bill, billService.splitBill(bill, members, splitMode, splitValues), null);
+        } catch (IllegalArgumentException e) {
+            return new ParsedRow(row.line(), null, null, e.getMessage());
+        }
+    }
+
+    private static Map<String, Integer> readHeader(List<String> header) {
+        if (header == null) {
+            throw new IllegalArgumentException("The file is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String column = header.get(i).trim().toLowerCase(Locale.ROOT);
+            if (!COLUMNS.contains(column)) {
+                throw new IllegalArgumentException("Unknown column: " + header.get(i));
+            }
+            if (columns.put(column, i) != null) {
+                throw new IllegalArgumentException("Duplicate column: " + header.get(i));
+            }
+        }
+        if (!columns.containsKey("name") || !columns.containsKey("amount")) {
+            throw new IllegalArgumentException("The name and amount columns are required");
+        }
+        return columns;
+    }
+
+    // The trimmed value of a column, or null if the column is absent or the value empty
+    private static String field(RawRow row, ImportContext context, String column) {
+        Integer index = context.columns().get(column);
+        if (index == null || index >= row.fields().size()) {
+            return null;
+        }
+        String value = row.fields().get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static BigDecimal parseAmount(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Amount is required");
+        }
+        BigDecimal amount = parseDecimal(value, "amount");
+        if (amount.signum() <= 0) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+        if (amount.compareTo(MAX_AMOUNT) > 0) {
+            throw new IllegalArgumentException("Amount is too large");
+        }
+        return amount;
+    }
+
+    private static BigDecimal parseDecimal(String value, String what) {
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + what + ": " + value);
+        }
+    }
+
+    private static LocalDateTime parseDueDate(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return value.length() <= 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid due date: " + value);
+        }
+    }
+
+    private static SplitMode parseSplitMode(String value) {
+        try {
+            return SplitMode.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid split mode: " + value);
+        }
+    }
+
+    private static void reject(BillImportResult result, long line, String message) {
+        result.setRowsRejected(result.getRowsRejected() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new BillImportError(line, message));
+        }
+    }
+
+    private record RawRow(long line, List<String> fields) {
+    }
+
+    private record ParsedRow(long line, Bill bill, List<BillSplit> splits, String error) {
+    }
+
+    // Everything validation needs, resolved once per import
+    private record ImportContext(User importer, Map<String, Integer> columns,
+                                 List<User> householdMembers, Map<String, User> membersByUsername) {
+
+        ImportContext(User importer, Map<String, Integer> columns, List<User> members) {
+            this(importer, columns,
+                // Sorted so that leftover cents always go to the same members
+                members.stream().sorted(Comparator.comparing(User::getId)).toList(),
+                byUsername(members));
+        }
+
+        private static Map<String, User> byUsername(List<User> members) {
+            Map<String, User> byUsername = new HashMap<>();
+            members.forEach(user -> byUsername.put(user.getUsername().toLowerCase(Locale.ROOT), user));
+            return Map.copyOf(byUsername);
+        }
+    }
+}
@@ -1,24 +1,54 @@
 package com.group5final.roomieradar.services;
 
+import com.group5final.roomieradar.dto.BillPage;
+import com.group5final.roomieradar.dto.BillSearchCriteria;
+import com.group5final.roomieradar.dto.BillSplitDTO;
 import com.group5final.roomieradar.entities.Bill;
 import com.group5final.roomieradar.entities.BillSplit;
 import com.group5final.roomieradar.entities.Household;
 import com.group5final.roomieradar.entities.User;
+import com.group5final.roomieradar.enums.DomainEventType;
+import com.group5final.roomieradar.enums.SplitMode;
+import com.group5final.roomieradar.enums.SplitStatus;
 import com.group5final.roomieradar.repositories.BillRepository;
 import com.group5final.roomieradar.repositories.BillSplitRepository;
 import com.group5final.roomieradar.repositories.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class BillService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    /**
+     * How often a split transition or bill deletion is attempted before a concurrent-update
+     * conflict is reported to the caller.
+     */
+    static final int MAX_TRANSITION_ATTEMPTS = 3;
+
     @Autowired
     private BillRepository billRepository;
 
@@ -31,9 +61,37 @@ public class BillService {
     @Autowired
     private CurrentUserService currentUserService;
 
+    @Autowired
+    private BalanceLedgerService balanceLedgerService;
+
+    @Autowired
+    private SpendingRollupService spendingRollupService;
+
+    @Autowired
+    private DomainEventPublisher domainEventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     @Transactional
     public Bill createBill(String name, BigDecimal amount, String description, LocalDateTime dueDate,
                           List<Long> userIds, boolean splitEqually) {
+        return createBill(name, amount, description, dueDate, userIds, splitEqually, SplitMode.EQUAL, null);
+    }
+
+    /**
+     * Creates a bill for the current user's household and splits it between members.
+     * <p>
+     * When {@code splitEqually} is set the bill is shared equally by every household member;
+     * otherwise it is shared by {@code userIds} according to {@code splitMode}, with
+     * {@code splitValues} giving each listed user's percentage, share weight or fixed amount.
+     * Split amounts are allocated in whole cents by {@link SplitAllocator} and always add up to
+     * the bill amount.
+     * </p>
+     */
+    @Transactional
+    public Bill createBill(String name, BigDecimal amount, String description, LocalDateTime dueDate,
+                          List<Long> userIds, boolean splitEqually, SplitMode splitMode, List<BigDecimal> splitValues) {
         User currentUser = currentUserService.getCurrentUser()
             .orElseThrow(() -> new IllegalStateException("User not authenticated"));
         Household household = currentUser.getHousehold();
@@ -42,6 +100,23 @@ public class BillService {
             throw new IllegalStateException("User must be in a household to create bills");
         }
 
+        List<User> usersToSplit;
+        if (splitEqually) {
+            if (splitMode != SplitMode.EQUAL) {
+                throw new IllegalArgumentException("Splitting among all household members is always equal");
+            }
+            // Sorted so that leftover cents always go to the same members
+            usersToSplit = userRepository.findByHouseholdId(household.getId()).stream()
+                .sorted(Comparator.comparing(User::getId))
+                .toList();
+        } else {
+            usersToSplit = findInOrder(userIds);
+        }
+
+        if (usersToSplit.isEmpty()) {
+            throw new IllegalArgumentException("No users found to split the bill");
+        }
+
         Bill bill = new Bill();
         bill.setName(name);
         bill.setAmount(amount);
@@ -50,81 +125,349 @@ public class BillService {
         bill.setHousehold(household);
         bill.setCreatedBy(currentUser);
 
+        // Allocated before saving so an invalid split leaves no bill behind
+        List<BillSplit> splits = splitBill(bill, usersToSplit, splitMode, splitValues);
         bill = billRepository.save(bill);
+        billSplitRepository.insertAll(splits);
+        balanceLedgerService.recordSplitsCreated(splits);
+        spendingRollupService.recordSplitsCreated(splits);
 
-        List<User> usersToSplit;
-        if (splitEqually) {
-            usersToSplit = userRepository.findByHouseholdId(household.getId());
-        } else {
-            usersToSplit = (List<User>) userRepository.findAllById(userIds);
-        }
+        publishBillCreated(bill, splits);
 
-        if (usersToSplit.isEmpty()) {
-            throw new IllegalArgumentException("No users found to split the bill");
-        }
+        return bill;
+    }
 
-        BigDecimal splitAmount = amount.divide(
-            BigDecimal.valueOf(usersToSplit.size()),
-            2,
-            RoundingMode.HALF_UP
-        );
+    /**
+     * Records a {@link DomainEventType#BILL_CREATED} event for a bill that was just saved with
+     * its splits. Must be called in the transaction that saved them.
+     */
+    public void publishBillCreated(Bill bill, List<BillSplit> splits) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("name", bill.getName());
+        payload.put("amount", bill.getAmount());
+        payload.put("dueDate", bill.getDueDate());
+        payload.put("createdBy", bill.getCreatedBy().getId());
+        payload.put("memberIds", splits.stream().map(split -> split.getUser().getId()).toList());
+        domainEventPublisher.publish(DomainEventType.BILL_CREATED, bill.getHousehold().getId(), bill.getId(), payload);
+    }
+
+    /**
+     * Builds the unpaid splits of a bill between the given members without saving anything.
+     *
+     * @param bill the bill to split; only its amount is read
+     * @param members the members sharing the bill, in the order of {@code splitValues}
+     * @param splitMode how the amount is divided
+     * @param splitValues each member's percentage, share weight or fixed amount; ignored for
+     *                    {@link SplitMode#EQUAL}
+     * @return one split per member, adding up to the bill amount
+     * @throws IllegalArgumentException if the values do not describe a valid split
+     */
+    public List<BillSplit> splitBill(Bill bill, List<User> members, SplitMode splitMode, List<BigDecimal> splitValues) {
+        long[] values = null;
+        if (splitMode != SplitMode.EQUAL) {
+            if (splitValues == null || splitValues.size() != members.size()) {
+                throw new IllegalArgumentException("A split value is required for every selected user");
+            }
+            values = splitValues.stream().mapToLong(BillService::toHundredths).toArray();
+        }
+        long[] shares = SplitAllocator.allocate(splitMode, toHundredths(bill.getAmount()), members.size(), values);
 
-        for (User user : usersToSplit) {
+        List<BillSplit> splits = new ArrayList<>(members.size());
+        for (int i = 0; i < members.size(); i++) {
             BillSplit split = new BillSplit();
             split.setBill(bill);
-            split.setUser(user);
-            split.setSplitAmount(splitAmount);
-            split.setStatus(com.group5final.roomieradar.enums.SplitStatus.UNPAID);
-            billSplitRepository.save(split);
+            split.setUser(members.get(i));
+            split.setSplitAmount(BigDecimal.valueOf(shares[i], 2));
+            split.setStatus(SplitStatus.UNPAID);
+            splits.add(split);
         }
+        return splits;
+    }
 
-        return bill;
+    // Loads the users keeping the requested order, so split values line up with them
+    private List<User> findInOrder(List<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return List.of();
+        }
+        List<Long> distinctIds = userIds.stream().distinct().toList();
+        Map<Long, User> usersById = new HashMap<>();
+        userRepository.findAllById(distinctIds).forEach(user -> usersById.put(user.getId(), user));
+        List<User> users = new ArrayList<>(distinctIds.size());
+        for (Long id : distinctIds) {
+            User user = usersById.get(id);
+            if (user == null) {
+                throw new IllegalArgumentException("User not found: " + id);
+            }
+            users.add(user);
+        }
+        return users;
+    }
+
+    // Amounts become cents, percentages hundredths of a percent and share weights hundredths of a share
+    private static long toHundredths(BigDecimal amount) {
+        if (amount == null) {
+            throw new IllegalArgumentException("Amount is required");
+        }
+        try {
+            return amount.movePointRight(2).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amounts must have at most two decimal places");
+        }
     }
 
     public List<Bill> getBillsByUser(Long userId) {
         return billRepository.findBillsByUserId(userId);
     }
 
+    /**
+     * Returns one keyset page of the bills a user created or shares in their household.
+     * <p>
+     * Ids for the page are found with an index-backed seek query, then the bills are loaded
+     * with their splits in a single fetch query, so the cost of a page does not depend on how
+     * many older bills the household has.
+     * </p>
+     *
+     * @param user the user whose bills to list; must belong to a household
+     * @param afterId id of the last bill of the previous page, or null for the first page; an id
+     *                that is not one of the user's bills also yields the first page
+     * @param pageSize maximum number of bills on the page
+     * @return the page of bills and the cursor for the next page
+     */
+    @Transactional(readOnly = true)
+    public BillPage getBillPage(User user, Long afterId, int pageSize) {
+        Long householdId = user.getHousehold().getId();
+        Limit limit = Limit.of(pageSize + 1);
+
+        // A cursor outside the user's bills, e.g. a crafted one, starts over at the first page
+        Bill cursor = afterId != null
+            ? billRepository.findPageCursor(householdId, user.getId(), afterId).orElse(null)
+            : null;
+        List<Long> ids;
+        if (cursor == null) {
+            ids = billRepository.findPageIds(householdId, user.getId(), limit);
+        } else {
+            ids = cursor.getDueDate() != null
+                ? billRepository.findPageIdsAfter(householdId, user.getId(), cursor.getDueDate(), cursor.getId(), limit)
+                : billRepository.findUndatedPageIdsAfter(householdId, user.getId(), cursor.getId(), limit);
+        }
+
+        return loadPage(ids, pageSize);
+    }
+
+    /**
+     * Searches the bills of the user's household, newest first.
+     * <p>
+     * Matching ids are found by {@link BillRepository#searchIds}, which uses the bill full-text
+     * index, then the page is loaded with its splits in one fetch query like {@link #getBillPage}.
+     * </p>
+     *
+     * @param user the searching user; must belong to a household
+     * @param criteria the text and filters to search by
+     * @param beforeId cursor returned with the previous page, or null for the first page
+     * @param pageSize maximum number of bills on the page
+     * @return the page of matching bills and the cursor for the next page
+     */
+    @Transactional(readOnly = true)
+    public BillPage searchBills(User user, BillSearchCriteria criteria, Long beforeId, int pageSize) {
+        List<Long> ids = billRepository.searchIds(user.getHousehold().getId(), user.getId(), criteria, beforeId, pageSize + 1);
+        return loadPage(ids, pageSize);
+    }
+
+    // Loads the bills of a page in id order; ids holds one more id than the page if there is a next page
+    private BillPage loadPage(List<Long> ids, int pageSize) {
+        boolean hasMore = ids.size() > pageSize;
+        if (hasMore) {
+            ids = ids.subList(0, pageSize);
+        }
+        if (ids.isEmpty()) {
+            return new BillPage(List.of(), null);
+        }
+
+        Map<Long, Bill> billsById = billRepository.findWithSplitsByIdIn(ids).stream()
+            .collect(Collectors.toMap(Bill::getId, Function.identity()));
+        List<Bill> bills = ids.stream().map(billsById::get).filter(Objects::nonNull).toList();
+        return new BillPage(bills, hasMore ? ids.get(ids.size() - 1) : null);
+    }
+
     public List<BillSplit> getBillSplitsByBill(Long billId) {
         return billSplitRepository.findByBillId(billId);
     }
 
-    @Transactional
+    /**
+     * Lists the splits of a bill as DTOs selected directly by the query, so that neither the
+     * splits nor their users are loaded as entities. Bills of other households yield no splits.
+     */
+    @Transactional(readOnly = true)
+    public List<BillSplitDTO> getBillSplitViews(Long billId, Long householdId) {
+        return billSplitRepository.findViewsByBillId(billId, householdId);
+    }
+
+    /**
+     * Moves one of the user's splits from {@code UNPAID} to {@code PENDING_APPROVAL}.
+     * <p>
+     * The transition is a conditional update, so when several requests race on the same split
+     * exactly one of them wins; the others are retried and then fail the status check.
+     * </p>
+     */
     public void settleSplit(Long splitId, Long userId) {
-        BillSplit split = billSplitRepository.findById(splitId)
-            .orElseThrow(() -> new IllegalArgumentException("Bill split not found"));
-        
-        if (!split.getUser().getId().equals(userId)) {
-            throw new IllegalArgumentException("You can only settle your own bill splits");
+        inTransactionWithRetry(status -> {
+            BillSplit split = billSplitRepository.findWithBillById(splitId)
+                .orElseThrow(() -> new IllegalArgumentException("Bill split not found"));
+
+            if (!split.getUser().getId().equals(userId)) {
+                throw new IllegalArgumentException("You can only settle your own bill splits");
+            }
+
+            if (split.getStatus() != SplitStatus.UNPAID) {
+                throw new IllegalStateException("Bill split is not in UNPAID status");
+            }
+
+            return transition(List.of(split), SplitStatus.UNPAID, SplitStatus.PENDING_APPROVAL);
+        });
+    }
+
+    /**
+     * Moves a split on one of the creator's bills from {@code PENDING_APPROVAL} to {@code PAID}.
+     * Concurrent approvals are resolved like in {@link #settleSplit(Long, Long)}.
+     */
+    public void approveSplit(Long splitId, Long creatorId) {
+        inTransactionWithRetry(status -> {
+            BillSplit split = billSplitRepository.findWithBillById(splitId)
+                .orElseThrow(() -> new IllegalArgumentException("Bill split not found"));
+
+            if (!split.getBill().getCreatedBy().getId().equals(creatorId)) {
+                throw new IllegalArgumentException("Only the bill creator can approve settlements");
+            }
+
+            if (split.getStatus() != SplitStatus.PENDING_APPROVAL) {
+                throw new IllegalStateException("Bill split is not pending approval");
+            }
+
+            return transition(List.of(split), SplitStatus.PENDING_APPROVAL, SplitStatus.PAID);
+        });
+    }
+
+    /**
+     * Settles several of the user's splits at once.
+     * <p>
+     * Ownership is checked with one query and the eligible splits are moved to
+     * {@code PENDING_APPROVAL} with one conditional update. Splits that are already settled
+     * or paid are skipped.
+     * </p>
+     *
+     * @param splitIds the splits to settle
+     * @param userId the user who owes the splits
+     * @return the number of splits that were settled
+     * @throws IllegalArgumentException if any split does not exist or is not owed by the user
+     * @throws OptimisticLockingFailureException if splits kept changing concurrently on every attempt
+     */
+    public int settleSplits(Collection<Long> splitIds, Long userId) {
+        Set<Long> ids = new HashSet<>(splitIds);
+        if (ids.isEmpty()) {
+            return 0;
         }
+        return inTransactionWithRetry(status -> {
+            List<BillSplit> owned = billSplitRepository.findOwedByUser(ids, userId);
+            if (owned.size() != ids.size()) {
+                throw new IllegalArgumentException("You can only settle your own bill splits");
+            }
+            return transition(eligible(owned, SplitStatus.UNPAID), SplitStatus.UNPAID, SplitStatus.PENDING_APPROVAL);
+        });
+    }
 
-        if (split.getStatus() != com.group5final.roomieradar.enums.SplitStatus.UNPAID) {
-            throw new IllegalStateException("Bill split is not in UNPAID status");
+    /**
+     * Approves several settled splits on the creator's bills at once.
+     * <p>
+     * Ownership is checked with one query and the eligible splits are moved to {@code PAID}
+     * with one conditional update. Splits that are not pending approval are skipped.
+     * </p>
+     *
+     * @param splitIds the splits to approve
+     * @param creatorId the user who created the bills
+     * @return the number of splits that were approved
+     * @throws IllegalArgumentException if any split does not exist or is on another user's bill
+     * @throws OptimisticLockingFailureException if splits kept changing concurrently on every attempt
+     */
+    public int approveSplits(Collection<Long> splitIds, Long creatorId) {
+        Set<Long> ids = new HashSet<>(splitIds);
+        if (ids.isEmpty()) {
+            return 0;
         }
+        return inTransactionWithRetry(status -> {
+            List<BillSplit> owned = billSplitRepository.findOnBillsCreatedBy(ids, creatorId);
+            if (owned.size() != ids.size()) {
+                throw new IllegalArgumentException("Only the bill creator can approve settlements");
+            }
+            return transition(eligible(owned, SplitStatus.PENDING_APPROVAL), SplitStatus.PENDING_APPROVAL, SplitStatus.PAID);
+        });
+    }
 
-        split.setStatus(com.group5final.roomieradar.enums.SplitStatus.PENDING_APPROVAL);
-        billSplitRepository.save(split);
+    private static List<BillSplit> eligible(List<BillSplit> splits, SplitStatus from) {
+        return splits.stream()
+            .filter(split -> split.getStatus() == from)
+            .toList();
     }
 
-    @Transactional
-    public void approveSplit(Long splitId, Long creatorId) {
-        BillSplit split = billSplitRepository.findById(splitId)
-            .orElseThrow(() -> new IllegalArgumentException("Bill split not found"));
-        
-        if (!split.getBill().getCreatedBy().getId().equals(creatorId)) {
-            throw new IllegalArgumentException("Only the bill creator can approve settlements");
+    // Conditionally moves the splits and updates the ledger; the caller must have checked their status
+    private int transition(List<BillSplit> splits, SplitStatus from, SplitStatus to) {
+        if (splits.isEmpty()) {
+            return 0;
         }
 
-        if (split.getStatus() != com.group5final.roomieradar.enums.SplitStatus.PENDING_APPROVAL) {
-            throw new IllegalStateException("Bill split is not pending approval");
+        List<Long> ids = splits.stream().map(BillSplit::getId).toList();
+        int updated = billSplitRepository.transitionStatus(ids, from, to);
+        if (updated != splits.size()) {
+            // Another request moved some of the splits first; roll back and retry with fresh state
+            throw new ObjectOptimisticLockingFailureException(BillSplit.class, ids);
         }
+        balanceLedgerService.recordTransition(splits, from, to);
+        spendingRollupService.recordTransition(splits, from, to);
+        publishTransition(splits, to);
+        return updated;
+    }
 
-        split.setStatus(com.group5final.roomieradar.enums.SplitStatus.PAID);
-        billSplitRepository.save(split);
+    // One event per bill, so the payload stays bounded by the size of a household
+    private void publishTransition(List<BillSplit> splits, SplitStatus to) {
+        DomainEventType type = to == SplitStatus.PAID ? DomainEventType.SPLITS_APPROVED : DomainEventType.SPLITS_SETTLED;
+        Map<Bill, List<Long>> splitIdsByBill = splits.stream().collect(Collectors.groupingBy(
+            BillSplit::getBill, LinkedHashMap::new, Collectors.mapping(BillSplit::getId, Collectors.toList())));
+        splitIdsByBill.forEach((bill, splitIds) -> domainEventPublisher.publish(type, bill.getHousehold().getId(),
+            bill.getId(), Map.of("splitIds", splitIds, "status", to)));
     }
 
-    @Transactional
+    /**
+     * Deletes a bill and removes its splits from the balance ledger and the spending rollup.
+     * <p>
+     * The splits are deleted with a version check, so a split settled concurrently makes the
+     * delete retry with the fresh statuses instead of leaving the ledger out of sync.
+     * </p>
+     */
     public void deleteBill(Long billId) {
-        billRepository.deleteById(billId);
+        inTransactionWithRetry(status -> {
+            List<BillSplit> splits = billSplitRepository.findByBillId(billId);
+            balanceLedgerService.recordBillDeleted(splits);
+            spendingRollupService.recordBillDeleted(splits);
+            billRepository.findHouseholdIdById(billId).ifPresent(householdId ->
+                domainEventPublisher.publish(DomainEventType.BILL_DELETED, householdId, billId, Map.of()));
+            billRepository.deleteById(billId);
+            return null;
+        });
+    }
+
+    /**
+     * Runs the work in its own transaction, retrying it from scratch when it loses a race with a
+     * concurrent update. Must not be called from within an existing transaction, which would be
+     * joined instead and could not be retried.
+     */
+    private <T> T inTransactionWithRetry(TransactionCallback<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(work);
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= MAX_TRANSITION_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
     }
 }
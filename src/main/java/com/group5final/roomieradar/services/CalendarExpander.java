@@ -0,0 +1,57 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.dto.CalendarItemInstance;
+import com.group5final.roomieradar.entities.CalendarItem;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Expands {@link CalendarItem}s into per-day {@link CalendarItemInstance}s for a visible date window.
+ * <p>
+ * Only days inside the window are materialized, so the cost of rendering a month depends on
+ * the items overlapping that month rather than on how long each item (or the household's
+ * history) is.
+ * </p>
+ * <p>
+ * Repeating items are expanded through {@link RecurrenceIterator}, which only generates the
+ * occurrences touching the window.
+ * </p>
+ */
+public final class CalendarExpander {
+
+    private CalendarExpander() {
+    }
+
+    /**
+     * Expands the given items into instances keyed by ISO date ({@code yyyy-MM-dd}).
+     *
+     * @param items the calendar items to expand
+     * @param from the first visible day (inclusive)
+     * @param to the last visible day (inclusive)
+     * @return instances grouped by date, in date order
+     */
+    public static Map<String, List<CalendarItemInstance>> expand(List<CalendarItem> items, LocalDate from, LocalDate to) {
+        Map<String, List<CalendarItemInstance>> instancesByDate = new LinkedHashMap<>();
+        for (CalendarItem ci : items) {
+            if (ci.getDateStart() == null) continue;
+            long span = RecurrenceIterator.spanDays(ci);
+
+            RecurrenceIterator occurrences = RecurrenceIterator.forItem(ci, from, to);
+            while (occurrences.hasNext()) {
+                LocalDate start = occurrences.next();
+                LocalDate end = start.plusDays(span);
+                LocalDate first = start.isBefore(from) ? from : start;
+                LocalDate last = end.isAfter(to) ? to : end;
+                for (LocalDate d = first; !d.isAfter(last); d = d.plusDays(1)) {
+                    CalendarItemInstance inst = new CalendarItemInstance(ci, d, d.equals(start), d.equals(end));
+                    instancesByDate.computeIfAbsent(d.toString(), k -> new ArrayList<>()).add(inst);
+                }
+            }
+        }
+        return instancesByDate;
+    }
+}
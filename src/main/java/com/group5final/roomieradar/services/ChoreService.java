@@ -0,0 +1,35 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.entities.Chore;
+import com.group5final.roomieradar.enums.DomainEventType;
+import com.group5final.roomieradar.repositories.ChoreRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+public class ChoreService {
+
+    @Autowired
+    private ChoreRepository choreRepository;
+
+    @Autowired
+    private DomainEventPublisher domainEventPublisher;
+
+    /**
+     * Saves a new chore and records a {@link DomainEventType#CHORE_CREATED} event with it.
+     */
+    @Transactional
+    public Chore createChore(Chore chore) {
+        Chore saved = choreRepository.save(chore);
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("name", saved.getName());
+        payload.put("assigneeId", saved.getUser().getId());
+        payload.put("dueDate", saved.getDueDate());
+        domainEventPublisher.publish(DomainEventType.CHORE_CREATED, saved.getHousehold().getId(), saved.getId(), payload);
+        return saved;
+    }
+}
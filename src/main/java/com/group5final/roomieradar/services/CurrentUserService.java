@@ -1,16 +1,33 @@
 package com.group5final.roomieradar.services;
 
+import com.group5final.roomieradar.entities.Household;
 import com.group5final.roomieradar.entities.User;
 import com.group5final.roomieradar.repositories.UserRepository;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Resolves the authenticated {@link User} for the current request.
+ * <p>
+ * The resolved user (with its household) is cached as a request attribute, so controllers
+ * and services can call {@link #getCurrentUser()} repeatedly while only one user lookup
+ * hits the database per request. Outside of a web request no caching takes place.
+ * </p>
+ */
 @Service
 public class CurrentUserService {
+
+    private static final String CACHE_ATTRIBUTE = CurrentUserService.class.getName() + ".CURRENT_USER";
+
     private final UserRepository userRepository;
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
 
     public CurrentUserService(UserRepository userRepository) {
         this.userRepository = userRepository;
@@ -19,11 +36,61 @@ public class CurrentUserService {
     public Optional<User> getCurrentUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null) return Optional.empty();
-        return userRepository.findByUsername(auth.getName());
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return userRepository.findByUsername(auth.getName());
+        }
+
+        Object cached = attributes.getAttribute(CACHE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cached instanceof CachedUser entry && entry.username().equals(auth.getName())) {
+            cacheHits.incrementAndGet();
+            return Optional.ofNullable(entry.user());
+        }
+
+        cacheMisses.incrementAndGet();
+        Optional<User> user = userRepository.findByUsername(auth.getName());
+        attributes.setAttribute(CACHE_ATTRIBUTE, new CachedUser(auth.getName(), user.orElse(null)),
+                RequestAttributes.SCOPE_REQUEST);
+        return user;
     }
 
     public boolean hasHousehold() {
         return getCurrentUser().map(User::getHousehold).isPresent();
     }
-}
 
+    /**
+     * @return the id of the current user's household, empty if not signed in or not in a household
+     */
+    public Optional<Long> getCurrentHouseholdId() {
+        return getCurrentUser().map(User::getHousehold).map(Household::getId);
+    }
+
+    /**
+     * Drops the cached user for the current request, forcing the next
+     * {@link #getCurrentUser()} call to reload it (e.g. after joining or creating a household).
+     */
+    public void evictCurrentUser() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.removeAttribute(CACHE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * @return the number of {@link #getCurrentUser()} calls served from the request cache
+     */
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    /**
+     * @return the number of {@link #getCurrentUser()} calls that had to query the database
+     */
+    public long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    private record CachedUser(String username, User user) {
+    }
+}
@@ -0,0 +1,140 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.dto.DomainEvent;
+import com.group5final.roomieradar.entities.DomainEventOutbox;
+import com.group5final.roomieradar.repositories.DomainEventOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hands the events recorded by {@link DomainEventPublisher} to every {@link DomainEventHandler}.
+ * <p>
+ * The outbox is drained in keyset-ordered pages. Each page is first claimed with a conditional
+ * update that only takes events no other run holds, and only the claimed events are handed over,
+ * so overlapping runs and other application instances never deliver an event twice. A claim left
+ * behind by a crashed run expires after {@code roomieradar.domain-events.claim-timeout-seconds}.
+ * Each page is handed over in recording order and its outcome written back with one transaction:
+ * successfully handled events are marked as published, failed ones have their attempt counter
+ * raised and their claim released, and are retried by later runs until they reach the maximum
+ * number of attempts. Published events are purged after a retention period.
+ * </p>
+ */
+@Service
+public class DomainEventDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(DomainEventDispatcher.class);
+
+    @Autowired
+    private DomainEventOutboxRepository domainEventOutboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired(required = false)
+    private List<DomainEventHandler> handlers = List.of();
+
+    @Value("${roomieradar.domain-events.batch-size:200}")
+    private int batchSize = 200;
+
+    @Value("${roomieradar.domain-events.max-attempts:5}")
+    private int maxAttempts = 5;
+
+    @Value("${roomieradar.domain-events.retention-days:7}")
+    private int retentionDays = 7;
+
+    @Value("${roomieradar.domain-events.claim-timeout-seconds:300}")
+    private long claimTimeoutSeconds = 300;
+
+    // Only one run per instance; runs on other instances are kept apart by the claims
+    private final AtomicBoolean dispatching = new AtomicBoolean();
+
+    /**
+     * Hands every pending event to the handlers. Does nothing if a run is already in progress.
+     *
+     * @param now the time recorded on claimed and published events
+     * @return the number of events published
+     */
+    public int dispatch(LocalDateTime now) {
+        if (!dispatching.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            return dispatchClaimed(now, UUID.randomUUID().toString());
+        } finally {
+            dispatching.set(false);
+        }
+    }
+
+    private int dispatchClaimed(LocalDateTime now, String claimedBy) {
+        LocalDateTime staleBefore = now.minusSeconds(claimTimeoutSeconds);
+        int published = 0;
+        Long afterId = 0L;
+        while (true) {
+            List<Long> ids = domainEventOutboxRepository.findClaimableIdsAfter(
+                afterId, maxAttempts, staleBefore, Limit.of(batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            afterId = ids.get(ids.size() - 1);
+            // Committed before delivery, so other runs skip these events while they are handled
+            List<DomainEventOutbox> page = transactionTemplate.execute(status -> {
+                domainEventOutboxRepository.claim(ids, claimedBy, now, staleBefore);
+                return domainEventOutboxRepository.findClaimed(ids, claimedBy);
+            });
+
+            List<Long> handled = new ArrayList<>(page.size());
+            List<DomainEventOutbox> failed = new ArrayList<>();
+            List<String> errors = new ArrayList<>();
+            for (DomainEventOutbox row : page) {
+                DomainEvent event = new DomainEvent(row.getId(), row.getType(), row.getHouseholdId(),
+                    row.getAggregateId(), row.getPayload(), row.getOccurredAt());
+                try {
+                    for (DomainEventHandler handler : handlers) {
+                        handler.handle(event);
+                    }
+                    handled.add(row.getId());
+                } catch (Exception e) {
+                    failed.add(row);
+                    errors.add(truncate(String.valueOf(e)));
+                    logger.warn("Failed to handle {} event {}", row.getType(), row.getId(), e);
+                }
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!handled.isEmpty()) {
+                    domainEventOutboxRepository.markPublished(handled, claimedBy, now);
+                }
+                for (int i = 0; i < failed.size(); i++) {
+                    domainEventOutboxRepository.recordFailure(failed.get(i).getId(), claimedBy, errors.get(i));
+                }
+            });
+            published += handled.size();
+        }
+        return published;
+    }
+
+    /**
+     * Deletes events published more than the retention period before {@code now}.
+     *
+     * @return the number of events deleted
+     */
+    public int purge(LocalDateTime now) {
+        Integer deleted = transactionTemplate.execute(status ->
+            domainEventOutboxRepository.deletePublishedBefore(now.minusDays(retentionDays)));
+        return deleted == null ? 0 : deleted;
+    }
+
+    private static String truncate(String text) {
+        return text.length() <= 500 ? text : text.substring(0, 500);
+    }
+}
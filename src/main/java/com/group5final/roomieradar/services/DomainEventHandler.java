@@ -0,0 +1,24 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.dto.DomainEvent;
+
+/**
+ * Reacts to changes of a household's bills, events and chores.
+ * <p>
+ * Declare a bean of this type to add a consumer, e.g. notifications or cache invalidation.
+ * Handlers are called by {@link DomainEventDispatcher} after the change has committed, on the
+ * dispatcher's thread and in the order the events were recorded. Delivery is at least once: if
+ * any handler fails, the event is offered to every handler again on a later run, so handlers
+ * must tolerate seeing an event twice.
+ * </p>
+ */
+public interface DomainEventHandler {
+
+    /**
+     * Handles one event. Throwing marks the dispatch as failed; it is retried by later runs
+     * up to the configured number of attempts.
+     *
+     * @param event the event to handle
+     */
+    void handle(DomainEvent event) throws Exception;
+}
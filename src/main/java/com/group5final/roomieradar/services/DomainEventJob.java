@@ -0,0 +1,47 @@
+package com.group5final.roomieradar.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Drains the domain event outbox every few seconds and purges old events once a day.
+ */
+@Component
+public class DomainEventJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(DomainEventJob.class);
+
+    @Autowired
+    private DomainEventDispatcher domainEventDispatcher;
+
+    /**
+     * Hands pending events to the handlers.
+     *
+     * @return the number of events published
+     */
+    @Scheduled(cron = "${roomieradar.domain-events.dispatch-cron:*/2 * * * * *}")
+    public int dispatch() {
+        int published = domainEventDispatcher.dispatch(LocalDateTime.now());
+        if (published > 0) {
+            logger.debug("Published {} domain events", published);
+        }
+        return published;
+    }
+
+    /**
+     * Deletes published events past the retention period.
+     *
+     * @return the number of events deleted
+     */
+    @Scheduled(cron = "${roomieradar.domain-events.purge-cron:0 30 3 * * *}")
+    public int purge() {
+        int deleted = domainEventDispatcher.purge(LocalDateTime.now());
+        logger.info("Purged {} published domain events", deleted);
+        return deleted;
+    }
+}
@@ -0,0 +1,63 @@
+package com.group5final.roomieradar.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.group5final.roomieradar.entities.DomainEventOutbox;
+import com.group5final.roomieradar.enums.DomainEventType;
+import com.group5final.roomieradar.repositories.DomainEventOutboxRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Records domain events in the outbox as part of the caller's transaction.
+ * <p>
+ * Publishing only inserts a row, so it adds one statement to the request no matter how many
+ * {@link DomainEventHandler}s consume the event; the handlers run later, off the request thread,
+ * when {@link DomainEventDispatcher} drains the outbox. Because the row commits or rolls back
+ * with the change itself, handlers never see events for changes that did not happen.
+ * </p>
+ */
+@Service
+public class DomainEventPublisher {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+        .findAndRegisterModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Autowired
+    private DomainEventOutboxRepository domainEventOutboxRepository;
+
+    /**
+     * Records an event. Must be called within the transaction that makes the change.
+     *
+     * @param type what happened
+     * @param householdId the household whose data changed
+     * @param aggregateId the bill, event or chore that changed
+     * @param payload details of the change, serialized as a JSON object
+     * @throws IllegalArgumentException if the payload cannot be serialized
+     * @throws org.springframework.transaction.IllegalTransactionStateException if there is no transaction
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(DomainEventType type, Long householdId, Long aggregateId, Map<String, ?> payload) {
+        String json;
+        try {
+            json = OBJECT_MAPPER.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize the payload of a " + type + " event", e);
+        }
+
+        DomainEventOutbox event = new DomainEventOutbox();
+        event.setType(type);
+        event.setHouseholdId(householdId);
+        event.setAggregateId(aggregateId);
+        event.setPayload(json);
+        event.setOccurredAt(LocalDateTime.now());
+        domainEventOutboxRepository.save(event);
+    }
+}
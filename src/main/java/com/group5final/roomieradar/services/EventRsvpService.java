@@ -0,0 +1,129 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.dto.RsvpCount;
+import com.group5final.roomieradar.dto.RsvpSummaryDTO;
+import com.group5final.roomieradar.entities.Event;
+import com.group5final.roomieradar.entities.EventRsvp;
+import com.group5final.roomieradar.enums.DomainEventType;
+import com.group5final.roomieradar.enums.RsvpStatus;
+import com.group5final.roomieradar.repositories.EventRepository;
+import com.group5final.roomieradar.repositories.EventRsvpRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * RSVPs of household members to events, with optional seat limits.
+ * <p>
+ * The number of users going is kept on the event row and only changed by conditional updates,
+ * so a capacity-limited event never has more users going than seats however many RSVPs race.
+ * Only responses that take or free a seat touch the event row, and they touch it last, so its
+ * row lock is held just until the commit.
+ * </p>
+ */
+@Service
+public class EventRsvpService {
+
+    /**
+     * How often an RSVP is attempted before a concurrent response of the same user is reported
+     * to the caller.
+     */
+    static final int MAX_RSVP_ATTEMPTS = 3;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventRsvpRepository eventRsvpRepository;
+
+    @Autowired
+    private DomainEventPublisher domainEventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Records a user's response to an event of their household.
+     * <p>
+     * Responding {@code GOING} takes a seat and changing away from it frees the seat again.
+     * Repeating the current response does nothing.
+     * </p>
+     *
+     * @throws IllegalArgumentException if the event is not in the household
+     * @throws IllegalStateException if the user wants to go but every seat is taken
+     */
+    public void respond(Long eventId, Long userId, Long householdId, RsvpStatus status) {
+        inTransactionWithRetry(tx -> {
+            if (!eventRepository.findHouseholdIdById(eventId).map(householdId::equals).orElse(false)) {
+                throw new IllegalArgumentException("Event not found: " + eventId);
+            }
+            Optional<RsvpStatus> previous = eventRsvpRepository.findStatus(eventId, userId);
+            if (previous.isPresent() && previous.get() == status) {
+                return null;
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            int written = previous.isEmpty()
+                ? eventRsvpRepository.insertIfAbsent(eventId, userId, status.name(), now)
+                : eventRsvpRepository.changeStatus(eventId, userId, previous.get(), status, now);
+            if (written == 0) {
+                // The user responded concurrently; roll back and retry with the fresh response
+                throw new ObjectOptimisticLockingFailureException(EventRsvp.class, eventId + "/" + userId);
+            }
+
+            if (status == RsvpStatus.GOING) {
+                if (eventRepository.claimSeat(eventId) == 0) {
+                    throw new IllegalStateException("Event is full");
+                }
+            } else if (previous.isPresent() && previous.get() == RsvpStatus.GOING) {
+                eventRepository.releaseSeat(eventId);
+            }
+            domainEventPublisher.publish(DomainEventType.EVENT_RSVP_CHANGED, householdId, eventId,
+                Map.of("userId", userId, "status", status));
+            return null;
+        });
+    }
+
+    /**
+     * Counts the responses to an event of the household.
+     *
+     * @param userId the user whose own response is included
+     * @throws IllegalArgumentException if the event is not in the household
+     */
+    @Transactional(readOnly = true)
+    public RsvpSummaryDTO getSummary(Long eventId, Long userId, Long householdId) {
+        Event event = eventRepository.findById(eventId)
+            .filter(e -> e.getHousehold().getId().equals(householdId))
+            .orElseThrow(() -> new IllegalArgumentException("Event not found: " + eventId));
+
+        Map<RsvpStatus, Long> counts = new EnumMap<>(RsvpStatus.class);
+        for (RsvpCount count : eventRsvpRepository.countByStatus(eventId)) {
+            counts.put(count.getStatus(), count.getCount());
+        }
+        return new RsvpSummaryDTO(counts.getOrDefault(RsvpStatus.GOING, 0L),
+            counts.getOrDefault(RsvpStatus.MAYBE, 0L), counts.getOrDefault(RsvpStatus.DECLINED, 0L),
+            event.getCapacity(), eventRsvpRepository.findStatus(eventId, userId).orElse(null));
+    }
+
+    // Like BillService, retries the whole transaction when it loses a race with a concurrent update
+    private <T> T inTransactionWithRetry(TransactionCallback<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(work);
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= MAX_RSVP_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+}
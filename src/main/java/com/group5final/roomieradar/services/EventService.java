@@ -2,39 +2,196 @@ package com.group5final.roomieradar.services;
 
 import com.group5final.roomieradar.entities.Event;
 import com.group5final.roomieradar.entities.User;
+import com.group5final.roomieradar.enums.DomainEventType;
 import com.group5final.roomieradar.repositories.EventRepository;
+import com.group5final.roomieradar.repositories.UserRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class EventService {
     private final EventRepository eventRepository;
     private final CurrentUserService currentUserService;
+    private final DomainEventPublisher domainEventPublisher;
+    private final UserRepository userRepository;
+    private final ScheduleConflictService scheduleConflictService;
 
-    public EventService(EventRepository eventRepository, CurrentUserService currentUserService) {
+    public EventService(EventRepository eventRepository, CurrentUserService currentUserService,
+                        DomainEventPublisher domainEventPublisher, UserRepository userRepository,
+                        ScheduleConflictService scheduleConflictService) {
         this.eventRepository = eventRepository;
         this.currentUserService = currentUserService;
+        this.domainEventPublisher = domainEventPublisher;
+        this.userRepository = userRepository;
+        this.scheduleConflictService = scheduleConflictService;
     }
 
-    public List<Event> getEventsForCurrentUserHousehold() {
+    /**
+     * Loads the next events of the current user's household, soonest first.
+     *
+     * @param now events from this time on are upcoming
+     * @param limit the maximum number of events
+     */
+    public List<Event> getUpcomingEventsForCurrentUserHousehold(LocalDateTime now, int limit) {
         return currentUserService.getCurrentUser()
                 .map(User::getHousehold)
-                .map(eventRepository::findByHouseholdOrderByEventDateAsc)
+                .map(household -> eventRepository.findUpcoming(household, now, Limit.of(limit)))
                 .orElse(Collections.emptyList());
     }
 
+    /**
+     * Loads the most recent past events of the current user's household, latest first.
+     *
+     * @param now events before this time are past
+     * @param limit the maximum number of events
+     */
+    public List<Event> getPastEventsForCurrentUserHousehold(LocalDateTime now, int limit) {
+        return currentUserService.getCurrentUser()
+                .map(User::getHousehold)
+                .map(household -> eventRepository.findPast(household, now, Limit.of(limit)))
+                .orElse(Collections.emptyList());
+    }
+
+    /**
+     * Loads an event with its creator and attendees, which the details and edit pages show.
+     */
     public Optional<Event> getEventById(Long id) {
-        return eventRepository.findById(id);
+        return eventRepository.findWithPeopleById(id);
     }
 
+    /**
+     * Saves an event's details.
+     * <p>
+     * A capacity is never lowered below the number of users already going; nobody is turned
+     * away from an event they were promised a seat at.
+     * </p>
+     *
+     * @throws IllegalArgumentException if the event has a capacity below one
+     * @throws IllegalStateException if more users are already going than the new capacity
+     */
+    @Transactional
     public Event saveEvent(Event event) {
-        return eventRepository.save(event);
+        Event saved = eventRepository.save(event);
+        // Checked after the save so both outcomes roll back together
+        if (saved.getCapacity() != null && saved.getCapacity() < 1) {
+            throw new IllegalArgumentException("An event must have at least one seat");
+        }
+        if (eventRepository.changeCapacity(saved.getId(), saved.getCapacity()) == 0) {
+            throw new IllegalStateException("More users are already going than " + saved.getCapacity() + " seats");
+        }
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("name", saved.getName());
+        payload.put("eventDate", saved.getEventDate());
+        domainEventPublisher.publish(DomainEventType.EVENT_SAVED, saved.getHousehold().getId(), saved.getId(), payload);
+        scheduleConflictService.invalidate(saved.getHousehold().getId());
+        return saved;
+    }
+
+    /**
+     * Saves an event and makes the given household members its attendees.
+     * <p>
+     * Attendees are changed by difference: only users who were added are inserted and only users
+     * who were removed are deleted, so an edit costs statements in proportion to what changed
+     * rather than to the number of attendees. Users outside the event's household are ignored.
+     * The event's attendee collection is neither read nor updated.
+     * </p>
+     *
+     * @param attendeeIds the users who should attend; {@code null} or empty for none
+     * @throws IllegalArgumentException if the event has a capacity below one
+     * @throws IllegalStateException if more users are already going than the new capacity
+     */
+    @Transactional
+    public Event saveEvent(Event event, Collection<Long> attendeeIds) {
+        boolean isNew = event.getId() == null;
+        Event saved = saveEvent(event);
+        Long householdId = saved.getHousehold().getId();
+
+        Set<Long> wanted = attendeeIds == null || attendeeIds.isEmpty() ? Set.of()
+                : new HashSet<>(userRepository.findIdsInHousehold(attendeeIds, householdId));
+        Set<Long> current = isNew ? Set.of() : new HashSet<>(eventRepository.findAttendeeIds(saved.getId()));
+        Set<Long> added = new HashSet<>(wanted);
+        added.removeAll(current);
+        Set<Long> removed = new HashSet<>(current);
+        removed.removeAll(wanted);
+
+        if (!added.isEmpty()) {
+            eventRepository.addAttendees(saved.getId(), added);
+        }
+        if (!removed.isEmpty()) {
+            eventRepository.removeAttendees(saved.getId(), removed);
+        }
+        publishAttendeesChanged(householdId, saved.getId(), added, removed);
+        return saved;
+    }
+
+    /**
+     * Adds a household member to an event's attendees.
+     *
+     * @return whether the user was added, i.e. was not attending already
+     * @throws IllegalArgumentException if the event or the user is not in the household
+     */
+    @Transactional
+    public boolean addAttendee(Long eventId, Long userId, Long householdId) {
+        requireEventInHousehold(eventId, householdId);
+        if (userRepository.findIdsInHousehold(List.of(userId), householdId).isEmpty()) {
+            throw new IllegalArgumentException("Not a household member: " + userId);
+        }
+        if (eventRepository.isAttendee(eventId, userId)) {
+            return false;
+        }
+        eventRepository.addAttendees(eventId, List.of(userId));
+        publishAttendeesChanged(householdId, eventId, Set.of(userId), Set.of());
+        return true;
+    }
+
+    /**
+     * Removes a user from an event's attendees.
+     *
+     * @return whether the user was removed, i.e. was attending
+     * @throws IllegalArgumentException if the event is not in the household
+     */
+    @Transactional
+    public boolean removeAttendee(Long eventId, Long userId, Long householdId) {
+        requireEventInHousehold(eventId, householdId);
+        if (eventRepository.removeAttendees(eventId, List.of(userId)) == 0) {
+            return false;
+        }
+        publishAttendeesChanged(householdId, eventId, Set.of(), Set.of(userId));
+        return true;
+    }
+
+    private void requireEventInHousehold(Long eventId, Long householdId) {
+        if (!eventRepository.findHouseholdIdById(eventId).map(householdId::equals).orElse(false)) {
+            throw new IllegalArgumentException("Event not found: " + eventId);
+        }
+    }
+
+    private void publishAttendeesChanged(Long householdId, Long eventId, Set<Long> added, Set<Long> removed) {
+        if (added.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+        scheduleConflictService.invalidate(householdId);
+        domainEventPublisher.publish(DomainEventType.EVENT_ATTENDEES_CHANGED, householdId, eventId,
+                Map.of("added", added.stream().sorted().toList(), "removed", removed.stream().sorted().toList()));
     }
 
+    @Transactional
     public void deleteEvent(Long id) {
+        eventRepository.findHouseholdIdById(id).ifPresent(householdId -> {
+            domainEventPublisher.publish(DomainEventType.EVENT_DELETED, householdId, id, Map.of());
+            scheduleConflictService.invalidate(householdId);
+        });
         eventRepository.deleteById(id);
     }
 
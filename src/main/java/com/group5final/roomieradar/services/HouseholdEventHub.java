@@ -0,0 +1,178 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.dto.DomainEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Pushes domain events to the browsers of a household's members over server-sent events.
+ * <p>
+ * Every connection gets a bounded queue and its own virtual thread that takes events from the
+ * queue and writes them to the client. An idle connection is a parked virtual thread, which
+ * holds no platform thread, so thousands of open connections cost little more than their
+ * buffers. Fanning an event out only offers it to the queues of the household's connections,
+ * so a slow client never holds up the dispatcher or the other clients; a client that falls a
+ * full queue behind is disconnected and catches up by reconnecting.
+ * </p>
+ * <p>
+ * Connections are kept in memory, and each outbox event is claimed and dispatched by exactly one
+ * instance of the application. With several instances, an event therefore only reaches the
+ * clients connected to the instance that dispatched it; clients on other instances see the
+ * change on their next page load.
+ * </p>
+ */
+@Component
+public class HouseholdEventHub implements DomainEventHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(HouseholdEventHub.class);
+
+    // Queued to make a connection's sender write a keep-alive comment
+    private static final DomainEvent HEARTBEAT = new DomainEvent();
+
+    private final ConcurrentHashMap<Long, Set<Connection>> connections = new ConcurrentHashMap<>();
+
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Browsers reconnect on their own once a stream times out
+    @Value("${roomieradar.live-updates.timeout-minutes:30}")
+    private long timeoutMinutes = 30;
+
+    // Linked, so an idle connection does not preallocate room for a burst it may never get
+    @Value("${roomieradar.live-updates.queue-capacity:1000}")
+    private int queueCapacity = 1000;
+
+    /**
+     * Opens a stream of the household's events.
+     *
+     * @param householdId the household whose events are sent
+     * @return the emitter to return from the controller
+     */
+    public SseEmitter subscribe(Long householdId) {
+        return subscribe(householdId, new SseEmitter(timeoutMinutes * 60_000));
+    }
+
+    SseEmitter subscribe(Long householdId, SseEmitter emitter) {
+        Connection connection = new Connection(householdId, emitter, new LinkedBlockingQueue<>(queueCapacity));
+        // Added inside compute so that it cannot race with close() dropping the household's empty set
+        connections.compute(householdId, (id, household) -> {
+            Set<Connection> open = household == null ? ConcurrentHashMap.newKeySet() : household;
+            open.add(connection);
+            return open;
+        });
+        emitter.onCompletion(() -> close(connection));
+        emitter.onTimeout(() -> close(connection));
+        emitter.onError(e -> close(connection));
+        connection.sender = senders.submit(() -> send(connection));
+        return emitter;
+    }
+
+    /**
+     * Queues the event for every connection of its household.
+     */
+    @Override
+    public void handle(DomainEvent event) {
+        for (Connection connection : connections.getOrDefault(event.getHouseholdId(), Set.of())) {
+            offer(connection, event);
+        }
+    }
+
+    /**
+     * Sends a comment to every connection, so that proxies keep idle streams open and streams
+     * of departed clients fail and are closed.
+     *
+     * @return the number of open connections
+     */
+    @Scheduled(cron = "${roomieradar.live-updates.heartbeat-cron:*/20 * * * * *}")
+    public int heartbeat() {
+        int open = 0;
+        for (Set<Connection> household : connections.values()) {
+            for (Connection connection : household) {
+                offer(connection, HEARTBEAT);
+                open++;
+            }
+        }
+        return open;
+    }
+
+    /**
+     * @return the number of open connections of the household
+     */
+    public int connectionCount(Long householdId) {
+        return connections.getOrDefault(householdId, Set.of()).size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        connections.values().forEach(household -> household.forEach(connection -> connection.emitter.complete()));
+        senders.shutdownNow();
+    }
+
+    private void offer(Connection connection, DomainEvent event) {
+        if (!connection.queue.offer(event)) {
+            logger.info("Disconnecting a slow live-update client of household {}", connection.householdId);
+            close(connection);
+            connection.emitter.complete();
+        }
+    }
+
+    // Runs on the connection's virtual thread until the connection is closed
+    private void send(Connection connection) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                DomainEvent event = connection.queue.take();
+                if (event == HEARTBEAT) {
+                    connection.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    connection.emitter.send(SseEmitter.event()
+                        .id(String.valueOf(event.getId()))
+                        .name(event.getType().name())
+                        .data(event, MediaType.APPLICATION_JSON));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException e) {
+            // The client went away or the emitter was completed
+            close(connection);
+        }
+    }
+
+    private void close(Connection connection) {
+        connections.computeIfPresent(connection.householdId, (id, household) -> {
+            household.remove(connection);
+            return household.isEmpty() ? null : household;
+        });
+        Future<?> sender = connection.sender;
+        if (sender != null) {
+            sender.cancel(true);
+        }
+    }
+
+    private static final class Connection {
+        private final Long householdId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<DomainEvent> queue;
+        private volatile Future<?> sender;
+
+        private Connection(Long householdId, SseEmitter emitter, BlockingQueue<DomainEvent> queue) {
+            this.householdId = householdId;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
@@ -18,6 +18,9 @@ public class HouseholdService {
     @Autowired
     private HouseholdRepository householdRepository;
 
+    @Autowired
+    private CurrentUserService currentUserService;
+
     /**
      * Creates a new household with the given name and password, assigning the creator.
      * <p>
@@ -40,6 +43,7 @@ public class HouseholdService {
         householdRepository.save(household);
 
         creator.setHousehold(household);
+        currentUserService.evictCurrentUser();
     }
 
     /**
@@ -58,5 +62,6 @@ public class HouseholdService {
                 .orElseThrow(() -> new IllegalArgumentException("Invalid household name or password"));
 
         user.setHousehold(household);
+        currentUserService.evictCurrentUser();
     }
 }
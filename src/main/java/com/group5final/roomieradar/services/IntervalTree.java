@@ -0,0 +1,91 @@
+package com.group5final.roomieradar.services;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable interval tree over half-open {@code [start, end)} time ranges.
+ * <p>
+ * The intervals are sorted by start and laid out as an implicit balanced binary search tree,
+ * where every node also knows the latest end in its subtree. An overlap query skips every
+ * subtree that ends before the query starts or starts after it ends, so it visits
+ * {@code O(log n + k)} nodes for {@code k} results instead of scanning all intervals. Being
+ * immutable, a tree can be shared between threads and is rebuilt rather than updated.
+ * </p>
+ *
+ * @param <T> the value attached to each interval
+ */
+public final class IntervalTree<T> {
+
+    /**
+     * A time range {@code [start, end)} with its value.
+     */
+    public record Interval<T>(LocalDateTime start, LocalDateTime end, T value) {
+    }
+
+    private final List<Interval<T>> nodes;
+    private final LocalDateTime[] maxEnd;
+
+    public IntervalTree(List<Interval<T>> intervals) {
+        List<Interval<T>> sorted = new ArrayList<>(intervals);
+        sorted.sort(Comparator.comparing(Interval::start));
+        this.nodes = List.copyOf(sorted);
+        this.maxEnd = new LocalDateTime[sorted.size()];
+        computeMaxEnd(0, sorted.size() - 1);
+    }
+
+    /**
+     * @return the intervals overlapping {@code [start, end)}, in start order
+     */
+    public List<Interval<T>> overlapping(LocalDateTime start, LocalDateTime end) {
+        List<Interval<T>> result = new ArrayList<>();
+        collect(0, nodes.size() - 1, start, end, result);
+        return result;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    // The subtree of nodes[lo..hi] is rooted at its middle element
+    private LocalDateTime computeMaxEnd(int lo, int hi) {
+        if (lo > hi) {
+            return null;
+        }
+        int mid = (lo + hi) >>> 1;
+        LocalDateTime max = nodes.get(mid).end();
+        LocalDateTime left = computeMaxEnd(lo, mid - 1);
+        LocalDateTime right = computeMaxEnd(mid + 1, hi);
+        if (left != null && left.isAfter(max)) {
+            max = left;
+        }
+        if (right != null && right.isAfter(max)) {
+            max = right;
+        }
+        maxEnd[mid] = max;
+        return max;
+    }
+
+    private void collect(int lo, int hi, LocalDateTime start, LocalDateTime end, List<Interval<T>> result) {
+        if (lo > hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (!maxEnd[mid].isAfter(start)) {
+            // Everything in this subtree ends before the query starts
+            return;
+        }
+        collect(lo, mid - 1, start, end, result);
+        Interval<T> node = nodes.get(mid);
+        if (!node.start().isBefore(end)) {
+            // This node and everything to its right start after the query ends
+            return;
+        }
+        if (node.end().isAfter(start)) {
+            result.add(node);
+        }
+        collect(mid + 1, hi, start, end, result);
+    }
+}
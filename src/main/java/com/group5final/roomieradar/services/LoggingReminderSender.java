@@ -0,0 +1,18 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.dto.ReminderDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Default {@link ReminderSender} that writes every reminder to the application log.
+ */
+public class LoggingReminderSender implements ReminderSender {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingReminderSender.class);
+
+    @Override
+    public void send(ReminderDTO reminder) {
+        logger.info("Reminder {} for user {}: {}", reminder.getId(), reminder.getUserId(), reminder.getMessage());
+    }
+}
@@ -0,0 +1,130 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.entities.CalendarItem;
+import com.group5final.roomieradar.enums.RepeatUnit;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Lazily yields the start days of a {@link CalendarItem}'s occurrences that overlap a date window.
+ * <p>
+ * The iterator jumps straight to the first occurrence that can touch the window instead of
+ * walking the series from its beginning, and stops at the end of the window, so the work done
+ * is proportional to the occurrences shown rather than the age of the series. Occurrence
+ * {@code k} is always computed from the series start, which keeps monthly rules on the original
+ * day of month (clamped for shorter months) without drift.
+ * </p>
+ */
+public class RecurrenceIterator implements Iterator<LocalDate> {
+
+    private final LocalDate seriesStart;
+    private final RepeatUnit unit;
+    private final long interval;
+    private final LocalDate until;
+    private final Set<LocalDate> exceptions;
+    private final LocalDate firstOverlappingStart;
+    private final LocalDate windowEnd;
+
+    private long index;
+    private LocalDate next;
+    private boolean done;
+
+    /**
+     * Creates an iterator over the occurrences of a series.
+     *
+     * @param seriesStart the start day of the first occurrence
+     * @param spanDays how many days after its start each occurrence ends
+     * @param unit the repeat unit
+     * @param interval units between occurrences; 0 or less yields only the first occurrence
+     * @param until the last day an occurrence may start on, or null for no limit
+     * @param exceptions occurrence start days to skip
+     * @param from the first day of the window (inclusive)
+     * @param to the last day of the window (inclusive)
+     */
+    public RecurrenceIterator(LocalDate seriesStart, long spanDays, RepeatUnit unit, long interval,
+                              LocalDate until, Set<LocalDate> exceptions, LocalDate from, LocalDate to) {
+        this.seriesStart = seriesStart;
+        this.unit = unit != null ? unit : RepeatUnit.DAYS;
+        this.interval = interval;
+        this.until = until;
+        this.exceptions = exceptions != null ? exceptions : Set.of();
+        this.firstOverlappingStart = from.minusDays(Math.max(spanDays, 0));
+        this.windowEnd = to;
+        this.index = interval > 0 ? firstCandidateIndex() : 0;
+    }
+
+    /**
+     * Creates an iterator over the occurrences of the given item overlapping {@code [from, to]}.
+     *
+     * @param item the calendar item, which must have a start date
+     * @param from the first day of the window (inclusive)
+     * @param to the last day of the window (inclusive)
+     * @return the occurrence iterator
+     */
+    public static RecurrenceIterator forItem(CalendarItem item, LocalDate from, LocalDate to) {
+        LocalDate start = item.getDateStart().toLocalDate();
+        long span = spanDays(item);
+        long interval = item.getRepeatDuration() != null ? item.getRepeatDuration() : 0;
+        return new RecurrenceIterator(start, span, item.getRepeatUnit(), interval,
+                item.getRepeatUntil(), item.getRepeatExceptions(), from, to);
+    }
+
+    /**
+     * @param item the calendar item
+     * @return the number of days each occurrence lasts after its start day (0 for single-day items)
+     */
+    public static long spanDays(CalendarItem item) {
+        if (item.getDateEnd() == null) return 0;
+        return Math.max(0, ChronoUnit.DAYS.between(item.getDateStart().toLocalDate(), item.getDateEnd().toLocalDate()));
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !done) {
+            next = advance();
+            done = next == null;
+        }
+        return next != null;
+    }
+
+    @Override
+    public LocalDate next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        LocalDate result = next;
+        next = null;
+        return result;
+    }
+
+    private LocalDate advance() {
+        while (true) {
+            if (interval <= 0 && index > 0) return null;
+            LocalDate candidate = occurrence(index++);
+            if (candidate.isAfter(windowEnd) || (until != null && candidate.isAfter(until))) return null;
+            if (candidate.isBefore(firstOverlappingStart) || exceptions.contains(candidate)) continue;
+            return candidate;
+        }
+    }
+
+    private LocalDate occurrence(long k) {
+        return switch (unit) {
+            case DAYS -> seriesStart.plusDays(k * interval);
+            case WEEKS -> seriesStart.plusWeeks(k * interval);
+            case MONTHS -> seriesStart.plusMonths(k * interval);
+        };
+    }
+
+    // Index of the first occurrence that may overlap the window; at most one step early for monthly rules
+    private long firstCandidateIndex() {
+        if (!firstOverlappingStart.isAfter(seriesStart)) return 0;
+        long elapsed = switch (unit) {
+            case DAYS -> ChronoUnit.DAYS.between(seriesStart, firstOverlappingStart);
+            case WEEKS -> ChronoUnit.WEEKS.between(seriesStart, firstOverlappingStart);
+            case MONTHS -> ChronoUnit.MONTHS.between(seriesStart, firstOverlappingStart);
+        };
+        return Math.max(0, elapsed / interval - 1);
+    }
+}
@@ -0,0 +1,33 @@
+package com.group5final.roomieradar.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically materializes the bills of recurring bill templates that fall due.
+ */
+@Component
+public class RecurringBillJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecurringBillJob.class);
+
+    @Autowired
+    private RecurringBillService recurringBillService;
+
+    /**
+     * Generates all due recurring bills.
+     *
+     * @return the number of bills created
+     */
+    @Scheduled(cron = "${roomieradar.recurring-bills.cron:0 15 * * * *}")
+    public int generate() {
+        int generated = recurringBillService.generateDueBills();
+        if (generated > 0) {
+            logger.info("Generated {} recurring bills", generated);
+        }
+        return generated;
+    }
+}
@@ -0,0 +1,312 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.entities.Bill;
+import com.group5final.roomieradar.entities.BillSplit;
+import com.group5final.roomieradar.entities.RecurringBill;
+import com.group5final.roomieradar.entities.RecurringBillShare;
+import com.group5final.roomieradar.entities.User;
+import com.group5final.roomieradar.enums.RepeatUnit;
+import com.group5final.roomieradar.enums.SplitMode;
+import com.group5final.roomieradar.repositories.BillRepository;
+import com.group5final.roomieradar.repositories.BillSplitRepository;
+import com.group5final.roomieradar.repositories.RecurringBillRepository;
+import com.group5final.roomieradar.repositories.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Manages recurring bill templates and materializes the bills that fall due.
+ * <p>
+ * Generation walks the due templates by id in fixed-size chunks. Each chunk is loaded with a
+ * single query, its bills and splits are written with JDBC batches, and the templates are
+ * advanced in the same transaction. A run that dies part-way therefore leaves every chunk
+ * either fully generated or untouched, and the next run simply picks up the templates that
+ * are still due.
+ * </p>
+ */
+@Service
+public class RecurringBillService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecurringBillService.class);
+
+    /**
+     * Upper bound on occurrences generated for one template per run, so a template that was
+     * paused for years cannot flood a household in one go.
+     */
+    static final int MAX_OCCURRENCES_PER_RUN = 12;
+
+    @Autowired
+    private RecurringBillRepository recurringBillRepository;
+
+    @Autowired
+    private BillRepository billRepository;
+
+    @Autowired
+    private BillSplitRepository billSplitRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BillService billService;
+
+    @Autowired
+    private BalanceLedgerService balanceLedgerService;
+
+    @Autowired
+    private SpendingRollupService spendingRollupService;
+
+    @Autowired
+    private CurrentUserService currentUserService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${roomieradar.recurring-bills.chunk-size:500}")
+    private int chunkSize = 500;
+
+    // Bills are created this many days ahead of their due date
+    @Value("${roomieradar.recurring-bills.lead-days:7}")
+    private int leadDays = 7;
+
+    /**
+     * Creates a recurring bill template for the current user's household.
+     * <p>
+     * The split is validated against the amount right away, so a template that could never
+     * produce a valid bill is rejected here rather than by the generator.
+     * </p>
+     */
+    @Transactional
+    public RecurringBill createRecurringBill(String name, BigDecimal amount, String description,
+                                             LocalDateTime firstDueDate, RepeatUnit repeatUnit, int repeatInterval,
+                                             LocalDate repeatUntil, List<Long> userIds, SplitMode splitMode,
+                                             List<BigDecimal> splitValues) {
+        User currentUser = currentUserService.getCurrentUser()
+            .orElseThrow(() -> new IllegalStateException("User not authenticated"));
+        if (currentUser.getHousehold() == null) {
+            throw new IllegalStateException("User must be in a household to create bills");
+        }
+        if (firstDueDate == null) {
+            throw new IllegalArgumentException("First due date is required");
+        }
+        if (repeatInterval < 1) {
+            throw new IllegalArgumentException("Repeat interval must be at least 1");
+        }
+
+        RecurringBill recurringBill = new RecurringBill();
+        recurringBill.setName(name);
+        recurringBill.setAmount(amount);
+        recurringBill.setDescription(description);
+        recurringBill.setHousehold(currentUser.getHousehold());
+        recurringBill.setCreatedBy(currentUser);
+        recurringBill.setFirstDueDate(firstDueDate);
+        recurringBill.setNextDueDate(firstDueDate);
+        recurringBill.setRepeatUnit(repeatUnit);
+        recurringBill.setRepeatInterval(repeatInterval);
+        recurringBill.setRepeatUntil(repeatUntil);
+        recurringBill.setSplitMode(splitMode);
+
+        List<User> members;
+        if (userIds == null || userIds.isEmpty()) {
+            if (splitMode != SplitMode.EQUAL) {
+                throw new IllegalArgumentException("Splitting among all household members is always equal");
+            }
+            members = householdMembers(userRepository.findByHouseholdId(currentUser.getHousehold().getId()));
+        } else {
+            if (new HashSet<>(userIds).size() != userIds.size()) {
+                throw new IllegalArgumentException("Each member can only be listed once");
+            }
+            Map<Long, User> usersById = new HashMap<>();
+            userRepository.findAllById(userIds).forEach(u -> usersById.put(u.getId(), u));
+            members = new ArrayList<>();
+            for (int i = 0; i < userIds.size(); i++) {
+                User member = usersById.get(userIds.get(i));
+                if (member == null || member.getHousehold() == null
+                        || !Objects.equals(member.getHousehold().getId(), currentUser.getHousehold().getId())) {
+                    throw new IllegalArgumentException("Bills can only be split with household members");
+                }
+                members.add(member);
+                BigDecimal value = splitValues != null && i < splitValues.size() ? splitValues.get(i) : null;
+                recurringBill.getShares().add(new RecurringBillShare(member.getId(), value));
+            }
+        }
+        if (members.isEmpty()) {
+            throw new IllegalArgumentException("No users found to split the bill");
+        }
+        Bill sample = new Bill();
+        sample.setAmount(amount);
+        billService.splitBill(sample, members, splitMode, splitValues(recurringBill));
+
+        return recurringBillRepository.save(recurringBill);
+    }
+
+    @Transactional(readOnly = true)
+    public List<RecurringBill> getRecurringBills(Long householdId) {
+        return recurringBillRepository.findByHouseholdIdOrderByNextDueDateAsc(householdId);
+    }
+
+    /**
+     * Deletes a template; bills generated from it are kept.
+     *
+     * @throws IllegalArgumentException if the template does not belong to the user's household
+     */
+    @Transactional
+    public void deleteRecurringBill(Long id, User user) {
+        RecurringBill recurringBill = recurringBillRepository.findById(id)
+            .orElseThrow(() -> new IllegalArgumentException("Recurring bill not found"));
+        if (user.getHousehold() == null
+                || !Objects.equals(recurringBill.getHousehold().getId(), user.getHousehold().getId())) {
+            throw new IllegalArgumentException("Recurring bill not found");
+        }
+        recurringBillRepository.delete(recurringBill);
+    }
+
+    /**
+     * Generates the bills of all templates due within the lead time.
+     *
+     * @return the number of bills created
+     */
+    public int generateDueBills() {
+        return generateDueBills(LocalDateTime.now());
+    }
+
+    /**
+     * Generates the bills of all templates due up to {@code now} plus the lead time, one
+     * chunk of templates per transaction.
+     *
+     * @param now the reference time
+     * @return the number of bills created
+     */
+    public int generateDueBills(LocalDateTime now) {
+        LocalDateTime horizon = now.plusDays(leadDays);
+        int generated = 0;
+        Long afterId = 0L;
+        while (true) {
+            List<Long> ids = recurringBillRepository.findDueIdsAfter(horizon, afterId, Limit.of(chunkSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            try {
+                Integer created = transactionTemplate.execute(status -> generateChunk(ids, horizon));
+                generated += created != null ? created : 0;
+            } catch (ConcurrencyFailureException e) {
+                // Another run advanced some of these templates; whatever is still due is picked up next time
+                logger.warn("Skipping recurring bills {}..{} changed concurrently", ids.get(0), ids.get(ids.size() - 1));
+            }
+            afterId = ids.get(ids.size() - 1);
+        }
+        return generated;
+    }
+
+    private int generateChunk(List<Long> ids, LocalDateTime horizon) {
+        List<RecurringBill> templates = recurringBillRepository.findForGenerationByIdIn(ids);
+
+        // Members of every household and user referenced by the chunk, in two queries
+        Set<Long> householdIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        for (RecurringBill template : templates) {
+            if (template.getShares().isEmpty()) {
+                householdIds.add(template.getHousehold().getId());
+            } else {
+                template.getShares().forEach(share -> userIds.add(share.getUserId()));
+            }
+        }
+        Map<Long, List<User>> membersByHousehold = householdIds.isEmpty() ? Map.of()
+            : userRepository.findByHouseholdIdIn(householdIds).stream()
+                .collect(Collectors.groupingBy(u -> u.getHousehold().getId()));
+        Map<Long, User> usersById = new HashMap<>();
+        if (!userIds.isEmpty()) {
+            userRepository.findAllById(userIds).forEach(u -> usersById.put(u.getId(), u));
+        }
+
+        List<Bill> bills = new ArrayList<>();
+        List<BillSplit> splits = new ArrayList<>();
+        Map<Bill, List<BillSplit>> splitsByBill = new LinkedHashMap<>();
+        for (RecurringBill template : templates) {
+            List<User> members = template.getShares().isEmpty()
+                ? householdMembers(membersByHousehold.getOrDefault(template.getHousehold().getId(), List.of()))
+                : shareMembers(template, usersById);
+            int occurrences = 0;
+            while (template.isActive() && !template.getNextDueDate().isAfter(horizon)
+                    && occurrences < MAX_OCCURRENCES_PER_RUN) {
+                Bill bill = new Bill();
+                bill.setName(template.getName());
+                bill.setAmount(template.getAmount());
+                bill.setDescription(template.getDescription());
+                bill.setDueDate(template.getNextDueDate());
+                bill.setHousehold(template.getHousehold());
+                bill.setCreatedBy(template.getCreatedBy());
+                try {
+                    if (members.isEmpty()) {
+                        throw new IllegalArgumentException("No members left to split the bill with");
+                    }
+                    List<BillSplit> billSplits = billService.splitBill(bill, members, template.getSplitMode(),
+                        splitValues(template));
+                    splits.addAll(billSplits);
+                    splitsByBill.put(bill, billSplits);
+                } catch (IllegalArgumentException e) {
+                    logger.warn("Deactivating recurring bill {}: {}", template.getId(), e.getMessage());
+                    template.setActive(false);
+                    break;
+                }
+                bills.add(bill);
+                template.advance();
+                occurrences++;
+            }
+        }
+
+        billRepository.insertAll(bills);
+        billSplitRepository.insertAll(splits);
+        balanceLedgerService.recordSplitsCreated(splits);
+        spendingRollupService.recordSplitsCreated(splits);
+        splitsByBill.forEach(billService::publishBillCreated);
+        return bills.size();
+    }
+
+    // Everyone in the household, ordered so leftover cents always go to the same members
+    private static List<User> householdMembers(List<User> users) {
+        return users.stream().sorted(Comparator.comparing(User::getId)).toList();
+    }
+
+    // The template's members, as long as they still live in the template's household
+    private static List<User> shareMembers(RecurringBill template, Map<Long, User> usersById) {
+        Map<Long, User> members = template.getShares().stream()
+            .map(share -> usersById.get(share.getUserId()))
+            .filter(u -> u != null && u.getHousehold() != null
+                && Objects.equals(u.getHousehold().getId(), template.getHousehold().getId()))
+            .collect(Collectors.toMap(User::getId, Function.identity()));
+        if (members.size() != template.getShares().size()) {
+            return List.of();
+        }
+        return template.getShares().stream().map(share -> members.get(share.getUserId())).toList();
+    }
+
+    private static List<BigDecimal> splitValues(RecurringBill template) {
+        if (template.getSplitMode() == SplitMode.EQUAL) {
+            return null;
+        }
+        return template.getShares().stream().map(RecurringBillShare::getSplitValue).toList();
+    }
+}
@@ -0,0 +1,49 @@
+package com.group5final.roomieradar.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Periodically enqueues reminders for bills that are due soon or overdue, and delivers them.
+ */
+@Component
+public class ReminderJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReminderJob.class);
+
+    @Autowired
+    private ReminderService reminderService;
+
+    /**
+     * Scans for unpaid splits on bills in the reminder window.
+     *
+     * @return the number of splits examined
+     */
+    @Scheduled(cron = "${roomieradar.reminders.scan-cron:0 */15 * * * *}")
+    public int scan() {
+        int examined = reminderService.scan(LocalDateTime.now());
+        if (examined > 0) {
+            logger.info("Examined {} unpaid splits for reminders", examined);
+        }
+        return examined;
+    }
+
+    /**
+     * Delivers the reminders waiting in the outbox.
+     *
+     * @return the number of reminders delivered
+     */
+    @Scheduled(cron = "${roomieradar.reminders.dispatch-cron:30 * * * * *}")
+    public int dispatch() {
+        int delivered = reminderService.dispatch(LocalDateTime.now());
+        if (delivered > 0) {
+            logger.info("Delivered {} reminders", delivered);
+        }
+        return delivered;
+    }
+}
@@ -0,0 +1,24 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.dto.ReminderDTO;
+
+/**
+ * Delivers bill reminders to household members.
+ * <p>
+ * Declare a bean of this type to deliver reminders by e-mail, push notification or any other
+ * channel; without one, {@link ReminderService} writes them to the log with a
+ * {@link LoggingReminderSender}.
+ * Reminders are sent concurrently from virtual threads, so implementations must be thread-safe
+ * and may block on I/O.
+ * </p>
+ */
+public interface ReminderSender {
+
+    /**
+     * Delivers one reminder. Throwing marks the delivery as failed; it is retried by later
+     * dispatch runs up to the configured number of attempts.
+     *
+     * @param reminder the reminder to deliver
+     */
+    void send(ReminderDTO reminder) throws Exception;
+}
@@ -0,0 +1,248 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.dto.ReminderCandidate;
+import com.group5final.roomieradar.dto.ReminderDTO;
+import com.group5final.roomieradar.entities.ReminderOutbox;
+import com.group5final.roomieradar.enums.ReminderKind;
+import com.group5final.roomieradar.repositories.BillSplitRepository;
+import com.group5final.roomieradar.repositories.ReminderOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reminds members of their unpaid splits on bills that are due soon or overdue.
+ * <p>
+ * The scan walks the splits of bills due within the reminder window in keyset-ordered pages.
+ * Pages are read one after another, but each page is turned into reminders and written to the
+ * outbox on its own virtual thread, with a bounded number of pages in flight, so reading and
+ * writing overlap while memory stays bounded. The outbox keeps one reminder per split and kind,
+ * so overlapping or repeated scans enqueue nothing twice.
+ * </p>
+ * <p>
+ * Dispatch then delivers pending outbox rows through the {@link ReminderSender}, sending the
+ * reminders of a page concurrently on virtual threads since senders typically block on I/O.
+ * Each page is claimed with a conditional update before it is sent and only the claimed rows
+ * are delivered, so overlapping runs and other application instances never send a reminder
+ * twice. A claim left behind by a crashed run expires after
+ * {@code roomieradar.reminders.claim-timeout-seconds}.
+ * </p>
+ */
+@Service
+public class ReminderService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReminderService.class);
+
+    private static final DateTimeFormatter DUE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    @Autowired
+    private BillSplitRepository billSplitRepository;
+
+    @Autowired
+    private ReminderOutboxRepository reminderOutboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Left as the logging default unless the application declares a sender
+    @Autowired(required = false)
+    private ReminderSender reminderSender = new LoggingReminderSender();
+
+    // Bills due within this many hours get a "due soon" reminder
+    @Value("${roomieradar.reminders.lead-hours:24}")
+    private int leadHours = 24;
+
+    // Bills overdue for longer than this are no longer scanned
+    @Value("${roomieradar.reminders.overdue-days:30}")
+    private int overdueDays = 30;
+
+    @Value("${roomieradar.reminders.batch-size:1000}")
+    private int batchSize = 1000;
+
+    @Value("${roomieradar.reminders.max-in-flight:4}")
+    private int maxInFlight = 4;
+
+    @Value("${roomieradar.reminders.dispatch-batch-size:100}")
+    private int dispatchBatchSize = 100;
+
+    @Value("${roomieradar.reminders.max-attempts:5}")
+    private int maxAttempts = 5;
+
+    @Value("${roomieradar.reminders.claim-timeout-seconds:300}")
+    private long claimTimeoutSeconds = 300;
+
+    // Only one dispatch per instance; runs on other instances are kept apart by the claims
+    private final AtomicBoolean dispatching = new AtomicBoolean();
+
+    /**
+     * Enqueues reminders for every unpaid split on a bill due between {@code overdueDays} ago
+     * and {@code leadHours} from now.
+     *
+     * @param now the reference time
+     * @return the number of unpaid splits examined
+     */
+    public int scan(LocalDateTime now) {
+        LocalDateTime from = now.minusDays(overdueDays);
+        LocalDateTime to = now.plusHours(leadHours);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicInteger failedPages = new AtomicInteger();
+        int examined = 0;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // Every due date in the window is after (from, 0) except from itself, which any split id follows
+            LocalDateTime afterDue = from;
+            Long afterId = 0L;
+            while (true) {
+                List<ReminderCandidate> page = billSplitRepository.findReminderCandidates(
+                    from, to, afterDue, afterId, Limit.of(batchSize));
+                if (page.isEmpty()) {
+                    break;
+                }
+                examined += page.size();
+                ReminderCandidate last = page.get(page.size() - 1);
+                afterDue = last.getDueDate();
+                afterId = last.getSplitId();
+
+                inFlight.acquireUninterruptibly();
+                executor.execute(() -> {
+                    try {
+                        reminderOutboxRepository.enqueueAll(toReminders(page, now));
+                    } catch (RuntimeException e) {
+                        // Nothing was enqueued for the page, so the next scan picks it up again
+                        failedPages.incrementAndGet();
+                        logger.error("Failed to enqueue reminders for splits {}..{}",
+                            page.get(0).getSplitId(), page.get(page.size() - 1).getSplitId(), e);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+                if (page.size() < batchSize) {
+                    break;
+                }
+            }
+        }
+        if (failedPages.get() > 0) {
+            logger.warn("Reminder scan finished with {} failed pages", failedPages.get());
+        }
+        return examined;
+    }
+
+    /**
+     * Delivers pending reminders, each page sent concurrently. Failed deliveries are retried
+     * by later runs until they reach the maximum number of attempts. Does nothing if a run is
+     * already in progress.
+     *
+     * @param now the time recorded on claimed and sent reminders
+     * @return the number of reminders delivered
+     */
+    public int dispatch(LocalDateTime now) {
+        if (!dispatching.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            return dispatchClaimed(now, UUID.randomUUID().toString());
+        } finally {
+            dispatching.set(false);
+        }
+    }
+
+    private int dispatchClaimed(LocalDateTime now, String claimedBy) {
+        LocalDateTime staleBefore = now.minusSeconds(claimTimeoutSeconds);
+        int delivered = 0;
+        Long afterId = 0L;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (true) {
+                List<Long> ids = reminderOutboxRepository.findClaimableIdsAfter(
+                    afterId, maxAttempts, staleBefore, Limit.of(dispatchBatchSize));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                afterId = ids.get(ids.size() - 1);
+                // Committed before sending, so other runs skip these reminders while they are sent
+                List<ReminderOutbox> page = transactionTemplate.execute(status -> {
+                    reminderOutboxRepository.claim(ids, claimedBy, now, staleBefore);
+                    return reminderOutboxRepository.findClaimed(ids, claimedBy);
+                });
+
+                List<Future<?>> sends = new ArrayList<>(page.size());
+                for (ReminderOutbox reminder : page) {
+                    ReminderDTO dto = new ReminderDTO(reminder.getId(), reminder.getUserId(), reminder.getKind(),
+                        reminder.getMessage());
+                    sends.add(executor.submit(() -> {
+                        reminderSender.send(dto);
+                        return null;
+                    }));
+                }
+
+                List<Long> sent = new ArrayList<>();
+                List<ReminderOutbox> failed = new ArrayList<>();
+                List<String> errors = new ArrayList<>();
+                for (int i = 0; i < page.size(); i++) {
+                    try {
+                        sends.get(i).get();
+                        sent.add(page.get(i).getId());
+                    } catch (ExecutionException e) {
+                        failed.add(page.get(i));
+                        errors.add(truncate(String.valueOf(e.getCause())));
+                    } catch (InterruptedException e) {
+                        // Unfinished claims expire and are picked up by a later run
+                        Thread.currentThread().interrupt();
+                        return delivered;
+                    }
+                }
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (!sent.isEmpty()) {
+                        reminderOutboxRepository.markSent(sent, claimedBy, now);
+                    }
+                    for (int i = 0; i < failed.size(); i++) {
+                        reminderOutboxRepository.recordFailure(failed.get(i).getId(), claimedBy, errors.get(i));
+                    }
+                });
+                if (!failed.isEmpty()) {
+                    logger.warn("Failed to deliver {} reminders, e.g. {}: {}", failed.size(), failed.get(0).getId(),
+                        errors.get(0));
+                }
+                delivered += sent.size();
+            }
+        }
+        return delivered;
+    }
+
+    private static List<ReminderOutbox> toReminders(List<ReminderCandidate> page, LocalDateTime now) {
+        List<ReminderOutbox> reminders = new ArrayList<>(page.size());
+        for (ReminderCandidate candidate : page) {
+            boolean overdue = candidate.getDueDate().isBefore(now);
+            ReminderOutbox reminder = new ReminderOutbox();
+            reminder.setSplitId(candidate.getSplitId());
+            reminder.setUserId(candidate.getUserId());
+            reminder.setKind(overdue ? ReminderKind.OVERDUE : ReminderKind.DUE_SOON);
+            reminder.setMessage(truncate(String.format("Your share of %s (%s) %s %s",
+                candidate.getBillName(), candidate.getSplitAmount().toPlainString(),
+                overdue ? "was due on" : "is due on", candidate.getDueDate().format(DUE_DATE_FORMAT))));
+            reminder.setCreatedAt(now);
+            reminders.add(reminder);
+        }
+        return reminders;
+    }
+
+    private static String truncate(String text) {
+        return text.length() <= 500 ? text : text.substring(0, 500);
+    }
+}
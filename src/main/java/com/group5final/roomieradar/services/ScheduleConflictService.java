@@ -0,0 +1,243 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.dto.EventAttendeeRow;
+import com.group5final.roomieradar.dto.ScheduleConflict;
+import com.group5final.roomieradar.entities.CalendarItem;
+import com.group5final.roomieradar.enums.RepeatUnit;
+import com.group5final.roomieradar.enums.ScheduleItemType;
+import com.group5final.roomieradar.repositories.CalendarItemRepository;
+import com.group5final.roomieradar.repositories.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Finds events and calendar items that clash for the same people.
+ * <p>
+ * An event books its attendees and a calendar item books its creator. Events have no end time,
+ * so they are assumed to last {@code roomieradar.conflicts.event-duration-minutes}, as do
+ * calendar items without an end. Every booking of a household is kept in an {@link IntervalTree},
+ * built on first use and dropped whenever the household's events or calendar items change, so a
+ * conflict query costs {@code O(log n + k)} instead of a scan of the household's history. A
+ * repeating calendar item is indexed by the span of its whole series and its occurrences are
+ * only expanded for the series that overlap the query.
+ * </p>
+ */
+@Service
+public class ScheduleConflictService {
+
+    /**
+     * How many days of a repeating calendar item's occurrences are checked when it is saved.
+     */
+    static final int REPEAT_HORIZON_DAYS = 90;
+
+    static final int MAX_REPORTED_CONFLICTS = 20;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private CalendarItemRepository calendarItemRepository;
+
+    @Value("${roomieradar.conflicts.event-duration-minutes:60}")
+    private long eventDurationMinutes = 60;
+
+    @Value("${roomieradar.conflicts.max-cached-households:1000}")
+    private int maxCachedHouseholds = 1000;
+
+    private final Map<Long, IntervalTree<Booking>> trees = new ConcurrentHashMap<>();
+
+    // Bumped on every invalidation, so that a tree built from data read before it is not kept
+    private final AtomicLong writes = new AtomicLong();
+
+    /**
+     * Finds what the attendees of an event at {@code eventDate} are already booked on.
+     *
+     * @param eventId the event being saved, which is not reported; null for a new event
+     */
+    public List<ScheduleConflict> findEventConflicts(Long householdId, Long eventId, LocalDateTime eventDate,
+                                                     Collection<Long> attendeeIds) {
+        if (eventDate == null || attendeeIds == null || attendeeIds.isEmpty()) {
+            return List.of();
+        }
+        List<ScheduleConflict> conflicts = new ArrayList<>();
+        find(householdId, eventDate, eventDate.plus(eventDuration()), new HashSet<>(attendeeIds),
+            ScheduleItemType.EVENT, eventId, conflicts);
+        return conflicts;
+    }
+
+    /**
+     * Finds what the creator of a calendar item is already booked on during the item, or during
+     * its occurrences of the {@value #REPEAT_HORIZON_DAYS} days from the later of its start and
+     * {@code today} if it repeats. Past occurrences of a long-running series are not checked.
+     */
+    public List<ScheduleConflict> findCalendarItemConflicts(Long householdId, CalendarItem item, LocalDate today) {
+        if (item.getDateStart() == null || item.getCreator() == null) {
+            return List.of();
+        }
+        Set<Long> people = Set.of(item.getCreator().getId());
+        Duration duration = durationOf(item);
+        List<ScheduleConflict> conflicts = new ArrayList<>();
+        LocalDate firstDay = item.getDateStart().toLocalDate();
+        LocalDate from = firstDay.isBefore(today) ? today : firstDay;
+        RecurrenceIterator occurrences = RecurrenceIterator.forItem(item, from, from.plusDays(REPEAT_HORIZON_DAYS));
+        while (occurrences.hasNext() && conflicts.size() < MAX_REPORTED_CONFLICTS) {
+            LocalDateTime start = occurrences.next().atTime(item.getDateStart().toLocalTime());
+            find(householdId, start, start.plus(duration), people, ScheduleItemType.CALENDAR_ITEM, item.getId(), conflicts);
+        }
+        return conflicts.size() > MAX_REPORTED_CONFLICTS ? conflicts.subList(0, MAX_REPORTED_CONFLICTS) : conflicts;
+    }
+
+    /**
+     * Drops the household's index after one of its events or calendar items changed. Inside a
+     * transaction the index is dropped again on completion, since a concurrent query may have
+     * rebuilt it from the data as it was before the commit.
+     */
+    public void invalidate(Long householdId) {
+        evict(householdId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(householdId);
+                }
+            });
+        }
+    }
+
+    boolean isIndexed(Long householdId) {
+        return trees.containsKey(householdId);
+    }
+
+    private void evict(Long householdId) {
+        writes.incrementAndGet();
+        trees.remove(householdId);
+    }
+
+    private void find(Long householdId, LocalDateTime start, LocalDateTime end, Set<Long> people,
+                      ScheduleItemType ownType, Long ownId, List<ScheduleConflict> conflicts) {
+        for (IntervalTree.Interval<Booking> hit : tree(householdId).overlapping(start, end)) {
+            Booking booking = hit.value();
+            if (booking.type() == ownType && booking.id().equals(ownId)) {
+                continue;
+            }
+            List<String> shared = booking.people().entrySet().stream()
+                .filter(person -> people.contains(person.getKey()))
+                .map(Map.Entry::getValue)
+                .sorted()
+                .toList();
+            if (shared.isEmpty()) {
+                continue;
+            }
+            if (booking.series() == null) {
+                conflicts.add(booking.conflict(booking.start(), shared));
+                continue;
+            }
+            Series series = booking.series();
+            // From a day early, in case an occurrence runs past midnight into the range
+            RecurrenceIterator occurrences = new RecurrenceIterator(booking.start().toLocalDate(), series.spanDays(),
+                series.unit(), series.interval(), series.until(), series.exceptions(),
+                start.toLocalDate().minusDays(1), end.toLocalDate());
+            while (occurrences.hasNext()) {
+                LocalDateTime occurrence = occurrences.next().atTime(booking.start().toLocalTime());
+                if (occurrence.isBefore(end) && occurrence.plus(booking.duration()).isAfter(start)) {
+                    conflicts.add(booking.conflict(occurrence, shared));
+                }
+            }
+        }
+    }
+
+    private IntervalTree<Booking> tree(Long householdId) {
+        IntervalTree<Booking> tree = trees.get(householdId);
+        if (tree != null) {
+            return tree;
+        }
+        long version = writes.get();
+        tree = build(householdId);
+        if (trees.size() >= maxCachedHouseholds) {
+            trees.clear();
+        }
+        trees.put(householdId, tree);
+        if (writes.get() != version) {
+            // Something changed while the tree was read; use it for this query only
+            trees.remove(householdId, tree);
+        }
+        return tree;
+    }
+
+    private IntervalTree<Booking> build(Long householdId) {
+        List<IntervalTree.Interval<Booking>> intervals = new ArrayList<>();
+
+        Map<Long, List<EventAttendeeRow>> attendeesByEvent = new LinkedHashMap<>();
+        for (EventAttendeeRow row : eventRepository.findAttendeeRowsByHouseholdId(householdId)) {
+            attendeesByEvent.computeIfAbsent(row.getEventId(), id -> new ArrayList<>()).add(row);
+        }
+        Duration eventDuration = eventDuration();
+        attendeesByEvent.forEach((eventId, rows) -> {
+            Map<Long, String> people = new HashMap<>();
+            rows.forEach(row -> people.put(row.getUserId(), row.getUsername()));
+            EventAttendeeRow first = rows.get(0);
+            Booking booking = new Booking(ScheduleItemType.EVENT, eventId, first.getEventName(), first.getEventDate(),
+                eventDuration, null, people);
+            intervals.add(new IntervalTree.Interval<>(first.getEventDate(), first.getEventDate().plus(eventDuration), booking));
+        });
+
+        for (CalendarItem item : calendarItemRepository.findWithCreatorByHouseholdId(householdId)) {
+            Duration duration = durationOf(item);
+            Map<Long, String> people = Map.of(item.getCreator().getId(), item.getCreator().getUsername());
+            LocalDateTime start = item.getDateStart();
+            if (item.getRepeatDuration() == null || item.getRepeatDuration() <= 0) {
+                intervals.add(new IntervalTree.Interval<>(start, start.plus(duration),
+                    new Booking(ScheduleItemType.CALENDAR_ITEM, item.getId(), item.getName(), start, duration, null, people)));
+                continue;
+            }
+            Series series = new Series(RecurrenceIterator.spanDays(item), item.getRepeatUnit(), item.getRepeatDuration(),
+                item.getRepeatUntil(), Set.copyOf(item.getRepeatExceptions()));
+            LocalDateTime seriesEnd = item.getRepeatUntil() == null
+                ? LocalDateTime.MAX
+                : item.getRepeatUntil().atTime(start.toLocalTime()).plus(duration);
+            intervals.add(new IntervalTree.Interval<>(start, seriesEnd,
+                new Booking(ScheduleItemType.CALENDAR_ITEM, item.getId(), item.getName(), start, duration, series, people)));
+        }
+        return new IntervalTree<>(intervals);
+    }
+
+    private Duration eventDuration() {
+        return Duration.ofMinutes(eventDurationMinutes);
+    }
+
+    private Duration durationOf(CalendarItem item) {
+        return item.getDateEnd() != null && item.getDateEnd().isAfter(item.getDateStart())
+            ? Duration.between(item.getDateStart(), item.getDateEnd())
+            : eventDuration();
+    }
+
+    // Who is booked on an event or calendar item, and when; repeating items also carry their rule
+    private record Booking(ScheduleItemType type, Long id, String name, LocalDateTime start, Duration duration,
+                           Series series, Map<Long, String> people) {
+
+        ScheduleConflict conflict(LocalDateTime occurrence, List<String> usernames) {
+            return new ScheduleConflict(type, id, name, occurrence, occurrence.plus(duration), usernames);
+        }
+    }
+
+    private record Series(long spanDays, RepeatUnit unit, long interval, LocalDate until,
+                          Set<LocalDate> exceptions) {
+    }
+}
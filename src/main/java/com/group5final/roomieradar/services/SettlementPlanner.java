@@ -0,0 +1,102 @@
+package com.group5final.roomieradar.services;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Computes a small set of payments that settles every debt in a household.
+ * <p>
+ * Instead of paying split by split, each member is reduced to a single net position (what they
+ * are owed minus what they owe). Debtors whose position exactly cancels a creditor's are paired
+ * first; the rest are matched greedily, always letting the largest debtor pay the largest
+ * creditor. Every payment clears at least one member, so at most {@code members - 1} payments
+ * are produced and the cost is O(m log m) in the number of members, independent of how many
+ * splits produced the balances.
+ * </p>
+ * <p>
+ * Amounts are whole cents to keep the matching exact. The result is deterministic: ties are
+ * broken by user id.
+ * </p>
+ */
+public final class SettlementPlanner {
+
+    private SettlementPlanner() {
+    }
+
+    /**
+     * A single payment of the settlement plan.
+     *
+     * @param fromUserId the member paying
+     * @param toUserId the member being paid
+     * @param cents the amount in cents, always positive
+     */
+    public record Transfer(Long fromUserId, Long toUserId, long cents) {
+    }
+
+    /**
+     * Plans the payments that bring every net position to zero.
+     *
+     * @param netCents net position per user in cents; positive if the user is owed money,
+     *                 negative if they owe money. The positions must sum to zero.
+     * @return the payments, largest first within each matching phase
+     * @throws IllegalArgumentException if the positions do not sum to zero
+     */
+    public static List<Transfer> plan(Map<Long, Long> netCents) {
+        long total = 0;
+        for (long cents : netCents.values()) {
+            total = Math.addExact(total, cents);
+        }
+        if (total != 0) {
+            throw new IllegalArgumentException("Net positions must sum to zero, got " + total);
+        }
+
+        Comparator<Position> largestFirst = Comparator.comparingLong(Position::cents).reversed()
+                .thenComparing(Position::userId);
+        List<Position> debtors = new ArrayList<>();
+        List<Position> creditors = new ArrayList<>();
+        netCents.forEach((userId, cents) -> {
+            if (cents < 0) debtors.add(new Position(userId, -cents));
+            else if (cents > 0) creditors.add(new Position(userId, cents));
+        });
+        debtors.sort(largestFirst);
+        creditors.sort(largestFirst);
+
+        List<Transfer> transfers = new ArrayList<>();
+
+        // Exact matches settle two members with one payment
+        Map<Long, Deque<Position>> creditorsByAmount = new HashMap<>();
+        for (Position c : creditors) {
+            creditorsByAmount.computeIfAbsent(c.cents(), k -> new ArrayDeque<>()).add(c);
+        }
+        PriorityQueue<Position> openDebtors = new PriorityQueue<>(largestFirst);
+        for (Position d : debtors) {
+            Deque<Position> match = creditorsByAmount.get(d.cents());
+            if (match != null && !match.isEmpty()) {
+                transfers.add(new Transfer(d.userId(), match.poll().userId(), d.cents()));
+            } else {
+                openDebtors.add(d);
+            }
+        }
+        PriorityQueue<Position> openCreditors = new PriorityQueue<>(largestFirst);
+        creditorsByAmount.values().forEach(openCreditors::addAll);
+
+        while (!openDebtors.isEmpty()) {
+            Position d = openDebtors.poll();
+            Position c = openCreditors.poll();
+            long amount = Math.min(d.cents(), c.cents());
+            transfers.add(new Transfer(d.userId(), c.userId(), amount));
+            if (d.cents() > amount) openDebtors.add(new Position(d.userId(), d.cents() - amount));
+            if (c.cents() > amount) openCreditors.add(new Position(c.userId(), c.cents() - amount));
+        }
+        return transfers;
+    }
+
+    private record Position(Long userId, long cents) {
+    }
+}
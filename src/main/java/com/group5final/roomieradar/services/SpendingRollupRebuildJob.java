@@ -0,0 +1,48 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.entities.Household;
+import com.group5final.roomieradar.repositories.HouseholdRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically recomputes every household's spending rollup from the bill splits, repairing
+ * any drift from incremental updates. Each household is rebuilt in its own transaction.
+ */
+@Component
+public class SpendingRollupRebuildJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpendingRollupRebuildJob.class);
+
+    @Autowired
+    private SpendingRollupService spendingRollupService;
+
+    @Autowired
+    private HouseholdRepository householdRepository;
+
+    /**
+     * Rebuilds the spending rollup of every household. A household that fails is logged and
+     * skipped so the others are still rebuilt.
+     *
+     * @return the number of households rebuilt
+     */
+    @Scheduled(cron = "${roomieradar.analytics.rebuild-cron:0 0 4 * * *}")
+    public int rebuildAll() {
+        int rebuilt = 0;
+        int failed = 0;
+        for (Household household : householdRepository.findAll()) {
+            try {
+                spendingRollupService.rebuild(household.getId());
+                rebuilt++;
+            } catch (RuntimeException e) {
+                logger.error("Could not rebuild the spending rollup of household {}", household.getId(), e);
+                failed++;
+            }
+        }
+        logger.info("Rebuilt the spending rollup of {} households, {} failed", rebuilt, failed);
+        return rebuilt;
+    }
+}
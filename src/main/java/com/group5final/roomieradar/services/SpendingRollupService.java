@@ -0,0 +1,190 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.dto.MemberSpendingDTO;
+import com.group5final.roomieradar.dto.SpendingAnalyticsDTO;
+import com.group5final.roomieradar.entities.Bill;
+import com.group5final.roomieradar.entities.BillSplit;
+import com.group5final.roomieradar.entities.SpendingRollup;
+import com.group5final.roomieradar.entities.User;
+import com.group5final.roomieradar.enums.SplitStatus;
+import com.group5final.roomieradar.repositories.SpendingRollupBatchRepository.Delta;
+import com.group5final.roomieradar.repositories.SpendingRollupRepository;
+import com.group5final.roomieradar.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains the monthly spending rollup that household analytics are read from.
+ * <p>
+ * Bill operations report their split changes here, next to the balance ledger, and the rollup
+ * is adjusted with a single batched upsert. Analytics then read one row per member and month
+ * instead of aggregating every bill split of the household.
+ * </p>
+ */
+@Service
+public class SpendingRollupService {
+
+    @Autowired
+    private SpendingRollupRepository spendingRollupRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    /**
+     * Adds newly created splits of any number of bills to the months their bills are due in.
+     *
+     * @param splits the created splits, each referencing its bill
+     */
+    public void recordSplitsCreated(List<BillSplit> splits) {
+        List<Delta> deltas = new ArrayList<>();
+        for (BillSplit split : splits) {
+            if (tracked(split.getBill())) {
+                deltas.add(delta(split, split.getStatus(), split.getSplitAmount()));
+            }
+        }
+        apply(deltas);
+    }
+
+    /**
+     * Moves the amounts of splits that changed status to their new status.
+     *
+     * @param splits the splits that changed status
+     * @param from the status they had
+     * @param to the status they have now
+     */
+    public void recordTransition(List<BillSplit> splits, SplitStatus from, SplitStatus to) {
+        List<Delta> deltas = new ArrayList<>();
+        for (BillSplit split : splits) {
+            if (tracked(split.getBill())) {
+                deltas.add(delta(split, from, split.getSplitAmount().negate()));
+                deltas.add(delta(split, to, split.getSplitAmount()));
+            }
+        }
+        apply(deltas);
+    }
+
+    /**
+     * Removes the splits of a bill that is about to be deleted.
+     *
+     * @param splits the splits of the deleted bill
+     */
+    public void recordBillDeleted(List<BillSplit> splits) {
+        List<Delta> deltas = new ArrayList<>();
+        for (BillSplit split : splits) {
+            if (tracked(split.getBill())) {
+                deltas.add(delta(split, split.getStatus(), split.getSplitAmount().negate()));
+            }
+        }
+        apply(deltas);
+    }
+
+    /**
+     * Returns the spending of a household per month and member, reading only the rollup.
+     *
+     * @param householdId the household
+     * @param lastMonth the most recent month to include
+     * @param months the number of months to include, ending with {@code lastMonth}
+     * @return the spending of every month in the range, including months without bills
+     */
+    @Transactional(readOnly = true)
+    public SpendingAnalyticsDTO getMonthlySpending(Long householdId, YearMonth lastMonth, int months) {
+        YearMonth firstMonth = lastMonth.minusMonths(months - 1L);
+        List<SpendingRollup> rows = spendingRollupRepository.findByHouseholdIdAndPeriodBetween(
+            householdId, toPeriod(firstMonth), toPeriod(lastMonth));
+
+        Map<Integer, Integer> indexByPeriod = new HashMap<>();
+        List<String> labels = new ArrayList<>();
+        for (int i = 0; i < months; i++) {
+            YearMonth month = firstMonth.plusMonths(i);
+            indexByPeriod.put(toPeriod(month), i);
+            labels.add(month.toString());
+        }
+
+        List<BigDecimal> unpaid = zeros(months);
+        List<BigDecimal> pending = zeros(months);
+        List<BigDecimal> paid = zeros(months);
+        Map<Long, List<BigDecimal>> totalsByUser = new TreeMap<>();
+        for (SpendingRollup row : rows) {
+            int i = indexByPeriod.get(row.getPeriod());
+            unpaid.set(i, unpaid.get(i).add(row.getUnpaidAmount()));
+            pending.set(i, pending.get(i).add(row.getPendingAmount()));
+            paid.set(i, paid.get(i).add(row.getPaidAmount()));
+            List<BigDecimal> totals = totalsByUser.computeIfAbsent(row.getUserId(), id -> zeros(months));
+            totals.set(i, totals.get(i).add(row.getUnpaidAmount()).add(row.getPendingAmount()).add(row.getPaidAmount()));
+        }
+
+        // Members who have since left the household still appear for the months they shared bills
+        Map<Long, String> usernames = new HashMap<>();
+        for (User user : userRepository.findAllById(totalsByUser.keySet())) {
+            usernames.put(user.getId(), user.getUsername());
+        }
+        List<MemberSpendingDTO> members = new ArrayList<>();
+        totalsByUser.forEach((userId, totals) -> members.add(new MemberSpendingDTO(userId, usernames.get(userId), totals)));
+        return new SpendingAnalyticsDTO(labels, unpaid, pending, paid, members);
+    }
+
+    /**
+     * Recomputes the rollup of a household from scratch.
+     *
+     * @param householdId the household
+     */
+    @Transactional
+    public void rebuild(Long householdId) {
+        spendingRollupRepository.deleteByHouseholdId(householdId);
+        spendingRollupRepository.rebuildFromSplits(householdId);
+    }
+
+    static int toPeriod(LocalDateTime dueDate) {
+        return toPeriod(YearMonth.from(dueDate));
+    }
+
+    static int toPeriod(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+
+    private void apply(List<Delta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        // Merge deltas for the same member and month so each row is touched once
+        Map<List<Long>, Delta> merged = new LinkedHashMap<>();
+        for (Delta d : deltas) {
+            merged.merge(List.of(d.householdId(), (long) d.period(), d.userId()), d, (x, y) ->
+                    new Delta(x.householdId(), x.period(), x.userId(), x.unpaid().add(y.unpaid()),
+                            x.pending().add(y.pending()), x.paid().add(y.paid())));
+        }
+        spendingRollupRepository.applyDeltas(new ArrayList<>(merged.values()));
+    }
+
+    private static boolean tracked(Bill bill) {
+        return bill.getDueDate() != null;
+    }
+
+    private static Delta delta(BillSplit split, SplitStatus status, BigDecimal amount) {
+        Bill bill = split.getBill();
+        return new Delta(bill.getHousehold().getId(), toPeriod(bill.getDueDate()), split.getUser().getId(),
+                amountFor(SplitStatus.UNPAID, status, amount),
+                amountFor(SplitStatus.PENDING_APPROVAL, status, amount),
+                amountFor(SplitStatus.PAID, status, amount));
+    }
+
+    private static BigDecimal amountFor(SplitStatus bucket, SplitStatus status, BigDecimal amount) {
+        return bucket == status ? amount : BigDecimal.ZERO;
+    }
+
+    private static List<BigDecimal> zeros(int size) {
+        return new ArrayList<>(Collections.nCopies(size, BigDecimal.ZERO));
+    }
+}
@@ -0,0 +1,172 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.enums.SplitMode;
+
+/**
+ * Divides a bill amount between members in whole cents.
+ * <p>
+ * All arithmetic is done on {@code long} minor units, and the returned shares always add up to
+ * the bill amount exactly. Cents that cannot be divided evenly are handed out with the
+ * largest-remainder method: members whose exact share was cut the most get one extra cent,
+ * ties going to the member listed first. The same input therefore always produces the same
+ * split.
+ * </p>
+ */
+public final class SplitAllocator {
+
+    /**
+     * Percentages are given in hundredths of a percent, so a full bill is 100.00%.
+     */
+    public static final long FULL_PERCENTAGE = 100_00;
+
+    private SplitAllocator() {
+    }
+
+    /**
+     * Allocates the amount according to the split mode.
+     *
+     * @param mode how the amount is divided
+     * @param totalCents the bill amount in cents
+     * @param members the number of members sharing the bill
+     * @param values per-member values in hundredths (percentage points, share weights or
+     *               fixed cents); ignored for {@link SplitMode#EQUAL}
+     * @return each member's share in cents, in member order
+     * @throws IllegalArgumentException if the values do not describe a valid split of the amount
+     */
+    public static long[] allocate(SplitMode mode, long totalCents, int members, long[] values) {
+        if (totalCents < 0) {
+            throw new IllegalArgumentException("Bill amount must not be negative");
+        }
+        if (members <= 0) {
+            throw new IllegalArgumentException("A bill must be split between at least one member");
+        }
+        if (mode != SplitMode.EQUAL && (values == null || values.length != members)) {
+            throw new IllegalArgumentException("A split value is required for every member");
+        }
+        return switch (mode) {
+            case EQUAL -> equal(totalCents, members);
+            case PERCENTAGE -> percentage(totalCents, values);
+            case SHARES -> weighted(totalCents, values);
+            case FIXED -> fixed(totalCents, values);
+        };
+    }
+
+    /**
+     * Splits the amount evenly; the first {@code total % members} members pay one cent more.
+     */
+    public static long[] equal(long totalCents, int members) {
+        long[] shares = new long[members];
+        long base = totalCents / members;
+        long remainder = totalCents % members;
+        for (int i = 0; i < members; i++) {
+            shares[i] = i < remainder ? base + 1 : base;
+        }
+        return shares;
+    }
+
+    /**
+     * Splits the amount by percentages given in hundredths of a percent, which must add up to
+     * {@link #FULL_PERCENTAGE}.
+     */
+    public static long[] percentage(long totalCents, long[] hundredthsOfPercent) {
+        long sum = sum(hundredthsOfPercent);
+        if (sum != FULL_PERCENTAGE) {
+            throw new IllegalArgumentException("Percentages must add up to 100%");
+        }
+        return weighted(totalCents, hundredthsOfPercent);
+    }
+
+    /**
+     * Splits the amount proportionally to the given non-negative weights.
+     */
+    public static long[] weighted(long totalCents, long[] weights) {
+        long totalWeight = sum(weights);
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("At least one member must have a positive share");
+        }
+
+        int n = weights.length;
+        long[] shares = new long[n];
+        long[] cut = new long[n];
+        long allocated = 0;
+        for (int i = 0; i < n; i++) {
+            long exact = Math.multiplyExact(totalCents, weights[i]);
+            shares[i] = exact / totalWeight;
+            cut[i] = exact % totalWeight;
+            allocated += shares[i];
+        }
+
+        long remainder = totalCents - allocated;
+        if (remainder > 0) {
+            // remainder < n: the members with the largest cuts get a cent each, earlier members
+            // winning ties. Find the smallest cut that still qualifies instead of sorting members.
+            long threshold = select(cut.clone(), n - (int) remainder);
+            long tiesToFill = remainder;
+            for (int i = 0; i < n; i++) {
+                if (cut[i] > threshold) tiesToFill--;
+            }
+            for (int i = 0; i < n; i++) {
+                if (cut[i] > threshold) {
+                    shares[i]++;
+                } else if (cut[i] == threshold && tiesToFill > 0) {
+                    shares[i]++;
+                    tiesToFill--;
+                }
+            }
+        }
+        return shares;
+    }
+
+    /**
+     * Uses the given amounts as they are; they must add up to the bill amount.
+     */
+    public static long[] fixed(long totalCents, long[] cents) {
+        if (sum(cents) != totalCents) {
+            throw new IllegalArgumentException("Fixed amounts must add up to the bill amount");
+        }
+        return cents.clone();
+    }
+
+    // Returns the k-th smallest value (0-based) in linear expected time, reordering the array
+    private static long select(long[] values, int k) {
+        int lo = 0;
+        int hi = values.length - 1;
+        while (lo < hi) {
+            long pivot = medianOfThree(values[lo], values[(lo + hi) >>> 1], values[hi]);
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (values[i] < pivot) i++;
+                while (values[j] > pivot) j--;
+                if (i <= j) {
+                    long tmp = values[i];
+                    values[i++] = values[j];
+                    values[j--] = tmp;
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                return values[k];
+            }
+        }
+        return values[k];
+    }
+
+    private static long medianOfThree(long a, long b, long c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    private static long sum(long[] values) {
+        long sum = 0;
+        for (long value : values) {
+            if (value < 0) {
+                throw new IllegalArgumentException("Split values must not be negative");
+            }
+            sum = Math.addExact(sum, value);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,2 @@
+CREATE INDEX idx_calendar_item_household_start
+    ON calendarItem (householdId, dateStart);
@@ -0,0 +1,15 @@
+ALTER TABLE calendarItem
+    ADD repeatUnit VARCHAR(10) DEFAULT 'DAYS' NOT NULL;
+
+ALTER TABLE calendarItem
+    ADD repeatUntil DATE NULL;
+
+CREATE TABLE calendarItem_exception
+(
+    calendarItemId int8 NOT NULL,
+    exceptionDate  DATE NOT NULL,
+    PRIMARY KEY (calendarItemId, exceptionDate),
+    CONSTRAINT calendarItem_exception_item_id_fk
+        FOREIGN KEY (calendarItemId) REFERENCES calendarItem (id)
+            ON DELETE CASCADE
+);
@@ -0,0 +1,2 @@
+CREATE INDEX idx_bill_household_due_id
+    ON bill (householdId, dueDate, id);
@@ -0,0 +1,32 @@
+CREATE TABLE household_balance
+(
+    householdId   int8           NOT NULL,
+    debtorId      int8           NOT NULL,
+    creditorId    int8           NOT NULL,
+    unpaidAmount  DECIMAL(12, 2) NOT NULL DEFAULT 0,
+    pendingAmount DECIMAL(12, 2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (householdId, debtorId, creditorId),
+    CONSTRAINT household_balance_household_id_fk
+        FOREIGN KEY (householdId) REFERENCES household (id)
+            ON DELETE CASCADE,
+    CONSTRAINT household_balance_debtor_id_fk
+        FOREIGN KEY (debtorId) REFERENCES user (id)
+            ON DELETE CASCADE,
+    CONSTRAINT household_balance_creditor_id_fk
+        FOREIGN KEY (creditorId) REFERENCES user (id)
+            ON DELETE CASCADE
+);
+
+-- Seed the ledger from the splits that already exist
+INSERT INTO household_balance (householdId, debtorId, creditorId, unpaidAmount, pendingAmount)
+SELECT b.householdId,
+       s.userId,
+       b.createdById,
+       SUM(CASE WHEN s.status = 'UNPAID' THEN s.splitAmount ELSE 0 END),
+       SUM(CASE WHEN s.status = 'PENDING_APPROVAL' THEN s.splitAmount ELSE 0 END)
+FROM bill_split s
+         JOIN bill b ON b.id = s.billId
+WHERE b.createdById IS NOT NULL
+  AND s.userId <> b.createdById
+  AND s.status <> 'PAID'
+GROUP BY b.householdId, s.userId, b.createdById;
@@ -0,0 +1,3 @@
+ALTER TABLE bill ADD COLUMN version int8 DEFAULT 0 NOT NULL;
+
+ALTER TABLE bill_split ADD COLUMN version int8 DEFAULT 0 NOT NULL;
@@ -0,0 +1,39 @@
+CREATE TABLE recurring_bill
+(
+    id             int8 AUTO_INCREMENT PRIMARY KEY,
+    name           VARCHAR(255)   NOT NULL,
+    amount         DECIMAL(10, 2) NOT NULL,
+    description    VARCHAR(500)   NULL,
+    householdId    int8           NOT NULL,
+    createdById    int8           NOT NULL,
+    firstDueDate   DATETIME       NOT NULL,
+    repeatUnit     VARCHAR(10)    NOT NULL DEFAULT 'MONTHS',
+    repeatInterval INT            NOT NULL DEFAULT 1,
+    repeatUntil    DATE           NULL,
+    generatedCount INT            NOT NULL DEFAULT 0,
+    nextDueDate    DATETIME       NOT NULL,
+    active         BOOLEAN        NOT NULL DEFAULT TRUE,
+    splitMode      VARCHAR(20)    NOT NULL DEFAULT 'EQUAL',
+    version        int8           NOT NULL DEFAULT 0,
+    CONSTRAINT recurring_bill_household_id_fk
+        FOREIGN KEY (householdId) REFERENCES household (id)
+            ON DELETE CASCADE,
+    CONSTRAINT recurring_bill_created_by_id_fk
+        FOREIGN KEY (createdById) REFERENCES user (id)
+            ON DELETE CASCADE
+);
+
+CREATE INDEX idx_recurring_bill_due
+    ON recurring_bill (active, nextDueDate);
+
+CREATE TABLE recurring_bill_share
+(
+    recurringBillId int8           NOT NULL,
+    position        INT            NOT NULL,
+    userId          int8           NOT NULL,
+    splitValue      DECIMAL(10, 2) NULL,
+    PRIMARY KEY (recurringBillId, position),
+    CONSTRAINT recurring_bill_share_bill_id_fk
+        FOREIGN KEY (recurringBillId) REFERENCES recurring_bill (id)
+            ON DELETE CASCADE
+);
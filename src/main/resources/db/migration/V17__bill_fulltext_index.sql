@@ -0,0 +1,2 @@
+ALTER TABLE bill
+    ADD FULLTEXT INDEX ft_bill_name_description (name, description);
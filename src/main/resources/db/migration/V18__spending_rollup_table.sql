@@ -0,0 +1,29 @@
+CREATE TABLE spending_rollup
+(
+    householdId   int8           NOT NULL,
+    period        INT            NOT NULL,
+    userId        int8           NOT NULL,
+    unpaidAmount  DECIMAL(12, 2) NOT NULL DEFAULT 0,
+    pendingAmount DECIMAL(12, 2) NOT NULL DEFAULT 0,
+    paidAmount    DECIMAL(12, 2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (householdId, period, userId),
+    CONSTRAINT spending_rollup_household_id_fk
+        FOREIGN KEY (householdId) REFERENCES household (id)
+            ON DELETE CASCADE,
+    CONSTRAINT spending_rollup_user_id_fk
+        FOREIGN KEY (userId) REFERENCES user (id)
+            ON DELETE CASCADE
+);
+
+-- Seed the rollup from the splits of bills that already have a due date
+INSERT INTO spending_rollup (householdId, period, userId, unpaidAmount, pendingAmount, paidAmount)
+SELECT b.householdId,
+       YEAR(b.dueDate) * 100 + MONTH(b.dueDate),
+       s.userId,
+       SUM(CASE WHEN s.status = 'UNPAID' THEN s.splitAmount ELSE 0 END),
+       SUM(CASE WHEN s.status = 'PENDING_APPROVAL' THEN s.splitAmount ELSE 0 END),
+       SUM(CASE WHEN s.status = 'PAID' THEN s.splitAmount ELSE 0 END)
+FROM bill_split s
+         JOIN bill b ON b.id = s.billId
+WHERE b.dueDate IS NOT NULL
+GROUP BY b.householdId, YEAR(b.dueDate) * 100 + MONTH(b.dueDate), s.userId;
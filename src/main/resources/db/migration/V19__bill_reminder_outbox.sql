@@ -0,0 +1,30 @@
+-- Range scans over due dates for the reminder job, and unpaid splits per bill
+CREATE INDEX idx_bill_due_id
+    ON bill (dueDate, id);
+
+CREATE INDEX idx_bill_split_bill_status
+    ON bill_split (billId, status);
+
+CREATE TABLE reminder_outbox
+(
+    id        int8 auto_increment PRIMARY KEY,
+    splitId   int8         NOT NULL,
+    userId    int8         NOT NULL,
+    kind      VARCHAR(20)  NOT NULL,
+    message   VARCHAR(500) NOT NULL,
+    createdAt datetime     NOT NULL,
+    sentAt    datetime     NULL,
+    attempts  INT          NOT NULL DEFAULT 0,
+    lastError VARCHAR(500) NULL,
+    CONSTRAINT reminder_outbox_split_kind_uk
+        UNIQUE (splitId, kind),
+    CONSTRAINT reminder_outbox_split_id_fk
+        FOREIGN KEY (splitId) REFERENCES bill_split (id)
+            ON DELETE CASCADE,
+    CONSTRAINT reminder_outbox_user_id_fk
+        FOREIGN KEY (userId) REFERENCES user (id)
+            ON DELETE CASCADE
+);
+
+CREATE INDEX idx_reminder_outbox_pending
+    ON reminder_outbox (sentAt, id);
@@ -0,0 +1,16 @@
+-- Domain events written in the same transaction as the change they describe
+CREATE TABLE domain_event_outbox
+(
+    id          int8 auto_increment PRIMARY KEY,
+    type        VARCHAR(40)   NOT NULL,
+    householdId int8          NOT NULL,
+    aggregateId int8          NOT NULL,
+    payload     VARCHAR(2000) NOT NULL,
+    occurredAt  datetime      NOT NULL,
+    publishedAt datetime      NULL,
+    attempts    INT           NOT NULL DEFAULT 0,
+    lastError   VARCHAR(500)  NULL
+);
+
+CREATE INDEX idx_domain_event_outbox_pending
+    ON domain_event_outbox (publishedAt, id);
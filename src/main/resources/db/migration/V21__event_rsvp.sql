@@ -0,0 +1,21 @@
+-- Optional seat limit; goingCount is only changed by conditional updates so it never exceeds it
+ALTER TABLE event
+    ADD capacity INT NULL;
+
+ALTER TABLE event
+    ADD goingCount INT DEFAULT 0 NOT NULL;
+
+CREATE TABLE event_rsvp
+(
+    eventId     int8        NOT NULL,
+    userId      int8        NOT NULL,
+    status      VARCHAR(10) NOT NULL,
+    respondedAt datetime    NOT NULL,
+    PRIMARY KEY (eventId, userId),
+    CONSTRAINT event_rsvp_event_id_fk
+        FOREIGN KEY (eventId) REFERENCES event (id)
+            ON DELETE CASCADE,
+    CONSTRAINT event_rsvp_user_id_fk
+        FOREIGN KEY (userId) REFERENCES user (id)
+            ON DELETE CASCADE
+);
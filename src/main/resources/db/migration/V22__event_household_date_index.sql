@@ -0,0 +1,2 @@
+CREATE INDEX idx_event_household_date_id
+    ON event (householdId, eventDate, id);
@@ -0,0 +1,3 @@
+-- Payloads grow with the ids they carry, and an oversized payload must never veto its change
+ALTER TABLE domain_event_outbox
+    MODIFY payload TEXT NOT NULL;
@@ -0,0 +1,4 @@
+-- A dispatcher claims events before handing them over, so concurrent runs never deliver one twice
+ALTER TABLE domain_event_outbox
+    ADD COLUMN claimedBy VARCHAR(36) NULL,
+    ADD COLUMN claimedAt datetime    NULL;
@@ -0,0 +1,6 @@
+-- The generator keysets due templates by id; this index serves that order and, holding
+-- nextDueDate too, filters due templates without reading the rows
+DROP INDEX idx_recurring_bill_due ON recurring_bill;
+
+CREATE INDEX idx_recurring_bill_active_id_due
+    ON recurring_bill (active, id, nextDueDate);
@@ -0,0 +1,4 @@
+-- A dispatcher claims reminders before sending them, so concurrent runs never send one twice
+ALTER TABLE reminder_outbox
+    ADD COLUMN claimedBy VARCHAR(36) NULL,
+    ADD COLUMN claimedAt datetime    NULL;
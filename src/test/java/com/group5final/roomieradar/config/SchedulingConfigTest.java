@@ -0,0 +1,32 @@
+package com.group5final.roomieradar.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskSchedulingAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchedulingConfigTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+        .withConfiguration(AutoConfigurations.of(TaskSchedulingAutoConfiguration.class))
+        .withUserConfiguration(SchedulingConfig.class)
+        .withPropertyValues("spring.threads.virtual.enabled=true");
+
+    @Test
+    void withVirtualThreads_jobsStillUseThePlatformThreadPool() {
+        runner.run(context -> {
+            assertInstanceOf(ThreadPoolTaskScheduler.class, context.getBean(TaskScheduler.class));
+            assertEquals(2, context.getBean(ThreadPoolTaskScheduler.class).getScheduledThreadPoolExecutor().getCorePoolSize());
+        });
+    }
+
+    @Test
+    void disabled_registersNoScheduler() {
+        runner.withPropertyValues("roomieradar.scheduling.enabled=false")
+            .run(context -> assertTrue(context.getBeansOfType(TaskScheduler.class).isEmpty()));
+    }
+}
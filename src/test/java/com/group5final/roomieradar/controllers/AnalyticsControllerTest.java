@@ -0,0 +1,57 @@
+package com.group5final.roomieradar.controllers;
+
+import com.group5final.roomieradar.services.CurrentUserService;
+import com.group5final.roomieradar.services.SpendingRollupService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.YearMonth;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsControllerTest {
+
+    @Mock
+    private SpendingRollupService spendingRollupService;
+
+    @Mock
+    private CurrentUserService currentUserService;
+
+    @InjectMocks
+    private AnalyticsController controller;
+
+    @Test
+    void analytics_noHousehold_redirectsToHousehold() {
+        when(currentUserService.hasHousehold()).thenReturn(false);
+
+        assertEquals("redirect:/household?requiresHousehold=true", controller.analytics());
+    }
+
+    @Test
+    void data_capsMonthsAndEndsWithCurrentMonth() {
+        when(currentUserService.getCurrentHouseholdId()).thenReturn(Optional.of(3L));
+
+        controller.data(1000);
+
+        verify(spendingRollupService).getMonthlySpending(eq(3L), any(YearMonth.class), eq(AnalyticsController.MAX_MONTHS));
+    }
+
+    @Test
+    void data_noHousehold_forbidden() {
+        when(currentUserService.getCurrentHouseholdId()).thenReturn(Optional.empty());
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> controller.data(12));
+
+        assertEquals(HttpStatus.FORBIDDEN, ex.getStatusCode());
+        verifyNoInteractions(spendingRollupService);
+    }
+}
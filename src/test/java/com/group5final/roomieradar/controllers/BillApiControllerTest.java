@@ -0,0 +1,100 @@
+package com.group5final.roomieradar.controllers;
+
+import com.group5final.roomieradar.dto.BillDTO;
+import com.group5final.roomieradar.entities.Household;
+import com.group5final.roomieradar.entities.User;
+import com.group5final.roomieradar.repositories.BillRepository;
+import com.group5final.roomieradar.repositories.BillSplitRepository;
+import com.group5final.roomieradar.services.CurrentUserService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BillApiControllerTest {
+
+    @Mock
+    private BillRepository billRepository;
+
+    @Mock
+    private BillSplitRepository billSplitRepository;
+
+    @Mock
+    private CurrentUserService currentUserService;
+
+    @InjectMocks
+    private BillApiController controller;
+
+    @Test
+    void bills_firstPage_startsFromNewestAndCapsLimit() {
+        BillDTO rent = new BillDTO(9L, "Rent", new BigDecimal("900.00"), null, null, 1L, "alice");
+        when(currentUserService.getCurrentUser()).thenReturn(Optional.of(user(7L, 3L)));
+        when(billRepository.findViewsForUser(3L, 7L, Long.MAX_VALUE, Limit.of(BillApiController.MAX_LIMIT)))
+            .thenReturn(List.of(rent));
+
+        assertEquals(List.of(rent), controller.bills(null, 10_000));
+    }
+
+    @Test
+    void bills_nextPage_continuesBeforeGivenId() {
+        when(currentUserService.getCurrentUser()).thenReturn(Optional.of(user(7L, 3L)));
+
+        controller.bills(42L, 20);
+
+        verify(billRepository).findViewsForUser(3L, 7L, 42L, Limit.of(20));
+    }
+
+    @Test
+    void bills_noHousehold_forbidden() {
+        when(currentUserService.getCurrentUser()).thenReturn(Optional.of(user(7L, null)));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> controller.bills(null, 20));
+
+        assertEquals(HttpStatus.FORBIDDEN, ex.getStatusCode());
+        verify(billRepository, never()).findViewsForUser(any(), any(), any(), any());
+    }
+
+    @Test
+    void bill_otherHousehold_notFound() {
+        when(currentUserService.getCurrentHouseholdId()).thenReturn(Optional.of(3L));
+        when(billRepository.findViewById(5L, 3L)).thenReturn(Optional.empty());
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> controller.bill(5L));
+
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+    }
+
+    @Test
+    void splits_noHousehold_forbidden() {
+        when(currentUserService.getCurrentHouseholdId()).thenReturn(Optional.empty());
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> controller.splits(5L));
+
+        assertEquals(HttpStatus.FORBIDDEN, ex.getStatusCode());
+        verify(billSplitRepository, never()).findViewsByBillId(any(), any());
+    }
+
+    private static User user(Long id, Long householdId) {
+        User user = new User();
+        user.setId(id);
+        if (householdId != null) {
+            Household household = new Household();
+            household.setId(householdId);
+            user.setHousehold(household);
+        }
+        return user;
+    }
+}
@@ -1,12 +1,28 @@
 // java
 package com.group5final.roomieradar.controllers;
 
+import com.group5final.roomieradar.dto.BalanceDTO;
+import com.group5final.roomieradar.dto.BillImportError;
+import com.group5final.roomieradar.dto.BillImportResult;
+import com.group5final.roomieradar.dto.BillPage;
+import com.group5final.roomieradar.dto.BillPageDTO;
+import com.group5final.roomieradar.dto.BillSearchCriteria;
+import com.group5final.roomieradar.dto.BillSplitDTO;
+import com.group5final.roomieradar.dto.RecurringBillDTO;
 import com.group5final.roomieradar.entities.Bill;
 import com.group5final.roomieradar.entities.BillSplit;
 import com.group5final.roomieradar.entities.Household;
+import com.group5final.roomieradar.entities.RecurringBill;
 import com.group5final.roomieradar.entities.User;
+import com.group5final.roomieradar.enums.RepeatUnit;
+import com.group5final.roomieradar.enums.SplitMode;
+import com.group5final.roomieradar.enums.SplitStatus;
+import com.group5final.roomieradar.services.BalanceLedgerService;
+import com.group5final.roomieradar.services.BillExportService;
+import com.group5final.roomieradar.services.BillImportService;
 import com.group5final.roomieradar.services.BillService;
 import com.group5final.roomieradar.services.CurrentUserService;
+import com.group5final.roomieradar.services.RecurringBillService;
 import com.group5final.roomieradar.repositories.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,11 +31,17 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.ui.ConcurrentModel;
 import org.springframework.ui.Model;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -38,6 +60,18 @@ class BillControllerTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private BalanceLedgerService balanceLedgerService;
+
+    @Mock
+    private RecurringBillService recurringBillService;
+
+    @Mock
+    private BillExportService billExportService;
+
+    @Mock
+    private BillImportService billImportService;
+
     @InjectMocks
     private BillController controller;
 
@@ -54,7 +88,7 @@ class BillControllerTest {
         when(currentUserService.getCurrentUser()).thenReturn(Optional.of(currentUser));
 
         Model model = new ConcurrentModel();
-        String view = controller.bills(model);
+        String view = controller.bills(null, model);
 
         assertEquals("bills", view);
         assertTrue(Boolean.TRUE.equals(model.getAttribute("noHousehold")));
@@ -76,17 +110,105 @@ class BillControllerTest {
         member.setUsername("alice");
 
         when(currentUserService.getCurrentUser()).thenReturn(Optional.of(currentUser));
-        when(billService.getBillsByUser(currentUser.getId())).thenReturn(List.of(bill));
+        when(billService.getBillPage(currentUser, null, BillService.DEFAULT_PAGE_SIZE))
+                .thenReturn(new BillPage(List.of(bill), 10L));
         when(userRepository.findByHouseholdId(household.getId())).thenReturn(List.of(member));
 
         Model model = new ConcurrentModel();
-        String view = controller.bills(model);
+        String view = controller.bills(null, model);
 
         assertEquals("bills", view);
         assertFalse(Boolean.TRUE.equals(model.getAttribute("noHousehold")));
         assertEquals(1, ((List<?>) model.getAttribute("bills")).size());
         assertEquals(1, ((List<?>) model.getAttribute("householdUsers")).size());
         assertEquals(currentUser.getId(), model.getAttribute("currentUserId"));
+        assertEquals(10L, model.getAttribute("nextCursor"));
+    }
+
+    @Test
+    void billsPage_mapsPageToDtos_andClampsSize() {
+        Household household = new Household();
+        household.setId(5L);
+        currentUser.setHousehold(household);
+        currentUser.setUsername("me");
+
+        Bill bill = new Bill();
+        bill.setId(12L);
+        bill.setName("Power");
+        bill.setCreatedBy(currentUser);
+        BillSplit split = new BillSplit();
+        split.setId(3L);
+        split.setUser(currentUser);
+        split.setSplitAmount(BigDecimal.ONE);
+        bill.getSplits().add(split);
+
+        when(currentUserService.getCurrentUser()).thenReturn(Optional.of(currentUser));
+        when(billService.getBillPage(currentUser, 40L, 100)).thenReturn(new BillPage(List.of(bill), null));
+
+        BillPageDTO page = controller.billsPage(40L, 5000);
+
+        assertNull(page.getNextCursor());
+        assertEquals(1, page.getBills().size());
+        assertEquals("Power", page.getBills().get(0).getName());
+        assertEquals("me", page.getBills().get(0).getSplits().get(0).getUsername());
+    }
+
+    @Test
+    void searchBills_turnsDayRangeIntoHalfOpenDueDateRange() {
+        Household household = new Household();
+        household.setId(5L);
+        currentUser.setHousehold(household);
+        when(currentUserService.getCurrentUser()).thenReturn(Optional.of(currentUser));
+        when(billService.searchBills(any(), any(), any(), anyInt())).thenReturn(new BillPage(List.of(), null));
+
+        controller.searchBills("rent", SplitStatus.UNPAID, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31),
+            2L, 40L, 5000);
+
+        BillSearchCriteria expected = new BillSearchCriteria("rent", SplitStatus.UNPAID,
+            LocalDateTime.of(2025, 3, 1, 0, 0), LocalDateTime.of(2025, 4, 1, 0, 0), 2L);
+        verify(billService).searchBills(currentUser, expected, 40L, 100);
+    }
+
+    @Test
+    void searchBills_noHousehold_returnsEmptyPage() {
+        when(currentUserService.getCurrentUser()).thenReturn(Optional.of(currentUser));
+
+        BillPageDTO page = controller.searchBills("rent", null, null, null, null, null, 20);
+
+        assertTrue(page.getBills().isEmpty());
+        verify(billService, never()).searchBills(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void balances_withHousehold_readsLedger() {
+        Household household = new Household();
+        household.setId(5L);
+        currentUser.setHousehold(household);
+        BalanceDTO balance = new BalanceDTO(2L, "alice", 1L, "me", BigDecimal.TEN);
+        when(currentUserService.getCurrentUser()).thenReturn(Optional.of(currentUser));
+        when(balanceLedgerService.getNetBalances(5L)).thenReturn(List.of(balance));
+
+        assertEquals(List.of(balance), controller.balances());
+    }
+
+    @Test
+    void settleUp_withHousehold_returnsPlan() {
+        Household household = new Household();
+        household.setId(5L);
+        currentUser.setHousehold(household);
+        BalanceDTO payment = new BalanceDTO(1L, "me", 2L, "alice", BigDecimal.ONE);
+        when(currentUserService.getCurrentUser()).thenReturn(Optional.of(currentUser));
+        when(balanceLedgerService.getSettlementPlan(5L)).thenReturn(List.of(payment));
+
+        assertEquals(List.of(payment), controller.settleUp());
+    }
+
+    @Test
+    void balances_noHousehold_returnsEmpty() {
+        when(currentUserService.getCurrentUser()).thenReturn(Optional.of(currentUser));
+
+        assertTrue(controller.balances().isEmpty());
+        verifyNoInteractions(balanceLedgerService);
     }
 
     @Test
@@ -97,7 +219,9 @@ class BillControllerTest {
                 any(),
                 any(),
                 anyList(),
-                anyBoolean()))
+                anyBoolean(),
+                any(SplitMode.class),
+                anyList()))
                 .thenReturn(new Bill());
 
         String result = controller.addBill(
@@ -106,11 +230,14 @@ class BillControllerTest {
                 "Monthly rent",
                 "2025-12-01T00:00:00",
                 List.of(2L, 3L),
-                false);
+                false,
+                SplitMode.SHARES,
+                List.of(BigDecimal.ONE, BigDecimal.valueOf(2)));
 
         assertEquals("success", result);
         verify(billService).createBill(eq("Rent"), eq(BigDecimal.valueOf(1200)), eq("Monthly rent"),
-                any(LocalDateTime.class), eq(List.of(2L, 3L)), eq(false));
+                any(LocalDateTime.class), eq(List.of(2L, 3L)), eq(false),
+                eq(SplitMode.SHARES), eq(List.of(BigDecimal.ONE, BigDecimal.valueOf(2))));
     }
 
     @Test
@@ -121,29 +248,40 @@ class BillControllerTest {
                 null,
                 "not-a-date",
                 null,
-                true);
+                true,
+                SplitMode.EQUAL,
+                null);
 
         assertTrue(result.startsWith("error:"));
         verify(billService, never()).createBill(
-                anyString(), any(BigDecimal.class), any(), any(), anyList(), anyBoolean());
+                anyString(), any(BigDecimal.class), any(), any(), any(), anyBoolean(), any(), any());
     }
 
     @Test
     void getBillSplits_success_returnsList() {
-        BillSplit split = new BillSplit();
-        split.setId(7L);
-        when(billService.getBillSplitsByBill(10L)).thenReturn(List.of(split));
+        BillSplitDTO split = new BillSplitDTO(7L, 1L, "alice", new BigDecimal("5.00"), SplitStatus.UNPAID);
+        when(currentUserService.getCurrentHouseholdId()).thenReturn(Optional.of(3L));
+        when(billService.getBillSplitViews(10L, 3L)).thenReturn(List.of(split));
 
-        List<BillSplit> result = controller.getBillSplits(10L);
+        List<BillSplitDTO> result = controller.getBillSplits(10L);
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(7L, result.get(0).getId());
     }
 
+    @Test
+    void getBillSplits_noHousehold_returnsEmptyList() {
+        when(currentUserService.getCurrentHouseholdId()).thenReturn(Optional.empty());
+
+        assertTrue(controller.getBillSplits(10L).isEmpty());
+        verify(billService, never()).getBillSplitViews(any(), any());
+    }
+
     @Test
     void getBillSplits_serviceThrows_propagatesException() {
-        when(billService.getBillSplitsByBill(99L)).thenThrow(new IllegalArgumentException("not found"));
+        when(currentUserService.getCurrentHouseholdId()).thenReturn(Optional.of(3L));
+        when(billService.getBillSplitViews(99L, 3L)).thenThrow(new IllegalArgumentException("not found"));
 
         assertThrows(IllegalArgumentException.class, () -> controller.getBillSplits(99L));
     }
@@ -182,6 +320,118 @@ class BillControllerTest {
         assertTrue(result.startsWith("error:"));
     }
 
+    @Test
+    void settleSplits_success_returnsSuccess() {
+        when(currentUserService.getCurrentUser()).thenReturn(Optional.of(currentUser));
+
+        assertEquals("success", controller.settleSplits(List.of(15L, 16L)));
+        verify(billService).settleSplits(List.of(15L, 16L), currentUser.getId());
+    }
+
+    @Test
+    void approveSplits_failure_returnsErrorWhenServiceThrows() {
+        when(currentUserService.getCurrentUser()).thenReturn(Optional.of(currentUser));
+        when(billService.approveSplits(List.of(30L), currentUser.getId()))
+            .thenThrow(new IllegalStateException("modified concurrently"));
+
+        assertEquals("error: modified concurrently", controller.approveSplits(List.of(30L)));
+    }
+
+    @Test
+    void addRecurringBill_parsesDates_andDelegates() {
+        String result = controller.addRecurringBill("Rent", BigDecimal.valueOf(900), null, "2025-01-31T09:00:00",
+                RepeatUnit.MONTHS, 1, "2025-12-31", null, SplitMode.EQUAL, null);
+
+        assertEquals("success", result);
+        verify(recurringBillService).createRecurringBill("Rent", BigDecimal.valueOf(900), null,
+                LocalDateTime.of(2025, 1, 31, 9, 0), RepeatUnit.MONTHS, 1, LocalDate.of(2025, 12, 31),
+                null, SplitMode.EQUAL, null);
+    }
+
+    @Test
+    void addRecurringBill_invalidSplit_returnsError() {
+        when(recurringBillService.createRecurringBill(any(), any(), any(), any(), any(), anyInt(), any(), any(), any(), any()))
+                .thenThrow(new IllegalArgumentException("Percentages must add up to 100%"));
+
+        String result = controller.addRecurringBill("Rent", BigDecimal.TEN, null, "2025-01-01T00:00:00",
+                RepeatUnit.MONTHS, 1, null, List.of(2L), SplitMode.PERCENTAGE, List.of(BigDecimal.ONE));
+
+        assertEquals("error: Percentages must add up to 100%", result);
+    }
+
+    @Test
+    void recurringBills_mapsTemplatesToDtos() {
+        Household household = new Household();
+        household.setId(5L);
+        currentUser.setHousehold(household);
+        RecurringBill rent = new RecurringBill();
+        rent.setId(8L);
+        rent.setName("Rent");
+        when(currentUserService.getCurrentUser()).thenReturn(Optional.of(currentUser));
+        when(recurringBillService.getRecurringBills(5L)).thenReturn(List.of(rent));
+
+        List<RecurringBillDTO> result = controller.recurringBills();
+
+        assertEquals(1, result.size());
+        assertEquals("Rent", result.get(0).getName());
+    }
+
+    @Test
+    void exportBills_csv_streamsToResponse() throws Exception {
+        Household household = new Household();
+        household.setId(5L);
+        currentUser.setHousehold(household);
+        when(currentUserService.getCurrentUser()).thenReturn(Optional.of(currentUser));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.exportBills("CSV", response);
+
+        assertEquals("text/csv;charset=UTF-8", response.getContentType());
+        assertEquals("attachment; filename=\"bills.csv\"", response.getHeader("Content-Disposition"));
+        verify(billExportService).exportCsv(5L, response.getOutputStream());
+    }
+
+    @Test
+    void exportBills_unknownFormat_returnsBadRequest() throws Exception {
+        Household household = new Household();
+        household.setId(5L);
+        currentUser.setHousehold(household);
+        when(currentUserService.getCurrentUser()).thenReturn(Optional.of(currentUser));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.exportBills("xlsx", response);
+
+        assertEquals(400, response.getStatus());
+        verifyNoInteractions(billExportService);
+    }
+
+    @Test
+    void importBills_returnsImportResult() throws Exception {
+        when(currentUserService.getCurrentUser()).thenReturn(Optional.of(currentUser));
+        BillImportResult imported = new BillImportResult(2, 1, 1, new ArrayList<>(List.of(new BillImportError(3, "Invalid amount: x"))));
+        when(billImportService.importCsv(any(), eq(currentUser))).thenReturn(imported);
+        MockMultipartFile file = new MockMultipartFile("file", "bills.csv", "text/csv",
+                "name,amount\nRent,10\nBad,x\n".getBytes(StandardCharsets.UTF_8));
+
+        ResponseEntity<BillImportResult> response = controller.importBills(file);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertSame(imported, response.getBody());
+    }
+
+    @Test
+    void importBills_invalidHeader_returnsBadRequest() throws Exception {
+        when(currentUserService.getCurrentUser()).thenReturn(Optional.of(currentUser));
+        when(billImportService.importCsv(any(), eq(currentUser)))
+                .thenThrow(new IllegalArgumentException("Unknown column: colour"));
+        MockMultipartFile file = new MockMultipartFile("file", "bills.csv", "text/csv", new byte[0]);
+
+        ResponseEntity<BillImportResult> response = controller.importBills(file);
+
+        assertEquals(400, response.getStatusCode().value());
+        assertEquals("Unknown column: colour", response.getBody().getErrors().get(0).getMessage());
+    }
+
     @Test
     void deleteBill_success_returnsSuccess() {
         String result = controller.deleteBill(50L);
@@ -1,13 +1,16 @@
 // java
 package com.group5final.roomieradar.controllers;
 
+import com.group5final.roomieradar.dto.ScheduleConflict;
 import com.group5final.roomieradar.entities.CalendarItem;
 import com.group5final.roomieradar.entities.Event;
 import com.group5final.roomieradar.entities.Household;
 import com.group5final.roomieradar.entities.User;
+import com.group5final.roomieradar.enums.ScheduleItemType;
 import com.group5final.roomieradar.repositories.CalendarItemRepository;
 import com.group5final.roomieradar.repositories.EventRepository;
 import com.group5final.roomieradar.services.CurrentUserService;
+import com.group5final.roomieradar.services.ScheduleConflictService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -39,6 +42,9 @@ class CalendarControllerTest {
     @Mock
     private CurrentUserService currentUserService;
 
+    @Mock
+    private ScheduleConflictService scheduleConflictService;
+
     @InjectMocks
     private CalendarController controller;
 
@@ -79,7 +85,8 @@ class CalendarControllerTest {
 
         Event e = new Event();
         e.setId(5L);
-        when(eventRepository.findByHouseholdOrderByEventDateAsc(household)).thenReturn(List.of(e));
+        when(eventRepository.findByHouseholdAndEventDateBetweenOrderByEventDateAsc(eq(household), any(), any()))
+                .thenReturn(List.of(e));
 
         // CalendarItem spans two days
         CalendarItem ci = new CalendarItem();
@@ -89,7 +96,7 @@ class CalendarControllerTest {
         LocalDateTime end = LocalDate.of(2025, 12, 2).atStartOfDay();
         ci.setDateStart(start);
         ci.setDateEnd(end);
-        when(calendarItemRepository.findByHousehold(household)).thenReturn(List.of(ci));
+        when(calendarItemRepository.findOverlapping(eq(household), any(), any())).thenReturn(List.of(ci));
 
         Model model = new ConcurrentModel();
         LocalDate focus = LocalDate.of(2025, 12, 01);
@@ -107,6 +114,35 @@ class CalendarControllerTest {
         assertTrue(instances.containsKey("2025-12-01"));
         assertTrue(instances.containsKey("2025-12-02"));
         assertEquals("2025-12-01", model.getAttribute("focusedDate"));
+        assertEquals("2025-12", model.getAttribute("viewMonth"));
+    }
+
+    @Test
+    void showCalendar_queriesOnlyVisibleMonth_andClipsLongItems() {
+        when(currentUserService.getCurrentUser()).thenReturn(Optional.of(currentUser));
+
+        // Item running for years only materializes the days of the visible month
+        CalendarItem ci = new CalendarItem();
+        ci.setId(11L);
+        ci.setDateStart(LocalDate.of(2020, 1, 1).atStartOfDay());
+        ci.setDateEnd(LocalDate.of(2030, 1, 1).atStartOfDay());
+        LocalDateTime from = LocalDate.of(2024, 2, 1).atStartOfDay();
+        LocalDateTime to = LocalDate.of(2024, 3, 1).atStartOfDay();
+        when(calendarItemRepository.findOverlapping(household, from, to)).thenReturn(List.of(ci));
+
+        Model model = new ConcurrentModel();
+        controller.showCalendar(LocalDate.of(2024, 2, 14), model);
+
+        verify(eventRepository).findByHouseholdAndEventDateBetweenOrderByEventDateAsc(
+                household, from, LocalDate.of(2024, 2, 29).atTime(java.time.LocalTime.MAX));
+        verifyNoMoreInteractions(eventRepository);
+        verify(calendarItemRepository, never()).findByHousehold(any());
+
+        @SuppressWarnings("unchecked")
+        java.util.Map<String, List<?>> instances = (java.util.Map<String, List<?>>) model.getAttribute("calendarItemInstances");
+        assertEquals(29, instances.size());
+        assertTrue(instances.containsKey("2024-02-01"));
+        assertTrue(instances.containsKey("2024-02-29"));
     }
 
     @Test
@@ -205,6 +241,27 @@ class CalendarControllerTest {
         verify(calendarItemRepository).save(form);
         assertSame(household, form.getHousehold());
         assertSame(currentUser, form.getCreator());
+        verify(scheduleConflictService).invalidate(household.getId());
+        assertNull(ra.getFlashAttributes().get("conflicts"));
+    }
+
+    @Test
+    void createCalendarItem_conflicting_savesAndWarns() {
+        when(currentUserService.getCurrentUser()).thenReturn(Optional.of(currentUser));
+        BindingResult br = mock(BindingResult.class);
+        when(br.hasErrors()).thenReturn(false);
+        CalendarItem form = new CalendarItem();
+        form.setDateStart(LocalDateTime.of(2025, 3, 1, 18, 0));
+        List<ScheduleConflict> conflicts = List.of(new ScheduleConflict(ScheduleItemType.EVENT, 3L, "Dinner",
+                LocalDateTime.of(2025, 3, 1, 18, 30), LocalDateTime.of(2025, 3, 1, 19, 30), List.of("alice")));
+        when(scheduleConflictService.findCalendarItemConflicts(eq(household.getId()), eq(form), any())).thenReturn(conflicts);
+        RedirectAttributesModelMap ra = new RedirectAttributesModelMap();
+
+        String view = controller.createCalendarItem(form, br, ra);
+
+        assertEquals("redirect:/calendar", view);
+        verify(calendarItemRepository).save(form);
+        assertEquals(conflicts, ra.getFlashAttributes().get("conflicts"));
     }
 
     @Test
@@ -246,6 +303,7 @@ class CalendarControllerTest {
         existing.setDescription("d");
         existing.setDateStart(LocalDate.of(2025,1,1).atStartOfDay());
         existing.setDateEnd(LocalDate.of(2025,1,1).atStartOfDay());
+        existing.setHousehold(household);
         when(calendarItemRepository.findById(3L)).thenReturn(Optional.of(existing));
 
         CalendarItem form = new CalendarItem();
@@ -262,11 +320,12 @@ class CalendarControllerTest {
         verify(calendarItemRepository).save(existing);
         assertEquals("new", existing.getName());
         assertEquals("newdesc", existing.getDescription());
+        verify(scheduleConflictService).invalidate(household.getId());
     }
 
     @Test
     void deleteCalendarItem_notFound_redirectsWithError() {
-        when(calendarItemRepository.existsById(77L)).thenReturn(false);
+        when(calendarItemRepository.findHouseholdIdById(77L)).thenReturn(Optional.empty());
         RedirectAttributesModelMap ra = new RedirectAttributesModelMap();
 
         String view = controller.deleteCalendarItem(77L, ra);
@@ -277,12 +336,13 @@ class CalendarControllerTest {
 
     @Test
     void deleteCalendarItem_success_deletesAndRedirects() {
-        when(calendarItemRepository.existsById(88L)).thenReturn(true);
+        when(calendarItemRepository.findHouseholdIdById(88L)).thenReturn(Optional.of(1L));
         RedirectAttributesModelMap ra = new RedirectAttributesModelMap();
 
         String view = controller.deleteCalendarItem(88L, ra);
         assertEquals("redirect:/calendar", view);
         assertEquals("Calendar item deleted", ra.getFlashAttributes().get("message"));
         verify(calendarItemRepository).deleteById(88L);
+        verify(scheduleConflictService).invalidate(1L);
     }
 }
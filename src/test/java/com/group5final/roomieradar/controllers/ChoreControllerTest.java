@@ -6,6 +6,7 @@ import com.group5final.roomieradar.entities.Household;
 import com.group5final.roomieradar.entities.User;
 import com.group5final.roomieradar.repositories.ChoreRepository;
 import com.group5final.roomieradar.repositories.UserRepository;
+import com.group5final.roomieradar.services.ChoreService;
 import com.group5final.roomieradar.services.CurrentUserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -30,6 +31,9 @@ class ChoreControllerTest {
     @Mock
     private ChoreRepository choreRepository;
 
+    @Mock
+    private ChoreService choreService;
+
     @Mock
     private UserRepository userRepository;
 
@@ -132,13 +136,13 @@ class ChoreControllerTest {
         when(userRepository.findById(7L)).thenReturn(Optional.of(assignee));
 
         ArgumentCaptor<Chore> captor = ArgumentCaptor.forClass(Chore.class);
-        when(choreRepository.save(any(Chore.class))).thenAnswer(i -> i.getArgument(0));
+        when(choreService.createChore(any(Chore.class))).thenAnswer(i -> i.getArgument(0));
 
         LocalDate due = LocalDate.of(2025, 12, 5);
         String view = controller.addChore("Clean", 7L, due, "desc");
 
         assertEquals("redirect:/chores?msg=Chore added successfully!", view);
-        verify(choreRepository).save(captor.capture());
+        verify(choreService).createChore(captor.capture());
         Chore saved = captor.getValue();
         assertEquals("Clean", saved.getName());
         assertSame(assignee, saved.getUser());
@@ -155,7 +159,7 @@ class ChoreControllerTest {
         String view = controller.addChore("Name", 99L, LocalDate.now(), null);
 
         assertEquals("redirect:/chores/add?error=Invalid assignee selected", view);
-        verify(choreRepository, never()).save(any());
+        verify(choreService, never()).createChore(any());
     }
 
     @Test
@@ -173,7 +177,7 @@ class ChoreControllerTest {
         String view = controller.addChore("Name", 8L, LocalDate.now(), null);
 
         assertEquals("redirect:/chores/add?error=Invalid assignee selected", view);
-        verify(choreRepository, never()).save(any());
+        verify(choreService, never()).createChore(any());
     }
 
     @Test
@@ -186,6 +190,6 @@ class ChoreControllerTest {
         String view = controller.addChore("X", 1L, LocalDate.now(), null);
 
         assertEquals("redirect:/household?requiresHousehold=true", view);
-        verify(choreRepository, never()).save(any());
+        verify(choreService, never()).createChore(any());
     }
 }
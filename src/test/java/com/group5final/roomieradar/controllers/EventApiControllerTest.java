@@ -0,0 +1,148 @@
+package com.group5final.roomieradar.controllers;
+
+import com.group5final.roomieradar.dto.EventDTO;
+import com.group5final.roomieradar.entities.Household;
+import com.group5final.roomieradar.entities.User;
+import com.group5final.roomieradar.enums.RsvpStatus;
+import com.group5final.roomieradar.repositories.EventRepository;
+import com.group5final.roomieradar.services.CurrentUserService;
+import com.group5final.roomieradar.services.EventRsvpService;
+import com.group5final.roomieradar.services.EventService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventApiControllerTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2025, 6, 1, 0, 0);
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private EventService eventService;
+
+    @Mock
+    private EventRsvpService eventRsvpService;
+
+    @Mock
+    private CurrentUserService currentUserService;
+
+    @InjectMocks
+    private EventApiController controller;
+
+    @Test
+    void events_withoutRange_listsAll() {
+        EventDTO party = new EventDTO(5L, "Party", FROM, null, 1L, "alice", 2);
+        when(currentUserService.getCurrentHouseholdId()).thenReturn(Optional.of(3L));
+        when(eventRepository.findViewsByHouseholdId(3L)).thenReturn(List.of(party));
+
+        assertEquals(List.of(party), controller.events(null, null));
+    }
+
+    @Test
+    void events_withRange_queriesRange() {
+        when(currentUserService.getCurrentHouseholdId()).thenReturn(Optional.of(3L));
+
+        controller.events(FROM, FROM.plusDays(7));
+
+        verify(eventRepository).findViewsByHouseholdIdBetween(3L, FROM, FROM.plusDays(7));
+    }
+
+    @Test
+    void upcoming_clampsLimit() {
+        when(currentUserService.getCurrentHouseholdId()).thenReturn(Optional.of(3L));
+
+        controller.upcoming(100_000);
+        controller.past(0);
+
+        verify(eventRepository).findUpcomingViews(eq(3L), any(), eq(Limit.of(EventApiController.MAX_LIMIT)));
+        verify(eventRepository).findPastViews(eq(3L), any(), eq(Limit.of(1)));
+    }
+
+    @Test
+    void events_halfRange_badRequest() {
+        when(currentUserService.getCurrentHouseholdId()).thenReturn(Optional.of(3L));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> controller.events(FROM, null));
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+        verify(eventRepository, never()).findViewsByHouseholdIdBetween(any(), any(), any());
+    }
+
+    @Test
+    void addAttendee_addsInCurrentHousehold() {
+        when(currentUserService.getCurrentHouseholdId()).thenReturn(Optional.of(3L));
+
+        controller.addAttendee(5L, 7L);
+
+        verify(eventService).addAttendee(5L, 7L, 3L);
+    }
+
+    @Test
+    void addAttendee_otherHousehold_notFound() {
+        when(currentUserService.getCurrentHouseholdId()).thenReturn(Optional.of(3L));
+        when(eventService.addAttendee(5L, 7L, 3L)).thenThrow(new IllegalArgumentException("Event not found: 5"));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> controller.addAttendee(5L, 7L));
+
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+    }
+
+    @Test
+    void removeAttendee_withoutHousehold_forbidden() {
+        when(currentUserService.getCurrentHouseholdId()).thenReturn(Optional.empty());
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> controller.removeAttendee(5L, 7L));
+
+        assertEquals(HttpStatus.FORBIDDEN, ex.getStatusCode());
+        verifyNoInteractions(eventService);
+    }
+
+    @Test
+    void rsvp_eventFull_conflict() {
+        User alice = member();
+        when(currentUserService.getCurrentUser()).thenReturn(Optional.of(alice));
+        doThrow(new IllegalStateException("Event is full")).when(eventRsvpService).respond(5L, 7L, 3L, RsvpStatus.GOING);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> controller.rsvp(5L, RsvpStatus.GOING));
+
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+        verify(eventRsvpService, never()).getSummary(any(), any(), any());
+    }
+
+    @Test
+    void rsvpSummary_otherHousehold_notFound() {
+        User alice = member();
+        when(currentUserService.getCurrentUser()).thenReturn(Optional.of(alice));
+        when(eventRsvpService.getSummary(5L, 7L, 3L)).thenThrow(new IllegalArgumentException("Event not found: 5"));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> controller.rsvpSummary(5L));
+
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+    }
+
+    private static User member() {
+        Household household = new Household();
+        household.setId(3L);
+        User user = new User();
+        user.setId(7L);
+        user.setHousehold(household);
+        return user;
+    }
+}
@@ -1,18 +1,25 @@
 // java
 package com.group5final.roomieradar.controllers;
 
+import com.group5final.roomieradar.dto.RsvpSummaryDTO;
+import com.group5final.roomieradar.dto.ScheduleConflict;
 import com.group5final.roomieradar.entities.Event;
 import com.group5final.roomieradar.entities.Household;
 import com.group5final.roomieradar.entities.User;
+import com.group5final.roomieradar.enums.RsvpStatus;
+import com.group5final.roomieradar.enums.ScheduleItemType;
 import com.group5final.roomieradar.repositories.UserRepository;
 import com.group5final.roomieradar.services.CurrentUserService;
+import com.group5final.roomieradar.services.EventRsvpService;
 import com.group5final.roomieradar.services.EventService;
+import com.group5final.roomieradar.services.ScheduleConflictService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.ui.Model;
+import org.springframework.web.servlet.mvc.support.RedirectAttributesModelMap;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -28,9 +35,15 @@ class EventControllerTest {
     @Mock
     private EventService eventService;
 
+    @Mock
+    private EventRsvpService eventRsvpService;
+
     @Mock
     private CurrentUserService currentUserService;
 
+    @Mock
+    private ScheduleConflictService scheduleConflictService;
+
     @Mock
     private UserRepository userRepository;
 
@@ -72,19 +85,24 @@ class EventControllerTest {
         String view = eventController.events(model);
 
         assertEquals("redirect:/household?requiresHousehold=true", view);
-        verify(eventService, never()).getEventsForCurrentUserHousehold();
+        verify(eventService, never()).getUpcomingEventsForCurrentUserHousehold(any(), anyInt());
     }
 
     @Test
     void events_withHousehold_addsEventsAndReturnsView() {
         when(currentUserService.hasHousehold()).thenReturn(true);
         List<Event> events = Collections.singletonList(sampleEvent);
-        when(eventService.getEventsForCurrentUserHousehold()).thenReturn(events);
+        List<Event> pastEvents = Collections.singletonList(new Event());
+        when(eventService.getUpcomingEventsForCurrentUserHousehold(any(), eq(EventController.UPCOMING_EVENTS_LIMIT)))
+                .thenReturn(events);
+        when(eventService.getPastEventsForCurrentUserHousehold(any(), eq(EventController.PAST_EVENTS_LIMIT)))
+                .thenReturn(pastEvents);
 
         String view = eventController.events(model);
 
         assertEquals("events", view);
         verify(model).addAttribute("events", events);
+        verify(model).addAttribute("pastEvents", pastEvents);
     }
 
     @Test
@@ -117,6 +135,19 @@ class EventControllerTest {
         verify(model).addAttribute("event", sampleEvent);
     }
 
+    @Test
+    void eventDetails_sameHousehold_addsRsvpSummary() {
+        RsvpSummaryDTO summary = new RsvpSummaryDTO(2, 1, 0, 4, RsvpStatus.GOING);
+        when(currentUserService.hasHousehold()).thenReturn(true);
+        when(currentUserService.getCurrentUser()).thenReturn(Optional.of(sampleUser));
+        when(eventService.getEventById(5L)).thenReturn(Optional.of(sampleEvent));
+        when(eventRsvpService.getSummary(5L, sampleUser.getId(), 1L)).thenReturn(summary);
+
+        eventController.eventDetails(5L, model);
+
+        verify(model).addAttribute("rsvp", summary);
+    }
+
     @Test
     void editEvent_noHousehold_redirectsToHousehold() {
         when(currentUserService.hasHousehold()).thenReturn(false);
@@ -155,26 +186,36 @@ class EventControllerTest {
         when(eventService.getEventById(5L)).thenReturn(Optional.of(sampleEvent));
         LocalDateTime newDate = LocalDateTime.now().plusDays(2);
 
-        String view = eventController.updateEvent(5L, "NewName", "NewDesc", newDate, null);
+        String view = eventController.updateEvent(5L, "NewName", "NewDesc", newDate, null, null, new RedirectAttributesModelMap());
 
         assertEquals("redirect:/events/5", view);
         ArgumentCaptor<Event> captor = ArgumentCaptor.forClass(Event.class);
-        verify(eventService).saveEvent(captor.capture());
+        verify(eventService).saveEvent(captor.capture(), isNull());
         Event saved = captor.getValue();
         assertEquals("NewName", saved.getName());
         assertEquals("NewDesc", saved.getDescription());
         assertEquals(newDate, saved.getEventDate());
     }
 
+    @Test
+    void updateEvent_withAttendees_passesIdsToService() {
+        when(eventService.getEventById(5L)).thenReturn(Optional.of(sampleEvent));
+
+        eventController.updateEvent(5L, "Name", "Desc", LocalDateTime.now(), null, List.of(1L, 2L), new RedirectAttributesModelMap());
+
+        verify(eventService).saveEvent(sampleEvent, List.of(1L, 2L));
+        verifyNoInteractions(userRepository);
+    }
+
     @Test
     void updateEvent_eventMissing_redirectsButDoesNotSave() {
         when(eventService.getEventById(5L)).thenReturn(Optional.empty());
         LocalDateTime newDate = LocalDateTime.now().plusDays(2);
 
-        String view = eventController.updateEvent(5L, "Name", "Desc", newDate, null);
+        String view = eventController.updateEvent(5L, "Name", "Desc", newDate, null, null, new RedirectAttributesModelMap());
 
         assertEquals("redirect:/events/5", view);
-        verify(eventService, never()).saveEvent(any());
+        verify(eventService, never()).saveEvent(any(), any());
     }
 
     @Test
@@ -203,10 +244,10 @@ class EventControllerTest {
     void addEvent_noHousehold_redirectsToHousehold() {
         when(currentUserService.hasHousehold()).thenReturn(false);
 
-        String view = eventController.addEvent("n", "d", LocalDateTime.now(), null);
+        String view = eventController.addEvent("n", "d", LocalDateTime.now(), null, null, new RedirectAttributesModelMap());
 
         assertEquals("redirect:/household?requiresHousehold=true", view);
-        verify(eventService, never()).saveEvent(any());
+        verify(eventService, never()).saveEvent(any(), any());
     }
 
     @Test
@@ -214,10 +255,10 @@ class EventControllerTest {
         when(currentUserService.hasHousehold()).thenReturn(true);
         when(currentUserService.getCurrentUser()).thenReturn(Optional.empty());
 
-        String view = eventController.addEvent("n", "d", LocalDateTime.now(), null);
+        String view = eventController.addEvent("n", "d", LocalDateTime.now(), null, null, new RedirectAttributesModelMap());
 
         assertEquals("redirect:/login", view);
-        verify(eventService, never()).saveEvent(any());
+        verify(eventService, never()).saveEvent(any(), any());
     }
 
     @Test
@@ -226,18 +267,106 @@ class EventControllerTest {
         when(currentUserService.getCurrentUser()).thenReturn(Optional.of(sampleUser));
 
         LocalDateTime dt = LocalDateTime.now().plusDays(3);
-        String view = eventController.addEvent("Birthday", "Cake", dt, null);
+        String view = eventController.addEvent("Birthday", "Cake", dt, 8, null, new RedirectAttributesModelMap());
 
         assertEquals("redirect:/events", view);
 
         ArgumentCaptor<Event> captor = ArgumentCaptor.forClass(Event.class);
-        verify(eventService).saveEvent(captor.capture());
+        verify(eventService).saveEvent(captor.capture(), isNull());
         Event created = captor.getValue();
         assertEquals("Birthday", created.getName());
         assertEquals("Cake", created.getDescription());
         assertEquals(dt, created.getEventDate());
         assertEquals(sampleUser, created.getUserid());
         assertEquals(sampleHousehold, created.getHousehold());
+        assertEquals(8, created.getCapacity());
+    }
+
+    @Test
+    void addEvent_capacityBelowOne_redirectsToFormWithError() {
+        when(currentUserService.hasHousehold()).thenReturn(true);
+        when(currentUserService.getCurrentUser()).thenReturn(Optional.of(sampleUser));
+        RedirectAttributesModelMap ra = new RedirectAttributesModelMap();
+
+        String view = eventController.addEvent("n", "d", LocalDateTime.now(), 0, null, ra);
+
+        assertEquals("redirect:/events/add", view);
+        assertNotNull(ra.getFlashAttributes().get("error"));
+        verify(eventService, never()).saveEvent(any(), any());
+    }
+
+    @Test
+    void updateEvent_capacityBelowUsersGoing_redirectsToFormWithError() {
+        when(eventService.getEventById(5L)).thenReturn(Optional.of(sampleEvent));
+        when(eventService.saveEvent(sampleEvent, null)).thenThrow(new IllegalStateException("overbooked"));
+        RedirectAttributesModelMap ra = new RedirectAttributesModelMap();
+
+        String view = eventController.updateEvent(5L, "Name", "Desc", LocalDateTime.now(), 2, null, ra);
+
+        assertEquals("redirect:/events/edit/5", view);
+        assertEquals("More people are already going than 2 seats.", ra.getFlashAttributes().get("error"));
+        assertNull(ra.getFlashAttributes().get("conflicts"));
+    }
+
+    @Test
+    void updateEvent_capacityBelowOne_doesNotLoadOrSave() {
+        RedirectAttributesModelMap ra = new RedirectAttributesModelMap();
+
+        String view = eventController.updateEvent(5L, "Name", "Desc", LocalDateTime.now(), -3, null, ra);
+
+        assertEquals("redirect:/events/edit/5", view);
+        assertNotNull(ra.getFlashAttributes().get("error"));
+        verifyNoInteractions(eventService);
+    }
+
+    @Test
+    void addEvent_attendeesBookedElsewhere_savesAndWarns() {
+        when(currentUserService.hasHousehold()).thenReturn(true);
+        when(currentUserService.getCurrentUser()).thenReturn(Optional.of(sampleUser));
+        LocalDateTime dt = LocalDateTime.now().plusDays(3);
+        List<ScheduleConflict> conflicts = List.of(new ScheduleConflict(ScheduleItemType.CALENDAR_ITEM, 7L, "Gym",
+                dt, dt.plusHours(1), List.of("tester")));
+        when(scheduleConflictService.findEventConflicts(1L, null, dt, List.of(10L))).thenReturn(conflicts);
+        RedirectAttributesModelMap ra = new RedirectAttributesModelMap();
+
+        String view = eventController.addEvent("Birthday", "Cake", dt, null, List.of(10L), ra);
+
+        assertEquals("redirect:/events", view);
+        verify(eventService).saveEvent(any(Event.class), eq(List.of(10L)));
+        assertEquals(conflicts, ra.getFlashAttributes().get("conflicts"));
+    }
+
+    @Test
+    void updateEvent_checksConflictsWithoutTheEventItself() {
+        when(eventService.getEventById(5L)).thenReturn(Optional.of(sampleEvent));
+        LocalDateTime newDate = LocalDateTime.now().plusDays(2);
+        RedirectAttributesModelMap ra = new RedirectAttributesModelMap();
+
+        eventController.updateEvent(5L, "Name", "Desc", newDate, null, List.of(10L), ra);
+
+        verify(scheduleConflictService).findEventConflicts(1L, 5L, newDate, List.of(10L));
+        assertNull(ra.getFlashAttributes().get("conflicts"));
+    }
+
+    @Test
+    void rsvp_recordsResponseOfCurrentUser() {
+        when(currentUserService.getCurrentUser()).thenReturn(Optional.of(sampleUser));
+
+        String view = eventController.rsvp(5L, RsvpStatus.MAYBE);
+
+        assertEquals("redirect:/events/5", view);
+        verify(eventRsvpService).respond(5L, sampleUser.getId(), 1L, RsvpStatus.MAYBE);
+    }
+
+    @Test
+    void rsvp_eventFull_redirectsWithNotice() {
+        when(currentUserService.getCurrentUser()).thenReturn(Optional.of(sampleUser));
+        doThrow(new IllegalStateException("Event is full"))
+                .when(eventRsvpService).respond(5L, sampleUser.getId(), 1L, RsvpStatus.GOING);
+
+        String view = eventController.rsvp(5L, RsvpStatus.GOING);
+
+        assertEquals("redirect:/events/5?full=true", view);
     }
 
     @Test
@@ -0,0 +1,50 @@
+package com.group5final.roomieradar.controllers;
+
+import com.group5final.roomieradar.services.CurrentUserService;
+import com.group5final.roomieradar.services.HouseholdEventHub;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LiveUpdateControllerTest {
+
+    @Mock
+    private HouseholdEventHub householdEventHub;
+
+    @Mock
+    private CurrentUserService currentUserService;
+
+    @InjectMocks
+    private LiveUpdateController controller;
+
+    @Test
+    void stream_subscribesToCurrentHousehold() {
+        SseEmitter emitter = new SseEmitter();
+        when(currentUserService.getCurrentHouseholdId()).thenReturn(Optional.of(3L));
+        when(householdEventHub.subscribe(3L)).thenReturn(emitter);
+
+        assertSame(emitter, controller.stream());
+    }
+
+    @Test
+    void stream_withoutHousehold_forbidden() {
+        when(currentUserService.getCurrentHouseholdId()).thenReturn(Optional.empty());
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> controller.stream());
+
+        assertEquals(HttpStatus.FORBIDDEN, ex.getStatusCode());
+        verify(householdEventHub, never()).subscribe(any());
+    }
+}
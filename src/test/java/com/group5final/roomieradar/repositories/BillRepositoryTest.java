@@ -0,0 +1,262 @@
+package com.group5final.roomieradar.repositories;
+
+import com.group5final.roomieradar.dto.BillDTO;
+import com.group5final.roomieradar.dto.BillSearchCriteria;
+import com.group5final.roomieradar.entities.Bill;
+import com.group5final.roomieradar.entities.BillSplit;
+import com.group5final.roomieradar.entities.Household;
+import com.group5final.roomieradar.entities.User;
+import com.group5final.roomieradar.enums.SplitStatus;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class BillRepositoryTest {
+
+    // Free text is not covered here: H2 has no MATCH ... AGAINST, so only the other filters run
+    private static final BillSearchCriteria NO_FILTERS = new BillSearchCriteria(null, null, null, null, null);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private BillRepository billRepository;
+
+    private Statistics statistics;
+    private Household household;
+    private User creator;
+    private List<User> members;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        household = new Household();
+        household.setName("Loft");
+        household.setPassword("secret");
+        entityManager.persist(household);
+
+        creator = persistUser("creator");
+        members = List.of(creator, persistUser("alice"), persistUser("bob"));
+    }
+
+    @Test
+    void findBillsByUserId_queryCountIndependentOfBillCount() {
+        createBills(2);
+        long fewBills = countQueriesWhileRendering();
+
+        createBills(20);
+        long manyBills = countQueriesWhileRendering();
+
+        assertEquals(1, fewBills);
+        assertEquals(fewBills, manyBills);
+    }
+
+    @Test
+    void findBillsByUserId_includesBillsWhereUserOnlyHasSplit() {
+        createBills(3);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Bill> bills = billRepository.findBillsByUserId(members.get(1).getId());
+
+        assertEquals(3, bills.size());
+        bills.forEach(b -> assertEquals(3, b.getSplits().size()));
+    }
+
+    @Test
+    void keysetPages_walkAllBillsOnceInDueDateOrder() {
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<Long> expected = new ArrayList<>();
+        // two bills share a due date, two have none
+        List<Bill> bills = List.of(bill(base.plusDays(3)), bill(base.plusDays(1)), bill(base.plusDays(1)),
+                bill(null), bill(base.plusDays(2)), bill(null));
+        entityManager.flush();
+        bills.stream()
+                .sorted(Comparator.comparing(Bill::getDueDate, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+                        .thenComparing(Bill::getId).reversed())
+                .forEach(b -> expected.add(b.getId()));
+
+        Long householdId = household.getId();
+        Long userId = members.get(2).getId();
+        List<Long> walked = new ArrayList<>(billRepository.findPageIds(householdId, userId, Limit.of(2)));
+        while (true) {
+            Bill cursor = entityManager.find(Bill.class, walked.get(walked.size() - 1));
+            List<Long> next = cursor.getDueDate() != null
+                    ? billRepository.findPageIdsAfter(householdId, userId, cursor.getDueDate(), cursor.getId(), Limit.of(2))
+                    : billRepository.findUndatedPageIdsAfter(householdId, userId, cursor.getId(), Limit.of(2));
+            if (next.isEmpty()) break;
+            walked.addAll(next);
+        }
+
+        assertEquals(expected, walked);
+    }
+
+    @Test
+    void findPageCursor_onlyResolvesTheUsersOwnBills() {
+        User alice = members.get(1);
+        User bob = members.get(2);
+        Bill alicesWithBob = bill(alice, null, List.of(bob));
+        Household other = new Household();
+        other.setName("Elsewhere");
+        other.setPassword("secret");
+        entityManager.persist(other);
+        Bill foreign = bill(alice, null, List.of(alice));
+        foreign.setHousehold(other);
+        entityManager.flush();
+        Long householdId = household.getId();
+
+        assertTrue(billRepository.findPageCursor(householdId, alice.getId(), alicesWithBob.getId()).isPresent());
+        assertTrue(billRepository.findPageCursor(householdId, bob.getId(), alicesWithBob.getId()).isPresent());
+        assertTrue(billRepository.findPageCursor(householdId, creator.getId(), alicesWithBob.getId()).isEmpty());
+        assertTrue(billRepository.findPageCursor(householdId, alice.getId(), foreign.getId()).isEmpty());
+    }
+
+    @Test
+    void searchIds_findsOnlyTheBillsTheListShows() {
+        User alice = members.get(1);
+        User bob = members.get(2);
+        Bill shared = bill(creator, null, List.of(creator, alice));
+        Bill alicesWithBob = bill(alice, null, List.of(bob));
+        bill(bob, null, List.of(bob));
+        entityManager.flush();
+
+        for (User user : members) {
+            List<Long> listed = billRepository.findPageIds(household.getId(), user.getId(), Limit.of(10));
+            List<Long> found = billRepository.searchIds(household.getId(), user.getId(), NO_FILTERS, null, 10);
+            assertEquals(listed.stream().sorted(Comparator.reverseOrder()).toList(), found, user.getUsername());
+        }
+        assertEquals(List.of(alicesWithBob.getId(), shared.getId()),
+                billRepository.searchIds(household.getId(), alice.getId(), NO_FILTERS, null, 10));
+    }
+
+    @Test
+    void findViewsForUser_listsOnlyTheUsersBillsInKeysetPages() {
+        User alice = members.get(1);
+        User bob = members.get(2);
+        Bill shared = bill(creator, null, List.of(creator, alice));
+        Bill alicesWithBob = bill(alice, null, List.of(bob));
+        bill(bob, null, List.of(bob));
+        entityManager.flush();
+        Long householdId = household.getId();
+
+        assertEquals(List.of(alicesWithBob.getId(), shared.getId()),
+                billRepository.findViewsForUser(householdId, alice.getId(), Long.MAX_VALUE, Limit.of(10)).stream()
+                    .map(BillDTO::getId).toList());
+        assertEquals(List.of(shared.getId()),
+                billRepository.findViewsForUser(householdId, alice.getId(), alicesWithBob.getId(), Limit.of(10)).stream()
+                    .map(BillDTO::getId).toList());
+        assertEquals(List.of(shared.getId()),
+                billRepository.findViewsForUser(householdId, creator.getId(), Long.MAX_VALUE, Limit.of(10)).stream()
+                    .map(BillDTO::getId).toList());
+    }
+
+    @Test
+    void searchIds_appliesFiltersAndPaging() {
+        User alice = members.get(1);
+        User bob = members.get(2);
+        Bill march = bill(alice, LocalDateTime.of(2025, 3, 5, 0, 0), List.of(alice));
+        Bill april = bill(alice, LocalDateTime.of(2025, 4, 10, 0, 0), List.of(alice, bob));
+        entityManager.flush();
+        Long householdId = household.getId();
+        Long aliceId = alice.getId();
+
+        assertEquals(List.of(march.getId()), billRepository.searchIds(householdId, aliceId,
+                new BillSearchCriteria(null, null, LocalDateTime.of(2025, 3, 1, 0, 0), LocalDateTime.of(2025, 4, 1, 0, 0), null),
+                null, 10));
+        assertEquals(List.of(april.getId()), billRepository.searchIds(householdId, aliceId,
+                new BillSearchCriteria(null, SplitStatus.UNPAID, null, null, bob.getId()), null, 10));
+        assertEquals(List.of(march.getId()), billRepository.searchIds(householdId, aliceId, NO_FILTERS, april.getId(), 10));
+        assertEquals(List.of(april.getId()), billRepository.searchIds(householdId, aliceId, NO_FILTERS, null, 1));
+
+        april.getSplits().stream().filter(split -> split.getUser() == bob).forEach(split -> split.setStatus(SplitStatus.PAID));
+        entityManager.flush();
+        assertTrue(billRepository.searchIds(householdId, aliceId,
+                new BillSearchCriteria(null, SplitStatus.UNPAID, null, null, bob.getId()), null, 10).isEmpty());
+    }
+
+    // Loads the bills page data and touches everything bills.html renders
+    private long countQueriesWhileRendering() {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        List<Bill> bills = billRepository.findBillsByUserId(creator.getId());
+        for (Bill bill : bills) {
+            assertNotNull(bill.getCreatedBy().getId());
+            for (BillSplit split : bill.getSplits()) {
+                assertNotNull(split.getUser().getUsername());
+            }
+        }
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void createBills(int count) {
+        for (int i = 0; i < count; i++) {
+            bill(null);
+        }
+    }
+
+    private Bill bill(LocalDateTime dueDate) {
+        Bill bill = new Bill();
+        bill.setName("Bill");
+        bill.setAmount(BigDecimal.valueOf(30));
+        bill.setDueDate(dueDate);
+        bill.setHousehold(household);
+        bill.setCreatedBy(creator);
+        for (User member : members) {
+            BillSplit split = new BillSplit();
+            split.setBill(bill);
+            split.setUser(member);
+            split.setSplitAmount(BigDecimal.TEN);
+            bill.getSplits().add(split);
+        }
+        entityManager.persist(bill);
+        return bill;
+    }
+
+    private Bill bill(User createdBy, LocalDateTime dueDate, List<User> splitWith) {
+        Bill bill = new Bill();
+        bill.setName("Bill");
+        bill.setAmount(BigDecimal.valueOf(30));
+        bill.setDueDate(dueDate);
+        bill.setHousehold(household);
+        bill.setCreatedBy(createdBy);
+        for (User member : splitWith) {
+            BillSplit split = new BillSplit();
+            split.setBill(bill);
+            split.setUser(member);
+            split.setSplitAmount(BigDecimal.TEN);
+            bill.getSplits().add(split);
+        }
+        entityManager.persist(bill);
+        return bill;
+    }
+
+    private User persistUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("pw");
+        user.setHousehold(household);
+        entityManager.persist(user);
+        return user;
+    }
+}
@@ -0,0 +1,73 @@
+package com.group5final.roomieradar.repositories;
+
+import com.group5final.roomieradar.dto.BillSearchCriteria;
+import com.group5final.roomieradar.enums.SplitStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BillSearchRepositoryImplTest {
+
+    private static final String VISIBLE_TO_USER =
+        "AND (b.createdById = ? OR EXISTS (SELECT 1 FROM bill_split us WHERE us.billId = b.id AND us.userId = ?))";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private BillSearchRepositoryImpl repository;
+
+    @Test
+    void searchIds_textOnly_usesFullTextMatchWithoutOtherFilters() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(Object[].class))).thenReturn(List.of(3L));
+
+        List<Long> ids = repository.searchIds(7L, 2L, new BillSearchCriteria("Rent", null, null, null, null), null, 21);
+
+        assertEquals(List.of(3L), ids);
+        verify(jdbcTemplate).queryForList(
+            "SELECT b.id FROM bill b WHERE b.householdId = ? " + VISIBLE_TO_USER +
+            " AND MATCH (b.name, b.description) AGAINST (? IN BOOLEAN MODE) ORDER BY b.id DESC LIMIT ?",
+            Long.class, 7L, 2L, 2L, "+rent*", 21);
+    }
+
+    @Test
+    void searchIds_allFilters_addsEachCondition() {
+        LocalDateTime from = LocalDateTime.of(2025, 3, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 4, 1, 0, 0);
+        BillSearchCriteria criteria = new BillSearchCriteria(null, SplitStatus.UNPAID, from, to, 4L);
+
+        repository.searchIds(7L, 2L, criteria, 50L, 21);
+
+        verify(jdbcTemplate).queryForList(
+            "SELECT b.id FROM bill b WHERE b.householdId = ? " + VISIBLE_TO_USER +
+            " AND b.id < ? AND b.dueDate >= ? AND b.dueDate < ? " +
+            "AND EXISTS (SELECT 1 FROM bill_split s WHERE s.billId = b.id AND s.userId = ? AND s.status = ?) " +
+            "ORDER BY b.id DESC LIMIT ?",
+            Long.class, 7L, 2L, 2L, 50L, Timestamp.valueOf(from), Timestamp.valueOf(to), 4L, "UNPAID", 21);
+    }
+
+    @Test
+    void searchIds_textWithoutWords_matchesNothing() {
+        assertTrue(repository.searchIds(7L, 2L, new BillSearchCriteria("+-*\"", null, null, null, null), null, 21).isEmpty());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void toBooleanQuery_requiresEveryWordAsPrefixAndDropsOperators() {
+        assertEquals("+rent* +märz* +2025*", BillSearchRepositoryImpl.toBooleanQuery("Rent, -März (2025)"));
+        assertEquals("+a* +b* +c* +d* +e* +f* +g* +h*", BillSearchRepositoryImpl.toBooleanQuery("a b c d e f g h i j"));
+        assertNull(BillSearchRepositoryImpl.toBooleanQuery(" ~@> "));
+    }
+}
@@ -0,0 +1,74 @@
+package com.group5final.roomieradar.repositories;
+
+import com.group5final.roomieradar.entities.Bill;
+import com.group5final.roomieradar.entities.BillSplit;
+import com.group5final.roomieradar.entities.User;
+import com.group5final.roomieradar.enums.SplitStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BillSplitBatchRepositoryImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private BillSplitBatchRepositoryImpl repository;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void insertAll_issuesOneBatchForAllSplits() throws Exception {
+        Bill bill = new Bill();
+        bill.setId(9L);
+        List<BillSplit> splits = new ArrayList<>();
+        for (long id = 1; id <= 45; id++) {
+            User user = new User();
+            user.setId(id);
+            BillSplit split = new BillSplit();
+            split.setBill(bill);
+            split.setUser(user);
+            split.setSplitAmount(BigDecimal.TEN);
+            splits.add(split);
+        }
+
+        repository.insertAll(splits);
+
+        ArgumentCaptor<Collection<BillSplit>> rows = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<BillSplit>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(eq(BillSplitBatchRepositoryImpl.INSERT_SQL),
+                rows.capture(), eq(45), setter.capture());
+        verifyNoMoreInteractions(jdbcTemplate);
+        assertEquals(45, rows.getValue().size());
+
+        PreparedStatement ps = mock(PreparedStatement.class);
+        setter.getValue().setValues(ps, splits.get(3));
+        verify(ps).setLong(1, 9L);
+        verify(ps).setLong(2, 4L);
+        verify(ps).setBigDecimal(3, BigDecimal.TEN);
+        verify(ps).setString(4, SplitStatus.UNPAID.name());
+    }
+
+    @Test
+    void insertAll_emptyList_doesNothing() {
+        repository.insertAll(List.of());
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
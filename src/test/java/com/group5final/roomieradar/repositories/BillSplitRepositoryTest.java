@@ -0,0 +1,177 @@
+package com.group5final.roomieradar.repositories;
+
+import com.group5final.roomieradar.dto.BillSplitDTO;
+import com.group5final.roomieradar.entities.Bill;
+import com.group5final.roomieradar.entities.BillSplit;
+import com.group5final.roomieradar.entities.Household;
+import com.group5final.roomieradar.entities.User;
+import com.group5final.roomieradar.enums.SplitStatus;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class BillSplitRepositoryTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private BillSplitRepository billSplitRepository;
+
+    private Statistics statistics;
+    private Household household;
+    private User creator;
+    private User debtor;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        household = new Household();
+        household.setName("Loft");
+        household.setPassword("secret");
+        entityManager.persist(household);
+
+        creator = persistUser("creator");
+        debtor = persistUser("debtor");
+    }
+
+    @Test
+    void bulkSettle_checksOwnershipAndTransitionsInConstantStatements() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            ids.add(persistSplit(debtor, SplitStatus.UNPAID).getId());
+        }
+        Long othersSplit = persistSplit(creator, SplitStatus.UNPAID).getId();
+        entityManager.flush();
+        entityManager.clear();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        List<BillSplit> owned = billSplitRepository.findOwedByUser(ids, debtor.getId());
+        int updated = billSplitRepository.transitionStatus(ids, SplitStatus.UNPAID, SplitStatus.PENDING_APPROVAL);
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(30, owned.size());
+        assertEquals(30, updated);
+        assertTrue(billSplitRepository.findOwedByUser(List.of(othersSplit), debtor.getId()).isEmpty());
+        assertEquals(SplitStatus.UNPAID, billSplitRepository.findById(othersSplit).orElseThrow().getStatus());
+    }
+
+    @Test
+    void transitionStatus_skipsSplitsNoLongerInSourceStatus() {
+        Long pending = persistSplit(debtor, SplitStatus.PENDING_APPROVAL).getId();
+        Long alreadyPaid = persistSplit(debtor, SplitStatus.PAID).getId();
+        entityManager.flush();
+
+        int updated = billSplitRepository.transitionStatus(List.of(pending, alreadyPaid),
+                SplitStatus.PENDING_APPROVAL, SplitStatus.PAID);
+
+        assertEquals(1, updated);
+        assertEquals(SplitStatus.PAID, billSplitRepository.findById(pending).orElseThrow().getStatus());
+    }
+
+    @Test
+    void findOnBillsCreatedBy_onlyReturnsSplitsOnCreatorsBills() {
+        Long mine = persistSplit(debtor, SplitStatus.PENDING_APPROVAL).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(1, billSplitRepository.findOnBillsCreatedBy(List.of(mine), creator.getId()).size());
+        assertTrue(billSplitRepository.findOnBillsCreatedBy(List.of(mine), debtor.getId()).isEmpty());
+    }
+
+    @Test
+    void findViewsByBillId_selectsDtosWithoutLoadingEntities() {
+        BillSplit split = persistSplit(debtor, SplitStatus.UNPAID);
+        Long billId = split.getBill().getId();
+        entityManager.flush();
+        entityManager.clear();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        List<BillSplitDTO> views = billSplitRepository.findViewsByBillId(billId, household.getId());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(List.of(new BillSplitDTO(split.getId(), debtor.getId(), "debtor",
+                views.get(0).getSplitAmount(), SplitStatus.UNPAID)), views);
+        assertEquals(0, BigDecimal.TEN.compareTo(views.get(0).getSplitAmount()));
+        assertTrue(billSplitRepository.findViewsByBillId(billId, household.getId() + 1).isEmpty());
+    }
+
+    @Test
+    void insertAll_writesEverySplitOfTheBatch() {
+        Bill bill = new Bill();
+        bill.setName("Groceries");
+        bill.setAmount(BigDecimal.valueOf(820));
+        bill.setHousehold(household);
+        bill.setCreatedBy(creator);
+        entityManager.persist(bill);
+        List<BillSplit> splits = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            BillSplit split = new BillSplit();
+            split.setBill(bill);
+            split.setUser(persistUser("member" + i));
+            split.setSplitAmount(BigDecimal.valueOf(i + 1));
+            split.setStatus(i == 0 ? SplitStatus.PAID : SplitStatus.UNPAID);
+            splits.add(split);
+        }
+        entityManager.flush();
+
+        billSplitRepository.insertAll(splits);
+        entityManager.clear();
+
+        List<BillSplit> stored = entityManager.createQuery(
+                "SELECT s FROM BillSplit s JOIN FETCH s.user WHERE s.bill.id = :billId ORDER BY s.splitAmount", BillSplit.class)
+            .setParameter("billId", bill.getId())
+            .getResultList();
+        assertEquals(40, stored.size());
+        for (int i = 0; i < 40; i++) {
+            BillSplit split = stored.get(i);
+            assertNotNull(split.getId());
+            assertEquals("member" + i, split.getUser().getUsername());
+            assertEquals(0, BigDecimal.valueOf(i + 1).compareTo(split.getSplitAmount()));
+            assertEquals(i == 0 ? SplitStatus.PAID : SplitStatus.UNPAID, split.getStatus());
+        }
+    }
+
+    private BillSplit persistSplit(User user, SplitStatus status) {
+        Bill bill = new Bill();
+        bill.setName("Rent");
+        bill.setAmount(BigDecimal.TEN);
+        bill.setHousehold(household);
+        bill.setCreatedBy(creator);
+        BillSplit split = new BillSplit();
+        split.setBill(bill);
+        split.setUser(user);
+        split.setSplitAmount(BigDecimal.TEN);
+        split.setStatus(status);
+        bill.getSplits().add(split);
+        entityManager.persist(bill);
+        return split;
+    }
+
+    private User persistUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("pw");
+        user.setHousehold(household);
+        entityManager.persist(user);
+        return user;
+    }
+}
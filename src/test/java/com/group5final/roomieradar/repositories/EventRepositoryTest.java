@@ -0,0 +1,229 @@
+package com.group5final.roomieradar.repositories;
+
+import com.group5final.roomieradar.dto.EventDTO;
+import com.group5final.roomieradar.dto.UserDTO;
+import com.group5final.roomieradar.entities.Event;
+import com.group5final.roomieradar.entities.Household;
+import com.group5final.roomieradar.entities.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class EventRepositoryTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    private Statistics statistics;
+    private Household household;
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        household = new Household();
+        household.setName("Loft");
+        household.setPassword("secret");
+        entityManager.persist(household);
+
+        alice = persistUser("alice");
+        bob = persistUser("bob");
+    }
+
+    @Test
+    void findViewsByHouseholdId_selectsDtosWithAttendeeCountInOneStatement() {
+        Event party = persistEvent("Party", NOON.plusDays(1), alice, alice, bob);
+        Event dinner = persistEvent("Dinner", NOON, bob, bob);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        List<EventDTO> views = eventRepository.findViewsByHouseholdId(household.getId());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(List.of(
+            new EventDTO(dinner.getId(), "Dinner", NOON, null, bob.getId(), "bob", 1),
+            new EventDTO(party.getId(), "Party", NOON.plusDays(1), null, alice.getId(), "alice", 2)), views);
+    }
+
+    @Test
+    void findViewsByHouseholdIdBetween_isHalfOpen() {
+        persistEvent("Dinner", NOON, bob);
+        persistEvent("Party", NOON.plusDays(1), alice);
+        entityManager.flush();
+
+        List<EventDTO> views = eventRepository.findViewsByHouseholdIdBetween(household.getId(), NOON, NOON.plusDays(1));
+
+        assertEquals(List.of("Dinner"), views.stream().map(EventDTO::getName).toList());
+    }
+
+    @Test
+    void findAttendeeViews_onlyForEventsOfTheHousehold() {
+        Event party = persistEvent("Party", NOON, alice, bob, alice);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(List.of(new UserDTO(alice.getId(), "alice"), new UserDTO(bob.getId(), "bob")),
+            eventRepository.findAttendeeViews(party.getId(), household.getId()));
+        assertTrue(eventRepository.findAttendeeViews(party.getId(), household.getId() + 1).isEmpty());
+    }
+
+    @Test
+    void listQueries_fetchCreatorsAndAttendees_inOneStatementRegardlessOfEventCount() {
+        createEvents(2);
+        assertEquals(1, countStatementsWhileRendering(() -> eventRepository.findByHouseholdAndEventDateBetweenOrderByEventDateAsc(
+            household, NOON, NOON.plusDays(30))));
+
+        createEvents(20);
+        assertEquals(1, countStatementsWhileRendering(() -> eventRepository.findByHouseholdAndEventDateBetweenOrderByEventDateAsc(
+            household, NOON, NOON.plusDays(30))));
+    }
+
+    @Test
+    void listQueries_returnEachEventOnceInDateOrder() {
+        Event late = persistEvent("Late", NOON.plusDays(2), alice, alice, bob);
+        Event early = persistEvent("Early", NOON, bob, alice, bob);
+        persistEvent("Lonely", NOON.plusDays(1), bob);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Event> events = eventRepository.findByHouseholdAndEventDateBetweenOrderByEventDateAsc(
+            household, NOON, NOON.plusDays(30));
+
+        assertEquals(List.of("Early", "Lonely", "Late"), events.stream().map(Event::getName).toList());
+        assertEquals(2, events.get(0).getAttendees().size());
+        assertTrue(events.get(1).getAttendees().isEmpty());
+        assertEquals(early.getId(), events.get(0).getId());
+        assertEquals(late.getId(), events.get(2).getId());
+    }
+
+    @Test
+    void findUpcomingAndPast_splitAtNow_andReturnOnlyTheNearestEvents() {
+        persistEvent("Last week", NOON.minusDays(7), alice);
+        Event yesterday = persistEvent("Yesterday", NOON.minusDays(1), alice);
+        Event yesterdayToo = persistEvent("Yesterday too", NOON.minusDays(1), bob);
+        Event now = persistEvent("Now", NOON, bob);
+        Event tomorrow = persistEvent("Tomorrow", NOON.plusDays(1), alice);
+        persistEvent("Next week", NOON.plusDays(7), alice);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(List.of(now.getId(), tomorrow.getId()),
+            eventRepository.findUpcoming(household, NOON, Limit.of(2)).stream().map(Event::getId).toList());
+        // Latest first, ties broken by id so pages are stable
+        assertEquals(List.of(yesterdayToo.getId(), yesterday.getId()),
+            eventRepository.findPast(household, NOON, Limit.of(2)).stream().map(Event::getId).toList());
+
+        assertEquals(List.of("Now", "Tomorrow"), eventRepository.findUpcomingViews(household.getId(), NOON, Limit.of(2))
+            .stream().map(EventDTO::getName).toList());
+        assertEquals(List.of("Yesterday too", "Yesterday", "Last week"),
+            eventRepository.findPastViews(household.getId(), NOON, Limit.of(5)).stream().map(EventDTO::getName).toList());
+    }
+
+    @Test
+    void findUpcoming_costsOneStatementRegardlessOfPastEvents() {
+        for (int i = 1; i <= 30; i++) {
+            persistEvent("Past " + i, NOON.minusDays(i), alice, alice, bob);
+        }
+        persistEvent("Party", NOON.plusDays(1), alice, alice);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        List<Event> upcoming = eventRepository.findUpcoming(household, NOON, Limit.of(10));
+        upcoming.forEach(event -> assertNotNull(event.getUserid().getUsername()));
+
+        assertEquals(List.of("Party"), upcoming.stream().map(Event::getName).toList());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findWithPeopleById_loadsCreatorAndAttendeesInOneStatement() {
+        Event party = persistEvent("Party", NOON, alice, alice, bob);
+
+        assertEquals(1, countStatementsWhileRendering(() -> List.of(eventRepository.findWithPeopleById(party.getId()).orElseThrow())));
+    }
+
+    // Loads events and touches everything the events, event details and calendar pages render
+    @Test
+    void addAndRemoveAttendees_onlyTouchTheGivenUsers() {
+        User carol = persistUser("carol");
+        Event party = persistEvent("Party", NOON, alice, alice, bob);
+        entityManager.flush();
+
+        // Adding an existing attendee is skipped rather than failing on the primary key
+        eventRepository.addAttendees(party.getId(), List.of(bob.getId(), carol.getId()));
+        assertEquals(1, eventRepository.removeAttendees(party.getId(), List.of(alice.getId())));
+        assertEquals(0, eventRepository.removeAttendees(party.getId(), List.of(alice.getId())));
+
+        assertEquals(List.of(bob.getId(), carol.getId()),
+            eventRepository.findAttendeeIds(party.getId()).stream().sorted().toList());
+        assertTrue(eventRepository.isAttendee(party.getId(), carol.getId()));
+        assertFalse(eventRepository.isAttendee(party.getId(), alice.getId()));
+    }
+
+    private long countStatementsWhileRendering(Supplier<List<Event>> query) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        for (Event event : query.get()) {
+            assertNotNull(event.getUserid().getUsername());
+            event.getAttendees().forEach(attendee -> assertNotNull(attendee.getUsername()));
+        }
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void createEvents(int count) {
+        for (int i = 0; i < count; i++) {
+            persistEvent("Event " + i, NOON.plusDays(i), i % 2 == 0 ? alice : bob, alice, bob);
+        }
+    }
+
+    private Event persistEvent(String name, LocalDateTime date, User creator, User... attendees) {
+        Event event = new Event();
+        event.setName(name);
+        event.setEventDate(date);
+        event.setUserid(creator);
+        event.setHousehold(household);
+        event.getAttendees().addAll(List.of(attendees));
+        entityManager.persist(event);
+        return event;
+    }
+
+    private User persistUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("pw");
+        user.setHousehold(household);
+        entityManager.persist(user);
+        return user;
+    }
+}
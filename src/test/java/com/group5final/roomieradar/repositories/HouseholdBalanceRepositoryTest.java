@@ -0,0 +1,155 @@
+package com.group5final.roomieradar.repositories;
+
+import com.group5final.roomieradar.dto.BalanceEntry;
+import com.group5final.roomieradar.entities.Bill;
+import com.group5final.roomieradar.entities.BillSplit;
+import com.group5final.roomieradar.entities.Household;
+import com.group5final.roomieradar.entities.HouseholdBalance;
+import com.group5final.roomieradar.entities.User;
+import com.group5final.roomieradar.enums.SplitStatus;
+import com.group5final.roomieradar.repositories.HouseholdBalanceBatchRepository.Delta;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class HouseholdBalanceRepositoryTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private HouseholdBalanceRepository householdBalanceRepository;
+
+    @Autowired
+    private BillSplitRepository billSplitRepository;
+
+    private Household household;
+    private User creator;
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        household = new Household();
+        household.setName("Loft");
+        household.setPassword("secret");
+        entityManager.persist(household);
+
+        creator = persistUser("creator");
+        alice = persistUser("alice");
+        bob = persistUser("bob");
+    }
+
+    @Test
+    void applyDeltas_insertsThenAccumulates() {
+        Long h = household.getId();
+        entityManager.flush();
+
+        householdBalanceRepository.applyDeltas(List.of(
+                new Delta(h, alice.getId(), creator.getId(), new BigDecimal("10.00"), BigDecimal.ZERO)));
+        householdBalanceRepository.applyDeltas(List.of(
+                new Delta(h, alice.getId(), creator.getId(), new BigDecimal("-4.00"), new BigDecimal("4.00")),
+                new Delta(h, bob.getId(), creator.getId(), new BigDecimal("2.50"), BigDecimal.ZERO)));
+        entityManager.clear();
+
+        List<HouseholdBalance> rows = sorted(householdBalanceRepository.findByHouseholdId(h));
+        assertEquals(2, rows.size());
+        assertAmounts(rows.get(0), alice, "6.00", "4.00");
+        assertAmounts(rows.get(1), bob, "2.50", "0.00");
+    }
+
+    @Test
+    void rebuildFromSplits_matchesAggregateOfOutstandingSplits() {
+        bill(SplitStatus.UNPAID, SplitStatus.PENDING_APPROVAL);
+        bill(SplitStatus.PAID, SplitStatus.UNPAID);
+        entityManager.flush();
+        Long h = household.getId();
+
+        householdBalanceRepository.deleteByHouseholdId(h);
+        householdBalanceRepository.rebuildFromSplits(h);
+        entityManager.clear();
+
+        List<HouseholdBalance> rows = sorted(householdBalanceRepository.findByHouseholdId(h));
+        assertEquals(2, rows.size());
+        assertAmounts(rows.get(0), alice, "10.00", "0.00");
+        assertAmounts(rows.get(1), bob, "10.00", "10.00");
+
+        List<BalanceEntry> expected = billSplitRepository.aggregateOutstanding(h).stream()
+                .sorted(Comparator.comparing(BalanceEntry::getDebtorId)).toList();
+        assertEquals(rows.size(), expected.size());
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(rows.get(i).getDebtorId(), expected.get(i).getDebtorId());
+            assertEquals(0, rows.get(i).getUnpaidAmount().compareTo(expected.get(i).getUnpaidAmount()));
+            assertEquals(0, rows.get(i).getPendingAmount().compareTo(expected.get(i).getPendingAmount()));
+        }
+    }
+
+    @Test
+    void lockByHouseholdId_returnsTheHouseholdsRows() {
+        Long h = household.getId();
+        entityManager.flush();
+        householdBalanceRepository.applyDeltas(List.of(
+                new Delta(h, alice.getId(), creator.getId(), new BigDecimal("3.00"), BigDecimal.ZERO),
+                new Delta(h + 1, bob.getId(), creator.getId(), new BigDecimal("1.00"), BigDecimal.ZERO)));
+        entityManager.clear();
+
+        List<HouseholdBalance> locked = householdBalanceRepository.lockByHouseholdId(h);
+
+        assertEquals(1, locked.size());
+        assertAmounts(locked.get(0), alice, "3.00", "0.00");
+    }
+
+    // Creates a bill by the creator with a paid creator split and the given statuses for alice and bob
+    private void bill(SplitStatus aliceStatus, SplitStatus bobStatus) {
+        Bill bill = new Bill();
+        bill.setName("Bill");
+        bill.setAmount(BigDecimal.valueOf(30));
+        bill.setHousehold(household);
+        bill.setCreatedBy(creator);
+        bill.getSplits().add(split(bill, creator, SplitStatus.UNPAID));
+        bill.getSplits().add(split(bill, alice, aliceStatus));
+        bill.getSplits().add(split(bill, bob, bobStatus));
+        entityManager.persist(bill);
+    }
+
+    private BillSplit split(Bill bill, User user, SplitStatus status) {
+        BillSplit split = new BillSplit();
+        split.setBill(bill);
+        split.setUser(user);
+        split.setSplitAmount(BigDecimal.TEN);
+        split.setStatus(status);
+        return split;
+    }
+
+    private void assertAmounts(HouseholdBalance row, User debtor, String unpaid, String pending) {
+        assertEquals(debtor.getId(), row.getDebtorId());
+        assertEquals(creator.getId(), row.getCreditorId());
+        assertEquals(0, new BigDecimal(unpaid).compareTo(row.getUnpaidAmount()));
+        assertEquals(0, new BigDecimal(pending).compareTo(row.getPendingAmount()));
+    }
+
+    private List<HouseholdBalance> sorted(List<HouseholdBalance> rows) {
+        return rows.stream().sorted(Comparator.comparing(HouseholdBalance::getDebtorId)).toList();
+    }
+
+    private User persistUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("pw");
+        user.setHousehold(household);
+        entityManager.persist(user);
+        return user;
+    }
+}
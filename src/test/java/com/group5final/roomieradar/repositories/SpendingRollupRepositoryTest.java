@@ -0,0 +1,127 @@
+package com.group5final.roomieradar.repositories;
+
+import com.group5final.roomieradar.entities.Bill;
+import com.group5final.roomieradar.entities.BillSplit;
+import com.group5final.roomieradar.entities.Household;
+import com.group5final.roomieradar.entities.SpendingRollup;
+import com.group5final.roomieradar.entities.User;
+import com.group5final.roomieradar.enums.SplitStatus;
+import com.group5final.roomieradar.repositories.SpendingRollupBatchRepository.Delta;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SpendingRollupRepositoryTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private SpendingRollupRepository spendingRollupRepository;
+
+    private Household household;
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        household = new Household();
+        household.setName("Loft");
+        household.setPassword("secret");
+        entityManager.persist(household);
+
+        alice = persistUser("alice");
+        bob = persistUser("bob");
+    }
+
+    @Test
+    void applyDeltas_insertsThenAccumulates() {
+        Long h = household.getId();
+        entityManager.flush();
+
+        spendingRollupRepository.applyDeltas(List.of(
+                new Delta(h, 202503, alice.getId(), new BigDecimal("10.00"), BigDecimal.ZERO, BigDecimal.ZERO)));
+        spendingRollupRepository.applyDeltas(List.of(
+                new Delta(h, 202503, alice.getId(), new BigDecimal("-4.00"), BigDecimal.ZERO, new BigDecimal("4.00")),
+                new Delta(h, 202504, bob.getId(), new BigDecimal("2.50"), BigDecimal.ZERO, BigDecimal.ZERO)));
+        entityManager.clear();
+
+        List<SpendingRollup> rows = spendingRollupRepository.findByHouseholdIdAndPeriodBetween(h, 202501, 202512);
+        assertEquals(2, rows.size());
+        assertRow(rows.get(0), 202503, alice, "6.00", "0.00", "4.00");
+        assertRow(rows.get(1), 202504, bob, "2.50", "0.00", "0.00");
+        assertTrue(spendingRollupRepository.findByHouseholdIdAndPeriodBetween(h, 202504, 202504).stream()
+                .allMatch(r -> r.getPeriod() == 202504));
+    }
+
+    @Test
+    void rebuildFromSplits_groupsDatedSplitsByMonthMemberAndStatus() {
+        bill(LocalDateTime.of(2025, 3, 1, 0, 0), SplitStatus.UNPAID, SplitStatus.PAID);
+        bill(LocalDateTime.of(2025, 3, 31, 23, 59), SplitStatus.PENDING_APPROVAL, SplitStatus.PAID);
+        bill(LocalDateTime.of(2025, 4, 1, 0, 0), SplitStatus.UNPAID, SplitStatus.UNPAID);
+        bill(null, SplitStatus.UNPAID, SplitStatus.UNPAID);
+        entityManager.flush();
+        Long h = household.getId();
+
+        spendingRollupRepository.deleteByHouseholdId(h);
+        spendingRollupRepository.rebuildFromSplits(h);
+        entityManager.clear();
+
+        List<SpendingRollup> rows = spendingRollupRepository.findByHouseholdIdAndPeriodBetween(h, 202501, 202512);
+        assertEquals(4, rows.size());
+        assertRow(rows.get(0), 202503, alice, "10.00", "10.00", "0.00");
+        assertRow(rows.get(1), 202503, bob, "0.00", "0.00", "20.00");
+        assertRow(rows.get(2), 202504, alice, "10.00", "0.00", "0.00");
+        assertRow(rows.get(3), 202504, bob, "10.00", "0.00", "0.00");
+    }
+
+    private void bill(LocalDateTime dueDate, SplitStatus aliceStatus, SplitStatus bobStatus) {
+        Bill bill = new Bill();
+        bill.setName("Bill");
+        bill.setAmount(BigDecimal.valueOf(20));
+        bill.setDueDate(dueDate);
+        bill.setHousehold(household);
+        bill.setCreatedBy(alice);
+        bill.getSplits().add(split(bill, alice, aliceStatus));
+        bill.getSplits().add(split(bill, bob, bobStatus));
+        entityManager.persist(bill);
+    }
+
+    private BillSplit split(Bill bill, User user, SplitStatus status) {
+        BillSplit split = new BillSplit();
+        split.setBill(bill);
+        split.setUser(user);
+        split.setSplitAmount(BigDecimal.TEN);
+        split.setStatus(status);
+        return split;
+    }
+
+    private void assertRow(SpendingRollup row, int period, User user, String unpaid, String pending, String paid) {
+        assertEquals(period, row.getPeriod());
+        assertEquals(user.getId(), row.getUserId());
+        assertEquals(0, new BigDecimal(unpaid).compareTo(row.getUnpaidAmount()));
+        assertEquals(0, new BigDecimal(pending).compareTo(row.getPendingAmount()));
+        assertEquals(0, new BigDecimal(paid).compareTo(row.getPaidAmount()));
+    }
+
+    private User persistUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("pw");
+        user.setHousehold(household);
+        entityManager.persist(user);
+        return user;
+    }
+}
@@ -0,0 +1,55 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.entities.Household;
+import com.group5final.roomieradar.repositories.HouseholdRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.PessimisticLockingFailureException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceLedgerRebuildJobTest {
+
+    @Mock
+    private BalanceLedgerService balanceLedgerService;
+
+    @Mock
+    private HouseholdRepository householdRepository;
+
+    @InjectMocks
+    private BalanceLedgerRebuildJob job;
+
+    @Test
+    void verifyAndRepair_countsOnlyRebuiltHouseholds() {
+        when(householdRepository.findAll()).thenReturn(List.of(household(1L), household(2L)));
+        when(balanceLedgerService.repair(1L)).thenReturn(List.of());
+        when(balanceLedgerService.repair(2L)).thenReturn(List.of("debtor 3 -> creditor 4"));
+
+        assertEquals(1, job.verifyAndRepair());
+    }
+
+    @Test
+    void verifyAndRepair_failingHousehold_doesNotStopTheOthers() {
+        when(householdRepository.findAll()).thenReturn(List.of(household(1L), household(2L), household(3L)));
+        when(balanceLedgerService.repair(1L)).thenReturn(List.of("debtor 3 -> creditor 4"));
+        when(balanceLedgerService.repair(2L)).thenThrow(new PessimisticLockingFailureException("lock wait timeout"));
+        when(balanceLedgerService.repair(3L)).thenReturn(List.of("debtor 5 -> creditor 6"));
+
+        assertEquals(2, job.verifyAndRepair());
+
+        verify(balanceLedgerService).repair(3L);
+    }
+
+    private static Household household(Long id) {
+        Household household = new Household();
+        household.setId(id);
+        return household;
+    }
+}
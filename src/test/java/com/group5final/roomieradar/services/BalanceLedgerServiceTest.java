@@ -0,0 +1,233 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.dto.BalanceDTO;
+import com.group5final.roomieradar.dto.BalanceEntry;
+import com.group5final.roomieradar.entities.Bill;
+import com.group5final.roomieradar.entities.BillSplit;
+import com.group5final.roomieradar.entities.Household;
+import com.group5final.roomieradar.entities.HouseholdBalance;
+import com.group5final.roomieradar.entities.User;
+import com.group5final.roomieradar.enums.SplitStatus;
+import com.group5final.roomieradar.repositories.BillSplitRepository;
+import com.group5final.roomieradar.repositories.HouseholdBalanceBatchRepository.Delta;
+import com.group5final.roomieradar.repositories.HouseholdBalanceRepository;
+import com.group5final.roomieradar.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceLedgerServiceTest {
+
+    @Mock
+    private HouseholdBalanceRepository householdBalanceRepository;
+
+    @Mock
+    private BillSplitRepository billSplitRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private BalanceLedgerService ledger;
+
+    private Household household;
+    private User creator;
+    private User alice;
+    private Bill bill;
+
+    @BeforeEach
+    void setUp() {
+        household = new Household();
+        household.setId(1L);
+        creator = user(10L, "creator");
+        alice = user(11L, "alice");
+        bill = new Bill();
+        bill.setHousehold(household);
+        bill.setCreatedBy(creator);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordSplitsCreated_skipsCreatorsOwnSplit_andBatchesTheRest() {
+        User bob = user(12L, "bob");
+        List<BillSplit> splits = List.of(split(creator, "5.00", SplitStatus.UNPAID),
+                split(alice, "5.00", SplitStatus.UNPAID), split(bob, "5.00", SplitStatus.UNPAID));
+
+        ledger.recordSplitsCreated(splits);
+
+        ArgumentCaptor<List<Delta>> captor = ArgumentCaptor.forClass(List.class);
+        verify(householdBalanceRepository, times(1)).applyDeltas(captor.capture());
+        assertEquals(List.of(
+                new Delta(1L, 11L, 10L, new BigDecimal("5.00"), BigDecimal.ZERO),
+                new Delta(1L, 12L, 10L, new BigDecimal("5.00"), BigDecimal.ZERO)), captor.getValue());
+    }
+
+    @Test
+    void recordTransition_settled_movesAmountFromUnpaidToPending() {
+        BillSplit split = split(alice, "7.50", SplitStatus.PENDING_APPROVAL);
+
+        ledger.recordTransition(List.of(split), SplitStatus.UNPAID, SplitStatus.PENDING_APPROVAL);
+
+        verify(householdBalanceRepository).applyDeltas(List.of(
+                new Delta(1L, 11L, 10L, new BigDecimal("-7.50"), new BigDecimal("7.50"))));
+    }
+
+    @Test
+    void recordTransition_approved_removesPendingAmount() {
+        ledger.recordTransition(List.of(split(alice, "7.50", SplitStatus.PAID)), SplitStatus.PENDING_APPROVAL, SplitStatus.PAID);
+
+        verify(householdBalanceRepository).applyDeltas(List.of(
+                new Delta(1L, 11L, 10L, BigDecimal.ZERO, new BigDecimal("-7.50"))));
+    }
+
+    @Test
+    void recordBillDeleted_removesOutstandingByStatus_andMergesPairs() {
+        Bill other = new Bill();
+        other.setHousehold(household);
+        other.setCreatedBy(creator);
+        BillSplit unpaid = split(alice, "3.00", SplitStatus.UNPAID);
+        BillSplit pending = split(alice, "2.00", SplitStatus.PENDING_APPROVAL);
+        pending.setBill(other);
+        BillSplit paid = split(alice, "9.00", SplitStatus.PAID);
+
+        ledger.recordBillDeleted(List.of(unpaid, pending, paid));
+
+        verify(householdBalanceRepository).applyDeltas(List.of(
+                new Delta(1L, 11L, 10L, new BigDecimal("-3.00"), new BigDecimal("-2.00"))));
+    }
+
+    @Test
+    void recordSplitsCreated_billWithoutCreator_changesNothing() {
+        bill.setCreatedBy(null);
+        ledger.recordSplitsCreated(List.of(split(alice, "1.00", SplitStatus.UNPAID)));
+        verifyNoInteractions(householdBalanceRepository);
+    }
+
+    @Test
+    void getNetBalances_offsetsOppositeDebts() {
+        when(householdBalanceRepository.findByHouseholdId(1L)).thenReturn(List.of(
+                balance(11L, 10L, "30.00", "5.00"),
+                balance(10L, 11L, "10.00", "0.00"),
+                balance(12L, 10L, "0.00", "0.00")));
+        when(userRepository.findByHouseholdId(1L)).thenReturn(List.of(creator, alice));
+
+        List<BalanceDTO> res = ledger.getNetBalances(1L);
+
+        assertEquals(1, res.size());
+        assertEquals(11L, res.get(0).getFromUserId());
+        assertEquals("creator", res.get(0).getToUsername());
+        assertEquals(0, new BigDecimal("25.00").compareTo(res.get(0).getAmount()));
+    }
+
+    @Test
+    void getSettlementPlan_routesPaymentsAroundIntermediateCreditors() {
+        User bob = user(12L, "bob");
+        // alice owes bob 20, bob owes the creator 20: alice can pay the creator directly
+        HouseholdBalance aliceToBob = balance(11L, 12L, "15.00", "5.00");
+        HouseholdBalance bobToCreator = balance(12L, 10L, "20.00", "0.00");
+        when(householdBalanceRepository.findByHouseholdId(1L)).thenReturn(List.of(aliceToBob, bobToCreator));
+        when(userRepository.findByHouseholdId(1L)).thenReturn(List.of(creator, alice, bob));
+
+        List<BalanceDTO> plan = ledger.getSettlementPlan(1L);
+
+        assertEquals(List.of(new BalanceDTO(11L, "alice", 10L, "creator", new BigDecimal("20.00"))), plan);
+    }
+
+    @Test
+    void getSettlementPlan_settledHousehold_isEmpty() {
+        when(householdBalanceRepository.findByHouseholdId(1L)).thenReturn(List.of(balance(11L, 10L, "0.00", "0.00")));
+
+        assertTrue(ledger.getSettlementPlan(1L).isEmpty());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void findDiscrepancies_reportsDriftedAndMissingPairs() {
+        when(billSplitRepository.aggregateOutstanding(1L)).thenReturn(List.of(
+                new BalanceEntry(11L, 10L, new BigDecimal("5.00"), BigDecimal.ZERO),
+                new BalanceEntry(12L, 10L, new BigDecimal("1.00"), BigDecimal.ZERO)));
+        when(householdBalanceRepository.findByHouseholdId(1L)).thenReturn(List.of(
+                balance(11L, 10L, "5", "0"),
+                balance(13L, 10L, "0", "0")));
+
+        List<String> res = ledger.findDiscrepancies(1L);
+
+        assertEquals(1, res.size());
+        assertTrue(res.get(0).startsWith("debtor 12 -> creditor 10"));
+    }
+
+    @Test
+    void rebuild_locksTheLedgerThenRecomputes() {
+        ledger.rebuild(1L);
+
+        var inOrder = inOrder(householdBalanceRepository);
+        inOrder.verify(householdBalanceRepository).lockByHouseholdId(1L);
+        inOrder.verify(householdBalanceRepository).deleteByHouseholdId(1L);
+        inOrder.verify(householdBalanceRepository).rebuildFromSplits(1L);
+    }
+
+    @Test
+    void repair_checksUnderTheLockAndRebuildsOnlyWhenInconsistent() {
+        when(billSplitRepository.aggregateOutstanding(1L)).thenReturn(List.of(
+                new BalanceEntry(11L, 10L, new BigDecimal("5.00"), BigDecimal.ZERO)));
+        when(householdBalanceRepository.findByHouseholdId(1L)).thenReturn(List.of());
+
+        assertEquals(1, ledger.repair(1L).size());
+
+        var inOrder = inOrder(householdBalanceRepository, billSplitRepository);
+        inOrder.verify(householdBalanceRepository).lockByHouseholdId(1L);
+        inOrder.verify(billSplitRepository).aggregateOutstanding(1L);
+        inOrder.verify(householdBalanceRepository).deleteByHouseholdId(1L);
+        inOrder.verify(householdBalanceRepository).rebuildFromSplits(1L);
+    }
+
+    @Test
+    void repair_consistentLedger_isLeftAlone() {
+        when(billSplitRepository.aggregateOutstanding(1L)).thenReturn(List.of(
+                new BalanceEntry(11L, 10L, new BigDecimal("5.00"), BigDecimal.ZERO)));
+        when(householdBalanceRepository.findByHouseholdId(1L)).thenReturn(List.of(balance(11L, 10L, "5", "0")));
+
+        assertTrue(ledger.repair(1L).isEmpty());
+
+        verify(householdBalanceRepository, never()).deleteByHouseholdId(any());
+        verify(householdBalanceRepository, never()).rebuildFromSplits(any());
+    }
+
+    private BillSplit split(User user, String amount, SplitStatus status) {
+        BillSplit split = new BillSplit();
+        split.setBill(bill);
+        split.setUser(user);
+        split.setSplitAmount(new BigDecimal(amount));
+        split.setStatus(status);
+        return split;
+    }
+
+    private HouseholdBalance balance(Long debtorId, Long creditorId, String unpaid, String pending) {
+        HouseholdBalance b = new HouseholdBalance();
+        b.setHouseholdId(1L);
+        b.setDebtorId(debtorId);
+        b.setCreditorId(creditorId);
+        b.setUnpaidAmount(new BigDecimal(unpaid));
+        b.setPendingAmount(new BigDecimal(pending));
+        return b;
+    }
+
+    private User user(Long id, String username) {
+        User u = new User();
+        u.setId(id);
+        u.setUsername(username);
+        u.setHousehold(household);
+        return u;
+    }
+}
@@ -0,0 +1,127 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.entities.Household;
+import com.group5final.roomieradar.entities.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.OutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exports half a million splits with a heap far smaller than the export would need if it were
+ * materialized. Surefire runs this class in its own JVM with a small {@code -Xmx} (see the
+ * {@code constrained-heap-tests} execution in the pom), so buffering the rows fails with an
+ * {@link OutOfMemoryError}.
+ * <p>
+ * The data lives in a file database with a small page cache so it does not count against the heap.
+ * </p>
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(BillExportService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:file:./target/h2/bill-export-heap;MODE=MySQL;"
+        + "DATABASE_TO_LOWER=FALSE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;NON_KEYWORDS=USER,VALUE,MONTH;CACHE_SIZE=4096;"
+        + "INIT=CREATE SCHEMA IF NOT EXISTS roomieRadarData\\\\;SET SCHEMA roomieRadarData")
+class BillExportHeapTest {
+
+    private static final int BILLS = 125_000;
+    private static final int MEMBERS = 4;
+
+    @Autowired
+    private BillExportService billExportService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Seeded once and committed; the schema is dropped with the context
+    private static Household household;
+
+    @BeforeEach
+    void setUp() {
+        if (household != null) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> seed());
+    }
+
+    private void seed() {
+        household = new Household();
+        household.setName("Big house");
+        household.setPassword("secret");
+        entityManager.persist(household);
+        User creator = null;
+        for (int i = 0; i < MEMBERS; i++) {
+            User user = new User();
+            user.setUsername("member" + i);
+            user.setEmail("member" + i + "@example.com");
+            user.setPassword("pw");
+            user.setHousehold(household);
+            entityManager.persist(user);
+            if (creator == null) creator = user;
+        }
+        entityManager.flush();
+
+        // Generated in the database so the fixture itself never sits on the heap
+        jdbcTemplate.update("INSERT INTO bill (amount, name, description, dueDate, householdId, createdById, version) " +
+                "SELECT 40.00, CONCAT('Bill ', X), 'Synthetic bill for the export test', " +
+                "DATEADD('DAY', X, TIMESTAMP '2020-01-01 00:00:00'), ?, ?, 0 FROM SYSTEM_RANGE(1, ?)",
+                household.getId(), creator.getId(), BILLS);
+        jdbcTemplate.update("INSERT INTO bill_split (billId, userId, splitAmount, status, version) " +
+                "SELECT b.id, u.id, 10.00, 'UNPAID', 0 FROM bill b JOIN `user` u ON u.householdId = b.householdId " +
+                "WHERE b.householdId = ?", household.getId());
+    }
+
+    @Test
+    void exportCsv_halfAMillionSplits_runsInConstantHeap() throws Exception {
+        CountingOutputStream out = new CountingOutputStream();
+
+        long rows = billExportService.exportCsv(household.getId(), out);
+
+        assertEquals((long) BILLS * MEMBERS, rows);
+        assertTrue(out.bytes > rows * 50, "wrote " + out.bytes + " bytes");
+    }
+
+    @Test
+    void exportJson_halfAMillionSplits_runsInConstantHeap() throws Exception {
+        CountingOutputStream out = new CountingOutputStream();
+
+        long bills = billExportService.exportJson(household.getId(), out);
+
+        assertEquals(BILLS, bills);
+        assertTrue(out.bytes > (long) BILLS * MEMBERS * 50, "wrote " + out.bytes + " bytes");
+    }
+
+    // Discards the export, keeping only its size
+    private static class CountingOutputStream extends OutputStream {
+        long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.group5final.roomieradar.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.group5final.roomieradar.entities.Bill;
+import com.group5final.roomieradar.entities.BillSplit;
+import com.group5final.roomieradar.entities.Household;
+import com.group5final.roomieradar.entities.User;
+import com.group5final.roomieradar.enums.SplitStatus;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(BillExportService.class)
+class BillExportServiceTest {
+
+    @Autowired
+    private BillExportService billExportService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Household household;
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        household = new Household();
+        household.setName("Loft");
+        household.setPassword("secret");
+        entityManager.persist(household);
+        alice = persistUser("alice");
+        bob = persistUser("bob");
+
+        Bill groceries = persistBill("Groceries, \"bulk\"", "30", LocalDateTime.of(2025, 2, 1, 9, 0));
+        persistSplit(groceries, alice, "15.00", SplitStatus.PAID);
+        persistSplit(groceries, bob, "15.00", SplitStatus.UNPAID);
+        persistBill("Deposit", "100", null);
+
+        Household other = new Household();
+        other.setName("Other");
+        other.setPassword("secret");
+        entityManager.persist(other);
+        Bill foreign = new Bill();
+        foreign.setName("Not ours");
+        foreign.setAmount(BigDecimal.ONE);
+        foreign.setHousehold(other);
+        entityManager.persist(foreign);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void exportCsv_writesOneRowPerSplit_andQuotesFields() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = billExportService.exportCsv(household.getId(), out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(3, rows);
+        assertEquals(4, lines.size());
+        assertEquals(BillExportService.CSV_HEADER, lines.get(0));
+        assertTrue(lines.get(1).contains(",\"Groceries, \"\"bulk\"\"\",30,,2025-02-01T09:00,alice,"));
+        assertTrue(lines.get(1).endsWith(",alice,15.00,PAID"));
+        assertTrue(lines.get(2).endsWith(",bob,15.00,UNPAID"));
+        assertTrue(lines.get(3).endsWith(",Deposit,100,,,alice,,,,"));
+    }
+
+    @Test
+    void exportJson_nestsSplitsUnderTheirBill() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long bills = billExportService.exportJson(household.getId(), out);
+
+        JsonNode json = new ObjectMapper().readTree(out.toByteArray());
+        assertEquals(2, bills);
+        assertEquals(2, json.size());
+        assertEquals("Groceries, \"bulk\"", json.get(0).get("name").asText());
+        assertEquals(2, json.get(0).get("splits").size());
+        assertEquals("bob", json.get(0).get("splits").get(1).get("user").asText());
+        assertEquals(0, new BigDecimal("15.00").compareTo(json.get(0).get("splits").get(1).get("amount").decimalValue()));
+        assertTrue(json.get(1).get("dueDate").isNull());
+        assertEquals(0, json.get(1).get("splits").size());
+    }
+
+    @Test
+    void export_loadsNoEntities() throws Exception {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        billExportService.exportCsv(household.getId(), new ByteArrayOutputStream());
+
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private Bill persistBill(String name, String amount, LocalDateTime dueDate) {
+        Bill bill = new Bill();
+        bill.setName(name);
+        bill.setAmount(new BigDecimal(amount));
+        bill.setDueDate(dueDate);
+        bill.setHousehold(household);
+        bill.setCreatedBy(alice);
+        entityManager.persist(bill);
+        return bill;
+    }
+
+    private void persistSplit(Bill bill, User user, String amount, SplitStatus status) {
+        BillSplit split = new BillSplit();
+        split.setBill(bill);
+        split.setUser(user);
+        split.setSplitAmount(new BigDecimal(amount));
+        split.setStatus(status);
+        entityManager.persist(split);
+    }
+
+    private User persistUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("pw");
+        user.setHousehold(household);
+        entityManager.persist(user);
+        return user;
+    }
+}
@@ -0,0 +1,196 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.dto.BillImportError;
+import com.group5final.roomieradar.dto.BillImportResult;
+import com.group5final.roomieradar.entities.Bill;
+import com.group5final.roomieradar.entities.BillSplit;
+import com.group5final.roomieradar.entities.Household;
+import com.group5final.roomieradar.entities.HouseholdBalance;
+import com.group5final.roomieradar.entities.SpendingRollup;
+import com.group5final.roomieradar.entities.User;
+import com.group5final.roomieradar.enums.DomainEventType;
+import com.group5final.roomieradar.repositories.BillRepository;
+import com.group5final.roomieradar.repositories.BillSplitRepository;
+import com.group5final.roomieradar.repositories.DomainEventOutboxRepository;
+import com.group5final.roomieradar.repositories.HouseholdBalanceRepository;
+import com.group5final.roomieradar.repositories.SpendingRollupRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({BillImportService.class, BillService.class, BalanceLedgerService.class, SpendingRollupService.class,
+        DomainEventPublisher.class, CurrentUserService.class})
+class BillImportServiceTest {
+
+    @Autowired
+    private BillImportService billImportService;
+
+    @Autowired
+    private BillRepository billRepository;
+
+    @Autowired
+    private BillSplitRepository billSplitRepository;
+
+    @Autowired
+    private HouseholdBalanceRepository householdBalanceRepository;
+
+    @Autowired
+    private SpendingRollupRepository spendingRollupRepository;
+
+    @Autowired
+    private DomainEventOutboxRepository domainEventOutboxRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Household household;
+    private User alice;
+    private User bob;
+    private User carol;
+
+    @BeforeEach
+    void setUp() {
+        household = new Household();
+        household.setName("Loft");
+        household.setPassword("secret");
+        entityManager.persist(household);
+        alice = persistUser("alice", household);
+        bob = persistUser("bob", household);
+        carol = persistUser("carol", household);
+
+        Household other = new Household();
+        other.setName("Other");
+        other.setPassword("secret");
+        entityManager.persist(other);
+        persistUser("mallory", other);
+        entityManager.flush();
+    }
+
+    @Test
+    void importCsv_importsValidRows_andReportsInvalidOnes() throws Exception {
+        String csv = """
+            name,amount,due_date,description,members,split_mode,split_values
+            Rent,900,2025-03-01,March rent,,,
+            Groceries,10.00,2025-03-02T18:30,"Milk, eggs",alice;Bob,,
+            Internet,50,,,alice;bob;carol,PERCENTAGE,50;25;25
+            Broken,abc,,,,,
+            Outsider,10,,,alice;mallory,,
+            Late,10,03/04/2025,,,,
+            Uneven,10,,,alice;bob,PERCENTAGE,60;30
+
+            Cleaner,30,,,bob;carol,SHARES,2;1
+            """;
+
+        BillImportResult result = billImportService.importCsv(stream(csv), alice);
+
+        assertEquals(8, result.getRowsRead());
+        assertEquals(4, result.getBillsImported());
+        assertEquals(4, result.getRowsRejected());
+        assertEquals(List.of(
+            new BillImportError(5, "Invalid amount: abc"),
+            new BillImportError(6, "Not a household member: mallory"),
+            new BillImportError(7, "Invalid due date: 03/04/2025"),
+            new BillImportError(8, "Percentages must add up to 100%")), result.getErrors());
+
+        List<Bill> bills = StreamSupport.stream(billRepository.findAll().spliterator(), false)
+            .sorted(Comparator.comparing(Bill::getId)).toList();
+        assertEquals(List.of("Rent", "Groceries", "Internet", "Cleaner"), bills.stream().map(Bill::getName).toList());
+        assertEquals(LocalDateTime.of(2025, 3, 1, 0, 0), bills.get(0).getDueDate());
+        assertEquals("Milk, eggs", bills.get(1).getDescription());
+        bills.forEach(bill -> assertEquals(alice.getId(), bill.getCreatedBy().getId()));
+
+        List<BillSplit> cleaner = billSplitRepository.findByBillId(bills.get(3).getId());
+        assertEquals(2, cleaner.size());
+        assertEquals(0, new BigDecimal("20.00").compareTo(amountOf(cleaner, bob)));
+        assertEquals(0, new BigDecimal("10.00").compareTo(amountOf(cleaner, carol)));
+
+        // Everything except alice's own shares is owed to her: 600 + 5 + 25 + 30
+        BigDecimal owed = householdBalanceRepository.findByHouseholdId(household.getId()).stream()
+            .map(HouseholdBalance::getUnpaidAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(0, new BigDecimal("660.00").compareTo(owed));
+
+        // Only Rent and Groceries have a due date, both in March 2025
+        BigDecimal march = spendingRollupRepository.findByHouseholdIdAndPeriodBetween(household.getId(), 202503, 202503)
+            .stream().map(SpendingRollup::getUnpaidAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(0, new BigDecimal("910.00").compareTo(march));
+    }
+
+    @Test
+    void importCsv_unknownColumn_rejectsFile() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+            () -> billImportService.importCsv(stream("name,amount,colour\nRent,10,red\n"), alice));
+
+        assertEquals("Unknown column: colour", ex.getMessage());
+    }
+
+    @Test
+    void importCsv_userWithoutHousehold_throws() {
+        User loner = new User();
+        loner.setUsername("loner");
+
+        assertThrows(IllegalStateException.class, () -> billImportService.importCsv(stream("name,amount\n"), loner));
+    }
+
+    @Test
+    void importCsv_largeFile_writesOneTransactionPerChunk() throws Exception {
+        ReflectionTestUtils.setField(billImportService, "chunkSize", 1000);
+        int rows = 2_500;
+        StringBuilder csv = new StringBuilder("name,amount,due_date,members,split_mode,split_values\n");
+        for (int i = 0; i < rows; i++) {
+            switch (i % 3) {
+                case 0 -> csv.append("Bill ").append(i).append(",100.00,2025-01-01,,,\n");
+                case 1 -> csv.append("Bill ").append(i).append(",33.33,2025-01-02,alice;bob,,\n");
+                default -> csv.append("Bill ").append(i).append(",50,,bob;carol,PERCENTAGE,70;30\n");
+            }
+        }
+
+        BillImportResult result = billImportService.importCsv(stream(csv.toString()), alice);
+
+        assertEquals(rows, result.getRowsRead());
+        assertEquals(rows, result.getBillsImported());
+        assertEquals(0, result.getRowsRejected());
+        assertEquals(rows, billRepository.count());
+        assertEquals(834 * 3 + 833 * 2 + 833 * 2, billSplitRepository.count());
+        // Each chunk is written and announced once: ceil(2500 / 1000) chunks
+        long chunks = StreamSupport.stream(domainEventOutboxRepository.findAll().spliterator(), false)
+            .filter(event -> event.getType() == DomainEventType.BILLS_IMPORTED).count();
+        assertEquals(3, chunks);
+    }
+
+    private static BigDecimal amountOf(List<BillSplit> splits, User user) {
+        return splits.stream().filter(s -> s.getUser().getId().equals(user.getId()))
+            .findFirst().orElseThrow().getSplitAmount();
+    }
+
+    private static InputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private User persistUser(String username, Household household) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("pw");
+        user.setHousehold(household);
+        entityManager.persist(user);
+        return user;
+    }
+}
@@ -1,10 +1,14 @@
 // java
 package com.group5final.roomieradar.services;
 
+import com.group5final.roomieradar.dto.BillPage;
+import com.group5final.roomieradar.dto.BillSearchCriteria;
 import com.group5final.roomieradar.entities.Bill;
 import com.group5final.roomieradar.entities.BillSplit;
 import com.group5final.roomieradar.entities.Household;
 import com.group5final.roomieradar.entities.User;
+import com.group5final.roomieradar.enums.DomainEventType;
+import com.group5final.roomieradar.enums.SplitMode;
 import com.group5final.roomieradar.enums.SplitStatus;
 import com.group5final.roomieradar.repositories.BillRepository;
 import com.group5final.roomieradar.repositories.BillSplitRepository;
@@ -16,11 +20,17 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static java.util.Arrays.asList;
 import static org.junit.jupiter.api.Assertions.*;
@@ -41,11 +51,24 @@ class BillServiceTest {
     @Mock
     private CurrentUserService currentUserService;
 
+    @Mock
+    private BalanceLedgerService balanceLedgerService;
+
+    @Mock
+    private SpendingRollupService spendingRollupService;
+
+    @Mock
+    private DomainEventPublisher domainEventPublisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private BillService billService;
 
     private User currentUser;
     private Household household;
+    private Bill householdBill;
 
     @BeforeEach
     void setUp() {
@@ -55,6 +78,13 @@ class BillServiceTest {
         currentUser = new User();
         currentUser.setId(1L);
         currentUser.setHousehold(household);
+
+        householdBill = new Bill();
+        householdBill.setId(50L);
+        householdBill.setHousehold(household);
+
+        lenient().when(transactionTemplate.execute(any()))
+            .thenAnswer(i -> i.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
     }
 
     @Test
@@ -77,7 +107,33 @@ class BillServiceTest {
         assertNotNull(result);
         assertEquals(10L, result.getId());
         verify(billRepository, times(1)).save(any(Bill.class));
-        verify(billSplitRepository, times(members.size())).save(any(BillSplit.class));
+        verify(billSplitRepository, never()).save(any(BillSplit.class));
+        verify(billSplitRepository, times(1)).insertAll(argThat(splits -> splits.size() == members.size()));
+        verify(balanceLedgerService).recordSplitsCreated(argThat(splits -> splits.size() == members.size()));
+        verify(spendingRollupService).recordSplitsCreated(argThat(splits -> splits.size() == members.size()));
+        verify(domainEventPublisher).publish(eq(DomainEventType.BILL_CREATED), eq(100L), eq(10L),
+            argThat(payload -> payload.get("memberIds").equals(List.of(2L, 3L))));
+    }
+
+    @Test
+    void createBill_largeHousehold_writesSplitsInSingleBatch() {
+        List<User> members = new java.util.ArrayList<>();
+        for (long id = 2; id < 42; id++) {
+            members.add(createUser(id, "member" + id));
+        }
+
+        when(currentUserService.getCurrentUser()).thenReturn(Optional.of(currentUser));
+        when(billRepository.save(any(Bill.class))).thenAnswer(i -> i.getArgument(0));
+        when(userRepository.findByHouseholdId(household.getId())).thenReturn(members);
+
+        billService.createBill("Building rent", BigDecimal.valueOf(4000), null, null, null, true);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BillSplit>> captor = ArgumentCaptor.forClass(List.class);
+        verify(billSplitRepository, times(1)).insertAll(captor.capture());
+        assertEquals(40, captor.getValue().size());
+        assertTrue(captor.getValue().stream().allMatch(s -> s.getSplitAmount().compareTo(BigDecimal.valueOf(100)) == 0));
+        verifyNoMoreInteractions(billSplitRepository);
     }
 
     @Test
@@ -99,17 +155,63 @@ class BillServiceTest {
         when(currentUserService.getCurrentUser()).thenReturn(Optional.of(currentUser));
         List<Long> userIds = List.of(999L);
         when(userRepository.findAllById(userIds)).thenReturn(List.of()); // empty -> triggers error
-        when(billRepository.save(any(Bill.class))).thenAnswer(i -> {
-            Bill b = i.getArgument(0);
-            b.setId(11L);
-            return b;
-        });
 
         assertThrows(IllegalArgumentException.class, () ->
                 billService.createBill("Utilities", BigDecimal.valueOf(90), null, null, userIds, false)
         );
 
+        verify(billRepository, never()).save(any());
         verify(billSplitRepository, never()).save(any());
+        verify(billSplitRepository, never()).insertAll(any());
+    }
+
+    @Test
+    void createBill_equalSplitWithLeftoverCents_sumsToAmount() {
+        when(currentUserService.getCurrentUser()).thenReturn(Optional.of(currentUser));
+        when(billRepository.save(any(Bill.class))).thenAnswer(i -> i.getArgument(0));
+        // returned out of order: leftover cents still go to the lowest ids
+        when(userRepository.findByHouseholdId(household.getId()))
+            .thenReturn(asList(createUser(4L, "carol"), createUser(2L, "alice"), createUser(3L, "bob")));
+
+        billService.createBill("Groceries", new BigDecimal("100.00"), null, null, null, true);
+
+        assertSplits(List.of(2L, 3L, 4L), List.of("33.34", "33.33", "33.33"));
+    }
+
+    @Test
+    void createBill_percentageSplit_followsRequestedUserOrder() {
+        when(currentUserService.getCurrentUser()).thenReturn(Optional.of(currentUser));
+        when(billRepository.save(any(Bill.class))).thenAnswer(i -> i.getArgument(0));
+        when(userRepository.findAllById(List.of(3L, 2L)))
+            .thenReturn(List.of(createUser(2L, "alice"), createUser(3L, "bob")));
+
+        billService.createBill("Internet", new BigDecimal("59.99"), null, null, List.of(3L, 2L), false,
+            SplitMode.PERCENTAGE, List.of(new BigDecimal("70"), new BigDecimal("30")));
+
+        assertSplits(List.of(3L, 2L), List.of("41.99", "18.00"));
+    }
+
+    @Test
+    void createBill_fixedAmountsNotMatchingTotal_throwsBeforeSaving() {
+        when(currentUserService.getCurrentUser()).thenReturn(Optional.of(currentUser));
+        when(userRepository.findAllById(List.of(2L, 3L)))
+            .thenReturn(List.of(createUser(2L, "alice"), createUser(3L, "bob")));
+
+        assertThrows(IllegalArgumentException.class, () ->
+            billService.createBill("Dinner", new BigDecimal("50.00"), null, null, List.of(2L, 3L), false,
+                SplitMode.FIXED, List.of(new BigDecimal("20.00"), new BigDecimal("20.00"))));
+
+        verify(billRepository, never()).save(any());
+        verify(billSplitRepository, never()).insertAll(any());
+    }
+
+    @Test
+    void createBill_subCentAmount_throws() {
+        when(currentUserService.getCurrentUser()).thenReturn(Optional.of(currentUser));
+        when(userRepository.findByHouseholdId(household.getId())).thenReturn(List.of(createUser(2L, "alice")));
+
+        assertThrows(IllegalArgumentException.class, () ->
+            billService.createBill("Odd", new BigDecimal("1.005"), null, null, null, true));
     }
 
     @Test
@@ -124,6 +226,78 @@ class BillServiceTest {
         verify(billRepository).findBillsByUserId(1L);
     }
 
+    @Test
+    void getBillPage_firstPage_loadsPageSizePlusOneIdsAndKeepsOrder() {
+        Bill newer = new Bill();
+        newer.setId(8L);
+        Bill older = new Bill();
+        older.setId(5L);
+        when(billRepository.findPageIds(100L, 1L, Limit.of(3))).thenReturn(List.of(8L, 5L, 2L));
+        when(billRepository.findWithSplitsByIdIn(List.of(8L, 5L))).thenReturn(List.of(older, newer));
+
+        BillPage page = billService.getBillPage(currentUser, null, 2);
+
+        assertEquals(List.of(newer, older), page.getBills());
+        assertEquals(5L, page.getNextCursor());
+    }
+
+    @Test
+    void getBillPage_afterDatedBill_seeksFromCursor() {
+        Bill cursor = new Bill();
+        cursor.setId(5L);
+        cursor.setDueDate(LocalDateTime.of(2025, 1, 1, 0, 0));
+        Bill last = new Bill();
+        last.setId(2L);
+        when(billRepository.findPageCursor(100L, 1L, 5L)).thenReturn(Optional.of(cursor));
+        when(billRepository.findPageIdsAfter(100L, 1L, cursor.getDueDate(), 5L, Limit.of(3))).thenReturn(List.of(2L));
+        when(billRepository.findWithSplitsByIdIn(List.of(2L))).thenReturn(List.of(last));
+
+        BillPage page = billService.getBillPage(currentUser, 5L, 2);
+
+        assertEquals(List.of(last), page.getBills());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getBillPage_afterUndatedBill_usesUndatedSeek() {
+        Bill cursor = new Bill();
+        cursor.setId(5L);
+        when(billRepository.findPageCursor(100L, 1L, 5L)).thenReturn(Optional.of(cursor));
+        when(billRepository.findUndatedPageIdsAfter(100L, 1L, 5L, Limit.of(3))).thenReturn(List.of());
+
+        BillPage page = billService.getBillPage(currentUser, 5L, 2);
+
+        assertTrue(page.getBills().isEmpty());
+        verify(billRepository, never()).findWithSplitsByIdIn(any());
+    }
+
+    @Test
+    void searchBills_pagesMatchingIdsInOrder() {
+        Bill newer = new Bill();
+        newer.setId(9L);
+        Bill older = new Bill();
+        older.setId(4L);
+        BillSearchCriteria criteria = new BillSearchCriteria("rent", SplitStatus.UNPAID, null, null, 1L);
+        when(billRepository.searchIds(100L, currentUser.getId(), criteria, 12L, 3)).thenReturn(List.of(9L, 4L));
+        when(billRepository.findWithSplitsByIdIn(List.of(9L, 4L))).thenReturn(List.of(older, newer));
+
+        BillPage page = billService.searchBills(currentUser, criteria, 12L, 2);
+
+        assertEquals(List.of(newer, older), page.getBills());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getBillPage_cursorOutsideUsersBills_startsAtFirstPage() {
+        when(billRepository.findPageCursor(100L, 1L, 77L)).thenReturn(Optional.empty());
+        when(billRepository.findPageIds(100L, 1L, Limit.of(21))).thenReturn(List.of());
+
+        assertTrue(billService.getBillPage(currentUser, 77L, 20).getBills().isEmpty());
+
+        verify(billRepository, never()).findById(any());
+        verify(billRepository, never()).findPageIdsAfter(any(), any(), any(), any(), any());
+    }
+
     @Test
     void getBillSplitsByBill_returnsList() {
         BillSplit s = new BillSplit();
@@ -142,15 +316,37 @@ class BillServiceTest {
         split.setId(40L);
         User debtor = createUser(2L, "debtor");
         split.setUser(debtor);
+        split.setBill(householdBill);
         split.setStatus(SplitStatus.UNPAID);
 
-        when(billSplitRepository.findById(40L)).thenReturn(Optional.of(split));
+        when(billSplitRepository.findWithBillById(40L)).thenReturn(Optional.of(split));
+        when(billSplitRepository.transitionStatus(List.of(40L), SplitStatus.UNPAID, SplitStatus.PENDING_APPROVAL))
+            .thenReturn(1);
 
         billService.settleSplit(40L, 2L);
 
-        ArgumentCaptor<BillSplit> captor = ArgumentCaptor.forClass(BillSplit.class);
-        verify(billSplitRepository).save(captor.capture());
-        assertEquals(SplitStatus.PENDING_APPROVAL, captor.getValue().getStatus());
+        verify(billSplitRepository, never()).save(any());
+        verify(balanceLedgerService).recordTransition(List.of(split), SplitStatus.UNPAID, SplitStatus.PENDING_APPROVAL);
+        verify(spendingRollupService).recordTransition(List.of(split), SplitStatus.UNPAID, SplitStatus.PENDING_APPROVAL);
+    }
+
+    @Test
+    void settleSplit_lostRace_isRetriedAndFailsStatusCheck() {
+        BillSplit stale = new BillSplit();
+        stale.setId(43L);
+        stale.setUser(createUser(2L, "debtor"));
+        stale.setStatus(SplitStatus.UNPAID);
+        BillSplit fresh = new BillSplit();
+        fresh.setId(43L);
+        fresh.setUser(stale.getUser());
+        fresh.setStatus(SplitStatus.PENDING_APPROVAL);
+        when(billSplitRepository.findWithBillById(43L)).thenReturn(Optional.of(stale), Optional.of(fresh));
+        when(billSplitRepository.transitionStatus(List.of(43L), SplitStatus.UNPAID, SplitStatus.PENDING_APPROVAL))
+            .thenReturn(0);
+
+        assertThrows(IllegalStateException.class, () -> billService.settleSplit(43L, 2L));
+        verify(transactionTemplate, times(2)).execute(any());
+        verifyNoInteractions(balanceLedgerService);
     }
 
     @Test
@@ -159,7 +355,7 @@ class BillServiceTest {
         split.setId(41L);
         split.setUser(createUser(99L, "someone"));
         split.setStatus(SplitStatus.UNPAID);
-        when(billSplitRepository.findById(41L)).thenReturn(Optional.of(split));
+        when(billSplitRepository.findWithBillById(41L)).thenReturn(Optional.of(split));
 
         assertThrows(IllegalArgumentException.class, () -> billService.settleSplit(41L, 2L));
     }
@@ -170,14 +366,14 @@ class BillServiceTest {
         split.setId(42L);
         split.setUser(createUser(2L, "debtor"));
         split.setStatus(SplitStatus.PENDING_APPROVAL);
-        when(billSplitRepository.findById(42L)).thenReturn(Optional.of(split));
+        when(billSplitRepository.findWithBillById(42L)).thenReturn(Optional.of(split));
 
         assertThrows(IllegalStateException.class, () -> billService.settleSplit(42L, 2L));
     }
 
     @Test
     void settleSplit_notFound_throws() {
-        when(billSplitRepository.findById(999L)).thenReturn(Optional.empty());
+        when(billSplitRepository.findWithBillById(999L)).thenReturn(Optional.empty());
         assertThrows(IllegalArgumentException.class, () -> billService.settleSplit(999L, 2L));
     }
 
@@ -185,20 +381,25 @@ class BillServiceTest {
     void approveSplit_success_updatesStatus() {
         Bill bill = new Bill();
         User creator = createUser(5L, "creator");
+        bill.setId(61L);
         bill.setCreatedBy(creator);
+        bill.setHousehold(household);
 
         BillSplit split = new BillSplit();
         split.setId(60L);
         split.setBill(bill);
         split.setStatus(SplitStatus.PENDING_APPROVAL);
 
-        when(billSplitRepository.findById(60L)).thenReturn(Optional.of(split));
+        when(billSplitRepository.findWithBillById(60L)).thenReturn(Optional.of(split));
+        when(billSplitRepository.transitionStatus(List.of(60L), SplitStatus.PENDING_APPROVAL, SplitStatus.PAID))
+            .thenReturn(1);
 
         billService.approveSplit(60L, 5L);
 
-        ArgumentCaptor<BillSplit> captor = ArgumentCaptor.forClass(BillSplit.class);
-        verify(billSplitRepository).save(captor.capture());
-        assertEquals(SplitStatus.PAID, captor.getValue().getStatus());
+        verify(billSplitRepository, never()).save(any());
+        verify(balanceLedgerService).recordTransition(List.of(split), SplitStatus.PENDING_APPROVAL, SplitStatus.PAID);
+        verify(domainEventPublisher).publish(DomainEventType.SPLITS_APPROVED, 100L, 61L,
+            Map.of("splitIds", List.of(60L), "status", SplitStatus.PAID));
     }
 
     @Test
@@ -209,7 +410,7 @@ class BillServiceTest {
         split.setId(61L);
         split.setBill(bill);
         split.setStatus(SplitStatus.PENDING_APPROVAL);
-        when(billSplitRepository.findById(61L)).thenReturn(Optional.of(split));
+        when(billSplitRepository.findWithBillById(61L)).thenReturn(Optional.of(split));
 
         assertThrows(IllegalArgumentException.class, () -> billService.approveSplit(61L, 5L));
     }
@@ -222,21 +423,109 @@ class BillServiceTest {
         split.setId(62L);
         split.setBill(bill);
         split.setStatus(SplitStatus.UNPAID);
-        when(billSplitRepository.findById(62L)).thenReturn(Optional.of(split));
+        when(billSplitRepository.findWithBillById(62L)).thenReturn(Optional.of(split));
 
         assertThrows(IllegalStateException.class, () -> billService.approveSplit(62L, 5L));
     }
 
     @Test
     void approveSplit_notFound_throws() {
-        when(billSplitRepository.findById(9999L)).thenReturn(Optional.empty());
+        when(billSplitRepository.findWithBillById(9999L)).thenReturn(Optional.empty());
         assertThrows(IllegalArgumentException.class, () -> billService.approveSplit(9999L, 1L));
     }
 
+    @Test
+    void settleSplits_transitionsEligibleSplitsWithOneUpdate() {
+        BillSplit unpaid = bulkSplit(80L, SplitStatus.UNPAID);
+        BillSplit alsoUnpaid = bulkSplit(81L, SplitStatus.UNPAID);
+        BillSplit alreadySettled = bulkSplit(82L, SplitStatus.PENDING_APPROVAL);
+        when(billSplitRepository.findOwedByUser(Set.of(80L, 81L, 82L), 2L))
+            .thenReturn(List.of(unpaid, alsoUnpaid, alreadySettled));
+        when(billSplitRepository.transitionStatus(List.of(80L, 81L), SplitStatus.UNPAID, SplitStatus.PENDING_APPROVAL))
+            .thenReturn(2);
+
+        int settled = billService.settleSplits(List.of(80L, 81L, 82L, 80L), 2L);
+
+        assertEquals(2, settled);
+        verify(balanceLedgerService).recordTransition(List.of(unpaid, alsoUnpaid),
+            SplitStatus.UNPAID, SplitStatus.PENDING_APPROVAL);
+        verify(billSplitRepository, never()).save(any());
+        // Both splits are on the same bill, so they are reported in one event
+        verify(domainEventPublisher).publish(DomainEventType.SPLITS_SETTLED, 100L, 50L,
+            Map.of("splitIds", List.of(80L, 81L), "status", SplitStatus.PENDING_APPROVAL));
+    }
+
+    @Test
+    void settleSplits_splitOwedBySomeoneElse_throwsWithoutUpdating() {
+        when(billSplitRepository.findOwedByUser(Set.of(80L, 81L), 2L))
+            .thenReturn(List.of(bulkSplit(80L, SplitStatus.UNPAID)));
+
+        assertThrows(IllegalArgumentException.class, () -> billService.settleSplits(List.of(80L, 81L), 2L));
+        verify(billSplitRepository, never()).transitionStatus(any(), any(), any());
+        verifyNoInteractions(balanceLedgerService);
+    }
+
+    @Test
+    void settleSplits_persistentConflict_givesUpAfterMaxAttempts() {
+        when(billSplitRepository.findOwedByUser(Set.of(80L, 81L), 2L))
+            .thenReturn(List.of(bulkSplit(80L, SplitStatus.UNPAID), bulkSplit(81L, SplitStatus.UNPAID)));
+        when(billSplitRepository.transitionStatus(List.of(80L, 81L), SplitStatus.UNPAID, SplitStatus.PENDING_APPROVAL))
+            .thenReturn(1);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> billService.settleSplits(List.of(80L, 81L), 2L));
+        verify(billSplitRepository, times(BillService.MAX_TRANSITION_ATTEMPTS))
+            .transitionStatus(List.of(80L, 81L), SplitStatus.UNPAID, SplitStatus.PENDING_APPROVAL);
+        verifyNoInteractions(balanceLedgerService);
+    }
+
+    @Test
+    void settleSplits_conflictOnFirstAttempt_retriesWithFreshStatuses() {
+        BillSplit first = bulkSplit(80L, SplitStatus.UNPAID);
+        when(billSplitRepository.findOwedByUser(Set.of(80L, 81L), 2L))
+            .thenReturn(List.of(first, bulkSplit(81L, SplitStatus.UNPAID)),
+                        List.of(first, bulkSplit(81L, SplitStatus.PENDING_APPROVAL)));
+        when(billSplitRepository.transitionStatus(List.of(80L, 81L), SplitStatus.UNPAID, SplitStatus.PENDING_APPROVAL))
+            .thenReturn(1);
+        when(billSplitRepository.transitionStatus(List.of(80L), SplitStatus.UNPAID, SplitStatus.PENDING_APPROVAL))
+            .thenReturn(1);
+
+        assertEquals(1, billService.settleSplits(List.of(80L, 81L), 2L));
+        verify(balanceLedgerService).recordTransition(List.of(first), SplitStatus.UNPAID, SplitStatus.PENDING_APPROVAL);
+    }
+
+    @Test
+    void approveSplits_transitionsPendingSplitsOnCreatorsBills() {
+        BillSplit pending = bulkSplit(90L, SplitStatus.PENDING_APPROVAL);
+        BillSplit unpaid = bulkSplit(91L, SplitStatus.UNPAID);
+        when(billSplitRepository.findOnBillsCreatedBy(Set.of(90L, 91L), 5L)).thenReturn(List.of(pending, unpaid));
+        when(billSplitRepository.transitionStatus(List.of(90L), SplitStatus.PENDING_APPROVAL, SplitStatus.PAID))
+            .thenReturn(1);
+
+        assertEquals(1, billService.approveSplits(List.of(90L, 91L), 5L));
+        verify(balanceLedgerService).recordTransition(List.of(pending), SplitStatus.PENDING_APPROVAL, SplitStatus.PAID);
+    }
+
+    @Test
+    void approveSplits_nothingEligible_issuesNoUpdate() {
+        when(billSplitRepository.findOnBillsCreatedBy(Set.of(92L), 5L))
+            .thenReturn(List.of(bulkSplit(92L, SplitStatus.PAID)));
+
+        assertEquals(0, billService.approveSplits(List.of(92L), 5L));
+        verify(billSplitRepository, never()).transitionStatus(any(), any(), any());
+    }
+
     @Test
     void deleteBill_success_callsRepository() {
         doNothing().when(billRepository).deleteById(70L);
+        BillSplit split = new BillSplit();
+        when(billSplitRepository.findByBillId(70L)).thenReturn(List.of(split));
+        when(billRepository.findHouseholdIdById(70L)).thenReturn(Optional.of(100L));
+
         billService.deleteBill(70L);
+
+        verify(balanceLedgerService).recordBillDeleted(List.of(split));
+        verify(spendingRollupService).recordBillDeleted(List.of(split));
+        verify(domainEventPublisher).publish(DomainEventType.BILL_DELETED, 100L, 70L, Map.of());
         verify(billRepository).deleteById(70L);
     }
 
@@ -247,6 +536,22 @@ class BillServiceTest {
     }
 
     // helper
+    private void assertSplits(List<Long> userIds, List<String> amounts) {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BillSplit>> captor = ArgumentCaptor.forClass(List.class);
+        verify(billSplitRepository).insertAll(captor.capture());
+        assertEquals(userIds, captor.getValue().stream().map(s -> s.getUser().getId()).toList());
+        assertEquals(amounts, captor.getValue().stream().map(s -> s.getSplitAmount().toPlainString()).toList());
+    }
+
+    private BillSplit bulkSplit(Long id, SplitStatus status) {
+        BillSplit split = new BillSplit();
+        split.setId(id);
+        split.setBill(householdBill);
+        split.setStatus(status);
+        return split;
+    }
+
     private User createUser(Long id, String username) {
         User u = new User();
         u.setId(id);
@@ -0,0 +1,193 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.entities.Bill;
+import com.group5final.roomieradar.entities.BillSplit;
+import com.group5final.roomieradar.entities.Household;
+import com.group5final.roomieradar.entities.HouseholdBalance;
+import com.group5final.roomieradar.entities.User;
+import com.group5final.roomieradar.enums.SplitStatus;
+import com.group5final.roomieradar.repositories.BillRepository;
+import com.group5final.roomieradar.repositories.BillSplitRepository;
+import com.group5final.roomieradar.repositories.DomainEventOutboxRepository;
+import com.group5final.roomieradar.repositories.HouseholdBalanceRepository;
+import com.group5final.roomieradar.repositories.HouseholdRepository;
+import com.group5final.roomieradar.repositories.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hammers a single split from many threads against a real database and checks that exactly
+ * one status transition is applied.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({BillService.class, BalanceLedgerService.class, SpendingRollupService.class, DomainEventPublisher.class,
+        CurrentUserService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BillSplitConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private BillService billService;
+
+    @Autowired
+    private BalanceLedgerService balanceLedgerService;
+
+    @Autowired
+    private BillSplitRepository billSplitRepository;
+
+    @Autowired
+    private DomainEventOutboxRepository domainEventOutboxRepository;
+
+    @Autowired
+    private BillRepository billRepository;
+
+    @Autowired
+    private HouseholdBalanceRepository householdBalanceRepository;
+
+    @Autowired
+    private HouseholdRepository householdRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Household household;
+    private User creator;
+    private User debtor;
+    private Long splitId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            household = new Household();
+            household.setName("Loft");
+            household.setPassword("secret");
+            entityManager.persist(household);
+            creator = persistUser("creator");
+            debtor = persistUser("debtor");
+
+            Bill bill = new Bill();
+            bill.setName("Rent");
+            bill.setAmount(BigDecimal.TEN);
+            bill.setHousehold(household);
+            bill.setCreatedBy(creator);
+            BillSplit split = new BillSplit();
+            split.setBill(bill);
+            split.setUser(debtor);
+            split.setSplitAmount(BigDecimal.TEN);
+            bill.getSplits().add(split);
+            entityManager.persist(bill);
+            entityManager.flush();
+            splitId = split.getId();
+        });
+        balanceLedgerService.rebuild(household.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        domainEventOutboxRepository.deleteAll();
+        householdBalanceRepository.deleteAll();
+        billRepository.deleteAll();
+        userRepository.deleteAll();
+        householdRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentSettles_exactlyOneWins() throws Exception {
+        List<Throwable> failures = hammer(id -> billService.settleSplit(id, debtor.getId()));
+
+        assertEquals(THREADS - 1, failures.size());
+        failures.forEach(f -> assertInstanceOf(IllegalStateException.class, f));
+        BillSplit split = billSplitRepository.findById(splitId).orElseThrow();
+        assertEquals(SplitStatus.PENDING_APPROVAL, split.getStatus());
+        assertEquals(1L, split.getVersion());
+        assertLedger("0.00", "10.00");
+    }
+
+    @Test
+    void concurrentApprovals_exactlyOneWins() throws Exception {
+        billService.settleSplit(splitId, debtor.getId());
+
+        List<Throwable> failures = hammer(id -> billService.approveSplit(id, creator.getId()));
+
+        assertEquals(THREADS - 1, failures.size());
+        failures.forEach(f -> assertInstanceOf(IllegalStateException.class, f));
+        BillSplit split = billSplitRepository.findById(splitId).orElseThrow();
+        assertEquals(SplitStatus.PAID, split.getStatus());
+        assertEquals(2L, split.getVersion());
+        assertLedger("0.00", "0.00");
+    }
+
+    // Runs the action for the split on all threads at once and returns the failures
+    private List<Throwable> hammer(LongConsumer action) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    action.accept(splitId);
+                    return null;
+                }));
+            }
+            start.countDown();
+
+            List<Throwable> failures = new ArrayList<>();
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (java.util.concurrent.ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+            return failures;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void assertLedger(String unpaid, String pending) {
+        List<HouseholdBalance> rows = householdBalanceRepository.findByHouseholdId(household.getId());
+        assertEquals(1, rows.size());
+        assertEquals(0, new BigDecimal(unpaid).compareTo(rows.get(0).getUnpaidAmount()));
+        assertEquals(0, new BigDecimal(pending).compareTo(rows.get(0).getPendingAmount()));
+    }
+
+    private User persistUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("pw");
+        user.setHousehold(household);
+        entityManager.persist(user);
+        return user;
+    }
+}
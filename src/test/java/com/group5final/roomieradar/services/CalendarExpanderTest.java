@@ -0,0 +1,59 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.dto.CalendarItemInstance;
+import com.group5final.roomieradar.entities.CalendarItem;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalendarExpanderTest {
+
+    @Test
+    void expand_itemInsideWindow_marksStartAndEnd() {
+        CalendarItem ci = item(LocalDate.of(2025, 3, 10), LocalDate.of(2025, 3, 12));
+
+        Map<String, List<CalendarItemInstance>> res =
+                CalendarExpander.expand(List.of(ci), LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31));
+
+        assertEquals(List.of("2025-03-10", "2025-03-11", "2025-03-12"), List.copyOf(res.keySet()));
+        assertTrue(res.get("2025-03-10").get(0).isStartsOnDate());
+        assertFalse(res.get("2025-03-11").get(0).isStartsOnDate());
+        assertFalse(res.get("2025-03-11").get(0).isEndsOnDate());
+        assertTrue(res.get("2025-03-12").get(0).isEndsOnDate());
+    }
+
+    @Test
+    void expand_itemSpanningWindow_isClippedToWindow() {
+        CalendarItem ci = item(LocalDate.of(2000, 1, 1), LocalDate.of(2099, 12, 31));
+
+        Map<String, List<CalendarItemInstance>> res =
+                CalendarExpander.expand(List.of(ci), LocalDate.of(2025, 4, 1), LocalDate.of(2025, 4, 30));
+
+        assertEquals(30, res.size());
+        assertFalse(res.get("2025-04-01").get(0).isStartsOnDate());
+        assertFalse(res.get("2025-04-30").get(0).isEndsOnDate());
+    }
+
+    @Test
+    void expand_missingOrInvertedEnd_treatedAsSingleDay() {
+        CalendarItem noEnd = item(LocalDate.of(2025, 5, 2), null);
+        CalendarItem inverted = item(LocalDate.of(2025, 5, 3), LocalDate.of(2025, 5, 1));
+        CalendarItem noStart = new CalendarItem();
+
+        Map<String, List<CalendarItemInstance>> res = CalendarExpander.expand(
+                List.of(noEnd, inverted, noStart), LocalDate.of(2025, 5, 1), LocalDate.of(2025, 5, 31));
+
+        assertEquals(List.of("2025-05-02", "2025-05-03"), List.copyOf(res.keySet()));
+    }
+
+    private CalendarItem item(LocalDate start, LocalDate end) {
+        CalendarItem ci = new CalendarItem();
+        ci.setDateStart(start.atStartOfDay());
+        ci.setDateEnd(end != null ? end.atStartOfDay() : null);
+        return ci;
+    }
+}
@@ -0,0 +1,43 @@
+package com.group5final.roomieradar.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void next_splitsPlainAndQuotedFields() throws Exception {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("a,b,,c\n\"x, y\",\"say \"\"hi\"\"\",z\n"));
+
+        assertEquals(List.of("a", "b", "", "c"), reader.next());
+        assertEquals(1, reader.recordLine());
+        assertEquals(List.of("x, y", "say \"hi\"", "z"), reader.next());
+        assertEquals(2, reader.recordLine());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void next_quotedLineBreaks_keepLineNumbersInStep() throws Exception {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("h1,h2\r\n\"multi\nline\",1\r\nlast,2"));
+
+        assertEquals(List.of("h1", "h2"), reader.next());
+        assertEquals(List.of("multi\nline", "1"), reader.next());
+        assertEquals(2, reader.recordLine());
+        assertEquals(List.of("last", "2"), reader.next());
+        assertEquals(4, reader.recordLine());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void next_unterminatedQuote_throws() throws Exception {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("ok\n\"never closed,1\n"));
+        reader.next();
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, reader::next);
+        assertTrue(ex.getMessage().contains("line 2"));
+    }
+}
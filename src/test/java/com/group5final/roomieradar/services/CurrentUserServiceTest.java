@@ -12,6 +12,9 @@ import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.util.Optional;
 
@@ -37,6 +40,7 @@ class CurrentUserServiceTest {
     void tearDown() {
         // clear context to avoid leaking auth between tests
         SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
     }
 
     @Test
@@ -128,4 +132,43 @@ class CurrentUserServiceTest {
         assertTrue(has);
         verify(userRepository).findByUsername("withHouse");
     }
+
+    @Test
+    void getCurrentUser_withinRequest_queriesOnceAndCountsHits() {
+        Authentication auth = mock(Authentication.class);
+        when(auth.getName()).thenReturn("cached");
+        SecurityContextHolder.getContext().setAuthentication(auth);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        User user = new User();
+        user.setUsername("cached");
+        when(userRepository.findByUsername("cached")).thenReturn(Optional.of(user));
+
+        assertSame(user, currentUserService.getCurrentUser().orElseThrow());
+        assertFalse(currentUserService.hasHousehold());
+        assertSame(user, currentUserService.getCurrentUser().orElseThrow());
+
+        verify(userRepository, times(1)).findByUsername("cached");
+        assertEquals(1, currentUserService.getCacheMisses());
+        assertEquals(2, currentUserService.getCacheHits());
+    }
+
+    @Test
+    void evictCurrentUser_forcesReloadWithinRequest() {
+        Authentication auth = mock(Authentication.class);
+        when(auth.getName()).thenReturn("mover");
+        SecurityContextHolder.getContext().setAuthentication(auth);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        User user = new User();
+        user.setUsername("mover");
+        when(userRepository.findByUsername("mover")).thenReturn(Optional.of(user));
+
+        currentUserService.getCurrentUser();
+        currentUserService.evictCurrentUser();
+        currentUserService.getCurrentUser();
+
+        verify(userRepository, times(2)).findByUsername("mover");
+        assertEquals(2, currentUserService.getCacheMisses());
+    }
 }
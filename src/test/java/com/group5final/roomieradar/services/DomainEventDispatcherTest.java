@@ -0,0 +1,198 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.dto.DomainEvent;
+import com.group5final.roomieradar.entities.Chore;
+import com.group5final.roomieradar.entities.DomainEventOutbox;
+import com.group5final.roomieradar.entities.Household;
+import com.group5final.roomieradar.entities.User;
+import com.group5final.roomieradar.enums.DomainEventType;
+import com.group5final.roomieradar.repositories.DomainEventOutboxRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.transaction.IllegalTransactionStateException;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({DomainEventDispatcher.class, DomainEventPublisher.class, ChoreService.class})
+class DomainEventDispatcherTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 10, 12, 0);
+
+    @Autowired
+    private DomainEventDispatcher domainEventDispatcher;
+
+    @Autowired
+    private DomainEventPublisher domainEventPublisher;
+
+    @Autowired
+    private ChoreService choreService;
+
+    @Autowired
+    private DomainEventOutboxRepository domainEventOutboxRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final List<DomainEvent> handled = new ArrayList<>();
+
+    private Household household;
+    private User alice;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(domainEventDispatcher, "batchSize", 2);
+        ReflectionTestUtils.setField(domainEventDispatcher, "handlers", List.<DomainEventHandler>of(handled::add));
+
+        household = new Household();
+        household.setName("Loft");
+        household.setPassword("secret");
+        entityManager.persist(household);
+        alice = new User();
+        alice.setUsername("alice");
+        alice.setEmail("alice@example.com");
+        alice.setPassword("pw");
+        alice.setHousehold(household);
+        entityManager.persist(alice);
+    }
+
+    @Test
+    void createChore_recordsEvent_thatIsDispatchedOnce() {
+        Chore chore = new Chore();
+        chore.setName("Dishes");
+        chore.setUser(alice);
+        chore.setHousehold(household);
+        chore.setDueDate(Instant.parse("2025-03-12T00:00:00Z"));
+        choreService.createChore(chore);
+
+        assertEquals(1, domainEventDispatcher.dispatch(NOW));
+        assertEquals(0, domainEventDispatcher.dispatch(NOW));
+
+        assertEquals(1, handled.size());
+        DomainEvent event = handled.get(0);
+        assertEquals(DomainEventType.CHORE_CREATED, event.getType());
+        assertEquals(household.getId(), event.getHouseholdId());
+        assertEquals(chore.getId(), event.getAggregateId());
+        assertTrue(event.getPayload().contains("\"dueDate\":\"2025-03-12T00:00:00Z\""), event.getPayload());
+        assertTrue(event.getPayload().contains("\"assigneeId\":" + alice.getId()), event.getPayload());
+    }
+
+    @Test
+    void dispatch_deliversPagesInRecordingOrder() {
+        for (long id = 1; id <= 5; id++) {
+            domainEventPublisher.publish(DomainEventType.EVENT_DELETED, household.getId(), id, Map.of());
+        }
+
+        assertEquals(5, domainEventDispatcher.dispatch(NOW));
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), handled.stream().map(DomainEvent::getAggregateId).toList());
+    }
+
+    @Test
+    void dispatch_failingHandler_retriesEventUpToMaxAttempts() {
+        ReflectionTestUtils.setField(domainEventDispatcher, "maxAttempts", 2);
+        ReflectionTestUtils.setField(domainEventDispatcher, "handlers", List.<DomainEventHandler>of(event -> {
+            if (event.getAggregateId() == 2L) {
+                throw new IllegalStateException("cache unavailable");
+            }
+            handled.add(event);
+        }));
+        domainEventPublisher.publish(DomainEventType.BILL_DELETED, household.getId(), 1L, Map.of());
+        domainEventPublisher.publish(DomainEventType.BILL_DELETED, household.getId(), 2L, Map.of());
+
+        assertEquals(1, domainEventDispatcher.dispatch(NOW));
+        assertEquals(0, domainEventDispatcher.dispatch(NOW));
+        assertEquals(0, domainEventDispatcher.dispatch(NOW));
+
+        entityManager.clear();
+        DomainEventOutbox failed = StreamSupport.stream(domainEventOutboxRepository.findAll().spliterator(), false)
+            .filter(event -> event.getPublishedAt() == null)
+            .findFirst().orElseThrow();
+        assertEquals(2L, failed.getAggregateId());
+        assertEquals(2, failed.getAttempts());
+        assertTrue(failed.getLastError().contains("cache unavailable"));
+        assertNull(failed.getClaimedBy());
+        assertEquals(1, handled.size());
+    }
+
+    @Test
+    void dispatch_skipsEventsClaimedByAnotherRun_untilTheClaimExpires() {
+        domainEventPublisher.publish(DomainEventType.EVENT_DELETED, household.getId(), 1L, Map.of());
+        domainEventPublisher.publish(DomainEventType.EVENT_DELETED, household.getId(), 2L, Map.of());
+        Long claimedId = StreamSupport.stream(domainEventOutboxRepository.findAll().spliterator(), false)
+            .filter(event -> event.getAggregateId() == 1L)
+            .findFirst().orElseThrow().getId();
+        domainEventOutboxRepository.claim(List.of(claimedId), "other-instance", NOW, NOW.minusMinutes(5));
+
+        assertEquals(1, domainEventDispatcher.dispatch(NOW.plusMinutes(1)));
+        assertEquals(List.of(2L), handled.stream().map(DomainEvent::getAggregateId).toList());
+
+        // The other run died without publishing; its claim is taken over once stale
+        assertEquals(1, domainEventDispatcher.dispatch(NOW.plusMinutes(10)));
+        assertEquals(List.of(2L, 1L), handled.stream().map(DomainEvent::getAggregateId).toList());
+    }
+
+    @Test
+    void dispatch_whileAnotherRunIsInProgress_doesNothing() {
+        domainEventPublisher.publish(DomainEventType.EVENT_DELETED, household.getId(), 1L, Map.of());
+        domainEventPublisher.publish(DomainEventType.EVENT_DELETED, household.getId(), 2L, Map.of());
+        List<Integer> nested = new ArrayList<>();
+        ReflectionTestUtils.setField(domainEventDispatcher, "handlers", List.<DomainEventHandler>of(event -> {
+            handled.add(event);
+            nested.add(domainEventDispatcher.dispatch(NOW));
+        }));
+
+        assertEquals(2, domainEventDispatcher.dispatch(NOW));
+
+        assertEquals(List.of(0, 0), nested);
+        assertEquals(2, handled.size());
+    }
+
+    @Test
+    void purge_deletesOnlyEventsPublishedBeforeRetention() {
+        domainEventPublisher.publish(DomainEventType.EVENT_DELETED, household.getId(), 1L, Map.of());
+        domainEventDispatcher.dispatch(NOW.minusDays(8));
+        domainEventPublisher.publish(DomainEventType.EVENT_DELETED, household.getId(), 2L, Map.of());
+        domainEventDispatcher.dispatch(NOW.minusDays(1));
+        domainEventPublisher.publish(DomainEventType.EVENT_DELETED, household.getId(), 3L, Map.of());
+
+        assertEquals(1, domainEventDispatcher.purge(NOW));
+
+        assertEquals(2, domainEventOutboxRepository.count());
+    }
+
+    @Test
+    void publish_largePayload_isRecordedWhole() {
+        List<Long> memberIds = LongStream.rangeClosed(1, 3_000).boxed().toList();
+        domainEventPublisher.publish(DomainEventType.BILL_CREATED, household.getId(), 1L, Map.of("memberIds", memberIds));
+
+        assertEquals(1, domainEventDispatcher.dispatch(NOW));
+
+        assertTrue(handled.get(0).getPayload().length() > 10_000);
+        assertTrue(handled.get(0).getPayload().endsWith("3000]}"), handled.get(0).getPayload());
+    }
+
+    @Test
+    void publish_withoutTransaction_throws() {
+        TestTransaction.end();
+
+        assertThrows(IllegalTransactionStateException.class, () ->
+            domainEventPublisher.publish(DomainEventType.EVENT_DELETED, 1L, 1L, Map.of()));
+    }
+}
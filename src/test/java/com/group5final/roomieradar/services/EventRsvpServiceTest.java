@@ -0,0 +1,223 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.dto.RsvpSummaryDTO;
+import com.group5final.roomieradar.entities.Event;
+import com.group5final.roomieradar.entities.Household;
+import com.group5final.roomieradar.entities.User;
+import com.group5final.roomieradar.enums.DomainEventType;
+import com.group5final.roomieradar.enums.RsvpStatus;
+import com.group5final.roomieradar.repositories.DomainEventOutboxRepository;
+import com.group5final.roomieradar.repositories.EventRepository;
+import com.group5final.roomieradar.repositories.EventRsvpRepository;
+import com.group5final.roomieradar.repositories.HouseholdRepository;
+import com.group5final.roomieradar.repositories.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs RSVPs against a real database, including many users racing for the last seats of an event.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({EventRsvpService.class, DomainEventPublisher.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EventRsvpServiceTest {
+
+    private static final int USERS = 12;
+    private static final int CAPACITY = 3;
+
+    @Autowired
+    private EventRsvpService eventRsvpService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventRsvpRepository eventRsvpRepository;
+
+    @Autowired
+    private DomainEventOutboxRepository domainEventOutboxRepository;
+
+    @Autowired
+    private HouseholdRepository householdRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Household household;
+    private final List<User> users = new ArrayList<>();
+    private Long eventId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            household = new Household();
+            household.setName("Loft");
+            household.setPassword("secret");
+            entityManager.persist(household);
+            for (int i = 0; i < USERS; i++) {
+                User user = new User();
+                user.setUsername("user" + i);
+                user.setEmail("user" + i + "@example.com");
+                user.setPassword("pw");
+                user.setHousehold(household);
+                entityManager.persist(user);
+                users.add(user);
+            }
+
+            Event event = new Event();
+            event.setName("Concert");
+            event.setEventDate(LocalDateTime.of(2025, 6, 1, 20, 0));
+            event.setUserid(users.get(0));
+            event.setHousehold(household);
+            event.setCapacity(CAPACITY);
+            entityManager.persist(event);
+            entityManager.flush();
+            eventId = event.getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        domainEventOutboxRepository.deleteAll();
+        eventRsvpRepository.deleteAll();
+        eventRepository.deleteAll();
+        userRepository.deleteAll();
+        householdRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentGoing_neverExceedsCapacity() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(USERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Throwable> failures = new ArrayList<>();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (User user : users) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    eventRsvpService.respond(eventId, user.getId(), household.getId(), RsvpStatus.GOING);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(USERS - CAPACITY, failures.size());
+        failures.forEach(f -> assertInstanceOf(IllegalStateException.class, f));
+        assertEquals(CAPACITY, eventRepository.findById(eventId).orElseThrow().getGoingCount());
+        // Rejected users did not keep a response either
+        assertEquals(CAPACITY, eventRsvpRepository.count());
+        assertEquals(CAPACITY, summary(users.get(0)).getGoing());
+    }
+
+    @Test
+    void changingAwayFromGoing_freesTheSeat() {
+        eventRsvpService.respond(eventId, users.get(0).getId(), household.getId(), RsvpStatus.GOING);
+        eventRsvpService.respond(eventId, users.get(1).getId(), household.getId(), RsvpStatus.GOING);
+        eventRsvpService.respond(eventId, users.get(2).getId(), household.getId(), RsvpStatus.GOING);
+        assertThrows(IllegalStateException.class,
+            () -> eventRsvpService.respond(eventId, users.get(3).getId(), household.getId(), RsvpStatus.GOING));
+
+        eventRsvpService.respond(eventId, users.get(0).getId(), household.getId(), RsvpStatus.MAYBE);
+        eventRsvpService.respond(eventId, users.get(3).getId(), household.getId(), RsvpStatus.GOING);
+        eventRsvpService.respond(eventId, users.get(4).getId(), household.getId(), RsvpStatus.DECLINED);
+
+        RsvpSummaryDTO summary = summary(users.get(0));
+        assertEquals(new RsvpSummaryDTO(3, 1, 1, CAPACITY, RsvpStatus.MAYBE), summary);
+        assertTrue(summary.isFull());
+        assertEquals(3, eventRepository.findById(eventId).orElseThrow().getGoingCount());
+    }
+
+    @Test
+    void repeatingAResponse_changesNothing() {
+        eventRsvpService.respond(eventId, users.get(0).getId(), household.getId(), RsvpStatus.GOING);
+        eventRsvpService.respond(eventId, users.get(0).getId(), household.getId(), RsvpStatus.GOING);
+
+        assertEquals(1, eventRepository.findById(eventId).orElseThrow().getGoingCount());
+        long published = StreamSupport.stream(domainEventOutboxRepository.findAll().spliterator(), false)
+            .filter(event -> event.getType() == DomainEventType.EVENT_RSVP_CHANGED).count();
+        assertEquals(1, published);
+    }
+
+    @Test
+    void savingTheEvent_keepsTheSeatCount() {
+        eventRsvpService.respond(eventId, users.get(0).getId(), household.getId(), RsvpStatus.GOING);
+
+        // A copy loaded before the RSVP must not reset the counter when saved
+        transactionTemplate.executeWithoutResult(status -> {
+            Event stale = entityManager.find(Event.class, eventId);
+            entityManager.detach(stale);
+            stale.setGoingCount(0);
+            stale.setName("Concert!");
+            entityManager.merge(stale);
+        });
+
+        Event event = eventRepository.findById(eventId).orElseThrow();
+        assertEquals("Concert!", event.getName());
+        assertEquals(1, event.getGoingCount());
+    }
+
+    @Test
+    void changeCapacity_neverDropsBelowUsersGoing() {
+        eventRsvpService.respond(eventId, users.get(0).getId(), household.getId(), RsvpStatus.GOING);
+        eventRsvpService.respond(eventId, users.get(1).getId(), household.getId(), RsvpStatus.GOING);
+
+        assertEquals(0, changeCapacity(1));
+        assertEquals(CAPACITY, eventRepository.findById(eventId).orElseThrow().getCapacity());
+        assertEquals(1, changeCapacity(2));
+        assertEquals(1, changeCapacity(null));
+        assertNull(eventRepository.findById(eventId).orElseThrow().getCapacity());
+    }
+
+    @Test
+    void respond_eventOfOtherHousehold_throws() {
+        assertThrows(IllegalArgumentException.class,
+            () -> eventRsvpService.respond(eventId, users.get(0).getId(), household.getId() + 1, RsvpStatus.GOING));
+        assertEquals(0, eventRsvpRepository.count());
+    }
+
+    private int changeCapacity(Integer capacity) {
+        return transactionTemplate.execute(status -> eventRepository.changeCapacity(eventId, capacity));
+    }
+
+    private RsvpSummaryDTO summary(User user) {
+        return eventRsvpService.getSummary(eventId, user.getId(), household.getId());
+    }
+}
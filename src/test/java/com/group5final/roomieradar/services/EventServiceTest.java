@@ -3,7 +3,9 @@ package com.group5final.roomieradar.services;
 import com.group5final.roomieradar.entities.Event;
 import com.group5final.roomieradar.entities.Household;
 import com.group5final.roomieradar.entities.User;
+import com.group5final.roomieradar.enums.DomainEventType;
 import com.group5final.roomieradar.repositories.EventRepository;
+import com.group5final.roomieradar.repositories.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -12,11 +14,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,6 +36,15 @@ class EventServiceTest {
     @Mock
     private CurrentUserService currentUserService;
 
+    @Mock
+    private DomainEventPublisher domainEventPublisher;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ScheduleConflictService scheduleConflictService;
+
     @InjectMocks
     private EventService eventService;
 
@@ -41,6 +54,9 @@ class EventServiceTest {
 
     @BeforeEach
     void setUp() {
+        // Nobody is going yet, so any capacity is accepted
+        lenient().when(eventRepository.changeCapacity(any(), any())).thenReturn(1);
+
         //Setup test household
         testHousehold = new Household();
         testHousehold.setId(1L);
@@ -66,12 +82,14 @@ class EventServiceTest {
     }
 
     @Nested
-    @DisplayName("getEventsForCurrentUserHousehold Tests")
-    class GetEventsForCurrentUserHouseholdTests {
+    @DisplayName("Upcoming and past events Tests")
+    class UpcomingAndPastEventsTests {
+
+        private final LocalDateTime now = LocalDateTime.of(2025, 6, 1, 12, 0);
 
         @Test
-        @DisplayName("Should return events when user has household")
-        void shouldReturnEventsWhenUserHasHousehold() {
+        @DisplayName("Should return upcoming events when user has household")
+        void shouldReturnUpcomingEventsWhenUserHasHousehold() {
             //Arrange
             Event event1 = new Event();
             event1.setId(1L);
@@ -86,18 +104,29 @@ class EventServiceTest {
             List<Event> expectedEvents = Arrays.asList(event1, event2);
 
             when(currentUserService.getCurrentUser()).thenReturn(Optional.of(testUser));
-            when(eventRepository.findByHouseholdOrderByEventDateAsc(testHousehold)).thenReturn(expectedEvents);
+            when(eventRepository.findUpcoming(testHousehold, now, Limit.of(5))).thenReturn(expectedEvents);
 
             //Act
-            List<Event> result = eventService.getEventsForCurrentUserHousehold();
+            List<Event> result = eventService.getUpcomingEventsForCurrentUserHousehold(now, 5);
 
             //Assert
-            assertNotNull(result);
-            assertEquals(2, result.size());
-            assertEquals("Event 1", result.get(0).getName());
-            assertEquals("Event 2", result.get(1).getName());
-            verify(currentUserService, times(1)).getCurrentUser();
-            verify(eventRepository, times(1)).findByHouseholdOrderByEventDateAsc(testHousehold);
+            assertEquals(expectedEvents, result);
+            verify(eventRepository, times(1)).findUpcoming(testHousehold, now, Limit.of(5));
+        }
+
+        @Test
+        @DisplayName("Should return past events when user has household")
+        void shouldReturnPastEventsWhenUserHasHousehold() {
+            //Arrange
+            List<Event> expectedEvents = List.of(testEvent);
+            when(currentUserService.getCurrentUser()).thenReturn(Optional.of(testUser));
+            when(eventRepository.findPast(testHousehold, now, Limit.of(3))).thenReturn(expectedEvents);
+
+            //Act
+            List<Event> result = eventService.getPastEventsForCurrentUserHousehold(now, 3);
+
+            //Assert
+            assertEquals(expectedEvents, result);
         }
 
         @Test
@@ -107,13 +136,12 @@ class EventServiceTest {
             when(currentUserService.getCurrentUser()).thenReturn(Optional.empty());
 
             //Act
-            List<Event> result = eventService.getEventsForCurrentUserHousehold();
+            List<Event> result = eventService.getUpcomingEventsForCurrentUserHousehold(now, 5);
 
             //Assert
             assertNotNull(result);
             assertTrue(result.isEmpty());
-            verify(currentUserService, times(1)).getCurrentUser();
-            verify(eventRepository, never()).findByHouseholdOrderByEventDateAsc(any());
+            verify(eventRepository, never()).findUpcoming(any(), any(), any());
         }
 
         @Test
@@ -128,30 +156,12 @@ class EventServiceTest {
             when(currentUserService.getCurrentUser()).thenReturn(Optional.of(userWithoutHousehold));
 
             //Act
-            List<Event> result = eventService.getEventsForCurrentUserHousehold();
-
-            //Assert
-            assertNotNull(result);
-            assertTrue(result.isEmpty());
-            verify(currentUserService, times(1)).getCurrentUser();
-            verify(eventRepository, never()).findByHouseholdOrderByEventDateAsc(any());
-        }
-
-        @Test
-        @DisplayName("Should return empty list when household has no events")
-        void shouldReturnEmptyListWhenHouseholdHasNoEvents() {
-            //Arrange
-            when(currentUserService.getCurrentUser()).thenReturn(Optional.of(testUser));
-            when(eventRepository.findByHouseholdOrderByEventDateAsc(testHousehold)).thenReturn(Collections.emptyList());
-
-            //Act
-            List<Event> result = eventService.getEventsForCurrentUserHousehold();
+            List<Event> result = eventService.getPastEventsForCurrentUserHousehold(now, 5);
 
             //Assert
             assertNotNull(result);
             assertTrue(result.isEmpty());
-            verify(currentUserService, times(1)).getCurrentUser();
-            verify(eventRepository, times(1)).findByHouseholdOrderByEventDateAsc(testHousehold);
+            verify(eventRepository, never()).findPast(any(), any(), any());
         }
     }
 
@@ -163,7 +173,7 @@ class EventServiceTest {
         @DisplayName("Should return event when id exists")
         void shouldReturnEventWhenIdExists() {
             //Arrange
-            when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
+            when(eventRepository.findWithPeopleById(1L)).thenReturn(Optional.of(testEvent));
 
             //Act
             Optional<Event> result = eventService.getEventById(1L);
@@ -172,35 +182,35 @@ class EventServiceTest {
             assertTrue(result.isPresent());
             assertEquals(testEvent.getId(), result.get().getId());
             assertEquals(testEvent.getName(), result.get().getName());
-            verify(eventRepository, times(1)).findById(1L);
+            verify(eventRepository, times(1)).findWithPeopleById(1L);
         }
 
         @Test
         @DisplayName("Should return empty optional when id does not exist")
         void shouldReturnEmptyWhenIdDoesNotExist() {
             //Arrange
-            when(eventRepository.findById(999L)).thenReturn(Optional.empty());
+            when(eventRepository.findWithPeopleById(999L)).thenReturn(Optional.empty());
 
             //Act
             Optional<Event> result = eventService.getEventById(999L);
 
             //Assert
             assertFalse(result.isPresent());
-            verify(eventRepository, times(1)).findById(999L);
+            verify(eventRepository, times(1)).findWithPeopleById(999L);
         }
 
         @Test
         @DisplayName("Should return empty optional when id is null")
         void shouldReturnEmptyWhenIdIsNull() {
             //Arrange
-            when(eventRepository.findById(null)).thenReturn(Optional.empty());
+            when(eventRepository.findWithPeopleById(null)).thenReturn(Optional.empty());
 
             //Act
             Optional<Event> result = eventService.getEventById(null);
 
             //Assert
             assertFalse(result.isPresent());
-            verify(eventRepository, times(1)).findById(null);
+            verify(eventRepository, times(1)).findWithPeopleById(null);
         }
     }
 
@@ -238,6 +248,8 @@ class EventServiceTest {
             assertEquals("New Event", result.getName());
             assertEquals("New Description", result.getDescription());
             verify(eventRepository, times(1)).save(newEvent);
+            verify(domainEventPublisher).publish(eq(DomainEventType.EVENT_SAVED), eq(1L), eq(2L),
+                    argThat(payload -> payload.get("name").equals("New Event")));
         }
 
         @Test
@@ -299,6 +311,154 @@ class EventServiceTest {
             assertNull(result.getEventDate());
             verify(eventRepository, times(1)).save(minimalEvent);
         }
+
+        @Test
+        @DisplayName("Should reject a capacity below one")
+        void shouldRejectCapacityBelowOne() {
+            //Arrange
+            testEvent.setCapacity(0);
+            when(eventRepository.save(testEvent)).thenReturn(testEvent);
+
+            //Act & Assert
+            assertThrows(IllegalArgumentException.class, () -> eventService.saveEvent(testEvent));
+            verify(domainEventPublisher, never()).publish(any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should reject a capacity below the users already going")
+        void shouldRejectCapacityBelowUsersGoing() {
+            //Arrange
+            testEvent.setCapacity(2);
+            when(eventRepository.save(testEvent)).thenReturn(testEvent);
+            when(eventRepository.changeCapacity(1L, 2)).thenReturn(0);
+
+            //Act & Assert
+            assertThrows(IllegalStateException.class, () -> eventService.saveEvent(testEvent));
+            verify(domainEventPublisher, never()).publish(any(), any(), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Attendee Tests")
+    class AttendeeTests {
+
+        @Test
+        @DisplayName("Should only write the attendees that changed")
+        void shouldOnlyWriteChangedAttendees() {
+            //Arrange
+            when(eventRepository.save(testEvent)).thenReturn(testEvent);
+            when(userRepository.findIdsInHousehold(List.of(2L, 3L, 9L), 1L)).thenReturn(List.of(2L, 3L));
+            when(eventRepository.findAttendeeIds(1L)).thenReturn(List.of(1L, 2L));
+
+            //Act
+            eventService.saveEvent(testEvent, List.of(2L, 3L, 9L));
+
+            //Assert
+            verify(eventRepository).addAttendees(1L, java.util.Set.of(3L));
+            verify(eventRepository).removeAttendees(1L, java.util.Set.of(1L));
+            verify(domainEventPublisher).publish(DomainEventType.EVENT_ATTENDEES_CHANGED, 1L, 1L,
+                    Map.of("added", List.of(3L), "removed", List.of(1L)));
+        }
+
+        @Test
+        @DisplayName("Should not write attendees when they are unchanged")
+        void shouldNotWriteUnchangedAttendees() {
+            //Arrange
+            when(eventRepository.save(testEvent)).thenReturn(testEvent);
+            when(userRepository.findIdsInHousehold(List.of(2L), 1L)).thenReturn(List.of(2L));
+            when(eventRepository.findAttendeeIds(1L)).thenReturn(List.of(2L));
+
+            //Act
+            eventService.saveEvent(testEvent, List.of(2L));
+
+            //Assert
+            verify(eventRepository, never()).addAttendees(any(), any());
+            verify(eventRepository, never()).removeAttendees(any(), any());
+            verify(domainEventPublisher, never()).publish(eq(DomainEventType.EVENT_ATTENDEES_CHANGED), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should insert attendees of a new event without reading the current ones")
+        void shouldInsertAttendeesOfNewEvent() {
+            //Arrange
+            Event newEvent = new Event();
+            newEvent.setHousehold(testHousehold);
+            when(eventRepository.save(newEvent)).thenAnswer(invocation -> {
+                newEvent.setId(4L);
+                return newEvent;
+            });
+            when(userRepository.findIdsInHousehold(List.of(1L), 1L)).thenReturn(List.of(1L));
+
+            //Act
+            eventService.saveEvent(newEvent, List.of(1L));
+
+            //Assert
+            verify(eventRepository, never()).findAttendeeIds(any());
+            verify(eventRepository).addAttendees(4L, java.util.Set.of(1L));
+        }
+
+        @Test
+        @DisplayName("Should add a household member who is not attending yet")
+        void shouldAddAttendee() {
+            //Arrange
+            when(eventRepository.findHouseholdIdById(1L)).thenReturn(Optional.of(1L));
+            when(userRepository.findIdsInHousehold(List.of(2L), 1L)).thenReturn(List.of(2L));
+            when(eventRepository.isAttendee(1L, 2L)).thenReturn(false);
+
+            //Act & Assert
+            assertTrue(eventService.addAttendee(1L, 2L, 1L));
+            verify(eventRepository).addAttendees(1L, List.of(2L));
+        }
+
+        @Test
+        @DisplayName("Should not add an existing attendee again")
+        void shouldNotAddExistingAttendee() {
+            //Arrange
+            when(eventRepository.findHouseholdIdById(1L)).thenReturn(Optional.of(1L));
+            when(userRepository.findIdsInHousehold(List.of(2L), 1L)).thenReturn(List.of(2L));
+            when(eventRepository.isAttendee(1L, 2L)).thenReturn(true);
+
+            //Act & Assert
+            assertFalse(eventService.addAttendee(1L, 2L, 1L));
+            verify(eventRepository, never()).addAttendees(any(), any());
+            verifyNoInteractions(domainEventPublisher);
+        }
+
+        @Test
+        @DisplayName("Should reject attendees from another household")
+        void shouldRejectOutsideAttendee() {
+            //Arrange
+            when(eventRepository.findHouseholdIdById(1L)).thenReturn(Optional.of(1L));
+            when(userRepository.findIdsInHousehold(List.of(9L), 1L)).thenReturn(List.of());
+
+            //Act & Assert
+            assertThrows(IllegalArgumentException.class, () -> eventService.addAttendee(1L, 9L, 1L));
+            verify(eventRepository, never()).addAttendees(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should reject events from another household")
+        void shouldRejectEventOfOtherHousehold() {
+            //Arrange
+            when(eventRepository.findHouseholdIdById(1L)).thenReturn(Optional.of(7L));
+
+            //Act & Assert
+            assertThrows(IllegalArgumentException.class, () -> eventService.removeAttendee(1L, 2L, 1L));
+            verify(eventRepository, never()).removeAttendees(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should remove an attendee")
+        void shouldRemoveAttendee() {
+            //Arrange
+            when(eventRepository.findHouseholdIdById(1L)).thenReturn(Optional.of(1L));
+            when(eventRepository.removeAttendees(1L, List.of(2L))).thenReturn(1);
+
+            //Act & Assert
+            assertTrue(eventService.removeAttendee(1L, 2L, 1L));
+            verify(domainEventPublisher).publish(DomainEventType.EVENT_ATTENDEES_CHANGED, 1L, 1L,
+                    Map.of("added", List.of(), "removed", List.of(2L)));
+        }
     }
 
     @Nested
@@ -318,6 +478,20 @@ class EventServiceTest {
             verify(eventRepository, times(1)).deleteById(1L);
         }
 
+        @Test
+        @DisplayName("Should record a deletion event for the event's household")
+        void shouldPublishDeletionEvent() {
+            //Arrange
+            when(eventRepository.findHouseholdIdById(1L)).thenReturn(Optional.of(1L));
+
+            //Act
+            eventService.deleteEvent(1L);
+
+            //Assert
+            verify(domainEventPublisher).publish(DomainEventType.EVENT_DELETED, 1L, 1L, Map.of());
+            verify(eventRepository).deleteById(1L);
+        }
+
         @Test
         @DisplayName("Should not throw exception when deleting non-existent id")
         void shouldNotThrowExceptionWhenDeletingNonExistentId() {
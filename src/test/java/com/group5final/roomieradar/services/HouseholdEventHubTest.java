@@ -0,0 +1,135 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.dto.DomainEvent;
+import com.group5final.roomieradar.enums.DomainEventType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HouseholdEventHubTest {
+
+    private final HouseholdEventHub hub = new HouseholdEventHub();
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    void handle_sendsEventsToTheHouseholdsConnectionsOnly() throws Exception {
+        RecordingEmitter alice = new RecordingEmitter();
+        RecordingEmitter bob = new RecordingEmitter();
+        RecordingEmitter neighbour = new RecordingEmitter();
+        hub.subscribe(1L, alice);
+        hub.subscribe(1L, bob);
+        hub.subscribe(2L, neighbour);
+
+        hub.handle(event(7L, 1L, DomainEventType.SPLITS_SETTLED));
+        hub.handle(event(8L, 1L, DomainEventType.BILL_DELETED));
+
+        for (RecordingEmitter emitter : new RecordingEmitter[] {alice, bob}) {
+            String first = emitter.next();
+            assertTrue(first.contains("id:7\n"), first);
+            assertTrue(first.contains("event:SPLITS_SETTLED\n"), first);
+            assertTrue(emitter.next().contains("event:BILL_DELETED\n"));
+        }
+        assertNull(neighbour.sent.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void heartbeat_sendsCommentToEveryConnection() throws Exception {
+        RecordingEmitter alice = new RecordingEmitter();
+        RecordingEmitter neighbour = new RecordingEmitter();
+        hub.subscribe(1L, alice);
+        hub.subscribe(2L, neighbour);
+
+        assertEquals(2, hub.heartbeat());
+
+        assertTrue(alice.next().startsWith(":heartbeat"));
+        assertTrue(neighbour.next().startsWith(":heartbeat"));
+    }
+
+    @Test
+    void failedSend_closesConnection() throws Exception {
+        RecordingEmitter gone = new RecordingEmitter();
+        gone.failing = true;
+        hub.subscribe(1L, gone);
+
+        hub.handle(event(7L, 1L, DomainEventType.BILL_DELETED));
+
+        awaitConnections(1L, 0);
+    }
+
+    @Test
+    void slowClient_isDisconnectedOnceItsQueueIsFull_withoutHoldingUpOthers() throws Exception {
+        ReflectionTestUtils.setField(hub, "queueCapacity", 3);
+        RecordingEmitter slow = new RecordingEmitter();
+        slow.blocked = new CountDownLatch(1);
+        RecordingEmitter fast = new RecordingEmitter();
+        hub.subscribe(1L, slow);
+        hub.subscribe(1L, fast);
+
+        // The slow client is stuck sending the first event, so the next three fill its queue
+        for (long id = 1; id <= 5; id++) {
+            hub.handle(event(id, 1L, DomainEventType.BILL_DELETED));
+            assertTrue(fast.next().contains("id:" + id + "\n"));
+        }
+
+        assertEquals(1, hub.connectionCount(1L));
+        slow.blocked.countDown();
+    }
+
+    private void awaitConnections(Long householdId, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (hub.connectionCount(householdId) != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, hub.connectionCount(householdId));
+    }
+
+    private static DomainEvent event(Long id, Long householdId, DomainEventType type) {
+        return new DomainEvent(id, type, householdId, 3L, "{}", LocalDateTime.of(2025, 3, 10, 12, 0));
+    }
+
+    // Records what would be written to the client, as text
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        private volatile boolean failing;
+        private volatile CountDownLatch blocked;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            if (blocked != null) {
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+            Set<DataWithMediaType> data = builder.build();
+            sent.add(data.stream().map(item -> String.valueOf(item.getData())).collect(Collectors.joining()));
+        }
+
+        private String next() throws InterruptedException {
+            String message = sent.poll(5, TimeUnit.SECONDS);
+            assertNotNull(message, "Nothing was sent");
+            return message;
+        }
+    }
+}
@@ -20,6 +20,9 @@ class HouseholdServiceTest {
     @Mock
     private HouseholdRepository householdRepository;
 
+    @Mock
+    private CurrentUserService currentUserService;
+
     @InjectMocks
     private HouseholdService householdService;
 
@@ -55,6 +58,7 @@ class HouseholdServiceTest {
 
         // Service sets the same household object it created and saved
         assertSame(captured, creator.getHousehold());
+        verify(currentUserService).evictCurrentUser();
     }
 
     @Test
@@ -77,6 +81,7 @@ class HouseholdServiceTest {
         householdService.joinHousehold(name, providedPw, creator);
 
         assertEquals(existingHousehold, creator.getHousehold());
+        verify(currentUserService).evictCurrentUser();
     }
 
     @Test
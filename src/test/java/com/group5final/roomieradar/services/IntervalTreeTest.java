@@ -0,0 +1,79 @@
+package com.group5final.roomieradar.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalTreeTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Test
+    void overlapping_isHalfOpen() {
+        IntervalTree<String> tree = new IntervalTree<>(List.of(
+            new IntervalTree.Interval<>(at(10), at(20), "a"),
+            new IntervalTree.Interval<>(at(20), at(30), "b")));
+
+        assertEquals(List.of("a"), values(tree.overlapping(at(5), at(11))));
+        assertEquals(List.of(), values(tree.overlapping(at(0), at(10))));
+        assertEquals(List.of("b"), values(tree.overlapping(at(20), at(21))));
+        assertEquals(List.of("a", "b"), values(tree.overlapping(at(19), at(21))));
+        assertEquals(List.of(), values(tree.overlapping(at(30), at(40))));
+    }
+
+    @Test
+    void overlapping_findsLongIntervalStartingEarly() {
+        IntervalTree<String> tree = new IntervalTree<>(List.of(
+            new IntervalTree.Interval<>(at(0), LocalDateTime.MAX, "series"),
+            new IntervalTree.Interval<>(at(1), at(2), "x"),
+            new IntervalTree.Interval<>(at(3), at(4), "y"),
+            new IntervalTree.Interval<>(at(5), at(6), "z")));
+
+        assertEquals(List.of("series"), values(tree.overlapping(at(1000), at(1001))));
+    }
+
+    @Test
+    void empty_findsNothing() {
+        IntervalTree<String> tree = new IntervalTree<>(List.of());
+
+        assertEquals(0, tree.size());
+        assertTrue(tree.overlapping(at(0), at(100)).isEmpty());
+    }
+
+    @Test
+    void overlapping_matchesLinearScan() {
+        Random random = new Random(42);
+        List<IntervalTree.Interval<Integer>> intervals = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            int start = random.nextInt(10_000);
+            intervals.add(new IntervalTree.Interval<>(at(start), at(start + 1 + random.nextInt(random.nextBoolean() ? 20 : 2_000)), i));
+        }
+        IntervalTree<Integer> tree = new IntervalTree<>(intervals);
+
+        for (int q = 0; q < 1_000; q++) {
+            int start = random.nextInt(10_500);
+            LocalDateTime from = at(start);
+            LocalDateTime to = at(start + 1 + random.nextInt(100));
+            List<Integer> expected = intervals.stream()
+                .filter(interval -> interval.start().isBefore(to) && interval.end().isAfter(from))
+                .map(IntervalTree.Interval::value)
+                .sorted()
+                .toList();
+            List<Integer> actual = values(tree.overlapping(from, to)).stream().sorted().toList();
+            assertEquals(expected, actual);
+        }
+    }
+
+    private static LocalDateTime at(int minutes) {
+        return BASE.plusMinutes(minutes);
+    }
+
+    private static <T> List<T> values(List<IntervalTree.Interval<T>> intervals) {
+        return intervals.stream().map(IntervalTree.Interval::value).toList();
+    }
+}
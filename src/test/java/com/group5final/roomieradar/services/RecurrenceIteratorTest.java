@@ -0,0 +1,130 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.dto.CalendarItemInstance;
+import com.group5final.roomieradar.entities.CalendarItem;
+import com.group5final.roomieradar.enums.RepeatUnit;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecurrenceIteratorTest {
+
+    @Test
+    void daily_yieldsOnlyOccurrencesInWindow() {
+        RecurrenceIterator it = new RecurrenceIterator(LocalDate.of(2020, 1, 1), 0, RepeatUnit.DAYS, 1,
+                null, Set.of(), LocalDate.of(2025, 6, 1), LocalDate.of(2025, 6, 30));
+
+        List<LocalDate> res = drain(it);
+
+        assertEquals(30, res.size());
+        assertEquals(LocalDate.of(2025, 6, 1), res.get(0));
+        assertEquals(LocalDate.of(2025, 6, 30), res.get(29));
+    }
+
+    @Test
+    void weekly_withExceptionsAndUntil() {
+        LocalDate start = LocalDate.of(2025, 1, 6); // Monday
+        RecurrenceIterator it = new RecurrenceIterator(start, 0, RepeatUnit.WEEKS, 1,
+                LocalDate.of(2025, 1, 27), Set.of(LocalDate.of(2025, 1, 20)),
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31));
+
+        assertEquals(List.of(LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 13), LocalDate.of(2025, 1, 27)), drain(it));
+    }
+
+    @Test
+    void monthly_keepsDayOfMonthWithoutDrift() {
+        RecurrenceIterator it = new RecurrenceIterator(LocalDate.of(2024, 1, 31), 0, RepeatUnit.MONTHS, 1,
+                null, Set.of(), LocalDate.of(2024, 2, 1), LocalDate.of(2024, 4, 30));
+
+        assertEquals(List.of(LocalDate.of(2024, 2, 29), LocalDate.of(2024, 3, 31), LocalDate.of(2024, 4, 30)), drain(it));
+    }
+
+    @Test
+    void customInterval_multiDayOccurrenceStartingBeforeWindowIsIncluded() {
+        // Every 10 days, each occurrence lasting 3 days
+        RecurrenceIterator it = new RecurrenceIterator(LocalDate.of(2025, 1, 1), 2, RepeatUnit.DAYS, 10,
+                null, Set.of(), LocalDate.of(2025, 1, 12), LocalDate.of(2025, 1, 25));
+
+        assertEquals(List.of(LocalDate.of(2025, 1, 11), LocalDate.of(2025, 1, 21)), drain(it));
+    }
+
+    @Test
+    void nonRepeating_yieldsStartOnlyWhenOverlapping() {
+        assertEquals(List.of(LocalDate.of(2025, 3, 5)), drain(new RecurrenceIterator(LocalDate.of(2025, 3, 5), 0,
+                RepeatUnit.DAYS, 0, null, null, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31))));
+        assertTrue(drain(new RecurrenceIterator(LocalDate.of(2025, 2, 5), 0,
+                RepeatUnit.DAYS, 0, null, null, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31))).isEmpty());
+    }
+
+    @Test
+    void expander_repeatingItem_matchesEagerExpansionForWindow() {
+        CalendarItem ci = new CalendarItem();
+        ci.setDateStart(LocalDate.of(2015, 3, 2).atStartOfDay());
+        ci.setDateEnd(LocalDate.of(2015, 3, 3).atStartOfDay());
+        ci.setRepeatDuration(3);
+        ci.setRepeatUnit(RepeatUnit.DAYS);
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        LocalDate to = LocalDate.of(2025, 3, 31);
+
+        Map<String, List<CalendarItemInstance>> lazy = CalendarExpander.expand(List.of(ci), from, to);
+
+        assertEquals(eagerDays(ci, from, to), lazy.keySet());
+    }
+
+    @Test
+    void unboundedSeries_startsAtTheWindowWithoutWalkingTheSeries() {
+        // Daily for a million years with no end: walking it occurrence by occurrence would never finish
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        RecurrenceIterator it = new RecurrenceIterator(LocalDate.of(-1_000_000, 1, 1), 0, RepeatUnit.DAYS, 1,
+                null, Set.of(), from, LocalDate.MAX);
+
+        assertEquals(from, it.next());
+        assertEquals(from.plusDays(1), it.next());
+        assertEquals(from.plusDays(2), it.next());
+        assertTrue(it.hasNext());
+    }
+
+    @Test
+    void expander_longRunningSeries_yieldsOnlyTheWindow() {
+        CalendarItem ci = new CalendarItem();
+        ci.setDateStart(LocalDate.of(-1_000_000, 1, 1).atStartOfDay());
+        ci.setRepeatDuration(1);
+        ci.setRepeatUnit(RepeatUnit.DAYS);
+
+        Map<String, List<CalendarItemInstance>> days = CalendarExpander.expand(List.of(ci),
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31));
+
+        assertEquals(31, days.size());
+        assertTrue(days.containsKey("2025-01-01"));
+        assertTrue(days.containsKey("2025-01-31"));
+    }
+
+    // Eager reference: walk every occurrence from the series start and keep days inside the window
+    private java.util.Set<String> eagerDays(CalendarItem ci, LocalDate from, LocalDate to) {
+        java.util.Set<String> days = new java.util.LinkedHashSet<>();
+        LocalDate start = ci.getDateStart().toLocalDate();
+        long span = RecurrenceIterator.spanDays(ci);
+        for (LocalDate occ = start; !occ.isAfter(to); occ = occ.plusDays(ci.getRepeatDuration())) {
+            List<LocalDate> occurrenceDays = new ArrayList<>();
+            for (LocalDate d = occ; !d.isAfter(occ.plusDays(span)); d = d.plusDays(1)) {
+                occurrenceDays.add(d);
+            }
+            for (LocalDate d : occurrenceDays) {
+                if (!d.isBefore(from) && !d.isAfter(to)) days.add(d.toString());
+            }
+        }
+        return days;
+    }
+
+    private List<LocalDate> drain(RecurrenceIterator it) {
+        List<LocalDate> res = new ArrayList<>();
+        it.forEachRemaining(res::add);
+        return res;
+    }
+}
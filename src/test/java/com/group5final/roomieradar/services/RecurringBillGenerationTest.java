@@ -0,0 +1,225 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.entities.Bill;
+import com.group5final.roomieradar.entities.BillSplit;
+import com.group5final.roomieradar.entities.DomainEventOutbox;
+import com.group5final.roomieradar.entities.Household;
+import com.group5final.roomieradar.entities.HouseholdBalance;
+import com.group5final.roomieradar.entities.RecurringBill;
+import com.group5final.roomieradar.entities.RecurringBillShare;
+import com.group5final.roomieradar.entities.User;
+import com.group5final.roomieradar.enums.DomainEventType;
+import com.group5final.roomieradar.enums.RepeatUnit;
+import com.group5final.roomieradar.enums.SplitMode;
+import com.group5final.roomieradar.repositories.BillRepository;
+import com.group5final.roomieradar.repositories.BillSplitRepository;
+import com.group5final.roomieradar.repositories.DomainEventOutboxRepository;
+import com.group5final.roomieradar.repositories.HouseholdBalanceRepository;
+import com.group5final.roomieradar.repositories.HouseholdRepository;
+import com.group5final.roomieradar.repositories.RecurringBillRepository;
+import com.group5final.roomieradar.repositories.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the recurring bill generator against a real database, with chunks small enough that
+ * a run spans several transactions.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({RecurringBillService.class, BillService.class, BalanceLedgerService.class, SpendingRollupService.class,
+        DomainEventPublisher.class, CurrentUserService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RecurringBillGenerationTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 10, 12, 0);
+
+    @Autowired
+    private RecurringBillService recurringBillService;
+
+    @Autowired
+    private RecurringBillRepository recurringBillRepository;
+
+    @Autowired
+    private BillRepository billRepository;
+
+    @Autowired
+    private BillSplitRepository billSplitRepository;
+
+    @Autowired
+    private DomainEventOutboxRepository domainEventOutboxRepository;
+
+    @Autowired
+    private HouseholdBalanceRepository householdBalanceRepository;
+
+    @Autowired
+    private HouseholdRepository householdRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Household household;
+    private User creator;
+    private User roommate;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(recurringBillService, "chunkSize", 4);
+        transactionTemplate.executeWithoutResult(status -> {
+            household = new Household();
+            household.setName("Loft");
+            household.setPassword("secret");
+            entityManager.persist(household);
+            creator = persistUser("creator");
+            roommate = persistUser("roommate");
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        domainEventOutboxRepository.deleteAll();
+        recurringBillRepository.deleteAll();
+        householdBalanceRepository.deleteAll();
+        billRepository.deleteAll();
+        userRepository.deleteAll();
+        householdRepository.deleteAll();
+    }
+
+    @Test
+    void generateDueBills_spansChunks_andIsIdempotent() {
+        for (int i = 0; i < 10; i++) {
+            persistTemplate("Bill " + i, NOW.minusDays(1), RepeatUnit.MONTHS, List.of());
+        }
+
+        assertEquals(10, recurringBillService.generateDueBills(NOW));
+        assertEquals(0, recurringBillService.generateDueBills(NOW));
+
+        List<Bill> bills = listOf(billRepository.findAll());
+        assertEquals(10, bills.size());
+        bills.forEach(bill -> assertNotNull(bill.getId()));
+        List<BillSplit> splits = listOf(billSplitRepository.findAll());
+        assertEquals(20, splits.size());
+        splits.forEach(split -> assertEquals(0, new BigDecimal("5.00").compareTo(split.getSplitAmount())));
+        recurringBillRepository.findAll().forEach(template -> {
+            assertEquals(1, template.getGeneratedCount());
+            assertEquals(NOW.minusDays(1).plusMonths(1), template.getNextDueDate());
+        });
+
+        List<HouseholdBalance> ledger = householdBalanceRepository.findByHouseholdId(household.getId());
+        assertEquals(1, ledger.size());
+        assertEquals(0, new BigDecimal("50.00").compareTo(ledger.get(0).getUnpaidAmount()));
+
+        // Every generated bill is announced like a bill created by hand
+        assertEquals(bills.stream().map(Bill::getId).collect(Collectors.toSet()),
+            listOf(domainEventOutboxRepository.findAll()).stream()
+                .filter(event -> event.getType() == DomainEventType.BILL_CREATED)
+                .map(DomainEventOutbox::getAggregateId).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void generateDueBills_catchesUpMissedOccurrences_withinLeadTime() {
+        persistTemplate("Cleaning", NOW.minusWeeks(3), RepeatUnit.WEEKS, List.of());
+
+        // Three missed weeks, the current one and next week's, which is within the lead time
+        assertEquals(5, recurringBillService.generateDueBills(NOW));
+
+        List<LocalDateTime> dueDates = listOf(billRepository.findAll()).stream()
+            .map(Bill::getDueDate).sorted().toList();
+        assertEquals(NOW.minusWeeks(3), dueDates.get(0));
+        assertEquals(NOW.plusWeeks(1), dueDates.get(4));
+    }
+
+    @Test
+    void generateDueBills_longPausedTemplate_isCappedPerRun() {
+        persistTemplate("Paused", NOW.minusWeeks(40), RepeatUnit.WEEKS, List.of());
+
+        // Still due after the first chunk advanced it, but the run must not meet it again
+        assertEquals(RecurringBillService.MAX_OCCURRENCES_PER_RUN, recurringBillService.generateDueBills(NOW));
+        assertEquals(RecurringBillService.MAX_OCCURRENCES_PER_RUN, recurringBillService.generateDueBills(NOW));
+    }
+
+    @Test
+    void generateDueBills_memberLeftHousehold_deactivatesTemplate() {
+        RecurringBill template = persistTemplate("Netflix", NOW, RepeatUnit.MONTHS,
+            List.of(new RecurringBillShare(creator.getId(), null), new RecurringBillShare(roommate.getId(), null)));
+        transactionTemplate.executeWithoutResult(status -> {
+            User moved = entityManager.find(User.class, roommate.getId());
+            moved.setHousehold(null);
+        });
+
+        assertEquals(0, recurringBillService.generateDueBills(NOW));
+
+        assertFalse(recurringBillRepository.findById(template.getId()).orElseThrow().isActive());
+        assertEquals(0, billRepository.count());
+    }
+
+    @Test
+    void occurrence_monthEnd_doesNotDrift() {
+        RecurringBill template = new RecurringBill();
+        template.setFirstDueDate(LocalDateTime.of(2025, 1, 31, 9, 0));
+        template.setNextDueDate(template.getFirstDueDate());
+        template.setRepeatUntil(LocalDateTime.of(2025, 4, 15, 0, 0).toLocalDate());
+
+        template.advance();
+        assertEquals(LocalDateTime.of(2025, 2, 28, 9, 0), template.getNextDueDate());
+        template.advance();
+        assertEquals(LocalDateTime.of(2025, 3, 31, 9, 0), template.getNextDueDate());
+        assertTrue(template.isActive());
+        template.advance();
+        assertEquals(LocalDateTime.of(2025, 4, 30, 9, 0), template.getNextDueDate());
+        assertFalse(template.isActive());
+    }
+
+    private RecurringBill persistTemplate(String name, LocalDateTime firstDue, RepeatUnit unit,
+                                          List<RecurringBillShare> shares) {
+        RecurringBill template = new RecurringBill();
+        template.setName(name);
+        template.setAmount(BigDecimal.TEN);
+        template.setHousehold(household);
+        template.setCreatedBy(creator);
+        template.setFirstDueDate(firstDue);
+        template.setNextDueDate(firstDue);
+        template.setRepeatUnit(unit);
+        template.setSplitMode(SplitMode.EQUAL);
+        template.getShares().addAll(shares);
+        return recurringBillRepository.save(template);
+    }
+
+    private static <T> List<T> listOf(Iterable<T> items) {
+        return StreamSupport.stream(items.spliterator(), false).toList();
+    }
+
+    private User persistUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("pw");
+        user.setHousehold(household);
+        entityManager.persist(user);
+        return user;
+    }
+}
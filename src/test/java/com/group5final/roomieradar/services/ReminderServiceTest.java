@@ -0,0 +1,231 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.dto.ReminderDTO;
+import com.group5final.roomieradar.entities.Bill;
+import com.group5final.roomieradar.entities.BillSplit;
+import com.group5final.roomieradar.entities.Household;
+import com.group5final.roomieradar.entities.ReminderOutbox;
+import com.group5final.roomieradar.entities.User;
+import com.group5final.roomieradar.enums.ReminderKind;
+import com.group5final.roomieradar.enums.SplitStatus;
+import com.group5final.roomieradar.repositories.BillRepository;
+import com.group5final.roomieradar.repositories.HouseholdRepository;
+import com.group5final.roomieradar.repositories.ReminderOutboxRepository;
+import com.group5final.roomieradar.repositories.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the reminder scan and dispatch against a real database. Reminders are written and sent
+ * from virtual threads on their own connections, so the test data is committed.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ReminderService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReminderServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 10, 12, 0);
+
+    @Autowired
+    private ReminderService reminderService;
+
+    @Autowired
+    private ReminderOutboxRepository reminderOutboxRepository;
+
+    @Autowired
+    private BillRepository billRepository;
+
+    @Autowired
+    private HouseholdRepository householdRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final Queue<ReminderDTO> delivered = new ConcurrentLinkedQueue<>();
+
+    private Household household;
+    private User creator;
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(reminderService, "batchSize", 2);
+        ReflectionTestUtils.setField(reminderService, "dispatchBatchSize", 2);
+        ReflectionTestUtils.setField(reminderService, "reminderSender", (ReminderSender) reminder -> {
+            if (reminder.getMessage().contains("Broken")) {
+                throw new IllegalStateException("mailbox full");
+            }
+            delivered.add(reminder);
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            household = new Household();
+            household.setName("Loft");
+            household.setPassword("secret");
+            entityManager.persist(household);
+            creator = persistUser("creator");
+            alice = persistUser("alice");
+            bob = persistUser("bob");
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        reminderOutboxRepository.deleteAll();
+        billRepository.deleteAll();
+        userRepository.deleteAll();
+        householdRepository.deleteAll();
+    }
+
+    @Test
+    void scan_walksWindowInPages_skipsPaidAndOwnSplits_andIsIdempotent() {
+        // Five bills share a due date so that pages break inside a run of equal keys
+        for (int i = 0; i < 5; i++) {
+            persistBill("Rent " + i, NOW.plusHours(2));
+        }
+        persistBill("Power", NOW.minusDays(3));
+        persistBill("Next week", NOW.plusDays(7));
+        persistBill("Ancient", NOW.minusDays(40));
+        persistBill("Undated", null);
+
+        assertEquals(6, reminderService.scan(NOW));
+        assertEquals(6, reminderService.scan(NOW));
+
+        List<ReminderOutbox> outbox = outbox();
+        assertEquals(6, outbox.size());
+        outbox.forEach(reminder -> assertEquals(alice.getId(), reminder.getUserId()));
+        assertEquals(5, outbox.stream().filter(r -> r.getKind() == ReminderKind.DUE_SOON).count());
+        ReminderOutbox overdue = outbox.stream().filter(r -> r.getKind() == ReminderKind.OVERDUE).findFirst().orElseThrow();
+        assertEquals("Your share of Power (10.00) was due on 2025-03-07 12:00", overdue.getMessage());
+
+        // Once the bills are overdue the same splits get a second, different reminder
+        assertEquals(6, reminderService.scan(NOW.plusDays(1)));
+        assertEquals(11, outbox().size());
+    }
+
+    @Test
+    void dispatch_sendsPendingReminders_andRetriesFailuresUpToMaxAttempts() {
+        persistBill("Rent", NOW.plusHours(1));
+        persistBill("Broken", NOW.plusHours(1));
+        persistBill("Water", NOW.plusHours(1));
+        reminderService.scan(NOW);
+
+        assertEquals(2, reminderService.dispatch(NOW));
+        assertEquals(2, delivered.size());
+        assertEquals(0, reminderService.dispatch(NOW));
+        assertEquals(2, delivered.size());
+
+        ReminderOutbox failed = outbox().stream().filter(r -> r.getSentAt() == null).findFirst().orElseThrow();
+        assertTrue(failed.getMessage().contains("Broken"));
+        assertEquals(2, failed.getAttempts());
+        assertTrue(failed.getLastError().contains("mailbox full"));
+        assertNull(failed.getClaimedBy());
+
+        ReflectionTestUtils.setField(reminderService, "maxAttempts", 2);
+        reminderService.dispatch(NOW);
+        assertEquals(2, outbox().stream().filter(r -> r.getSentAt() == null).findFirst().orElseThrow().getAttempts());
+    }
+
+    @Test
+    void dispatch_skipsRemindersClaimedByAnotherRun_untilTheClaimExpires() {
+        persistBill("Rent", NOW.plusHours(1));
+        persistBill("Water", NOW.plusHours(1));
+        reminderService.scan(NOW);
+        ReminderOutbox rent = outbox().stream().filter(r -> r.getMessage().contains("Rent")).findFirst().orElseThrow();
+        transactionTemplate.executeWithoutResult(status ->
+            reminderOutboxRepository.claim(List.of(rent.getId()), "other-instance", NOW, NOW.minusMinutes(5)));
+
+        assertEquals(1, reminderService.dispatch(NOW.plusMinutes(1)));
+        assertEquals(1, delivered.size());
+        assertTrue(delivered.peek().getMessage().contains("Water"));
+
+        // The other run died without sending; its claim is taken over once stale
+        assertEquals(1, reminderService.dispatch(NOW.plusMinutes(10)));
+        assertEquals(2, delivered.size());
+        assertTrue(outbox().stream().allMatch(r -> r.getSentAt() != null));
+    }
+
+    @Test
+    void dispatch_whileAnotherRunIsInProgress_sendsNothingTwice() {
+        persistBill("Rent", NOW.plusHours(1));
+        persistBill("Water", NOW.plusHours(1));
+        reminderService.scan(NOW);
+        Queue<Integer> nested = new ConcurrentLinkedQueue<>();
+        ReflectionTestUtils.setField(reminderService, "reminderSender", (ReminderSender) reminder -> {
+            delivered.add(reminder);
+            nested.add(reminderService.dispatch(NOW));
+        });
+
+        assertEquals(2, reminderService.dispatch(NOW));
+
+        assertEquals(List.of(0, 0), List.copyOf(nested));
+        assertEquals(2, delivered.size());
+    }
+
+    private List<ReminderOutbox> outbox() {
+        return StreamSupport.stream(reminderOutboxRepository.findAll().spliterator(), false)
+            .sorted(Comparator.comparing(ReminderOutbox::getId)).toList();
+    }
+
+    // A bill by the creator with an unpaid creator split, an unpaid split for alice and a paid one for bob
+    private void persistBill(String name, LocalDateTime dueDate) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Bill bill = new Bill();
+            bill.setName(name);
+            bill.setAmount(BigDecimal.valueOf(30));
+            bill.setDueDate(dueDate);
+            bill.setHousehold(household);
+            bill.setCreatedBy(creator);
+            bill.getSplits().add(split(bill, creator, SplitStatus.UNPAID));
+            bill.getSplits().add(split(bill, alice, SplitStatus.UNPAID));
+            bill.getSplits().add(split(bill, bob, SplitStatus.PAID));
+            entityManager.persist(bill);
+        });
+    }
+
+    private BillSplit split(Bill bill, User user, SplitStatus status) {
+        BillSplit split = new BillSplit();
+        split.setBill(bill);
+        split.setUser(user);
+        split.setSplitAmount(new BigDecimal("10.00"));
+        split.setStatus(status);
+        return split;
+    }
+
+    private User persistUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("pw");
+        user.setHousehold(household);
+        entityManager.persist(user);
+        return user;
+    }
+}
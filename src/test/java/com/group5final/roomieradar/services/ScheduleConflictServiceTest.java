@@ -0,0 +1,178 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.dto.ScheduleConflict;
+import com.group5final.roomieradar.entities.CalendarItem;
+import com.group5final.roomieradar.entities.Event;
+import com.group5final.roomieradar.entities.Household;
+import com.group5final.roomieradar.entities.User;
+import com.group5final.roomieradar.enums.RepeatUnit;
+import com.group5final.roomieradar.enums.ScheduleItemType;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks conflict detection against a real database, including repeating calendar items and
+ * rebuilding the index after a change.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ScheduleConflictService.class)
+class ScheduleConflictServiceTest {
+
+    private static final LocalDateTime DINNER = LocalDateTime.of(2025, 3, 1, 19, 0);
+
+    @Autowired
+    private ScheduleConflictService scheduleConflictService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Household household;
+    private User alice;
+    private User bob;
+    private User carol;
+    private Event dinner;
+
+    @BeforeEach
+    void setUp() {
+        household = new Household();
+        household.setName("Loft");
+        household.setPassword("secret");
+        entityManager.persist(household);
+        alice = user("alice");
+        bob = user("bob");
+        carol = user("carol");
+
+        dinner = new Event();
+        dinner.setName("Dinner");
+        dinner.setEventDate(DINNER);
+        dinner.setUserid(alice);
+        dinner.setHousehold(household);
+        dinner.getAttendees().addAll(Set.of(alice, bob));
+        entityManager.persist(dinner);
+        entityManager.flush();
+    }
+
+    @Test
+    void findEventConflicts_reportsSharedAttendeesOfOverlappingEvents() {
+        List<ScheduleConflict> conflicts = scheduleConflictService.findEventConflicts(household.getId(), null,
+            DINNER.plusMinutes(30), List.of(bob.getId(), carol.getId()));
+
+        assertEquals(1, conflicts.size());
+        ScheduleConflict conflict = conflicts.get(0);
+        assertEquals(ScheduleItemType.EVENT, conflict.getType());
+        assertEquals(dinner.getId(), conflict.getId());
+        assertEquals(DINNER, conflict.getStart());
+        assertEquals(List.of("bob"), conflict.getUsernames());
+    }
+
+    @Test
+    void findEventConflicts_ignoresOtherPeopleAndTimesAndTheEventItself() {
+        assertTrue(scheduleConflictService.findEventConflicts(household.getId(), null, DINNER,
+            List.of(carol.getId())).isEmpty());
+        assertTrue(scheduleConflictService.findEventConflicts(household.getId(), null, DINNER.plusHours(1),
+            List.of(alice.getId())).isEmpty());
+        assertTrue(scheduleConflictService.findEventConflicts(household.getId(), dinner.getId(), DINNER,
+            List.of(alice.getId())).isEmpty());
+    }
+
+    @Test
+    void findEventConflicts_findsOccurrenceOfRepeatingCalendarItem() {
+        CalendarItem gym = calendarItem("Gym", carol, LocalDateTime.of(2025, 1, 6, 18, 30), LocalDateTime.of(2025, 1, 6, 20, 0));
+        gym.setRepeatDuration(1);
+        gym.setRepeatUnit(RepeatUnit.WEEKS);
+        entityManager.persist(gym);
+        entityManager.flush();
+
+        // 2025-03-03 is a Monday, like the first gym session
+        List<ScheduleConflict> conflicts = scheduleConflictService.findEventConflicts(household.getId(), null,
+            LocalDateTime.of(2025, 3, 3, 19, 0), List.of(carol.getId()));
+
+        assertEquals(1, conflicts.size());
+        assertEquals(ScheduleItemType.CALENDAR_ITEM, conflicts.get(0).getType());
+        assertEquals(LocalDateTime.of(2025, 3, 3, 18, 30), conflicts.get(0).getStart());
+        assertEquals(LocalDateTime.of(2025, 3, 3, 20, 0), conflicts.get(0).getEnd());
+        assertTrue(scheduleConflictService.findEventConflicts(household.getId(), null,
+            LocalDateTime.of(2025, 3, 4, 19, 0), List.of(carol.getId())).isEmpty());
+    }
+
+    @Test
+    void findCalendarItemConflicts_checksEveryOccurrenceOfTheCreator() {
+        CalendarItem shift = calendarItem("Shift", bob, DINNER.minusDays(7), DINNER.minusDays(7).plusHours(2));
+        shift.setRepeatDuration(1);
+        shift.setRepeatUnit(RepeatUnit.WEEKS);
+
+        List<ScheduleConflict> conflicts = scheduleConflictService.findCalendarItemConflicts(household.getId(), shift,
+            LocalDate.of(2025, 2, 1));
+
+        assertEquals(1, conflicts.size());
+        assertEquals("Dinner", conflicts.get(0).getName());
+        assertEquals(List.of("bob"), conflicts.get(0).getUsernames());
+    }
+
+    @Test
+    void findCalendarItemConflicts_longRunningSeries_checksFromToday() {
+        CalendarItem standup = calendarItem("Standup", bob, LocalDateTime.of(2020, 1, 1, 19, 30), LocalDateTime.of(2020, 1, 1, 20, 0));
+        standup.setRepeatDuration(1);
+        standup.setRepeatUnit(RepeatUnit.DAYS);
+
+        List<ScheduleConflict> upcoming = scheduleConflictService.findCalendarItemConflicts(household.getId(), standup,
+            LocalDate.of(2025, 2, 20));
+        assertEquals(1, upcoming.size());
+        assertEquals(DINNER, upcoming.get(0).getStart());
+
+        // Once the dinner is over it is no longer reported
+        assertTrue(scheduleConflictService.findCalendarItemConflicts(household.getId(), standup,
+            LocalDate.of(2025, 3, 2)).isEmpty());
+    }
+
+    @Test
+    void invalidate_rebuildsTheIndexWithNewData() {
+        assertTrue(scheduleConflictService.findEventConflicts(household.getId(), null, DINNER,
+            List.of(carol.getId())).isEmpty());
+        assertTrue(scheduleConflictService.isIndexed(household.getId()));
+
+        dinner.getAttendees().add(carol);
+        entityManager.flush();
+        // Still answered from the index built before the change
+        assertTrue(scheduleConflictService.findEventConflicts(household.getId(), null, DINNER,
+            List.of(carol.getId())).isEmpty());
+
+        scheduleConflictService.invalidate(household.getId());
+        assertFalse(scheduleConflictService.isIndexed(household.getId()));
+        assertEquals(1, scheduleConflictService.findEventConflicts(household.getId(), null, DINNER,
+            List.of(carol.getId())).size());
+    }
+
+    private User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("pw");
+        user.setHousehold(household);
+        entityManager.persist(user);
+        return user;
+    }
+
+    private CalendarItem calendarItem(String name, User creator, LocalDateTime start, LocalDateTime end) {
+        CalendarItem item = new CalendarItem();
+        item.setName(name);
+        item.setDateStart(start);
+        item.setDateEnd(end);
+        item.setCreator(creator);
+        item.setHousehold(household);
+        return item;
+    }
+}
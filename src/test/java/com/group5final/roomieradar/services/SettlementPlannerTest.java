@@ -0,0 +1,113 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.services.SettlementPlanner.Transfer;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SettlementPlannerTest {
+
+    @Test
+    void chainOfDebts_collapsesToDirectPayment() {
+        // 1 owes 2 €10, 2 owes 3 €10: only 1 -> 3 is needed
+        Map<Long, Long> net = Map.of(1L, -1000L, 2L, 0L, 3L, 1000L);
+
+        assertEquals(List.of(new Transfer(1L, 3L, 1000)), SettlementPlanner.plan(net));
+    }
+
+    @Test
+    void exactMatchesArePairedBeforeGreedyMatching() {
+        Map<Long, Long> net = new LinkedHashMap<>();
+        net.put(1L, -700L);
+        net.put(2L, -300L);
+        net.put(3L, 300L);
+        net.put(4L, 700L);
+
+        List<Transfer> plan = SettlementPlanner.plan(net);
+
+        assertEquals(List.of(new Transfer(1L, 4L, 700), new Transfer(2L, 3L, 300)), plan);
+    }
+
+    @Test
+    void greedyMatching_settlesEveryoneWithAtMostMembersMinusOnePayments() {
+        Map<Long, Long> net = Map.of(1L, -500L, 2L, -250L, 3L, 400L, 4L, 350L);
+
+        List<Transfer> plan = SettlementPlanner.plan(net);
+
+        assertTrue(plan.size() <= net.size() - 1);
+        assertSettles(net, plan);
+    }
+
+    @Test
+    void planIsDeterministic() {
+        Map<Long, Long> net = new HashMap<>(Map.of(5L, -100L, 6L, -100L, 7L, 100L, 8L, 100L));
+
+        assertEquals(SettlementPlanner.plan(net), SettlementPlanner.plan(new LinkedHashMap<>(net)));
+    }
+
+    @Test
+    void unbalancedPositions_areRejected() {
+        assertThrows(IllegalArgumentException.class, () -> SettlementPlanner.plan(Map.of(1L, -100L, 2L, 99L)));
+    }
+
+    @Test
+    void emptyHousehold_needsNoPayments() {
+        assertTrue(SettlementPlanner.plan(Map.of()).isEmpty());
+    }
+
+    // A synthetic household of 500 members with 50,000 open splits, plus 20 pairs whose
+    // positions cancel exactly and so must each settle with a single payment.
+    @Test
+    void syntheticLargeHousehold_settlesWithAtMostMembersMinusOnePayments() {
+        Map<Long, Long> net = syntheticHousehold(500, 50_000, 42);
+        for (long pair = 0; pair < 20; pair++) {
+            long cents = 1_000_000_000L + pair;
+            net.put(10_000 + pair, -cents);
+            net.put(20_000 + pair, cents);
+        }
+
+        List<Transfer> plan = SettlementPlanner.plan(net);
+
+        assertTrue(plan.size() <= net.size() - 1);
+        assertSettles(net, plan);
+        for (long pair = 0; pair < 20; pair++) {
+            Transfer expected = new Transfer(10_000 + pair, 20_000 + pair, 1_000_000_000L + pair);
+            assertEquals(1, plan.stream().filter(expected::equals).count());
+            long involved = pair;
+            assertEquals(1, plan.stream()
+                    .filter(t -> t.fromUserId() == 10_000 + involved || t.toUserId() == 20_000 + involved)
+                    .count());
+        }
+    }
+
+    private static Map<Long, Long> syntheticHousehold(int members, int splits, long seed) {
+        Random random = new Random(seed);
+        Map<Long, Long> net = new HashMap<>();
+        for (int i = 0; i < splits; i++) {
+            long debtor = random.nextInt(members);
+            long creditor = random.nextInt(members);
+            long cents = 1 + random.nextInt(20_000);
+            if (debtor != creditor) {
+                net.merge(debtor, -cents, Long::sum);
+                net.merge(creditor, cents, Long::sum);
+            }
+        }
+        return net;
+    }
+
+    private static void assertSettles(Map<Long, Long> net, List<Transfer> plan) {
+        Map<Long, Long> remaining = new HashMap<>(net);
+        for (Transfer t : plan) {
+            assertTrue(t.cents() > 0);
+            remaining.merge(t.fromUserId(), t.cents(), Long::sum);
+            remaining.merge(t.toUserId(), -t.cents(), Long::sum);
+        }
+        remaining.values().forEach(cents -> assertEquals(0L, cents));
+    }
+}
@@ -0,0 +1,45 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.entities.Household;
+import com.group5final.roomieradar.repositories.HouseholdRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.PessimisticLockingFailureException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SpendingRollupRebuildJobTest {
+
+    @Mock
+    private SpendingRollupService spendingRollupService;
+
+    @Mock
+    private HouseholdRepository householdRepository;
+
+    @InjectMocks
+    private SpendingRollupRebuildJob job;
+
+    @Test
+    void rebuildAll_failingHousehold_doesNotStopTheOthers() {
+        when(householdRepository.findAll()).thenReturn(List.of(household(1L), household(2L), household(3L)));
+        lenient().doThrow(new PessimisticLockingFailureException("lock wait timeout")).when(spendingRollupService).rebuild(2L);
+
+        assertEquals(2, job.rebuildAll());
+
+        verify(spendingRollupService).rebuild(1L);
+        verify(spendingRollupService).rebuild(3L);
+    }
+
+    private static Household household(Long id) {
+        Household household = new Household();
+        household.setId(id);
+        return household;
+    }
+}
@@ -0,0 +1,159 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.dto.MemberSpendingDTO;
+import com.group5final.roomieradar.dto.SpendingAnalyticsDTO;
+import com.group5final.roomieradar.entities.Bill;
+import com.group5final.roomieradar.entities.BillSplit;
+import com.group5final.roomieradar.entities.Household;
+import com.group5final.roomieradar.entities.SpendingRollup;
+import com.group5final.roomieradar.entities.User;
+import com.group5final.roomieradar.enums.SplitStatus;
+import com.group5final.roomieradar.repositories.SpendingRollupBatchRepository.Delta;
+import com.group5final.roomieradar.repositories.SpendingRollupRepository;
+import com.group5final.roomieradar.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SpendingRollupServiceTest {
+
+    private static final BigDecimal ZERO = BigDecimal.ZERO;
+
+    @Mock
+    private SpendingRollupRepository spendingRollupRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private SpendingRollupService rollup;
+
+    private Household household;
+    private User alice;
+    private User bob;
+    private Bill bill;
+
+    @BeforeEach
+    void setUp() {
+        household = new Household();
+        household.setId(1L);
+        alice = user(11L, "alice");
+        bob = user(12L, "bob");
+        bill = new Bill();
+        bill.setHousehold(household);
+        bill.setDueDate(LocalDateTime.of(2025, 3, 31, 23, 0));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordSplitsCreated_addsEverySplitToTheDueMonth_inOneBatch() {
+        rollup.recordSplitsCreated(List.of(split(alice, "5.00", SplitStatus.UNPAID), split(bob, "7.00", SplitStatus.UNPAID),
+                split(alice, "1.00", SplitStatus.UNPAID)));
+
+        ArgumentCaptor<List<Delta>> captor = ArgumentCaptor.forClass(List.class);
+        verify(spendingRollupRepository, times(1)).applyDeltas(captor.capture());
+        assertEquals(List.of(
+                new Delta(1L, 202503, 11L, new BigDecimal("6.00"), ZERO, ZERO),
+                new Delta(1L, 202503, 12L, new BigDecimal("7.00"), ZERO, ZERO)), captor.getValue());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordTransition_movesAmountBetweenStatuses() {
+        rollup.recordTransition(List.of(split(alice, "7.50", SplitStatus.PAID)), SplitStatus.PENDING_APPROVAL, SplitStatus.PAID);
+
+        ArgumentCaptor<List<Delta>> captor = ArgumentCaptor.forClass(List.class);
+        verify(spendingRollupRepository).applyDeltas(captor.capture());
+        assertEquals(List.of(new Delta(1L, 202503, 11L, ZERO, new BigDecimal("-7.50"), new BigDecimal("7.50"))),
+                captor.getValue());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordBillDeleted_removesEachSplitFromItsStatus() {
+        rollup.recordBillDeleted(List.of(split(alice, "3.00", SplitStatus.UNPAID), split(bob, "4.00", SplitStatus.PAID)));
+
+        ArgumentCaptor<List<Delta>> captor = ArgumentCaptor.forClass(List.class);
+        verify(spendingRollupRepository).applyDeltas(captor.capture());
+        assertEquals(List.of(
+                new Delta(1L, 202503, 11L, new BigDecimal("-3.00"), ZERO, ZERO),
+                new Delta(1L, 202503, 12L, ZERO, ZERO, new BigDecimal("-4.00"))), captor.getValue());
+    }
+
+    @Test
+    void undatedBills_areNotTracked() {
+        bill.setDueDate(null);
+
+        rollup.recordSplitsCreated(List.of(split(alice, "5.00", SplitStatus.UNPAID)));
+
+        verify(spendingRollupRepository, never()).applyDeltas(any());
+    }
+
+    @Test
+    void getMonthlySpending_fillsEveryMonthOfTheRange() {
+        when(spendingRollupRepository.findByHouseholdIdAndPeriodBetween(1L, 202412, 202502)).thenReturn(List.of(
+                row(202412, 12L, "0", "0", "20.00"),
+                row(202502, 11L, "5.00", "2.00", "1.00"),
+                row(202502, 12L, "3.00", "0", "0")));
+        when(userRepository.findAllById(any())).thenReturn(List.of(alice, bob));
+
+        SpendingAnalyticsDTO data = rollup.getMonthlySpending(1L, YearMonth.of(2025, 2), 3);
+
+        assertEquals(List.of("2024-12", "2025-01", "2025-02"), data.getMonths());
+        assertAmounts(data.getUnpaid(), "0", "0", "8.00");
+        assertAmounts(data.getPending(), "0", "0", "2.00");
+        assertAmounts(data.getPaid(), "20.00", "0", "1.00");
+        assertEquals(List.of("alice", "bob"), data.getMembers().stream().map(MemberSpendingDTO::getUsername).toList());
+        assertAmounts(data.getMembers().get(0).getTotals(), "0", "0", "8.00");
+        assertAmounts(data.getMembers().get(1).getTotals(), "20.00", "0", "3.00");
+    }
+
+    private static void assertAmounts(List<BigDecimal> actual, String... expected) {
+        assertEquals(expected.length, actual.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(0, new BigDecimal(expected[i]).compareTo(actual.get(i)), "month " + i);
+        }
+    }
+
+    private static SpendingRollup row(int period, Long userId, String unpaid, String pending, String paid) {
+        SpendingRollup row = new SpendingRollup();
+        row.setHouseholdId(1L);
+        row.setPeriod(period);
+        row.setUserId(userId);
+        row.setUnpaidAmount(new BigDecimal(unpaid));
+        row.setPendingAmount(new BigDecimal(pending));
+        row.setPaidAmount(new BigDecimal(paid));
+        return row;
+    }
+
+    private BillSplit split(User user, String amount, SplitStatus status) {
+        BillSplit split = new BillSplit();
+        split.setBill(bill);
+        split.setUser(user);
+        split.setSplitAmount(new BigDecimal(amount));
+        split.setStatus(status);
+        return split;
+    }
+
+    private User user(Long id, String username) {
+        User u = new User();
+        u.setId(id);
+        u.setUsername(username);
+        u.setHousehold(household);
+        return u;
+    }
+}
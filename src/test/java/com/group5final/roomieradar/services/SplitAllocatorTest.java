@@ -0,0 +1,129 @@
+package com.group5final.roomieradar.services;
+
+import com.group5final.roomieradar.enums.SplitMode;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SplitAllocatorTest {
+
+    @Test
+    void equal_hundredDollarsOverThree_doesNotLoseACent() {
+        assertArrayEquals(new long[]{3334, 3333, 3333}, SplitAllocator.allocate(SplitMode.EQUAL, 100_00, 3, null));
+    }
+
+    @Test
+    void percentage_largestRemaindersGetTheLeftoverCents() {
+        // 10.00 at 33.33/33.33/33.34%: exact shares 3.333, 3.333, 3.334
+        long[] shares = SplitAllocator.allocate(SplitMode.PERCENTAGE, 10_00, 3, new long[]{33_33, 33_33, 33_34});
+
+        assertArrayEquals(new long[]{333, 333, 334}, shares);
+    }
+
+    @Test
+    void percentage_notAddingUpToHundred_isRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> SplitAllocator.allocate(SplitMode.PERCENTAGE, 10_00, 2, new long[]{50_00, 49_99}));
+    }
+
+    @Test
+    void shares_tiesGoToTheFirstMember() {
+        // 1.00 split 1:1:1 leaves one cent; all cuts are equal
+        assertArrayEquals(new long[]{34, 33, 33}, SplitAllocator.allocate(SplitMode.SHARES, 1_00, 3, new long[]{100, 100, 100}));
+        assertArrayEquals(new long[]{50, 25, 25}, SplitAllocator.allocate(SplitMode.SHARES, 1_00, 3, new long[]{200, 100, 100}));
+    }
+
+    @Test
+    void shares_zeroWeightPaysNothing() {
+        assertArrayEquals(new long[]{0, 1_00}, SplitAllocator.allocate(SplitMode.SHARES, 1_00, 2, new long[]{0, 300}));
+        assertThrows(IllegalArgumentException.class,
+                () -> SplitAllocator.allocate(SplitMode.SHARES, 1_00, 2, new long[]{0, 0}));
+    }
+
+    @Test
+    void fixed_mustMatchTotal() {
+        assertArrayEquals(new long[]{7_00, 3_00}, SplitAllocator.allocate(SplitMode.FIXED, 10_00, 2, new long[]{7_00, 3_00}));
+        assertThrows(IllegalArgumentException.class,
+                () -> SplitAllocator.allocate(SplitMode.FIXED, 10_00, 2, new long[]{7_00, 2_99}));
+    }
+
+    @Test
+    void missingOrNegativeValues_areRejected() {
+        assertThrows(IllegalArgumentException.class, () -> SplitAllocator.allocate(SplitMode.SHARES, 1_00, 2, new long[]{1}));
+        assertThrows(IllegalArgumentException.class, () -> SplitAllocator.allocate(SplitMode.SHARES, 1_00, 2, new long[]{-1, 2}));
+        assertThrows(IllegalArgumentException.class, () -> SplitAllocator.allocate(SplitMode.EQUAL, 1_00, 0, null));
+    }
+
+    @Test
+    void randomizedSplits_alwaysSumToTotal() {
+        Random random = new Random(7);
+        for (int round = 0; round < 1_000; round++) {
+            int members = 1 + random.nextInt(50);
+            long total = random.nextInt(10_000_000);
+            long[] weights = new long[members];
+            for (int i = 0; i < members; i++) weights[i] = random.nextInt(1_000);
+            weights[0]++;
+
+            assertEquals(total, Arrays.stream(SplitAllocator.allocate(SplitMode.EQUAL, total, members, null)).sum());
+            long[] shares = SplitAllocator.allocate(SplitMode.SHARES, total, members, weights);
+            assertEquals(total, Arrays.stream(shares).sum());
+            assertArrayEquals(referenceWeighted(total, weights), shares);
+        }
+    }
+
+    // Largest-remainder allocation by fully sorting members on (cut desc, index asc)
+    private static long[] referenceWeighted(long total, long[] weights) {
+        long totalWeight = Arrays.stream(weights).sum();
+        long[] shares = new long[weights.length];
+        long[] cut = new long[weights.length];
+        long remainder = total;
+        for (int i = 0; i < weights.length; i++) {
+            shares[i] = total * weights[i] / totalWeight;
+            cut[i] = total * weights[i] % totalWeight;
+            remainder -= shares[i];
+        }
+        Integer[] order = new Integer[weights.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> cut[a] != cut[b] ? Long.compare(cut[b], cut[a]) : Integer.compare(a, b));
+        for (int i = 0; i < remainder; i++) shares[order[i]]++;
+        return shares;
+    }
+
+    // Large member count: the cents still add up and the leftover goes to the largest remainders,
+    // where the per-member BigDecimal loop createBill used to run drifts from the total.
+    @Test
+    void largeMemberCount_sumsToTotalWithLargestRemainders() {
+        int members = 200_000;
+        long totalCents = 987_654_321;
+        long[] weights = new long[members];
+        BigDecimal[] decimalWeights = new BigDecimal[members];
+        Random random = new Random(11);
+        for (int i = 0; i < members; i++) {
+            weights[i] = 1 + random.nextInt(500);
+            decimalWeights[i] = BigDecimal.valueOf(weights[i]);
+        }
+
+        long[] shares = SplitAllocator.weighted(totalCents, weights);
+
+        assertEquals(totalCents, Arrays.stream(shares).sum());
+        assertArrayEquals(referenceWeighted(totalCents, weights), shares);
+        BigDecimal decimalSum = bigDecimalLoop(BigDecimal.valueOf(totalCents, 2), decimalWeights);
+        assertNotEquals(0, decimalSum.compareTo(BigDecimal.valueOf(totalCents, 2)), "BigDecimal loop is expected to drift");
+    }
+
+    // Per-member HALF_UP rounding, as createBill used to do for equal splits
+    private static BigDecimal bigDecimalLoop(BigDecimal amount, BigDecimal[] weights) {
+        BigDecimal totalWeight = BigDecimal.ZERO;
+        for (BigDecimal w : weights) totalWeight = totalWeight.add(w);
+        BigDecimal sum = BigDecimal.ZERO;
+        for (BigDecimal w : weights) {
+            sum = sum.add(amount.multiply(w).divide(totalWeight, 2, RoundingMode.HALF_UP));
+        }
+        return sum;
+    }
+}